@@ -377,7 +377,7 @@ const CartManager = {
                 title: String(book.title).trim(),
                 author: String(book.author).trim(),
                 price: parseFloat(book.price),
-                imageUrl: book.coverImageUrl || book.imageUrl || 'asset/img/books/placeholder.jpg',
+                imageUrl: Utils.coverUrl(book.coverImageUrl || book.imageUrl, 120),
                 quantity: parseInt(quantity),
                 stockQuantity: book.stockQuantity !== undefined ? parseInt(book.stockQuantity) : null,
                 addedAt: new Date().toISOString()
@@ -1089,7 +1089,7 @@ const WishlistManager = {
             title: book.title,
             author: book.author,
             price: book.price,
-            imageUrl: book.coverImageUrl || book.imageUrl || 'asset/img/books/placeholder.jpg',
+            imageUrl: Utils.coverUrl(book.coverImageUrl || book.imageUrl, 120),
             addedAt: new Date().toISOString()
         });
 
@@ -1204,22 +1204,8 @@ const AdminManager = {
             
             // Load sellers
             try {
-                const sellersResponse = await APIService.admin.getSellers();
-                console.log('🏪 Sellers response:', sellersResponse);
-                
-                // Handle different response structures
-                let sellers = [];
-                if (sellersResponse && typeof sellersResponse === 'object') {
-                    if (Array.isArray(sellersResponse)) {
-                        sellers = sellersResponse;
-                    } else if (sellersResponse.content && Array.isArray(sellersResponse.content)) {
-                        sellers = sellersResponse.content;
-                    } else if (sellersResponse.data && Array.isArray(sellersResponse.data)) {
-                        sellers = sellersResponse.data;
-                    } else if (sellersResponse.data && sellersResponse.data.content && Array.isArray(sellersResponse.data.content)) {
-                        sellers = sellersResponse.data.content;
-                    }
-                }
+                // Follows nextCursor until every seller is loaded
+                const sellers = await APIService.admin.getAllSellers();
                 
                 console.log('🏪 Processed sellers:', sellers);
                 this.displaySellers(sellers);
@@ -1512,7 +1498,7 @@ const AdminManager = {
             return `
                 <tr data-book-id="${book.id}">
                     <td>
-                        <img src="${book.coverImageUrl || book.imageUrl || 'asset/img/books/placeholder.jpg'}" 
+                        <img src="${Utils.coverUrl(book.coverImageUrl || book.imageUrl, 44)}" 
                              style="width: 44px; height: 60px; object-fit: cover; border-radius: 4px;" 
                              alt="${book.title}"
                              class="shadow-sm">
@@ -2414,7 +2400,7 @@ const SellerManager = {
             return `
                 <tr data-book-id="${book.id}">
                     <td>
-                        <img src="${book.coverImageUrl || book.imageUrl || '/asset/img/books/placeholder.jpg'}" 
+                        <img src="${Utils.coverUrl(book.coverImageUrl || book.imageUrl, 46, '/asset/img/books/placeholder.jpg')}" 
                              class="rounded" style="width: 46px; height: 60px; object-fit: cover;" alt="${book.title}">
                     </td>
                     <td>${book.title}</td>
@@ -2471,7 +2457,7 @@ const SellerManager = {
         container.innerHTML = orders.map(order => `
             <tr>
                 <td>
-                    <img src="${order.book?.coverImageUrl || order.book?.imageUrl || '/asset/img/books/placeholder.jpg'}" 
+                    <img src="${Utils.coverUrl(order.book?.coverImageUrl || order.book?.imageUrl, 46, '/asset/img/books/placeholder.jpg')}" 
                          class="rounded" style="width: 46px; height: 60px;" alt="${order.book?.title || 'Book'}">
                 </td>
                 <td>${order.book?.title || 'N/A'}</td>
@@ -2584,7 +2570,7 @@ const SellerManager = {
         if (container) {
             container.innerHTML = books.map(book => `
                 <tr>
-                    <td><img src="${book.coverImageUrl || '/asset/img/books/placeholder.jpg'}" 
+                    <td><img src="${Utils.coverUrl(book.coverImageUrl, 46, '/asset/img/books/placeholder.jpg')}" 
                              class="rounded" style="width: 46px; height: 60px; object-fit: cover;" alt="${book.bookTitle}"></td>
                     <td>${book.bookTitle}</td>
                     <td>${book.bookAuthor}</td>
@@ -2611,7 +2597,7 @@ const SellerManager = {
         if (container) {
             container.innerHTML = orders.map(order => `
                 <tr>
-                    <td><img src="${order.coverImageUrl || '/asset/img/books/placeholder.jpg'}" 
+                    <td><img src="${Utils.coverUrl(order.coverImageUrl, 46, '/asset/img/books/placeholder.jpg')}" 
                              class="rounded" style="width: 46px; height: 60px;" alt="${order.bookTitle}"></td>
                     <td>${order.bookTitle}</td>
                     <td>${order.customerName}</td>
@@ -2886,7 +2872,7 @@ const SellerManager = {
         // Set current cover image
         const currentCover = document.getElementById('currentBookCover');
         if (book.coverImageUrl) {
-            currentCover.src = book.coverImageUrl;
+            currentCover.src = Utils.coverUrl(book.coverImageUrl, 200);
             currentCover.style.display = 'block';
         } else {
             currentCover.style.display = 'none';
@@ -3089,6 +3075,25 @@ window.loadBooksPage = function(containerId, category, page) {
 
 // Utility Functions
 const Utils = {
+    // Resolve a book cover for display. Uploaded covers are saved as book-service paths
+    // (/api/books/covers/<hash>), so they are loaded from the book service rather than this
+    // page's origin, and with a width the service sends its smallest resized variant that fits.
+    coverUrl: (url, width = null, fallback = 'asset/img/books/placeholder.jpg') => {
+        if (!url) {
+            return fallback;
+        }
+        const coverPath = url.indexOf('/api/books/covers/');
+        if (coverPath < 0) {
+            return url;
+        }
+        let resolved = coverPath === 0 ? CONFIG.BOOK_SERVICE_URL.replace(/\/api\/?$/, '') + url : url;
+        if (width && !/[?&]w=/.test(resolved)) {
+            const pixels = Math.round(width * (window.devicePixelRatio || 1));
+            resolved += (resolved.includes('?') ? '&' : '?') + 'w=' + pixels;
+        }
+        return resolved;
+    },
+
     // Format currency
     formatCurrency: (amount) => {
         return new Intl.NumberFormat('en-US', {
@@ -3730,7 +3735,20 @@ const APIService = {
     admin: {
         getDashboardStats: () => APIService.makeRequest(CONFIG.ENDPOINTS.ADMIN.STATS),
         getUsers: (page = 0, size = 10) => APIService.makeRequest(`${CONFIG.ENDPOINTS.ADMIN.USERS}?page=${page}&size=${size}`),
-        getSellers: (page = 0, size = 10) => APIService.makeRequest(`${CONFIG.ENDPOINTS.ADMIN.SELLERS}?page=${page}&size=${size}`),
+        // Sellers come in keyset pages (newest first); pass the previous page's nextCursor to continue
+        getSellers: (cursor = null, size = 100) => APIService.makeRequest(
+            `${CONFIG.ENDPOINTS.ADMIN.SELLERS}?size=${size}${cursor ? `&cursor=${encodeURIComponent(cursor)}` : ''}`),
+        getAllSellers: async () => {
+            const sellers = [];
+            let cursor = null;
+            do {
+                const response = await APIService.admin.getSellers(cursor);
+                const page = (response && response.data) || {};
+                sellers.push(...(page.content || []));
+                cursor = page.nextCursor || null;
+            } while (cursor);
+            return sellers;
+        },
         getAllUsers: () => APIService.makeRequest(`${CONFIG.ENDPOINTS.ADMIN.USERS}/all`),
         updateUserStatus: (userId, action) => APIService.makeRequest(`${CONFIG.ENDPOINTS.ADMIN.USERS}/${userId}/status`, {
             method: 'PUT',
@@ -3976,7 +3994,7 @@ window.BookManager = {
             return `
                 <div class="col-md-4 col-sm-6 mb-4">
                     <div class="card h-100">
-                        <img src="${book.coverImageUrl || book.imageUrl || '/asset/img/books/placeholder.jpg'}" class="card-img-top" alt="${book.title}" style="height: 300px; object-fit: cover;">
+                        <img src="${Utils.coverUrl(book.coverImageUrl || book.imageUrl, 300, '/asset/img/books/placeholder.jpg')}" class="card-img-top" alt="${book.title}" style="height: 300px; object-fit: cover;">
                         <div class="card-body d-flex flex-column">
                             <h5 class="card-title">${book.title}</h5>
                             <p class="card-text text-muted">by ${book.author}</p>
@@ -6471,7 +6489,7 @@ const PageManager = {
             console.log('📄 Updated price:', bookData.price);
         }
         if (imageElement) {
-            imageElement.src = bookData.coverImageUrl || bookData.imageUrl || '/asset/img/books/placeholder.jpg';
+            imageElement.src = Utils.coverUrl(bookData.coverImageUrl || bookData.imageUrl, 400, '/asset/img/books/placeholder.jpg');
             console.log('📄 Updated image:', bookData.coverImageUrl || bookData.imageUrl);
         }
         if (descriptionElement && bookData.description) {
@@ -0,0 +1,60 @@
+package com.bookvault.auth.cache;
+
+import com.bookvault.auth.model.UserSecurityRecord;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived in-process cache of {@link UserSecurityRecord}s keyed by email.
+ *
+ * Only successful lookups are cached. Anything that changes a user's password,
+ * role or status must call {@link #evict(String)}; entries on other instances
+ * expire within the TTL.
+ */
+@Component
+public class UserSecurityCache {
+
+    private final Cache<String, UserSecurityRecord> records;
+
+    public UserSecurityCache(@Value("${auth.user-cache.max-size:10000}") long maxSize,
+                             @Value("${auth.user-cache.ttl:30s}") Duration ttl) {
+        this.records = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Get a record, calling the loader on a miss. A null result is not cached.
+     */
+    public UserSecurityRecord get(String email, Function<String, UserSecurityRecord> loader) {
+        return records.get(email, loader);
+    }
+
+    /**
+     * Evict a user now and again after the surrounding transaction commits, so a
+     * concurrent login cannot re-populate the cache with the pre-commit row
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        records.invalidate(email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    records.invalidate(email);
+                }
+            });
+        }
+    }
+}
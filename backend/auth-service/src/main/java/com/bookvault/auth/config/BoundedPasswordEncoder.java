@@ -0,0 +1,144 @@
+package com.bookvault.auth.config;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.bookvault.shared.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * PasswordEncoder that runs hashing and verification on a dedicated pool sized to the CPU count.
+ *
+ * Request threads hand the work off and wait for it, so a burst of logins can only keep
+ * as many cores busy as the pool has threads. Work beyond the bounded queue (or waiting
+ * longer than the timeout) is rejected with {@link TooManyRequestsException} (429) instead
+ * of starving cheap requests. Latency is timed under {@code bookvault.auth.password}
+ * (tags: operation, stage = queue | compute).
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry,
+                                  int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        this.rejected = Counter.builder("bookvault.auth.password.rejected")
+                .description("Password hashing requests rejected because the pool was saturated")
+                .register(meterRegistry);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("Password hashing pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Only inspects the stored hash's prefix and cost, so it stays on the caller's thread
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * Tasks waiting for a hashing thread
+     */
+    int queuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    // Helper methods
+
+    private <T> T run(String operation, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                record(operation, "queue", startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    record(operation, "compute", System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Server is busy, please try again shortly", e);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException("Server is busy, please try again shortly", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    private void record(String operation, String stage, long nanos) {
+        Timer.builder("bookvault.auth.password")
+                .description("Latency of password hashing by stage")
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
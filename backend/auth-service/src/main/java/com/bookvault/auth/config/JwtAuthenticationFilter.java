@@ -1,7 +1,6 @@
 package com.bookvault.auth.config;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,7 +11,9 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.bookvault.shared.enums.UserRole;
+import com.bookvault.shared.security.JwtPrincipal;
 import com.bookvault.shared.security.JwtUtil;
+import com.bookvault.shared.security.RouteClassifier;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -26,30 +27,19 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
+    private final RouteClassifier routeClassifier;
     
-    // Define public endpoints that don't require authentication
-    private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
-        "/api/auth/login",
-        "/api/auth/register",
-        "/api/auth/health",
-        "/api/auth/validate",
-        "/api/auth/clear-bans",
-        "/actuator/health",
-        "/v3/api-docs",
-        "/swagger-ui"
-    );
-    
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, RouteClassifier routeClassifier) {
         this.jwtUtil = jwtUtil;
+        this.routeClassifier = routeClassifier;
     }
     
     @Override
     protected void doFilterInternal(@SuppressWarnings("null") HttpServletRequest request, @SuppressWarnings("null") HttpServletResponse response, 
                                     @SuppressWarnings("null") FilterChain filterChain) throws ServletException, IOException {
         
-        String requestPath = request.getRequestURI();
-        // Skip JWT processing for public endpoints
-        if (isPublicEndpoint(requestPath)) {
+        // Skip JWT processing for public endpoints (same rules as SecurityConfig)
+        if (routeClassifier.classify(request).isPublic()) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -64,11 +54,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = authHeader.substring(7);
             
-            // Validate token and extract user information
-            if (jwtUtil.validateToken(token) && !jwtUtil.isTokenExpired(token)) {
-                UUID userId = jwtUtil.getUserIdFromToken(token);
-                String email = jwtUtil.getEmailFromToken(token);
-                UserRole role = jwtUtil.getRoleFromToken(token);
+            // OPTIMIZATION: Verify signature and expiry once (repeat tokens are served from cache)
+            JwtPrincipal principal = jwtUtil.verify(token);
+            if (principal.isAccessToken()) {
+                UUID userId = principal.getUserId();
+                String email = principal.getEmail();
+                UserRole role = principal.getRole();
                 
                 List<SimpleGrantedAuthority> authorities = List.of(
                     new SimpleGrantedAuthority("ROLE_" + role.name())
@@ -94,11 +85,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
-    
-    /**
-     * Check if the endpoint is public and doesn't require authentication
-     */
-    private boolean isPublicEndpoint(String requestPath) {
-        return PUBLIC_ENDPOINTS.stream().anyMatch(requestPath::startsWith);
-    }
-} 
\ No newline at end of file
+}
@@ -1,6 +1,11 @@
 package com.bookvault.auth.config;
 
+import com.bookvault.shared.enums.UserRole;
 import com.bookvault.shared.security.JwtUtil;
+import com.bookvault.shared.security.RouteAccess;
+import com.bookvault.shared.security.RouteClassifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,10 +15,16 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Enhanced Security configuration for Auth Service
  */
@@ -28,9 +39,31 @@ public class SecurityConfig {
         this.jwtUtil = jwtUtil;
     }
     
+    /**
+     * Password encoder for the configured algorithm, running on a bounded hashing pool.
+     * Stored hashes carry an {id} prefix; legacy unprefixed hashes are BCrypt. Hashes whose
+     * algorithm or cost differ from the configuration are upgraded on the next successful
+     * login (see UserDetailsServiceImpl#updatePassword).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${auth.password.encoding-id:bcrypt}") String encodingId,
+            @Value("${auth.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${auth.password.hashing.threads:0}") int hashingThreads,
+            @Value("${auth.password.hashing.queue-capacity:64}") int hashingQueueCapacity,
+            @Value("${auth.password.hashing.timeout:5s}") Duration hashingTimeout) {
+        
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encodingId, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+        
+        // OPTIMIZATION: Keep CPU-bound hashing off the request threads
+        return new BoundedPasswordEncoder(delegating, meterRegistry,
+                hashingThreads, hashingQueueCapacity, hashingTimeout);
     }
     
     @Bean
@@ -38,32 +71,45 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
     
+    /**
+     * Single source of truth for which routes are public; used by the authorization rules
+     * and by JwtAuthenticationFilter to skip token processing
+     */
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtil);
+    public RouteClassifier routeClassifier() {
+        return RouteClassifier.builder()
+                // Public endpoints - allow all HTTP methods
+                .permitAll("/api/auth/register", "/api/auth/login")
+                .permitAll("/api/auth/health", "/api/auth/validate", "/api/auth/clear-bans")
+                .permitAll("/actuator/**")
+                .permitAll("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html")
+                
+                // Protected endpoints
+                .authenticated("/api/auth/profile/**")
+                .hasRole(UserRole.ADMIN, "/api/auth/admin/**") // Also enforced by @PreAuthorize in AdminController
+                
+                // All other requests require authentication
+                .defaultAccess(RouteAccess.AUTHENTICATED)
+                .build();
     }
     
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public JwtAuthenticationFilter jwtAuthenticationFilter(RouteClassifier routeClassifier) {
+        return new JwtAuthenticationFilter(jwtUtil, routeClassifier);
+    }
+    
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http, RouteClassifier routeClassifier,
+                                           JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> {}) // Use the existing CorsConfig
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // OPTIMIZATION: One precompiled route trie instead of a chain of request matchers
             .authorizeHttpRequests(auth -> auth
-                // Public endpoints - allow all HTTP methods
-                .requestMatchers("/api/auth/register", "/api/auth/login").permitAll()
-                .requestMatchers("/api/auth/health", "/api/auth/validate", "/api/auth/clear-bans").permitAll()
-                .requestMatchers("/actuator/**").permitAll()
-                .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-                
-                // Protected endpoints
-                .requestMatchers("/api/auth/profile/**").authenticated()
-                .requestMatchers("/api/auth/admin/**").authenticated() // Admin endpoints (role-based authorization in controller)
-                
-                // All other requests require authentication
-                .anyRequest().authenticated()
+                .anyRequest().access(routeClassifier.authorizationManager())
             )
-            .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         
         return http.build();
     }
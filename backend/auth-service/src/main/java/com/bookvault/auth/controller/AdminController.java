@@ -1,5 +1,8 @@
 package com.bookvault.auth.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -10,6 +13,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,12 +24,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.bookvault.auth.dto.ActiveBanResponse;
 import com.bookvault.auth.dto.AdminUserResponse;
 import com.bookvault.auth.dto.AdminUserUpdateRequest;
+import com.bookvault.auth.dto.BulkActionResponse;
+import com.bookvault.auth.dto.BulkUserActionRequest;
+import com.bookvault.auth.projection.UserSearchView;
 import com.bookvault.auth.service.AdminService;
+import com.bookvault.auth.service.LoginAttemptService;
 import com.bookvault.shared.dto.ApiResponse;
+import com.bookvault.shared.dto.CursorPagedResponse;
 import com.bookvault.shared.enums.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
 
@@ -40,11 +52,15 @@ public class AdminController {
     
     private static final Logger log = LoggerFactory.getLogger(AdminController.class);
     
+    private static final String NDJSON = "application/x-ndjson";
+    
     private final AdminService adminService;
+    private final ObjectMapper objectMapper;
     
     // Constructor (replacing @RequiredArgsConstructor)
-    public AdminController(AdminService adminService) {
+    public AdminController(AdminService adminService, ObjectMapper objectMapper) {
         this.adminService = adminService;
+        this.objectMapper = objectMapper;
     }
     
     /**
@@ -87,13 +103,15 @@ public class AdminController {
     }
     
     /**
-     * Get all sellers
+     * Get sellers, newest first, continuing with the returned cursor
      */
     @GetMapping("/sellers")
-    public ResponseEntity<ApiResponse<List<AdminUserResponse>>> getAllSellers() {
-        log.info("Admin: Getting all sellers");
+    public ResponseEntity<ApiResponse<CursorPagedResponse<AdminUserResponse>>> getAllSellers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Admin: Getting sellers - size: {}", size);
         
-        List<AdminUserResponse> sellers = adminService.getAllSellers();
+        CursorPagedResponse<AdminUserResponse> sellers = adminService.getAllSellers(cursor, size);
         
         return ResponseEntity.ok(
             ApiResponse.success(sellers, "Sellers retrieved successfully")
@@ -134,13 +152,15 @@ public class AdminController {
     }
     
     /**
-     * Get all regular users
+     * Get regular users, newest first, continuing with the returned cursor
      */
     @GetMapping("/regular-users")
-    public ResponseEntity<ApiResponse<List<AdminUserResponse>>> getAllRegularUsers() {
-        log.info("Admin: Getting all regular users");
+    public ResponseEntity<ApiResponse<CursorPagedResponse<AdminUserResponse>>> getAllRegularUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Admin: Getting regular users - size: {}", size);
         
-        List<AdminUserResponse> users = adminService.getAllRegularUsers();
+        CursorPagedResponse<AdminUserResponse> users = adminService.getAllRegularUsers(cursor, size);
         
         return ResponseEntity.ok(
             ApiResponse.success(users, "Regular users retrieved successfully")
@@ -148,19 +168,40 @@ public class AdminController {
     }
     
     /**
-     * Get users by role
+     * Get users by role, newest first, continuing with the returned cursor
      */
     @GetMapping("/users/role/{role}")
-    public ResponseEntity<ApiResponse<List<AdminUserResponse>>> getUsersByRole(@PathVariable UserRole role) {
+    public ResponseEntity<ApiResponse<CursorPagedResponse<AdminUserResponse>>> getUsersByRole(
+            @PathVariable UserRole role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         log.info("Admin: Getting users by role: {}", role);
         
-        List<AdminUserResponse> users = adminService.getUsersByRole(role);
+        CursorPagedResponse<AdminUserResponse> users = adminService.getUsersByRole(role, cursor, size);
         
         return ResponseEntity.ok(
             ApiResponse.success(users, "Users with role " + role + " retrieved successfully")
         );
     }
     
+    /**
+     * Export every user with a role as NDJSON (one AdminUserResponse per line) for admin tooling
+     */
+    @GetMapping(value = "/users/role/{role}/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportUsersByRole(@PathVariable UserRole role) {
+        log.info("Admin: Exporting users by role: {}", role);
+        
+        StreamingResponseBody body = outputStream -> {
+            long exported = adminService.exportUsersByRole(role, user -> writeLine(outputStream, user, false));
+            log.info("Admin: Exported {} users with role {}", exported, role);
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header("Content-Disposition", "attachment; filename=\"users-" + role.name().toLowerCase() + ".ndjson\"")
+                .body(body);
+    }
+    
     /**
      * Get user by ID
      */
@@ -282,52 +323,15 @@ public class AdminController {
      * Bulk operations for users
      */
     @PutMapping("/users/bulk-action")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> bulkUserAction(
-            @RequestBody Map<String, Object> request) {
-        
-        List<UUID> userIds = (List<UUID>) request.get("userIds");
-        String action = (String) request.get("action");
-        
-        log.info("Admin: Bulk action - Action: {}, Count: {}", action, userIds.size());
-        
-        int successCount = 0;
-        int errorCount = 0;
-        
-        for (UUID userId : userIds) {
-            try {
-                switch (action.toLowerCase()) {
-                    case "activate":
-                    case "suspend":
-                        adminService.updateUserStatus(userId, action);
-                        successCount++;
-                        break;
-                    case "verify":
-                        adminService.verifyUser(userId);
-                        successCount++;
-                        break;
-                    case "delete":
-                        adminService.deleteUser(userId);
-                        successCount++;
-                        break;
-                    default:
-                        errorCount++;
-                        log.warn("Unknown bulk action: {}", action);
-                }
-            } catch (Exception e) {
-                errorCount++;
-                log.error("Error processing bulk action for user {}: {}", userId, e.getMessage());
-            }
-        }
+    public ResponseEntity<ApiResponse<BulkActionResponse>> bulkUserAction(
+            @Valid @RequestBody BulkUserActionRequest request) {
         
-        Map<String, Object> response = Map.of(
-            "totalRequested", userIds.size(),
-            "successCount", successCount,
-            "errorCount", errorCount,
-            "action", action
-        );
+        log.info("Admin: Bulk action - Action: {}, Count: {}", request.getAction(), request.getUserIds().size());
+        
+        BulkActionResponse response = adminService.bulkUserAction(request.getAction(), request.getUserIds(), null);
         
         String message = String.format("Bulk %s completed: %d successful, %d errors", 
-                                     action, successCount, errorCount);
+                                     response.getAction(), response.getSuccessCount(), response.getErrorCount());
         
         return ResponseEntity.ok(
             ApiResponse.success(response, message)
@@ -335,21 +339,100 @@ public class AdminController {
     }
     
     /**
-     * Search users by email or name
+     * Bulk operations for very large id lists, streamed as NDJSON: one {"chunk": ...} line
+     * per processed chunk (with its failures), then a final {"summary": ...} line
+     */
+    @PutMapping(value = "/users/bulk-action", params = "stream=true", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamBulkUserAction(
+            @Valid @RequestBody BulkUserActionRequest request) {
+        
+        log.info("Admin: Streaming bulk action - Action: {}, Count: {}", request.getAction(), request.getUserIds().size());
+        
+        StreamingResponseBody body = outputStream -> {
+            BulkActionResponse summary = adminService.bulkUserAction(request.getAction(), request.getUserIds(),
+                    chunk -> writeLine(outputStream, Map.of("chunk", chunk), true));
+            // Failures were already streamed with their chunks
+            summary.setFailures(List.of());
+            writeLine(outputStream, Map.of("summary", summary), true);
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+    
+    /**
+     * Get active login bans with pagination, soonest to expire first
+     */
+    @GetMapping("/bans")
+    public ResponseEntity<ApiResponse<Page<ActiveBanResponse>>> getActiveBans(
+            @RequestParam LoginAttemptService.BanCategory type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        log.info("Admin: Getting active {} bans - page: {}, size: {}", type, page, size);
+        
+        Page<ActiveBanResponse> bans = adminService.getActiveBans(type, page, size);
+        
+        return ResponseEntity.ok(
+            ApiResponse.success(bans, "Active bans retrieved successfully")
+        );
+    }
+    
+    /**
+     * Clear login bans of one type (optionally by subject prefix), or all bans when no type is given
+     */
+    @DeleteMapping("/bans")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> clearBans(
+            @RequestParam(required = false) LoginAttemptService.BanCategory type,
+            @RequestParam(required = false) String prefix) {
+        
+        log.info("Admin: Clearing bans - type: {}, prefix: {}", type != null ? type : "ALL", prefix);
+        
+        long removed = adminService.clearBans(type, prefix);
+        
+        Map<String, Object> response = Map.of(
+            "type", type != null ? type.name() : "ALL",
+            "removedKeys", removed
+        );
+        
+        return ResponseEntity.ok(
+            ApiResponse.success(response, "Bans cleared successfully")
+        );
+    }
+    
+    /**
+     * Search users by email or name (substring match), continuing with the returned cursor
      */
     @GetMapping("/users/search")
-    public ResponseEntity<ApiResponse<List<AdminUserResponse>>> searchUsers(
+    public ResponseEntity<ApiResponse<CursorPagedResponse<UserSearchView>>> searchUsers(
             @RequestParam String query,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int limit) {
         
         log.info("Admin: Searching users with query: {}", query);
         
-        // This would require a custom repository method for search
-        // For now, we'll return empty list with a note
-        List<AdminUserResponse> users = List.of();
+        CursorPagedResponse<UserSearchView> users = adminService.searchUsers(query, cursor, limit);
         
         return ResponseEntity.ok(
-            ApiResponse.success(users, "Search functionality to be implemented with custom query methods")
+            ApiResponse.success(users, "Users retrieved successfully")
         );
     }
-} 
\ No newline at end of file
+    
+    // Helper methods
+    
+    /**
+     * Write one NDJSON line; flush when the client should see it immediately (progress lines)
+     */
+    private void writeLine(OutputStream outputStream, Object value, boolean flush) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+            if (flush) {
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import com.bookvault.shared.dto.ApiResponse;
 import com.bookvault.shared.exception.BadRequestException;
 import com.bookvault.shared.exception.NotFoundException;
+import com.bookvault.shared.exception.TooManyRequestsException;
 
 /**
  * Global exception handler for the Auth Service
@@ -43,6 +44,17 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
     
+    /**
+     * Handle TooManyRequestsException (e.g. password hashing pool saturated)
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<String>> handleTooManyRequestsException(TooManyRequestsException ex) {
+        logger.warn("Too many requests: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", "1")
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+    
     /**
      * Handle Spring Security BadCredentialsException
      */
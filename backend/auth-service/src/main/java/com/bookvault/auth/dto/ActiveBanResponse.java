@@ -0,0 +1,43 @@
+package com.bookvault.auth.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for one active login ban
+ */
+public class ActiveBanResponse {
+    private String type;
+    private String subject;
+    private long remainingSeconds;
+    private LocalDateTime expiresAt;
+
+    // Default constructor
+    public ActiveBanResponse() {}
+
+    // All args constructor
+    public ActiveBanResponse(String type, String subject, long remainingSeconds, LocalDateTime expiresAt) {
+        this.type = type;
+        this.subject = subject;
+        this.remainingSeconds = remainingSeconds;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    /**
+     * Banned email or IP address
+     */
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    /**
+     * Seconds until the ban expires, -1 if it never expires
+     */
+    public long getRemainingSeconds() { return remainingSeconds; }
+    public void setRemainingSeconds(long remainingSeconds) { this.remainingSeconds = remainingSeconds; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
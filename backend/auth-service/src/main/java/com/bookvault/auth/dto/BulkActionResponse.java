@@ -0,0 +1,84 @@
+package com.bookvault.auth.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for an admin bulk user action: totals, the ids that failed and why, and timing.
+ * In streaming mode one of these is written per chunk, followed by the overall summary.
+ */
+public class BulkActionResponse {
+    private String action;
+    private int totalRequested;
+    private int successCount;
+    private int errorCount;
+    private List<Failure> failures = new ArrayList<>();
+    private long durationMs;
+
+    // Default constructor
+    public BulkActionResponse() {}
+
+    public BulkActionResponse(String action, int totalRequested) {
+        this.action = action;
+        this.totalRequested = totalRequested;
+    }
+
+    public void addSuccesses(int count) {
+        successCount += count;
+    }
+
+    public void addFailure(UUID userId, String reason) {
+        failures.add(new Failure(userId, reason));
+        errorCount++;
+    }
+
+    /**
+     * Fold the result of one chunk into this summary
+     */
+    public void merge(BulkActionResponse chunk) {
+        successCount += chunk.successCount;
+        errorCount += chunk.errorCount;
+        failures.addAll(chunk.failures);
+    }
+
+    // Getters and Setters
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public int getTotalRequested() { return totalRequested; }
+    public void setTotalRequested(int totalRequested) { this.totalRequested = totalRequested; }
+
+    public int getSuccessCount() { return successCount; }
+    public void setSuccessCount(int successCount) { this.successCount = successCount; }
+
+    public int getErrorCount() { return errorCount; }
+    public void setErrorCount(int errorCount) { this.errorCount = errorCount; }
+
+    public List<Failure> getFailures() { return failures; }
+    public void setFailures(List<Failure> failures) { this.failures = failures; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    /**
+     * One user id the action could not be applied to
+     */
+    public static class Failure {
+        private UUID userId;
+        private String reason;
+
+        public Failure() {}
+
+        public Failure(UUID userId, String reason) {
+            this.userId = userId;
+            this.reason = reason;
+        }
+
+        public UUID getUserId() { return userId; }
+        public void setUserId(UUID userId) { this.userId = userId; }
+
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+    }
+}
@@ -0,0 +1,38 @@
+package com.bookvault.auth.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * Request DTO for admin bulk user actions
+ */
+public class BulkUserActionRequest {
+
+    @NotEmpty(message = "At least one user ID is required")
+    private List<UUID> userIds;
+
+    @NotBlank(message = "Action is required")
+    private String action;
+
+    // Default constructor
+    public BulkUserActionRequest() {}
+
+    // All args constructor
+    public BulkUserActionRequest(List<UUID> userIds, String action) {
+        this.userIds = userIds;
+        this.action = action;
+    }
+
+    // Getters and Setters
+    public List<UUID> getUserIds() { return userIds; }
+    public void setUserIds(List<UUID> userIds) { this.userIds = userIds; }
+
+    /**
+     * One of activate, suspend, verify, delete
+     */
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+}
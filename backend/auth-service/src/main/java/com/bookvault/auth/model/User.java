@@ -33,7 +33,7 @@ public class User extends BaseEntity implements UserDetails {
     
     @Column(name = "password", nullable = false)
     @NotBlank(message = "Password is required")
-    @Size(min = 60, max = 60, message = "Password must be hashed")
+    @Size(min = 60, max = 255, message = "Password must be hashed")
     private String password;
     
     @Column(name = "first_name", nullable = false)
@@ -0,0 +1,101 @@
+package com.bookvault.auth.model;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.bookvault.shared.enums.UserRole;
+
+/**
+ * Immutable snapshot of the fields of a {@link User} needed to authenticate and issue a token.
+ * Safe to cache and share between threads, unlike the managed entity.
+ */
+public final class UserSecurityRecord implements UserDetails {
+
+    private final UUID id;
+    private final String email;
+    private final String password;
+    private final String firstName;
+    private final String lastName;
+    private final UserRole role;
+    private final boolean active;
+    private final boolean verified;
+
+    public UserSecurityRecord(UUID id, String email, String password, String firstName, String lastName,
+                              UserRole role, boolean active, boolean verified) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.role = role;
+        this.active = active;
+        this.verified = verified;
+    }
+
+    public static UserSecurityRecord from(User user) {
+        return new UserSecurityRecord(user.getId(), user.getEmail(), user.getPassword(),
+                user.getFirstName(), user.getLastName(), user.getRole(),
+                Boolean.TRUE.equals(user.getIsActive()), Boolean.TRUE.equals(user.getIsVerified()));
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    // UserDetails implementation (same rules as User)
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return active;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active && verified;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bookvault.auth.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.bookvault.shared.enums.UserRole;
+
+/**
+ * Projection of the user columns rendered by AdminUserResponse (no password or avatar)
+ */
+public interface AdminUserView {
+
+    UUID getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getPhone();
+
+    UserRole getRole();
+
+    Boolean getIsActive();
+
+    Boolean getIsVerified();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,23 @@
+package com.bookvault.auth.projection;
+
+import java.util.UUID;
+
+import com.bookvault.shared.enums.UserRole;
+
+/**
+ * Lightweight projection of a user returned by the admin user search
+ */
+public interface UserSearchView {
+
+    UUID getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    UserRole getRole();
+
+    Boolean getIsActive();
+}
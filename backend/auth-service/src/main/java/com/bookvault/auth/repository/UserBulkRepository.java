@@ -0,0 +1,87 @@
+package com.bookvault.auth.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC repository for set-based admin changes on the users table.
+ * Each method updates a whole chunk of ids in one statement and returns the
+ * rows it changed, so callers never load or save users one by one.
+ */
+@Repository
+public class UserBulkRepository {
+
+    // Admin accounts are protected from suspension and deletion in the statement itself
+    private static final String NOT_ADMIN = " AND role <> 'ADMIN'";
+
+    private static final String SET_ACTIVE_SQL =
+            "UPDATE users SET is_active = ?, version = COALESCE(version, 0) + 1, updated_at = now() " +
+            "WHERE id = ANY(?)";
+
+    private static final String VERIFY_SQL =
+            "UPDATE users SET is_verified = true, version = COALESCE(version, 0) + 1, updated_at = now() " +
+            "WHERE id = ANY(?)";
+
+    private static final String RETURNING = " RETURNING id, email";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Activate or deactivate users. Admins are skipped when deactivating.
+     *
+     * @return email of every updated user, by id
+     */
+    public Map<UUID, String> setActive(List<UUID> userIds, boolean active) {
+        String sql = SET_ACTIVE_SQL + (active ? "" : NOT_ADMIN) + RETURNING;
+        return updateReturning(sql, userIds, active);
+    }
+
+    /**
+     * Mark users as verified
+     *
+     * @return email of every updated user, by id
+     */
+    public Map<UUID, String> verify(List<UUID> userIds) {
+        return updateReturning(VERIFY_SQL + RETURNING, userIds, null);
+    }
+
+    /**
+     * Look up the role of the given users, e.g. to explain why an update skipped them
+     */
+    public Map<UUID, String> findRoles(List<UUID> userIds) {
+        Map<UUID, String> roles = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, role FROM users WHERE id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", userIds.toArray())),
+                rs -> {
+                    roles.put(rs.getObject("id", UUID.class), rs.getString("role"));
+                });
+        return roles;
+    }
+
+    // Helper methods
+
+    private Map<UUID, String> updateReturning(String sql, List<UUID> userIds, Boolean flag) {
+        Map<UUID, String> updated = new LinkedHashMap<>();
+        jdbcTemplate.query(sql,
+                ps -> {
+                    int index = 1;
+                    if (flag != null) {
+                        ps.setBoolean(index++, flag);
+                    }
+                    ps.setArray(index, ps.getConnection().createArrayOf("uuid", userIds.toArray()));
+                },
+                rs -> {
+                    updated.put(rs.getObject("id", UUID.class), rs.getString("email"));
+                });
+        return updated;
+    }
+}
@@ -1,13 +1,24 @@
 package com.bookvault.auth.repository;
 
 import com.bookvault.auth.model.User;
+import com.bookvault.auth.projection.AdminUserView;
+import com.bookvault.auth.projection.UserSearchView;
 import com.bookvault.shared.enums.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Simple User repository
@@ -15,6 +26,17 @@ import java.util.UUID;
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     
+    // Admin user search: the match expressions are backed by the trigram indexes in V3__user_search_indexes.sql
+    String SEARCH_SELECT = "SELECT u.id AS \"id\", u.email AS \"email\", u.first_name AS \"firstName\", " +
+                           "u.last_name AS \"lastName\", u.role AS \"role\", u.is_active AS \"isActive\" " +
+                           "FROM users u ";
+    // Role listings: only the columns AdminUserResponse renders, ordered to match idx_users_role_created
+    String ADMIN_VIEW_SELECT = "SELECT u.id AS \"id\", u.email AS \"email\", u.first_name AS \"firstName\", " +
+                               "u.last_name AS \"lastName\", u.phone AS \"phone\", u.role AS \"role\", " +
+                               "u.is_active AS \"isActive\", u.is_verified AS \"isVerified\", " +
+                               "u.created_at AS \"createdAt\", u.updated_at AS \"updatedAt\" FROM users u ";
+    String SEARCH_MATCH = "(lower(u.email) LIKE :pattern OR lower(u.first_name || ' ' || u.last_name) LIKE :pattern) ";
+    
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
@@ -30,4 +52,33 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     long countByRoleAndIsActiveTrue(UserRole role);
     
     long countByIsVerifiedTrue();
-} 
\ No newline at end of file
+    
+    // Keyset (cursor) pagination ordered by the unique email; callers ask for one extra row to detect a next page
+    @Query(value = SEARCH_SELECT + "WHERE " + SEARCH_MATCH +
+                   "ORDER BY u.email LIMIT :limit", nativeQuery = true)
+    List<UserSearchView> searchUsersFirstPage(@Param("pattern") String pattern, @Param("limit") int limit);
+    
+    @Query(value = SEARCH_SELECT + "WHERE " + SEARCH_MATCH + "AND u.email > :afterEmail " +
+                   "ORDER BY u.email LIMIT :limit", nativeQuery = true)
+    List<UserSearchView> searchUsersAfter(@Param("pattern") String pattern,
+                                          @Param("afterEmail") String afterEmail,
+                                          @Param("limit") int limit);
+    
+    // Users by role, newest first, keyset (cursor) paginated
+    @Query(value = ADMIN_VIEW_SELECT + "WHERE u.role = :role " +
+                   "ORDER BY u.created_at DESC, u.id DESC LIMIT :limit", nativeQuery = true)
+    List<AdminUserView> findUsersByRoleFirstPage(@Param("role") String role, @Param("limit") int limit);
+    
+    @Query(value = ADMIN_VIEW_SELECT + "WHERE u.role = :role AND (u.created_at, u.id) < (:createdAt, :id) " +
+                   "ORDER BY u.created_at DESC, u.id DESC LIMIT :limit", nativeQuery = true)
+    List<AdminUserView> findUsersByRoleAfter(@Param("role") String role,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") UUID id,
+                                             @Param("limit") int limit);
+    
+    // Export of every user with a role; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(value = ADMIN_VIEW_SELECT + "WHERE u.role = :role " +
+                   "ORDER BY u.created_at DESC, u.id DESC", nativeQuery = true)
+    Stream<AdminUserView> streamUsersByRole(@Param("role") String role);
+}
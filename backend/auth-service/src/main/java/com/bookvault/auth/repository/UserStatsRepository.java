@@ -0,0 +1,68 @@
+package com.bookvault.auth.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC repository for aggregate counts over the users table
+ */
+@Repository
+public class UserStatsRepository {
+
+    private static final String COUNT_USERS_SQL =
+            "SELECT COUNT(*) AS total_users, " +
+            "COUNT(*) FILTER (WHERE is_active) AS active_users, " +
+            "COUNT(*) FILTER (WHERE role = 'SELLER') AS total_sellers, " +
+            "COUNT(*) FILTER (WHERE role = 'SELLER' AND is_active) AS active_sellers, " +
+            "COUNT(*) FILTER (WHERE role = 'ADMIN') AS total_admins, " +
+            "COUNT(*) FILTER (WHERE is_verified) AS verified_users " +
+            "FROM users";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Compute every dashboard counter in a single scan of users
+     */
+    public UserCounts countUsers() {
+        return jdbcTemplate.queryForObject(COUNT_USERS_SQL, (rs, rowNum) -> new UserCounts(
+                rs.getLong("total_users"),
+                rs.getLong("active_users"),
+                rs.getLong("total_sellers"),
+                rs.getLong("active_sellers"),
+                rs.getLong("total_admins"),
+                rs.getLong("verified_users")));
+    }
+
+    /**
+     * One row of user counters
+     */
+    public static class UserCounts {
+        private final long totalUsers;
+        private final long activeUsers;
+        private final long totalSellers;
+        private final long activeSellers;
+        private final long totalAdmins;
+        private final long verifiedUsers;
+
+        public UserCounts(long totalUsers, long activeUsers, long totalSellers,
+                          long activeSellers, long totalAdmins, long verifiedUsers) {
+            this.totalUsers = totalUsers;
+            this.activeUsers = activeUsers;
+            this.totalSellers = totalSellers;
+            this.activeSellers = activeSellers;
+            this.totalAdmins = totalAdmins;
+            this.verifiedUsers = verifiedUsers;
+        }
+
+        public long getTotalUsers() { return totalUsers; }
+        public long getActiveUsers() { return activeUsers; }
+        public long getTotalSellers() { return totalSellers; }
+        public long getActiveSellers() { return activeSellers; }
+        public long getTotalAdmins() { return totalAdmins; }
+        public long getVerifiedUsers() { return verifiedUsers; }
+    }
+}
@@ -1,24 +1,41 @@
 package com.bookvault.auth.service;
 
+import com.bookvault.auth.cache.UserSecurityCache;
+import com.bookvault.auth.dto.ActiveBanResponse;
 import com.bookvault.auth.dto.AdminUserResponse;
 import com.bookvault.auth.dto.AdminUserUpdateRequest;
+import com.bookvault.auth.dto.BulkActionResponse;
 import com.bookvault.auth.model.User;
+import com.bookvault.auth.projection.AdminUserView;
+import com.bookvault.auth.projection.UserSearchView;
+import com.bookvault.auth.repository.UserBulkRepository;
 import com.bookvault.auth.repository.UserRepository;
+import com.bookvault.auth.util.CursorUtil;
+import com.bookvault.shared.dto.CursorPagedResponse;
 import com.bookvault.shared.enums.UserRole;
 import com.bookvault.shared.exception.BadRequestException;
 import com.bookvault.shared.exception.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for admin operations - user management, role assignment, etc.
@@ -31,14 +48,36 @@ public class AdminService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final LoginAttemptService loginAttemptService;
+    private final UserSecurityCache userSecurityCache;
+    private final UserBulkRepository userBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DashboardStatsService dashboardStatsService;
+    private final int bulkChunkSize;
+    
+    private static final int MAX_BAN_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_LIMIT = 50;
+    private static final int MAX_LISTING_PAGE_SIZE = 100;
+    // Trigram indexes cannot narrow a LIKE pattern shorter than one trigram
+    private static final int MIN_SEARCH_LENGTH = 3;
+    private static final Set<String> BULK_ACTIONS = Set.of("activate", "suspend", "verify", "delete");
     
     // Constructor (replacing @RequiredArgsConstructor)
     public AdminService(UserRepository userRepository, 
                        PasswordEncoder passwordEncoder,
-                       LoginAttemptService loginAttemptService) {
+                       LoginAttemptService loginAttemptService,
+                       UserSecurityCache userSecurityCache,
+                       UserBulkRepository userBulkRepository,
+                       TransactionTemplate transactionTemplate,
+                       DashboardStatsService dashboardStatsService,
+                       @Value("${auth.admin.bulk.chunk-size:500}") int bulkChunkSize) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.loginAttemptService = loginAttemptService;
+        this.userSecurityCache = userSecurityCache;
+        this.userBulkRepository = userBulkRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.dashboardStatsService = dashboardStatsService;
+        this.bulkChunkSize = Math.max(1, bulkChunkSize);
     }
     
     /**
@@ -52,29 +91,65 @@ public class AdminService {
     }
     
     /**
-     * Get users by role
+     * Get users by role, newest first, one keyset page at a time
      */
-    public List<AdminUserResponse> getUsersByRole(UserRole role) {
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<AdminUserResponse> getUsersByRole(UserRole role, String cursor, int size) {
         log.info("Admin: Getting users by role: {}", role);
         
-        List<User> users = userRepository.findByRole(role);
-        return users.stream()
-                .map(this::mapToAdminUserResponse)
-                .collect(Collectors.toList());
+        int pageSize = Math.max(1, Math.min(size, MAX_LISTING_PAGE_SIZE));
+        
+        // OPTIMIZATION: Projected columns and keyset pages instead of loading every entity with the role
+        List<AdminUserView> users;
+        if (cursor == null || cursor.isBlank()) {
+            users = userRepository.findUsersByRoleFirstPage(role.name(), pageSize + 1);
+        } else {
+            String[] key = CursorUtil.decode(cursor, 2);
+            users = userRepository.findUsersByRoleAfter(role.name(), parseCursorDateTime(key[0]),
+                    parseCursorId(key[1]), pageSize + 1);
+        }
+        
+        boolean hasNext = users.size() > pageSize;
+        List<AdminUserView> page = hasNext ? users.subList(0, pageSize) : users;
+        AdminUserView last = page.isEmpty() ? null : page.get(page.size() - 1);
+        
+        return CursorPagedResponse.<AdminUserResponse>builder()
+                .content(page.stream().map(this::mapToAdminUserResponse).collect(Collectors.toList()))
+                .size(pageSize)
+                .nextCursor(hasNext ? CursorUtil.encode(last.getCreatedAt().toString(), last.getId().toString()) : null)
+                .build();
     }
     
     /**
-     * Get all sellers (users with SELLER role)
+     * Get sellers (users with SELLER role)
      */
-    public List<AdminUserResponse> getAllSellers() {
-        return getUsersByRole(UserRole.SELLER);
+    public CursorPagedResponse<AdminUserResponse> getAllSellers(String cursor, int size) {
+        return getUsersByRole(UserRole.SELLER, cursor, size);
     }
     
     /**
-     * Get all regular users (users with USER role)
+     * Get regular users (users with USER role)
      */
-    public List<AdminUserResponse> getAllRegularUsers() {
-        return getUsersByRole(UserRole.USER);
+    public CursorPagedResponse<AdminUserResponse> getAllRegularUsers(String cursor, int size) {
+        return getUsersByRole(UserRole.USER, cursor, size);
+    }
+    
+    /**
+     * Hand every user with a role to {@code consumer}, newest first, reading from a
+     * database cursor so memory use does not grow with the number of users
+     */
+    @Transactional(readOnly = true)
+    public long exportUsersByRole(UserRole role, Consumer<AdminUserResponse> consumer) {
+        log.info("Admin: Exporting users by role: {}", role);
+        
+        long count = 0;
+        try (Stream<AdminUserView> users = userRepository.streamUsersByRole(role.name())) {
+            for (AdminUserView user : (Iterable<AdminUserView>) users::iterator) {
+                consumer.accept(mapToAdminUserResponse(user));
+                count++;
+            }
+        }
+        return count;
     }
     
     /**
@@ -89,6 +164,39 @@ public class AdminService {
         return mapToAdminUserResponse(user);
     }
     
+    /**
+     * Search users by a substring of their email or "first last" name, ordered by email.
+     * Returns at most {@value #MAX_SEARCH_LIMIT} lightweight rows per page; pass the
+     * returned cursor back to continue.
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<UserSearchView> searchUsers(String query, String cursor, int limit) {
+        String term = query != null ? query.trim().toLowerCase() : "";
+        if (term.length() < MIN_SEARCH_LENGTH) {
+            throw new BadRequestException("Search query must be at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        String pattern = "%" + escapeLike(term) + "%";
+        
+        // OPTIMIZATION: Trigram-indexed match with keyset continuation instead of paging through full entities
+        List<UserSearchView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = userRepository.searchUsersFirstPage(pattern, pageSize + 1);
+        } else {
+            String afterEmail = CursorUtil.decode(cursor, 1)[0];
+            rows = userRepository.searchUsersAfter(pattern, afterEmail, pageSize + 1);
+        }
+        
+        boolean hasNext = rows.size() > pageSize;
+        List<UserSearchView> page = hasNext ? rows.subList(0, pageSize) : rows;
+        
+        return CursorPagedResponse.<UserSearchView>builder()
+                .content(page)
+                .size(pageSize)
+                .nextCursor(hasNext ? CursorUtil.encode(page.get(page.size() - 1).getEmail()) : null)
+                .build();
+    }
+    
     /**
      * Update user status (activate/deactivate)
      */
@@ -104,6 +212,8 @@ public class AdminService {
             throw new BadRequestException("Cannot suspend admin user");
         }
         
+        DashboardStatsService.UserState before = DashboardStatsService.UserState.of(user);
+        
         switch (action.toLowerCase()) {
             case "activate":
                 user.activate();
@@ -119,6 +229,8 @@ public class AdminService {
         
         user.setUpdatedAt(LocalDateTime.now());
         User savedUser = userRepository.save(user);
+        userSecurityCache.evict(savedUser.getEmail());
+        dashboardStatsService.recordChange(before, savedUser);
         
         return mapToAdminUserResponse(savedUser);
     }
@@ -134,10 +246,13 @@ public class AdminService {
                 .orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
         
         UserRole oldRole = user.getRole();
+        DashboardStatsService.UserState before = DashboardStatsService.UserState.of(user);
         user.setRole(newRole);
         user.setUpdatedAt(LocalDateTime.now());
         
         User savedUser = userRepository.save(user);
+        userSecurityCache.evict(savedUser.getEmail());
+        dashboardStatsService.recordChange(before, savedUser);
         
         log.info("User role updated - Email: {}, Old Role: {}, New Role: {}", 
                 user.getEmail(), oldRole, newRole);
@@ -155,9 +270,12 @@ public class AdminService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
         
+        DashboardStatsService.UserState before = DashboardStatsService.UserState.of(user);
         user.verify();
         user.setUpdatedAt(LocalDateTime.now());
         User savedUser = userRepository.save(user);
+        userSecurityCache.evict(savedUser.getEmail());
+        dashboardStatsService.recordChange(before, savedUser);
         
         log.info("User verified: {}", user.getEmail());
         
@@ -181,6 +299,7 @@ public class AdminService {
         user.setPassword(encodedPassword);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        userSecurityCache.evict(user.getEmail());
         
         // Clear any login attempts for this user
         loginAttemptService.clearUserAttempts(user.getEmail());
@@ -200,6 +319,10 @@ public class AdminService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
         
+        // Evict under the old email too in case it changes
+        userSecurityCache.evict(user.getEmail());
+        DashboardStatsService.UserState before = DashboardStatsService.UserState.of(user);
+        
         // Check if email is being changed and if it's already taken
         if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
             if (userRepository.findByEmail(request.getEmail()).isPresent()) {
@@ -230,6 +353,8 @@ public class AdminService {
         
         user.setUpdatedAt(LocalDateTime.now());
         User savedUser = userRepository.save(user);
+        userSecurityCache.evict(savedUser.getEmail());
+        dashboardStatsService.recordChange(before, savedUser);
         
         log.info("User updated: {}", user.getEmail());
         
@@ -252,40 +377,154 @@ public class AdminService {
         }
         
         // Soft delete - deactivate user instead of hard delete
+        DashboardStatsService.UserState before = DashboardStatsService.UserState.of(user);
         user.deactivate();
         user.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userSecurityCache.evict(savedUser.getEmail());
+        dashboardStatsService.recordChange(before, savedUser);
         
         log.info("User deleted (deactivated): {}", user.getEmail());
     }
     
+    /**
+     * Apply activate, suspend, verify or delete (soft) to many users.
+     * Ids are processed in chunks, each a single set-based UPDATE in its own transaction,
+     * so a failing chunk does not roll back the ones before it. Admin accounts are
+     * protected in SQL, as in {@link #updateUserStatus} and {@link #deleteUser}.
+     *
+     * @param chunkListener receives the result of every chunk as it completes, may be null
+     * @return totals and per-id failures for the whole request
+     */
+    public BulkActionResponse bulkUserAction(String action, List<UUID> userIds,
+                                             Consumer<BulkActionResponse> chunkListener) {
+        String normalizedAction = action != null ? action.toLowerCase() : "";
+        if (!BULK_ACTIONS.contains(normalizedAction)) {
+            throw new BadRequestException("Invalid action. Use 'activate', 'suspend', 'verify' or 'delete'");
+        }
+        if (userIds == null || userIds.isEmpty()) {
+            throw new BadRequestException("At least one user ID is required");
+        }
+        
+        long start = System.currentTimeMillis();
+        BulkActionResponse summary = new BulkActionResponse(normalizedAction, userIds.size());
+        
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        if (ids.remove(null)) {
+            summary.addFailure(null, "Missing user ID");
+        }
+        
+        // OPTIMIZATION: One UPDATE ... WHERE id = ANY(?) per chunk instead of a find + save per user
+        for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+            long chunkStart = System.currentTimeMillis();
+            List<UUID> chunk = ids.subList(from, Math.min(from + bulkChunkSize, ids.size()));
+            
+            BulkActionResponse chunkResult;
+            try {
+                chunkResult = transactionTemplate.execute(status -> applyBulkChunk(normalizedAction, chunk));
+            } catch (RuntimeException e) {
+                log.error("Admin: Bulk {} chunk of {} users failed: {}", normalizedAction, chunk.size(), e.getMessage());
+                chunkResult = new BulkActionResponse(normalizedAction, chunk.size());
+                for (UUID userId : chunk) {
+                    chunkResult.addFailure(userId, "Update failed: " + e.getMessage());
+                }
+            }
+            chunkResult.setDurationMs(System.currentTimeMillis() - chunkStart);
+            
+            summary.merge(chunkResult);
+            if (chunkListener != null) {
+                chunkListener.accept(chunkResult);
+            }
+        }
+        
+        summary.setDurationMs(System.currentTimeMillis() - start);
+        if (summary.getSuccessCount() > 0) {
+            dashboardStatsService.requestRefresh();
+        }
+        log.info("Admin: Bulk {} completed - {} requested, {} successful, {} errors in {} ms",
+                normalizedAction, summary.getTotalRequested(), summary.getSuccessCount(),
+                summary.getErrorCount(), summary.getDurationMs());
+        return summary;
+    }
+    
     /**
      * Get admin dashboard statistics
      */
     public AdminDashboardStats getDashboardStats() {
         log.info("Admin: Getting dashboard statistics");
         
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.countByIsActiveTrue();
-        long inactiveUsers = totalUsers - activeUsers;
-        long totalSellers = userRepository.countByRole(UserRole.SELLER);
-        long activeSellers = userRepository.countByRoleAndIsActiveTrue(UserRole.SELLER);
-        long totalAdmins = userRepository.countByRole(UserRole.ADMIN);
-        long verifiedUsers = userRepository.countByIsVerifiedTrue();
-        
-        return AdminDashboardStats.builder()
-                .totalUsers(totalUsers)
-                .activeUsers(activeUsers)
-                .inactiveUsers(inactiveUsers)
-                .totalSellers(totalSellers)
-                .activeSellers(activeSellers)
-                .totalAdmins(totalAdmins)
-                .verifiedUsers(verifiedUsers)
-                .build();
+        // OPTIMIZATION: Served from an in-memory snapshot (one aggregate query every few seconds)
+        return dashboardStatsService.getStats();
+    }
+    
+    /**
+     * Page through active login bans of one category
+     */
+    public Page<ActiveBanResponse> getActiveBans(LoginAttemptService.BanCategory category, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_BAN_PAGE_SIZE) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and " + MAX_BAN_PAGE_SIZE);
+        }
+        return loginAttemptService.getActiveBans(category, page, size);
+    }
+    
+    /**
+     * Clear login bans: one category (optionally only subjects with a prefix),
+     * or every ban and failed-attempt counter when no category is given
+     *
+     * @return number of Redis keys removed
+     */
+    public long clearBans(LoginAttemptService.BanCategory category, String subjectPrefix) {
+        if (category == null) {
+            if (subjectPrefix != null && !subjectPrefix.isEmpty()) {
+                throw new BadRequestException("A ban type is required when clearing by prefix");
+            }
+            return loginAttemptService.clearAllBans();
+        }
+        return loginAttemptService.clearBans(category, subjectPrefix);
     }
     
     // Helper methods
     
+    /**
+     * Apply a bulk action to one chunk of distinct ids inside the caller's transaction
+     */
+    private BulkActionResponse applyBulkChunk(String action, List<UUID> chunk) {
+        Map<UUID, String> updated;
+        switch (action) {
+            case "activate":
+                updated = userBulkRepository.setActive(chunk, true);
+                break;
+            case "suspend":
+            case "delete":
+                updated = userBulkRepository.setActive(chunk, false);
+                break;
+            default:
+                updated = userBulkRepository.verify(chunk);
+        }
+        
+        updated.values().forEach(userSecurityCache::evict);
+        
+        BulkActionResponse result = new BulkActionResponse(action, chunk.size());
+        result.addSuccesses(updated.size());
+        if (updated.size() == chunk.size()) {
+            return result;
+        }
+        
+        // Explain the ids the UPDATE skipped: missing, or protected admins
+        List<UUID> skipped = chunk.stream()
+                .filter(userId -> !updated.containsKey(userId))
+                .collect(Collectors.toList());
+        Map<UUID, String> roles = userBulkRepository.findRoles(skipped);
+        for (UUID userId : skipped) {
+            if (UserRole.ADMIN.name().equals(roles.get(userId))) {
+                result.addFailure(userId, "Cannot " + action + " admin user");
+            } else {
+                result.addFailure(userId, "User not found with ID: " + userId);
+            }
+        }
+        return result;
+    }
+    
     /**
      * Map User entity to AdminUserResponse DTO
      */
@@ -304,6 +543,47 @@ public class AdminService {
                 .build();
     }
     
+    /**
+     * Map a projected user row to AdminUserResponse DTO
+     */
+    private AdminUserResponse mapToAdminUserResponse(AdminUserView user) {
+        return AdminUserResponse.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .phone(user.getPhone())
+                .role(user.getRole())
+                .isActive(user.getIsActive())
+                .isVerified(user.getIsVerified())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+    
+    private LocalDateTime parseCursorDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+    
+    private UUID parseCursorId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+    
+    /**
+     * Escape LIKE wildcards so the search term is matched literally
+     */
+    private String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
     /**
      * Generate temporary password for password reset
      */
@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,12 +17,17 @@ import com.bookvault.auth.dto.LoginRequest;
 import com.bookvault.auth.dto.RegisterRequest;
 import com.bookvault.auth.dto.UpdateProfileRequest;
 import com.bookvault.auth.dto.UserProfileResponse;
+import com.bookvault.auth.cache.UserSecurityCache;
 import com.bookvault.auth.model.User;
+import com.bookvault.auth.model.UserSecurityRecord;
 import com.bookvault.auth.repository.UserRepository;
 import com.bookvault.shared.exception.BadRequestException;
 import com.bookvault.shared.exception.NotFoundException;
+import com.bookvault.shared.security.JwtPrincipal;
 import com.bookvault.shared.security.JwtUtil;
 
+import io.jsonwebtoken.JwtException;
+
 /**
  * Simple Authentication Service
  */
@@ -38,16 +44,21 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
     private final LoginAttemptService loginAttemptService;
+    private final UserSecurityCache userSecurityCache;
+    private final DashboardStatsService dashboardStatsService;
     
     // Constructor (replacing @RequiredArgsConstructor)
     public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, 
                       AuthenticationManager authenticationManager, JwtUtil jwtUtil, 
-                      LoginAttemptService loginAttemptService) {
+                      LoginAttemptService loginAttemptService, UserSecurityCache userSecurityCache,
+                      DashboardStatsService dashboardStatsService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.loginAttemptService = loginAttemptService;
+        this.userSecurityCache = userSecurityCache;
+        this.dashboardStatsService = dashboardStatsService;
     }
     
     // Register new user
@@ -70,6 +81,7 @@ public class AuthService {
                 .build();
         
         User savedUser = userRepository.save(user);
+        dashboardStatsService.recordChange(null, savedUser);
         
         // Generate JWT token
         String token = jwtUtil.generateToken(savedUser.getId(), savedUser.getEmail(), savedUser.getRole());
@@ -82,27 +94,29 @@ public class AuthService {
     
     // Login user
     public AuthResponse login(LoginRequest request, String clientIpAddress) {
+        // OPTIMIZATION: User and IP bans come back from a single Redis script call
+        LoginAttemptService.AttemptVerdict banCheck = loginAttemptService.checkLogin(request.getEmail(), clientIpAddress);
+        
         // Check if user is banned using improved BanInfo approach
-        LoginAttemptService.BanInfo userBanInfo = loginAttemptService.getUserBanInfo(request.getEmail());
+        LoginAttemptService.BanInfo userBanInfo = banCheck.getUserBanInfo();
         if (userBanInfo.isBanned()) {
             throw new BadRequestException(userBanInfo.getMessage());
         }
         
         // Check if IP is banned
-        if (loginAttemptService.isIpBanned(clientIpAddress)) {
-            long remainingTime = loginAttemptService.getIpBanTimeRemaining(clientIpAddress);
+        if (banCheck.isIpBanned()) {
+            long remainingTime = banCheck.getIpBanRemainingMinutes();
             throw new BadRequestException("Too many failed login attempts from this location. Please try again in " + remainingTime + " minutes.");
         }
         
         try {
             // Authenticate user
-            authenticationManager.authenticate(
+            // OPTIMIZATION: The authenticated principal is the record loaded for the password check,
+            // so no second user lookup is needed
+            Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
             );
-            
-            // Get user details
-            User user = userRepository.findByEmail(request.getEmail())
-                    .orElseThrow(() -> new NotFoundException("User not found: " + request.getEmail()));
+            UserSecurityRecord user = (UserSecurityRecord) authentication.getPrincipal();
             
             // Clear failed attempts on successful login
             loginAttemptService.clearFailedAttempts(request.getEmail(), clientIpAddress);
@@ -115,12 +129,13 @@ public class AuthService {
             return AuthResponse.of(token, user.getId(), user.getEmail(), 
                                  user.getFirstName(), user.getLastName(), user.getRole());
         } catch (BadCredentialsException e) {
-            // Record failed login attempt
-            loginAttemptService.recordFailedAttempt(request.getEmail(), clientIpAddress);
+            // Record failed login attempt; the verdict carries the updated attempt counts
+            LoginAttemptService.AttemptVerdict verdict = 
+                    loginAttemptService.recordFailedAttempt(request.getEmail(), clientIpAddress);
             
             // Get current attempt counts for progressive warning messages
-            int userAttempts = loginAttemptService.getUserFailedAttempts(request.getEmail());
-            int ipAttempts = loginAttemptService.getIpFailedAttempts(clientIpAddress);
+            int userAttempts = verdict.getUserAttempts();
+            int ipAttempts = verdict.getIpAttempts();
             
             // Provide informative error message with exact requirements
             String errorMessage = "Invalid email or password.";
@@ -178,6 +193,7 @@ public class AuthService {
         }
         
         User savedUser = userRepository.save(user);
+        userSecurityCache.evict(savedUser.getEmail());
         log.info("Updated user profile: {}", savedUser.getEmail());
         
         return UserProfileResponse.builder()
@@ -197,11 +213,17 @@ public class AuthService {
     // Validate token and get user info
     @Transactional(readOnly = true)
     public UserProfileResponse validateToken(String token) {
-        if (!jwtUtil.validateToken(token) || jwtUtil.isTokenExpired(token)) {
+        JwtPrincipal principal;
+        try {
+            principal = jwtUtil.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid or expired token");
+        }
+        if (!principal.isAccessToken()) {
             throw new BadRequestException("Invalid or expired token");
         }
         
-        String email = jwtUtil.getEmailFromToken(token);
+        String email = principal.getEmail();
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException("User not found: " + email));
         
@@ -0,0 +1,236 @@
+package com.bookvault.auth.service;
+
+import com.bookvault.auth.model.User;
+import com.bookvault.auth.repository.UserStatsRepository;
+import com.bookvault.shared.enums.UserRole;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory snapshot of the admin dashboard user counters.
+ *
+ * The counters are recomputed with one aggregate query on a background thread
+ * every few seconds and published as one immutable snapshot, so a reader always
+ * sees a consistent set. In between, user changes made through this instance apply
+ * deltas after their transaction commits, so reads never touch the database.
+ * Changes made elsewhere (other instances, bulk actions) show up on the next refresh.
+ *
+ * A refresh query that runs while a change commits may or may not count it, so a
+ * delta is only applied to the snapshot that was current before the change committed,
+ * and only if no refresh started in the meantime. Otherwise the delta is dropped and
+ * another refresh is requested; that one starts after the commit and counts it exactly
+ * once. The counters are therefore never double-counted and are at most one refresh
+ * behind for such changes.
+ */
+@Service
+public class DashboardStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    private final UserStatsRepository userStatsRepository;
+    private final Duration refreshInterval;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLong refreshesStarted = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    @Autowired
+    public DashboardStatsService(UserStatsRepository userStatsRepository,
+                                 @Value("${auth.admin.stats.refresh-interval:5s}") Duration refreshInterval) {
+        this(userStatsRepository, refreshInterval, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-stats-refresh");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    DashboardStatsService(UserStatsRepository userStatsRepository, Duration refreshInterval,
+                          ScheduledExecutorService scheduler) {
+        this.userStatsRepository = userStatsRepository;
+        this.refreshInterval = refreshInterval;
+        this.scheduler = scheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefreshing() {
+        long intervalMs = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Current counters; only queries the database if no snapshot has been loaded yet
+     */
+    public AdminService.AdminDashboardStats getStats() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            current = refresh();
+        }
+        return AdminService.AdminDashboardStats.builder()
+                .totalUsers(current.totalUsers)
+                .activeUsers(current.activeUsers)
+                .inactiveUsers(current.totalUsers - current.activeUsers)
+                .totalSellers(current.totalSellers)
+                .activeSellers(current.activeSellers)
+                .totalAdmins(current.totalAdmins)
+                .verifiedUsers(current.verifiedUsers)
+                .build();
+    }
+
+    /**
+     * Schedule an immediate refresh, e.g. after a bulk change the deltas do not cover
+     */
+    public void requestRefresh() {
+        scheduler.execute(this::refreshQuietly);
+    }
+
+    /**
+     * Apply the difference between two states of a user once the current transaction commits.
+     * Pass null as {@code before} for a new user.
+     */
+    public void recordChange(UserState before, User after) {
+        UserState current = UserState.of(after);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private long generation;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    generation = currentGeneration();
+                }
+
+                @Override
+                public void afterCommit() {
+                    applyDelta(generation, before, current);
+                }
+            });
+        } else {
+            applyDelta(currentGeneration(), before, current);
+        }
+    }
+
+    // Helper methods
+
+    Snapshot refresh() {
+        long generation = refreshesStarted.incrementAndGet();
+        UserStatsRepository.UserCounts counts = userStatsRepository.countUsers();
+        Snapshot loaded = new Snapshot(generation, counts.getTotalUsers(), counts.getActiveUsers(),
+                counts.getTotalSellers(), counts.getActiveSellers(), counts.getTotalAdmins(), counts.getVerifiedUsers());
+        // A slower refresh that started earlier must not replace a newer snapshot
+        return snapshot.accumulateAndGet(loaded,
+                (existing, next) -> existing == null || next.generation > existing.generation ? next : existing);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh dashboard statistics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Generation of the current snapshot, or -1 while a refresh is running or none is loaded
+     */
+    private long currentGeneration() {
+        Snapshot current = snapshot.get();
+        return current != null && current.generation == refreshesStarted.get() ? current.generation : -1;
+    }
+
+    private void applyDelta(long generation, UserState before, UserState after) {
+        if (generation < 0 || refreshesStarted.get() != generation) {
+            // A refresh overlapped the commit and may already count this change
+            if (snapshot.get() != null) {
+                requestRefresh();
+            }
+            return;
+        }
+        // A refresh starting after the check above sees the commit and publishes a newer generation
+        snapshot.updateAndGet(current -> current.generation == generation ? current.plus(before, after) : current);
+    }
+
+    /**
+     * One consistent set of counters, tagged with the refresh that loaded it
+     */
+    static final class Snapshot {
+        private final long generation;
+        private final long totalUsers;
+        private final long activeUsers;
+        private final long totalSellers;
+        private final long activeSellers;
+        private final long totalAdmins;
+        private final long verifiedUsers;
+
+        private Snapshot(long generation, long totalUsers, long activeUsers, long totalSellers,
+                         long activeSellers, long totalAdmins, long verifiedUsers) {
+            this.generation = generation;
+            this.totalUsers = totalUsers;
+            this.activeUsers = activeUsers;
+            this.totalSellers = totalSellers;
+            this.activeSellers = activeSellers;
+            this.totalAdmins = totalAdmins;
+            this.verifiedUsers = verifiedUsers;
+        }
+
+        private Snapshot plus(UserState before, UserState after) {
+            Snapshot result = this;
+            if (before != null) {
+                result = result.add(before, -1);
+            }
+            return result.add(after, 1);
+        }
+
+        private Snapshot add(UserState state, int sign) {
+            boolean seller = state.role == UserRole.SELLER;
+            return new Snapshot(generation,
+                    totalUsers + sign,
+                    activeUsers + (state.active ? sign : 0),
+                    totalSellers + (seller ? sign : 0),
+                    activeSellers + (seller && state.active ? sign : 0),
+                    totalAdmins + (state.role == UserRole.ADMIN ? sign : 0),
+                    verifiedUsers + (state.verified ? sign : 0));
+        }
+    }
+
+    /**
+     * The fields of a user the dashboard counts
+     */
+    public static final class UserState {
+        private final UserRole role;
+        private final boolean active;
+        private final boolean verified;
+
+        private UserState(UserRole role, boolean active, boolean verified) {
+            this.role = role;
+            this.active = active;
+            this.verified = verified;
+        }
+
+        /**
+         * Capture a user's counted state, e.g. before changing it
+         */
+        public static UserState of(User user) {
+            return new UserState(user.getRole(),
+                    Boolean.TRUE.equals(user.getIsActive()), Boolean.TRUE.equals(user.getIsVerified()));
+        }
+    }
+}
@@ -1,14 +1,36 @@
 package com.bookvault.auth.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import com.bookvault.auth.dto.ActiveBanResponse;
+
 /**
  * Service to handle login attempt tracking and banning logic
  */
@@ -38,6 +60,97 @@ public class LoginAttemptService {
     private static final String USER_DB_BAN_PREFIX = "user_db_ban:";
     private static final String IP_BAN_PREFIX = "ip_ban:";
     
+    // Sorted sets of banned subjects scored by ban expiry (epoch seconds), so active bans
+    // can be paged without scanning the keyspace
+    private static final String USER_TEMP_BAN_INDEX = "ban_index:user_temp";
+    private static final String USER_DB_BAN_INDEX = "ban_index:user_db";
+    private static final String IP_BAN_INDEX = "ban_index:ip";
+    
+    // Ban keys without an expiry are indexed with this score
+    private static final double NO_EXPIRY_SCORE = Long.MAX_VALUE;
+    
+    // Keys per SCAN step and per UNLINK batch when clearing bans
+    private static final int SCAN_BATCH_SIZE = 500;
+    
+    private static final long ATTEMPTS_WINDOW_SECONDS = Duration.ofHours(24).getSeconds();
+    
+    // OPTIMIZATION: The whole ban policy runs server-side as Lua scripts, so a login costs one
+    // round trip for the ban check and one to record a failure, and concurrent attempts for the
+    // same user or IP cannot interleave between the check and the update.
+    //
+    // Both scripts take KEYS = user attempts, user temp ban, user db ban, IP attempts, IP ban,
+    // user temp ban index, user db ban index, IP ban index and return {user temp ban TTL, user db ban TTL, IP ban TTL, user attempts, IP attempts, events},
+    // where TTLs are in seconds (-2 = no ban, -1 = ban without expiry) and events is a bitmask of
+    // bans applied by this call (1 = user temp ban, 2 = user db ban, 4 = IP ban).
+    
+    private static final String CHECK_LUA =
+            "return {redis.call('TTL', KEYS[2]), redis.call('TTL', KEYS[3]), redis.call('TTL', KEYS[5]), " +
+            "tonumber(redis.call('GET', KEYS[1]) or '0'), tonumber(redis.call('GET', KEYS[4]) or '0'), 0}";
+    
+    // ARGV: attempts window, temp ban at, db ban at, temp ban seconds, db ban seconds, IP ban at,
+    // IP ban seconds, now (epoch seconds), email, IP address
+    // Expired entries are trimmed from a ban index before each ZADD, so the indexes stay bounded
+    // by the bans still active even when the admin listing never runs.
+    private static final String RECORD_FAILURE_LUA =
+            "local events = 0\n" +
+            "local tempTtl = redis.call('TTL', KEYS[2])\n" +
+            "local dbTtl = redis.call('TTL', KEYS[3])\n" +
+            "local userAttempts\n" +
+            "if tempTtl == -2 and dbTtl == -2 then\n" +
+            "  userAttempts = redis.call('INCR', KEYS[1])\n" +
+            "  if userAttempts == 1 then redis.call('EXPIRE', KEYS[1], ARGV[1]) end\n" +
+            "  if userAttempts >= tonumber(ARGV[3]) then\n" +
+            "    redis.call('SET', KEYS[3], 'PERMANENT_BAN', 'EX', ARGV[5])\n" +
+            "    redis.call('DEL', KEYS[1], KEYS[2])\n" +
+            "    redis.call('ZREM', KEYS[6], ARGV[9])\n" +
+            "    redis.call('ZREMRANGEBYSCORE', KEYS[7], '-inf', ARGV[8])\n" +
+            "    redis.call('ZADD', KEYS[7], tonumber(ARGV[8]) + tonumber(ARGV[5]), ARGV[9])\n" +
+            "    tempTtl = -2\n" +
+            "    dbTtl = tonumber(ARGV[5])\n" +
+            "    userAttempts = 0\n" +
+            "    events = events + 2\n" +
+            "  elseif userAttempts >= tonumber(ARGV[2]) then\n" +
+            "    redis.call('SET', KEYS[2], 'banned', 'EX', ARGV[4])\n" +
+            "    redis.call('ZREMRANGEBYSCORE', KEYS[6], '-inf', ARGV[8])\n" +
+            "    redis.call('ZADD', KEYS[6], tonumber(ARGV[8]) + tonumber(ARGV[4]), ARGV[9])\n" +
+            "    tempTtl = tonumber(ARGV[4])\n" +
+            "    events = events + 1\n" +
+            "  end\n" +
+            "else\n" +
+            "  userAttempts = tonumber(redis.call('GET', KEYS[1]) or '0')\n" +
+            "end\n" +
+            "local ipAttempts = redis.call('INCR', KEYS[4])\n" +
+            "if ipAttempts == 1 then redis.call('EXPIRE', KEYS[4], ARGV[1]) end\n" +
+            "local ipTtl = redis.call('TTL', KEYS[5])\n" +
+            "if ipAttempts >= tonumber(ARGV[6]) then\n" +
+            "  redis.call('SET', KEYS[5], 'banned', 'EX', ARGV[7])\n" +
+            "  redis.call('DEL', KEYS[4])\n" +
+            "  redis.call('ZREMRANGEBYSCORE', KEYS[8], '-inf', ARGV[8])\n" +
+            "  redis.call('ZADD', KEYS[8], tonumber(ARGV[8]) + tonumber(ARGV[7]), ARGV[10])\n" +
+            "  ipTtl = tonumber(ARGV[7])\n" +
+            "  ipAttempts = 0\n" +
+            "  events = events + 4\n" +
+            "end\n" +
+            "return {tempTtl, dbTtl, ipTtl, userAttempts, ipAttempts, events}";
+    
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CHECK_SCRIPT = RedisScript.of(CHECK_LUA, List.class);
+    
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RECORD_FAILURE_SCRIPT = RedisScript.of(RECORD_FAILURE_LUA, List.class);
+    
+    /**
+     * Check user and IP bans in a single round trip
+     */
+    public AttemptVerdict checkLogin(String email, String ipAddress) {
+        try {
+            return AttemptVerdict.fromScriptResult(eval(CHECK_SCRIPT, attemptKeys(email, ipAddress)));
+        } catch (Exception e) {
+            logger.warn("Redis connection failed while checking bans for user: {} and IP: {}. Allowing login attempt.", email, ipAddress);
+            return AttemptVerdict.NONE; // Allow login when Redis is unavailable
+        }
+    }
+    
     /**
      * Check if user is temporarily banned (3 attempts = 15 min ban)
      */
@@ -135,6 +248,69 @@ public class LoginAttemptService {
         public boolean isBanned() { return type != BanType.NONE; }
     }
     
+    /**
+     * Compact result of one ban-policy script call: ban TTLs, attempt counts
+     * and which bans the call applied
+     */
+    public static class AttemptVerdict {
+        static final AttemptVerdict NONE = new AttemptVerdict(-2, -2, -2, 0, 0, 0);
+        
+        private static final int EVENT_USER_TEMP_BAN = 1;
+        private static final int EVENT_USER_DB_BAN = 2;
+        private static final int EVENT_IP_BAN = 4;
+        
+        private final long userTempBanTtlSeconds;
+        private final long userDbBanTtlSeconds;
+        private final long ipBanTtlSeconds;
+        private final int userAttempts;
+        private final int ipAttempts;
+        private final int events;
+        
+        AttemptVerdict(long userTempBanTtlSeconds, long userDbBanTtlSeconds, long ipBanTtlSeconds,
+                       int userAttempts, int ipAttempts, int events) {
+            this.userTempBanTtlSeconds = userTempBanTtlSeconds;
+            this.userDbBanTtlSeconds = userDbBanTtlSeconds;
+            this.ipBanTtlSeconds = ipBanTtlSeconds;
+            this.userAttempts = userAttempts;
+            this.ipAttempts = ipAttempts;
+            this.events = events;
+        }
+        
+        static AttemptVerdict fromScriptResult(List<Long> result) {
+            if (result == null || result.size() < 6) {
+                return NONE;
+            }
+            return new AttemptVerdict(result.get(0), result.get(1), result.get(2),
+                    result.get(3).intValue(), result.get(4).intValue(), result.get(5).intValue());
+        }
+        
+        public BanInfo getUserBanInfo() {
+            if (userTempBanTtlSeconds != -2) {
+                long remaining = toMinutes(userTempBanTtlSeconds);
+                return new BanInfo(BanInfo.BanType.TEMPORARY, remaining, 
+                    "Account temporarily locked due to failed login attempts. Try again in " + remaining + " minutes.");
+            }
+            if (userDbBanTtlSeconds != -2) {
+                return new BanInfo(BanInfo.BanType.DATABASE, 0, 
+                    "Account permanently banned due to multiple failed login attempts. Contact administrator for assistance.");
+            }
+            return new BanInfo(BanInfo.BanType.NONE, 0, "Not banned");
+        }
+        
+        public boolean isIpBanned() { return ipBanTtlSeconds != -2; }
+        public long getIpBanRemainingMinutes() { return isIpBanned() ? toMinutes(ipBanTtlSeconds) : 0; }
+        public int getUserAttempts() { return userAttempts; }
+        public int getIpAttempts() { return ipAttempts; }
+        public boolean isUserTemporarilyBannedNow() { return (events & EVENT_USER_TEMP_BAN) != 0; }
+        public boolean isUserDatabaseBannedNow() { return (events & EVENT_USER_DB_BAN) != 0; }
+        public boolean isIpBannedNow() { return (events & EVENT_IP_BAN) != 0; }
+        
+        // Round up so a ban with seconds left never reports 0 minutes
+        private static long toMinutes(long ttlSeconds) {
+            return ttlSeconds > 0 ? (ttlSeconds + 59) / 60 : 0;
+        }
+    }
+    
     /**
      * Check if IP is banned
      */
@@ -144,14 +320,27 @@ public class LoginAttemptService {
     }
     
     /**
-     * Record failed login attempt and handle banning logic
+     * Record failed login attempt and apply the ban policy atomically in one round trip
      */
-    public void recordFailedAttempt(String email, String ipAddress) {
+    public AttemptVerdict recordFailedAttempt(String email, String ipAddress) {
         try {
-            recordUserFailedAttempt(email);
-            recordIpFailedAttempt(ipAddress);
+            AttemptVerdict verdict = AttemptVerdict.fromScriptResult(eval(RECORD_FAILURE_SCRIPT,
+                    attemptKeys(email, ipAddress),
+                    String.valueOf(ATTEMPTS_WINDOW_SECONDS),
+                    String.valueOf(MAX_USER_ATTEMPTS_TEMP_BAN),
+                    String.valueOf(MAX_USER_ATTEMPTS_DB_BAN),
+                    String.valueOf(Duration.ofMinutes(USER_TEMP_BAN_DURATION_MINUTES).getSeconds()),
+                    String.valueOf(Duration.ofDays(USER_DB_BAN_DURATION_YEARS * 365).getSeconds()),
+                    String.valueOf(MAX_IP_ATTEMPTS),
+                    String.valueOf(Duration.ofMinutes(IP_BAN_DURATION_MINUTES).getSeconds()),
+                    String.valueOf(Instant.now().getEpochSecond()),
+                    email,
+                    ipAddress));
+            logBans(email, ipAddress, verdict);
+            return verdict;
         } catch (Exception e) {
             logger.warn("Redis connection failed while recording failed attempt for user: {} and IP: {}. Continuing without tracking.", email, ipAddress);
+            return AttemptVerdict.NONE;
         }
     }
     
@@ -160,8 +349,9 @@ public class LoginAttemptService {
      */
     public void clearFailedAttempts(String email, String ipAddress) {
         try {
-            clearUserFailedAttempts(email);
-            clearIpFailedAttempts(ipAddress);
+            // OPTIMIZATION: Both counters in a single DEL
+            redisTemplate.delete(List.of(USER_ATTEMPTS_PREFIX + email, IP_ATTEMPTS_PREFIX + ipAddress));
+            logger.debug("Cleared failed attempts for user: {} and IP: {}", email, ipAddress);
         } catch (Exception e) {
             logger.warn("Redis connection failed while clearing failed attempts for user: {} and IP: {}. Continuing without clearing.", email, ipAddress);
         }
@@ -202,99 +392,232 @@ public class LoginAttemptService {
         String tempBanKey = USER_TEMP_BAN_PREFIX + email;
         String dbBanKey = USER_DB_BAN_PREFIX + email;
         
-        redisTemplate.delete(attemptsKey);
-        redisTemplate.delete(tempBanKey);
-        redisTemplate.delete(dbBanKey);
+        redisTemplate.delete(List.of(attemptsKey, tempBanKey, dbBanKey));
+        redisTemplate.opsForZSet().remove(USER_TEMP_BAN_INDEX, email);
+        redisTemplate.opsForZSet().remove(USER_DB_BAN_INDEX, email);
         
         logger.info("Cleared all attempts and bans for user: {}", email);
     }
     
     /**
-     * Clear all bans for development/testing purposes
+     * Clear all bans and failed attempts.
+     * OPTIMIZATION: Uses incremental SCAN with batched UNLINK instead of KEYS, so Redis
+     * keeps serving logins while a large keyspace is cleared.
+     *
+     * @return number of keys removed
      */
-    public void clearAllBans() {
-        // This method should only be used in development
-        redisTemplate.delete(redisTemplate.keys(USER_TEMP_BAN_PREFIX + "*"));
-        redisTemplate.delete(redisTemplate.keys(USER_DB_BAN_PREFIX + "*"));
-        redisTemplate.delete(redisTemplate.keys(IP_BAN_PREFIX + "*"));
-        redisTemplate.delete(redisTemplate.keys(USER_ATTEMPTS_PREFIX + "*"));
-        redisTemplate.delete(redisTemplate.keys(IP_ATTEMPTS_PREFIX + "*"));
-        logger.info("All bans and failed attempts cleared");
+    public long clearAllBans() {
+        long removed = 0;
+        for (BanCategory category : BanCategory.values()) {
+            removed += clearBans(category, null);
+        }
+        removed += unlinkMatching(USER_ATTEMPTS_PREFIX + "*");
+        removed += unlinkMatching(IP_ATTEMPTS_PREFIX + "*");
+        logger.info("All bans and failed attempts cleared ({} keys)", removed);
+        return removed;
     }
     
-    private void recordUserFailedAttempt(String email) {
-        String attemptsKey = USER_ATTEMPTS_PREFIX + email;
-        String tempBanKey = USER_TEMP_BAN_PREFIX + email;
-        String dbBanKey = USER_DB_BAN_PREFIX + email;
+    /**
+     * Clear the bans of one category, optionally only for subjects starting with a prefix
+     * (e.g. an IP range such as "10.0.")
+     *
+     * @return number of ban keys removed
+     */
+    public long clearBans(BanCategory category, String subjectPrefix) {
+        boolean all = subjectPrefix == null || subjectPrefix.isEmpty();
+        String pattern = category.keyPrefix + (all ? "" : escapeGlob(subjectPrefix)) + "*";
+        long removed = unlinkMatching(pattern);
         
-        // Check if user is already banned - if so, don't increment attempts
-        if (isUserBanned(email)) {
-            logger.debug("User {} is already banned, not incrementing attempts", email);
-            return;
+        if (all) {
+            redisTemplate.unlink(category.indexKey);
+        } else {
+            // Index members sort by score, not name, so drop the matching subjects one batch at a time
+            List<String> matching = new ArrayList<>();
+            try (Cursor<TypedTuple<String>> cursor = redisTemplate.opsForZSet().scan(category.indexKey,
+                    ScanOptions.scanOptions().match(escapeGlob(subjectPrefix) + "*").count(SCAN_BATCH_SIZE).build())) {
+                while (cursor.hasNext()) {
+                    matching.add(cursor.next().getValue());
+                }
+            }
+            for (int i = 0; i < matching.size(); i += SCAN_BATCH_SIZE) {
+                List<String> batch = matching.subList(i, Math.min(i + SCAN_BATCH_SIZE, matching.size()));
+                redisTemplate.opsForZSet().remove(category.indexKey, batch.toArray());
+            }
         }
         
-        // Increment attempt count
-        Long attempts = redisTemplate.opsForValue().increment(attemptsKey);
+        logger.info("Cleared {} {} bans{}", removed, category, all ? "" : " matching '" + subjectPrefix + "'");
+        return removed;
+    }
+    
+    /**
+     * Page through the active bans of one category, soonest to expire first
+     */
+    public Page<ActiveBanResponse> getActiveBans(BanCategory category, int page, int size) {
+        long now = Instant.now().getEpochSecond();
+        
+        // Drop index entries whose bans have already expired
+        redisTemplate.opsForZSet().removeRangeByScore(category.indexKey, Double.NEGATIVE_INFINITY, now);
         
-        // Set expiry for attempts counter (24 hours)
-        if (attempts == 1) {
-            redisTemplate.expire(attemptsKey, Duration.ofHours(24));
-        }
+        Long total = redisTemplate.opsForZSet().zCard(category.indexKey);
+        long start = (long) page * size;
+        Set<TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                .rangeWithScores(category.indexKey, start, start + size - 1);
         
-        // Apply progressive banning policy
-        if (attempts >= MAX_USER_ATTEMPTS_DB_BAN) {
-            // 5 attempts = PERMANENT database ban (10 years = effectively permanent)
-            redisTemplate.opsForValue().set(dbBanKey, "PERMANENT_BAN", Duration.ofDays(USER_DB_BAN_DURATION_YEARS * 365));
-            redisTemplate.delete(attemptsKey);
-            redisTemplate.delete(tempBanKey); // Clear temp ban if exists
-            logger.warn("User {} PERMANENTLY BANNED after {} failed attempts - requires admin intervention", 
-                    email, attempts);
-        } else if (attempts >= MAX_USER_ATTEMPTS_TEMP_BAN) {
-            // 3 attempts = 15-minute temporary ban
-            redisTemplate.opsForValue().set(tempBanKey, "banned", Duration.ofMinutes(USER_TEMP_BAN_DURATION_MINUTES));
-            // DON'T delete attempts key - keep it for potential permanent ban
-            logger.warn("User {} TEMPORARILY banned for {} minutes after {} failed attempts", 
-                    email, USER_TEMP_BAN_DURATION_MINUTES, attempts);
-        } else {
-            logger.debug("User {} failed attempt {}/{} (temp ban at {})", 
-                    email, attempts, MAX_USER_ATTEMPTS_DB_BAN, MAX_USER_ATTEMPTS_TEMP_BAN);
+        List<ActiveBanResponse> bans = new ArrayList<>();
+        if (entries != null) {
+            for (TypedTuple<String> entry : entries) {
+                double score = entry.getScore() != null ? entry.getScore() : NO_EXPIRY_SCORE;
+                boolean expires = score < NO_EXPIRY_SCORE;
+                long expiresAt = (long) score;
+                bans.add(new ActiveBanResponse(category.name(), entry.getValue(),
+                        expires ? Math.max(0, expiresAt - now) : -1,
+                        expires ? LocalDateTime.ofInstant(Instant.ofEpochSecond(expiresAt), ZoneId.systemDefault()) : null));
+            }
         }
+        return new PageImpl<>(bans, PageRequest.of(page, size), total != null ? total : 0);
+    }
+    
+    /**
+     * Rebuild the ban indexes from the ban keys on startup, so bans created before the
+     * indexes existed (or written while they were being cleared) are listed too
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildBanIndexes() {
+        CompletableFuture.runAsync(() -> {
+            for (BanCategory category : BanCategory.values()) {
+                long indexed = indexExistingBans(category);
+                logger.info("Indexed {} active {} bans", indexed, category);
+            }
+        }).exceptionally(e -> {
+            logger.warn("Failed to rebuild ban indexes: {}", e.getMessage());
+            return null;
+        });
     }
     
-    private void recordIpFailedAttempt(String ipAddress) {
-        String attemptsKey = IP_ATTEMPTS_PREFIX + ipAddress;
-        String banKey = IP_BAN_PREFIX + ipAddress;
+    /**
+     * Categories of login bans with their key prefix and index
+     */
+    public enum BanCategory {
+        USER_TEMPORARY(USER_TEMP_BAN_PREFIX, USER_TEMP_BAN_INDEX),
+        USER_PERMANENT(USER_DB_BAN_PREFIX, USER_DB_BAN_INDEX),
+        IP(IP_BAN_PREFIX, IP_BAN_INDEX);
         
-        // Increment attempt count
-        Long attempts = redisTemplate.opsForValue().increment(attemptsKey);
+        private final String keyPrefix;
+        private final String indexKey;
         
-        // Set expiry for attempts counter (24 hours)
-        if (attempts == 1) {
-            redisTemplate.expire(attemptsKey, Duration.ofHours(24));
+        BanCategory(String keyPrefix, String indexKey) {
+            this.keyPrefix = keyPrefix;
+            this.indexKey = indexKey;
+        }
+    }
+    
+    private List<String> attemptKeys(String email, String ipAddress) {
+        return List.of(USER_ATTEMPTS_PREFIX + email, USER_TEMP_BAN_PREFIX + email, USER_DB_BAN_PREFIX + email,
+                IP_ATTEMPTS_PREFIX + ipAddress, IP_BAN_PREFIX + ipAddress,
+                USER_TEMP_BAN_INDEX, USER_DB_BAN_INDEX, IP_BAN_INDEX);
+    }
+    
+    /**
+     * SCAN for keys matching the pattern and UNLINK them in batches
+     */
+    private long unlinkMatching(String pattern) {
+        long removed = 0;
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    removed += unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            removed += unlink(batch);
+        }
+        return removed;
+    }
+    
+    private long unlink(List<String> keys) {
+        Long removed = redisTemplate.unlink(keys);
+        return removed != null ? removed : 0;
+    }
+    
+    /**
+     * SCAN the ban keys of a category and add them to its index with their current TTL
+     */
+    private long indexExistingBans(BanCategory category) {
+        long indexed = 0;
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        ScanOptions options = ScanOptions.scanOptions().match(category.keyPrefix + "*").count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    indexed += indexBatch(category, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            indexed += indexBatch(category, batch);
         }
+        return indexed;
+    }
+    
+    private long indexBatch(BanCategory category, List<String> keys) {
+        // TTLs for the whole batch in one pipelined round trip
+        List<Object> ttls = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.keyCommands().ttl(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
         
-        // Check if IP should be banned (5 attempts = 30-minute ban)
-        if (attempts >= MAX_IP_ATTEMPTS) {
-            // Ban IP for 30 minutes
-            redisTemplate.opsForValue().set(banKey, "banned", Duration.ofMinutes(IP_BAN_DURATION_MINUTES));
-            // Clear attempt counter
-            redisTemplate.delete(attemptsKey);
-            logger.warn("IP {} banned for {} minutes after {} failed attempts", 
-                    ipAddress, IP_BAN_DURATION_MINUTES, attempts);
-        } else {
-            logger.debug("IP {} failed attempt {}/{}", ipAddress, attempts, MAX_IP_ATTEMPTS);
+        long now = Instant.now().getEpochSecond();
+        Set<TypedTuple<String>> entries = new HashSet<>();
+        for (int i = 0; i < keys.size(); i++) {
+            long ttl = ttls.get(i) instanceof Long ? (Long) ttls.get(i) : -2;
+            if (ttl == -2) {
+                continue; // expired between SCAN and TTL
+            }
+            String subject = keys.get(i).substring(category.keyPrefix.length());
+            entries.add(new DefaultTypedTuple<>(subject, ttl == -1 ? NO_EXPIRY_SCORE : (double) (now + ttl)));
         }
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        redisTemplate.opsForZSet().add(category.indexKey, entries);
+        return entries.size();
     }
     
-    private void clearUserFailedAttempts(String email) {
-        String attemptsKey = USER_ATTEMPTS_PREFIX + email;
-        redisTemplate.delete(attemptsKey);
-        logger.debug("Cleared failed attempts for user: {}", email);
+    private static String escapeGlob(String value) {
+        return value.replaceAll("([\\\\*?\\[\\]])", "\\\\$1");
+    }
+    
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private List<Long> eval(RedisScript<List> script, List<String> keys, Object... args) {
+        return (List<Long>) redisTemplate.execute(script, keys, args);
     }
     
-    private void clearIpFailedAttempts(String ipAddress) {
-        String attemptsKey = IP_ATTEMPTS_PREFIX + ipAddress;
-        redisTemplate.delete(attemptsKey);
-        logger.debug("Cleared failed attempts for IP: {}", ipAddress);
+    private void logBans(String email, String ipAddress, AttemptVerdict verdict) {
+        if (verdict.isUserDatabaseBannedNow()) {
+            logger.warn("User {} PERMANENTLY BANNED after {} failed attempts - requires admin intervention", 
+                    email, MAX_USER_ATTEMPTS_DB_BAN);
+        } else if (verdict.isUserTemporarilyBannedNow()) {
+            logger.warn("User {} TEMPORARILY banned for {} minutes after {} failed attempts", 
+                    email, USER_TEMP_BAN_DURATION_MINUTES, verdict.getUserAttempts());
+        } else {
+            logger.debug("User {} failed attempt {}/{} (temp ban at {})", 
+                    email, verdict.getUserAttempts(), MAX_USER_ATTEMPTS_DB_BAN, MAX_USER_ATTEMPTS_TEMP_BAN);
+        }
+        
+        if (verdict.isIpBannedNow()) {
+            logger.warn("IP {} banned for {} minutes after {} failed attempts", 
+                    ipAddress, IP_BAN_DURATION_MINUTES, MAX_IP_ATTEMPTS);
+        } else {
+            logger.debug("IP {} failed attempt {}/{}", ipAddress, verdict.getIpAttempts(), MAX_IP_ATTEMPTS);
+        }
     }
 } 
\ No newline at end of file
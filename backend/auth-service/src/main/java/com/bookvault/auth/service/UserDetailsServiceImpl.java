@@ -1,11 +1,17 @@
 package com.bookvault.auth.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.bookvault.auth.cache.UserSecurityCache;
 import com.bookvault.auth.model.User;
+import com.bookvault.auth.model.UserSecurityRecord;
 import com.bookvault.auth.repository.UserRepository;
 
 /**
@@ -13,20 +19,50 @@ import com.bookvault.auth.repository.UserRepository;
  */
 @Service
 // @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
     
     private final UserRepository userRepository;
+    private final UserSecurityCache userSecurityCache;
     
     // Constructor (replacing @RequiredArgsConstructor)
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, UserSecurityCache userSecurityCache) {
         this.userRepository = userRepository;
+        this.userSecurityCache = userSecurityCache;
     }
     
+    /**
+     * Load the security record for a login. The returned record becomes the principal of the
+     * Authentication, so callers can use it directly instead of querying the user again.
+     */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        // OPTIMIZATION: Repeated logins for the same email skip the database for a short TTL
+        UserSecurityRecord record = userSecurityCache.get(email, key -> userRepository.findByEmail(key)
+                .map(UserSecurityRecord::from)
+                .orElse(null));
+        if (record == null) {
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
+        
+        return record;
+    }
+    
+    /**
+     * Store a rehashed password after a successful login whose stored hash used an
+     * outdated algorithm or cost (called by Spring Security's DaoAuthenticationProvider)
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
         
-        return user; // User implements UserDetails
+        user.setPassword(newPassword);
+        User savedUser = userRepository.save(user);
+        userSecurityCache.evict(savedUser.getEmail());
+        log.info("Upgraded password hash for user: {}", savedUser.getEmail());
+        return UserSecurityRecord.from(savedUser);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.bookvault.auth.util;
+
+import com.bookvault.shared.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class to encode and decode opaque keyset pagination cursors.
+ * A cursor is the URL-safe Base64 form of the last row's sort key parts and id. Each part
+ * is Base64-encoded on its own first, so values containing the separator (an email address
+ * may contain '|') still decode into the right parts.
+ */
+public class CursorUtil {
+
+    private static final String VERSION = "v2";
+    private static final String SEPARATOR = "|";
+
+    public static String encode(String... parts) {
+        StringBuilder raw = new StringBuilder(VERSION);
+        for (String part : parts) {
+            raw.append(SEPARATOR).append(base64(part));
+        }
+        return base64(raw.toString());
+    }
+
+    /**
+     * Decode a cursor into its parts, rejecting cursors that are malformed or
+     * were issued for a sort with a different number of key parts
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = unbase64(cursor);
+            String[] tokens = raw.split("\\" + SEPARATOR, -1);
+            if (tokens.length != expectedParts + 1 || !VERSION.equals(tokens[0])) {
+                throw new BadRequestException("Invalid pagination cursor");
+            }
+            String[] parts = new String[expectedParts];
+            for (int i = 0; i < expectedParts; i++) {
+                parts[i] = unbase64(tokens[i + 1]);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+
+    private static String base64(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String unbase64(String value) {
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
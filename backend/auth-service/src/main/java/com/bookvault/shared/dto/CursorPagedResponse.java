@@ -0,0 +1,109 @@
+package com.bookvault.shared.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Cursor (keyset) paged response wrapper for API responses.
+ * Unlike {@link PagedResponse} it carries no total counts; clients pass
+ * {@code nextCursor} back to fetch the following page.
+ * @param <T> The type of content in the response
+ */
+public class CursorPagedResponse<T> {
+
+    @JsonProperty("content")
+    private List<T> content;
+
+    @JsonProperty("size")
+    private int size;
+
+    @JsonProperty("numberOfElements")
+    private int numberOfElements;
+
+    @JsonProperty("hasNext")
+    private boolean hasNext;
+
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    // Default constructor
+    public CursorPagedResponse() {}
+
+    // Constructor with all fields
+    public CursorPagedResponse(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.numberOfElements = content != null ? content.size() : 0;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+        this.numberOfElements = content != null ? content.size() : 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getNumberOfElements() {
+        return numberOfElements;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    public boolean isEmpty() {
+        return content == null || content.isEmpty();
+    }
+
+    // Builder pattern
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public static class Builder<T> {
+        private List<T> content;
+        private int size;
+        private String nextCursor;
+
+        public Builder<T> content(List<T> content) {
+            this.content = content;
+            return this;
+        }
+
+        public Builder<T> size(int size) {
+            this.size = size;
+            return this;
+        }
+
+        public Builder<T> nextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+            return this;
+        }
+
+        public CursorPagedResponse<T> build() {
+            return new CursorPagedResponse<>(content, size, nextCursor);
+        }
+    }
+}
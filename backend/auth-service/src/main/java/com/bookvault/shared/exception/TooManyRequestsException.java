@@ -0,0 +1,17 @@
+package com.bookvault.shared.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the server sheds load and the client should retry later
+ */
+public class TooManyRequestsException extends BookVaultException {
+    
+    public TooManyRequestsException(String message) {
+        super(message, "TOO_MANY_REQUESTS", HttpStatus.TOO_MANY_REQUESTS);
+    }
+    
+    public TooManyRequestsException(String message, Throwable cause) {
+        super(message, "TOO_MANY_REQUESTS", HttpStatus.TOO_MANY_REQUESTS, cause);
+    }
+}
@@ -0,0 +1,280 @@
+package com.bookvault.shared.security;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import com.bookvault.shared.enums.UserRole;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Decides the access level of a request (public, authenticated or a role) from one
+ * declarative rule set, shared by a service's JwtAuthenticationFilter and SecurityConfig.
+ *
+ * Rules are compiled once into a trie of path segments. Classifying a request walks the
+ * path in place (no splitting, regexes or allocation), so the cost is proportional to the
+ * path length. Patterns are literal segments, {@code {name}} or {@code *} for exactly one
+ * segment, and a trailing {@code **} for zero or more segments. The most specific pattern
+ * wins (literal, then single-segment wildcard, then {@code **}); for the same pattern a
+ * method-specific rule wins over an any-method rule. Unmatched requests get the default
+ * access, which is AUTHENTICATED unless configured otherwise.
+ */
+public final class RouteClassifier {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private final Node root;
+    private final RouteAccess defaultAccess;
+
+    private RouteClassifier(Node root, RouteAccess defaultAccess) {
+        this.root = root;
+        this.defaultAccess = defaultAccess;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Classify a request by method and path (without the context path)
+     */
+    public RouteAccess classify(String method, String path) {
+        return classify(method, path, 0);
+    }
+
+    /**
+     * Classify a servlet request, ignoring its context path
+     */
+    public RouteAccess classify(HttpServletRequest request) {
+        return classify(request.getMethod(), request.getRequestURI(), request.getContextPath().length());
+    }
+
+    /**
+     * Adapter for {@code authorizeHttpRequests(auth -> auth.anyRequest().access(...))}
+     */
+    public AuthorizationManager<RequestAuthorizationContext> authorizationManager() {
+        AuthenticatedAuthorizationManager<RequestAuthorizationContext> authenticated =
+                AuthenticatedAuthorizationManager.authenticated();
+        Map<UserRole, AuthorityAuthorizationManager<RequestAuthorizationContext>> roles = new EnumMap<>(UserRole.class);
+        for (UserRole role : UserRole.values()) {
+            roles.put(role, AuthorityAuthorizationManager.hasRole(role.name()));
+        }
+
+        return (Supplier<Authentication> authentication, RequestAuthorizationContext context) -> {
+            RouteAccess access = classify(context.getRequest());
+            switch (access.getLevel()) {
+                case PUBLIC:
+                    return GRANTED;
+                case ROLE:
+                    return roles.get(access.getRole()).check(authentication, context);
+                default:
+                    return authenticated.check(authentication, context);
+            }
+        };
+    }
+
+    // Helper methods
+
+    private RouteAccess classify(String method, String path, int offset) {
+        int start = offset < path.length() && path.charAt(offset) == '/' ? offset + 1 : offset;
+        RouteAccess access = match(root, method, path, start);
+        return access != null ? access : defaultAccess;
+    }
+
+    /**
+     * Match the rest of the path starting at {@code pos} below {@code node}, preferring
+     * literal children, then the single-segment wildcard, then the node's {@code **} rules
+     */
+    private static RouteAccess match(Node node, String method, String path, int pos) {
+        int length = path.length();
+        if (pos >= length) {
+            RouteAccess exact = node.exact.get(method);
+            return exact != null ? exact : node.remainder.get(method);
+        }
+
+        int end = path.indexOf('/', pos);
+        if (end < 0) {
+            end = length;
+        }
+        int next = end < length ? end + 1 : length;
+
+        Node literal = node.literalChild(path, pos, end);
+        if (literal != null) {
+            RouteAccess access = match(literal, method, path, next);
+            if (access != null) {
+                return access;
+            }
+        }
+        if (node.wildcard != null && end > pos) {
+            RouteAccess access = match(node.wildcard, method, path, next);
+            if (access != null) {
+                return access;
+            }
+        }
+        return node.remainder.get(method);
+    }
+
+    /**
+     * One path segment of the trie. Mutable while building, read-only afterwards.
+     */
+    private static final class Node {
+        private final Map<String, Node> literals = new LinkedHashMap<>();
+        private String[] literalSegments = new String[0];
+        private Node[] literalNodes = new Node[0];
+        private Node wildcard;
+        private final MethodRules exact = new MethodRules();
+        private final MethodRules remainder = new MethodRules();
+
+        Node literalChild(String path, int start, int end) {
+            int segmentLength = end - start;
+            for (int i = 0; i < literalSegments.length; i++) {
+                String segment = literalSegments[i];
+                if (segment.length() == segmentLength && path.regionMatches(start, segment, 0, segmentLength)) {
+                    return literalNodes[i];
+                }
+            }
+            return null;
+        }
+
+        void freeze() {
+            literalSegments = literals.keySet().toArray(new String[0]);
+            literalNodes = literals.values().toArray(new Node[0]);
+            for (Node child : literalNodes) {
+                child.freeze();
+            }
+            if (wildcard != null) {
+                wildcard.freeze();
+            }
+        }
+    }
+
+    /**
+     * Access per HTTP method at one trie position, plus an any-method fallback
+     */
+    private static final class MethodRules {
+        private final List<String> methodList = new ArrayList<>();
+        private final List<RouteAccess> accessList = new ArrayList<>();
+        private RouteAccess anyMethod;
+
+        RouteAccess get(String method) {
+            for (int i = 0; i < methodList.size(); i++) {
+                if (methodList.get(i).equals(method)) {
+                    return accessList.get(i);
+                }
+            }
+            return anyMethod;
+        }
+
+        void put(String method, RouteAccess access, String pattern) {
+            if (method == null) {
+                if (anyMethod != null) {
+                    throw new IllegalArgumentException("Duplicate route rule: " + pattern);
+                }
+                anyMethod = access;
+                return;
+            }
+            if (methodList.contains(method)) {
+                throw new IllegalArgumentException("Duplicate route rule: " + method + " " + pattern);
+            }
+            methodList.add(method);
+            accessList.add(access);
+        }
+    }
+
+    public static class Builder {
+        private final Node root = new Node();
+        private RouteAccess defaultAccess = RouteAccess.AUTHENTICATED;
+
+        /**
+         * Allow any method on the patterns without authentication
+         */
+        public Builder permitAll(String... patterns) {
+            return rule(null, RouteAccess.PUBLIC, patterns);
+        }
+
+        /**
+         * Allow one method on the patterns without authentication
+         */
+        public Builder permit(HttpMethod method, String... patterns) {
+            return rule(method, RouteAccess.PUBLIC, patterns);
+        }
+
+        public Builder authenticated(String... patterns) {
+            return rule(null, RouteAccess.AUTHENTICATED, patterns);
+        }
+
+        public Builder authenticated(HttpMethod method, String... patterns) {
+            return rule(method, RouteAccess.AUTHENTICATED, patterns);
+        }
+
+        public Builder hasRole(UserRole role, String... patterns) {
+            return rule(null, RouteAccess.role(role), patterns);
+        }
+
+        public Builder hasRole(HttpMethod method, UserRole role, String... patterns) {
+            return rule(method, RouteAccess.role(role), patterns);
+        }
+
+        /**
+         * Access for requests no rule matches
+         */
+        public Builder defaultAccess(RouteAccess access) {
+            this.defaultAccess = access;
+            return this;
+        }
+
+        public RouteClassifier build() {
+            root.freeze();
+            return new RouteClassifier(root, defaultAccess);
+        }
+
+        private Builder rule(HttpMethod method, RouteAccess access, String... patterns) {
+            for (String pattern : patterns) {
+                add(method != null ? method.name() : null, access, pattern);
+            }
+            return this;
+        }
+
+        private void add(String method, RouteAccess access, String pattern) {
+            if (pattern == null || !pattern.startsWith("/")) {
+                throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+            }
+            String[] segments = pattern.substring(1).split("/", -1);
+            Node node = root;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.isEmpty() && i == segments.length - 1) {
+                    break; // "/" or a trailing slash
+                }
+                if ("**".equals(segment)) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("'**' must be the last segment: " + pattern);
+                    }
+                    node.remainder.put(method, access, pattern);
+                    return;
+                }
+                if ("*".equals(segment) || (segment.startsWith("{") && segment.endsWith("}"))) {
+                    if (node.wildcard == null) {
+                        node.wildcard = new Node();
+                    }
+                    node = node.wildcard;
+                } else {
+                    node = node.literals.computeIfAbsent(segment, key -> new Node());
+                }
+            }
+            node.exact.put(method, access, pattern);
+        }
+    }
+}
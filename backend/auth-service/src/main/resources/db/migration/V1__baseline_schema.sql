@@ -0,0 +1,21 @@
+-- Baseline schema for auth-service.
+-- Matches the table previously generated by Hibernate (ddl-auto: update), so every
+-- statement is IF NOT EXISTS and this script is a no-op on an existing database.
+
+CREATE TABLE IF NOT EXISTS users (
+    id          UUID         NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    version     BIGINT,
+    email       VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    first_name  VARCHAR(255) NOT NULL,
+    last_name   VARCHAR(255) NOT NULL,
+    phone       VARCHAR(255),
+    avatar_url  VARCHAR(255),
+    role        VARCHAR(255) NOT NULL,
+    is_active   BOOLEAN      NOT NULL,
+    is_verified BOOLEAN      NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
@@ -0,0 +1,8 @@
+-- Indexes for the queries in UserRepository. Lookups by email use the unique constraint.
+--
+-- Indexes are built CONCURRENTLY (see V2__query_indexes.sql.conf), so existing tables stay
+-- writable while they build. If the migration fails part way, an index can be left INVALID
+-- and IF NOT EXISTS would skip it: drop it before running the migration again.
+
+-- Role listings and per-role counts (countByRole, countByRoleAndIsActiveTrue)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role_active ON users (role, is_active);
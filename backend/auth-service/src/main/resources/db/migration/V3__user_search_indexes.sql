@@ -0,0 +1,13 @@
+-- Trigram indexes for the admin user search (UserRepository.searchUsers*).
+-- gin_trgm_ops serves LIKE '%term%' as well as prefix matches. The expressions must
+-- match the WHERE clause of the search queries exactly.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Email substring / prefix search
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_trgm
+    ON users USING gin (lower(email) gin_trgm_ops);
+
+-- First name, last name and "first last" search
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_full_name_trgm
+    ON users USING gin (lower(first_name || ' ' || last_name) gin_trgm_ops);
@@ -0,0 +1,4 @@
+-- Keyset pages and exports of users by role (UserRepository.findUsersByRole*):
+-- WHERE role = ? ORDER BY created_at DESC, id DESC
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role_created
+    ON users (role, created_at DESC, id DESC);
@@ -0,0 +1,155 @@
+package com.bookvault.auth.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.bookvault.shared.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingEncoder delegate = new BlockingEncoder();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        delegate.release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void hashingRunsOnThePoolAndReturnsTheDelegateResult() {
+        delegate.release.countDown();
+        encoder = new BoundedPasswordEncoder(delegate, meterRegistry, 2, 4, Duration.ofSeconds(5));
+
+        assertThat(encoder.encode("secret")).isEqualTo("hashed:secret");
+        assertThat(encoder.matches("secret", "hashed:secret")).isTrue();
+        assertThat(encoder.matches("other", "hashed:secret")).isFalse();
+        assertThat(delegate.threads).allSatisfy(thread -> assertThat(thread).startsWith("password-hashing-"));
+        assertThat(meterRegistry.get("bookvault.auth.password").tags("operation", "matches", "stage", "compute")
+                .timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void requestsBeyondTheQueueAreRejectedWith429() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, meterRegistry, 1, 1, Duration.ofSeconds(5));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        delegate.awaitStarted();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitQueued();
+
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.get("bookvault.auth.password.rejected").counter().count()).isEqualTo(1);
+
+        delegate.release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:second");
+        assertThat(delegate.inputs).containsExactly("first", "second");
+    }
+
+    @Test
+    void requestsThatWaitPastTheTimeoutAreRejectedAndCancelled() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, meterRegistry, 1, 4, Duration.ofMillis(200));
+        // Holds the only thread until released; whether its own caller times out first does not matter here
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        delegate.awaitStarted();
+
+        assertThatThrownBy(() -> encoder.encode("second"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.get("bookvault.auth.password.rejected").counter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(encoder.queuedTasks()).isOne();
+
+        // Once the thread frees up, the cancelled task is skipped rather than hashed for nobody
+        delegate.release.countDown();
+        running.handle((hash, error) -> hash).get(5, TimeUnit.SECONDS);
+        assertThat(encoder.encode("third")).isEqualTo("hashed:third");
+        assertThat(delegate.inputs).containsExactly("first", "third");
+        assertThat(encoder.queuedTasks()).isZero();
+    }
+
+    @Test
+    void delegateExceptionsReachTheCallerUnwrapped() {
+        encoder = new BoundedPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                throw new IllegalArgumentException("rawPassword cannot be null");
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                throw new IllegalArgumentException("There is no PasswordEncoder mapped for the id \"md4\"");
+            }
+        }, meterRegistry, 1, 1, Duration.ofSeconds(5));
+
+        assertThatThrownBy(() -> encoder.encode("secret"))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("rawPassword cannot be null");
+        assertThatThrownBy(() -> encoder.matches("secret", "{md4}abc"))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("md4");
+    }
+
+    // Helper methods
+
+    private void awaitQueued() throws InterruptedException {
+        for (int i = 0; i < 250 && encoder.queuedTasks() == 0; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(encoder.queuedTasks()).isOne();
+    }
+
+    /**
+     * Delegate whose calls block until released, recording what ran and on which thread.
+     * Like a real hash it ignores interrupts, so a cancelled call still holds its thread.
+     */
+    private static final class BlockingEncoder implements PasswordEncoder {
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final List<String> inputs = new CopyOnWriteArrayList<>();
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            inputs.add(rawPassword.toString());
+            threads.add(Thread.currentThread().getName());
+            started.countDown();
+            boolean interrupted = false;
+            while (release.getCount() > 0) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+
+        void awaitStarted() throws InterruptedException {
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
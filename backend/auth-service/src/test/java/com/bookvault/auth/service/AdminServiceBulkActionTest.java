@@ -0,0 +1,154 @@
+package com.bookvault.auth.service;
+
+import com.bookvault.auth.cache.UserSecurityCache;
+import com.bookvault.auth.dto.BulkActionResponse;
+import com.bookvault.auth.repository.UserBulkRepository;
+import com.bookvault.auth.repository.UserRepository;
+import com.bookvault.auth.support.PostgresContainerTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Bulk admin actions run one UPDATE per chunk (chunks of two here), skip admins in the
+ * statement itself and explain every id they did not change
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AdminServiceBulkActionTest extends PostgresContainerTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UserSecurityCache userSecurityCache = mock(UserSecurityCache.class);
+    private final DashboardStatsService dashboardStatsService = mock(DashboardStatsService.class);
+
+    private AdminService adminService;
+    private UUID user1;
+    private UUID user2;
+    private UUID admin;
+    private UUID missing;
+
+    @BeforeEach
+    void setUp() {
+        adminService = new AdminService(userRepository, mock(PasswordEncoder.class), mock(LoginAttemptService.class),
+                userSecurityCache, new UserBulkRepository(jdbcTemplate), transactionTemplate,
+                dashboardStatsService, 2);
+        user1 = insertUser("bulk-user1@example.com", "USER", false);
+        user2 = insertUser("bulk-user2@example.com", "SELLER", false);
+        admin = insertUser("bulk-admin@example.com", "ADMIN", true);
+        missing = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'bulk-%'");
+    }
+
+    @Test
+    void suspendSkipsAdminsAndExplainsEverySkippedId() {
+        // Chunks: [user1, admin], [missing, user2]
+        BulkActionResponse result = adminService.bulkUserAction("suspend", List.of(user1, admin, missing, user2), null);
+
+        assertThat(result.getSuccessCount()).isEqualTo(2);
+        assertThat(reasons(result)).containsOnly(
+                Map.entry(admin, "Cannot suspend admin user"),
+                Map.entry(missing, "User not found with ID: " + missing));
+        assertThat(isActive(user1)).isFalse();
+        assertThat(isActive(user2)).isFalse();
+        assertThat(isActive(admin)).isTrue();
+        verify(userSecurityCache, never()).evict("bulk-admin@example.com");
+        verify(dashboardStatsService).requestRefresh();
+    }
+
+    @Test
+    void deleteSkipsAdminsToo() {
+        BulkActionResponse result = adminService.bulkUserAction("delete", List.of(admin, user1), null);
+
+        assertThat(result.getSuccessCount()).isEqualTo(1);
+        assertThat(reasons(result)).containsOnly(Map.entry(admin, "Cannot delete admin user"));
+        assertThat(isActive(user1)).isFalse();
+        assertThat(isActive(admin)).isTrue();
+    }
+
+    @Test
+    void activateAndVerifyApplyToAdminsAsWell() {
+        jdbcTemplate.update("UPDATE users SET is_active = false, is_verified = false WHERE email LIKE 'bulk-%'");
+
+        BulkActionResponse activated = adminService.bulkUserAction("ACTIVATE", List.of(admin, user1, missing), null);
+        BulkActionResponse verified = adminService.bulkUserAction("verify", List.of(admin, user2), null);
+
+        assertThat(activated.getSuccessCount()).isEqualTo(2);
+        assertThat(reasons(activated)).containsOnly(Map.entry(missing, "User not found with ID: " + missing));
+        assertThat(verified.getSuccessCount()).isEqualTo(2);
+        assertThat(isActive(admin)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT is_verified FROM users WHERE id = ?", Boolean.class, user2))
+                .isTrue();
+    }
+
+    @Test
+    void failedChunkRollsBackWithoutUndoingTheOthers() {
+        // The chunk's UPDATE succeeds, then evicting one of its users throws inside the same transaction
+        doThrow(new IllegalStateException("cache unavailable")).when(userSecurityCache).evict("bulk-user2@example.com");
+        List<BulkActionResponse> chunks = new ArrayList<>();
+
+        // Chunks: [user1, missing], [user2, admin]
+        BulkActionResponse result = adminService.bulkUserAction("suspend", List.of(user1, missing, user2, admin),
+                chunks::add);
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0).getSuccessCount()).isEqualTo(1);
+        assertThat(chunks.get(1).getSuccessCount()).isZero();
+        assertThat(chunks.get(1).getFailures())
+                .allSatisfy(failure -> assertThat(failure.getReason()).startsWith("Update failed"));
+        assertThat(result.getSuccessCount()).isEqualTo(1);
+        assertThat(result.getErrorCount()).isEqualTo(3);
+        assertThat(isActive(user1)).isFalse();
+        assertThat(isActive(user2)).isTrue();
+        assertThat(isActive(admin)).isTrue();
+    }
+
+    // Helper methods
+
+    private UUID insertUser(String email, String role, boolean verified) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, created_at, updated_at, version, email, password, first_name, " +
+                "last_name, role, is_active, is_verified) VALUES (?, now(), now(), 0, ?, '{noop}x', 'Bulk', 'Test', ?, true, ?)",
+                id, email, role, verified);
+        return id;
+    }
+
+    private boolean isActive(UUID userId) {
+        return jdbcTemplate.queryForObject("SELECT is_active FROM users WHERE id = ?", Boolean.class, userId);
+    }
+
+    private static Map<UUID, String> reasons(BulkActionResponse result) {
+        return result.getFailures().stream()
+                .collect(Collectors.toMap(BulkActionResponse.Failure::getUserId, BulkActionResponse.Failure::getReason));
+    }
+}
@@ -0,0 +1,97 @@
+package com.bookvault.auth.service;
+
+import com.bookvault.auth.cache.UserSecurityCache;
+import com.bookvault.auth.projection.UserSearchView;
+import com.bookvault.auth.repository.UserBulkRepository;
+import com.bookvault.auth.repository.UserRepository;
+import com.bookvault.auth.util.CursorUtil;
+import com.bookvault.shared.dto.CursorPagedResponse;
+import com.bookvault.shared.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AdminServiceSearchTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private AdminService adminService;
+
+    @BeforeEach
+    void setUp() {
+        adminService = new AdminService(userRepository, mock(PasswordEncoder.class), mock(LoginAttemptService.class),
+                mock(UserSecurityCache.class), mock(UserBulkRepository.class), mock(TransactionTemplate.class),
+                mock(DashboardStatsService.class), 500);
+    }
+
+    @Test
+    void likeWildcardsInTheTermAreMatchedLiterally() {
+        adminService.searchUsers("100%_Off\\Books", null, 20);
+
+        verify(userRepository).searchUsersFirstPage("%100\\%\\_off\\\\books%", 21);
+    }
+
+    @Test
+    void termsAreTrimmedAndLowerCased() {
+        adminService.searchUsers("  Reader@Example ", null, 20);
+
+        verify(userRepository).searchUsersFirstPage("%reader@example%", 21);
+    }
+
+    @Test
+    void termsShorterThanThreeCharactersAreRejected() {
+        assertThatThrownBy(() -> adminService.searchUsers(" ab ", null, 20)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> adminService.searchUsers(null, null, 20)).isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void nextCursorContinuesAfterTheLastEmailEvenWithASeparatorInIt() {
+        UserSearchView first = row("a|b@example.com");
+        UserSearchView second = row("c@example.com");
+        when(userRepository.searchUsersFirstPage(anyString(), anyInt())).thenReturn(List.of(first, second));
+
+        CursorPagedResponse<UserSearchView> page = adminService.searchUsers("example", null, 1);
+
+        assertThat(page.getContent()).containsExactly(first);
+        assertThat(page.getNextCursor()).isNotNull();
+
+        adminService.searchUsers("example", page.getNextCursor(), 1);
+        verify(userRepository).searchUsersAfter("%example%", "a|b@example.com", 2);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        UserSearchView only = row("a@example.com");
+        when(userRepository.searchUsersFirstPage(anyString(), anyInt())).thenReturn(List.of(only));
+
+        assertThat(adminService.searchUsers("example", null, 20).getNextCursor()).isNull();
+    }
+
+    @Test
+    void cursorsFromAnotherListingAreRejected() {
+        String listingCursor = CursorUtil.encode("2026-01-01T10:15:30", "6f1c2d3e-0000-4000-8000-000000000001");
+
+        assertThatThrownBy(() -> adminService.searchUsers("example", listingCursor, 20))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    // Helper methods
+
+    private static UserSearchView row(String email) {
+        UserSearchView row = mock(UserSearchView.class);
+        when(row.getEmail()).thenReturn(email);
+        return row;
+    }
+}
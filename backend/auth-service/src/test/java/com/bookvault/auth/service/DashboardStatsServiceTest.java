@@ -0,0 +1,170 @@
+package com.bookvault.auth.service;
+
+import com.bookvault.auth.model.User;
+import com.bookvault.auth.repository.UserStatsRepository;
+import com.bookvault.shared.enums.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dashboard counters: refreshes publish one consistent snapshot, and a committed change is
+ * counted once whether its delta or an overlapping refresh gets there first
+ */
+class DashboardStatsServiceTest {
+
+    private final UserStatsRepository userStatsRepository = mock(UserStatsRepository.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final DashboardStatsService statsService =
+            new DashboardStatsService(userStatsRepository, Duration.ofSeconds(5), scheduler);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void firstReadLoadsTheSnapshotOnce() {
+        when(userStatsRepository.countUsers()).thenReturn(counts(10, 7, 3, 2, 1, 5));
+
+        statsService.getStats();
+        AdminService.AdminDashboardStats stats = statsService.getStats();
+
+        assertThat(stats.getTotalUsers()).isEqualTo(10);
+        assertThat(stats.getInactiveUsers()).isEqualTo(3);
+        assertThat(stats.getActiveSellers()).isEqualTo(2);
+        verify(userStatsRepository, times(1)).countUsers();
+    }
+
+    @Test
+    void changesApplyOnlyOnceTheirTransactionCommits() {
+        when(userStatsRepository.countUsers()).thenReturn(counts(10, 7, 3, 2, 1, 5));
+        statsService.getStats();
+        User seller = user(UserRole.SELLER, true, false);
+        DashboardStatsService.UserState before = DashboardStatsService.UserState.of(seller);
+        seller.setIsActive(false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        statsService.recordChange(before, seller);
+        assertThat(statsService.getStats().getActiveSellers()).isEqualTo(2);
+        commit();
+
+        AdminService.AdminDashboardStats stats = statsService.getStats();
+        assertThat(stats.getTotalUsers()).isEqualTo(10);
+        assertThat(stats.getActiveUsers()).isEqualTo(6);
+        assertThat(stats.getInactiveUsers()).isEqualTo(4);
+        assertThat(stats.getActiveSellers()).isEqualTo(1);
+        verify(scheduler, never()).execute(any());
+    }
+
+    @Test
+    void newUsersOutsideATransactionApplyImmediately() {
+        when(userStatsRepository.countUsers()).thenReturn(counts(10, 7, 3, 2, 1, 5));
+        statsService.getStats();
+
+        statsService.recordChange(null, user(UserRole.ADMIN, true, true));
+
+        AdminService.AdminDashboardStats stats = statsService.getStats();
+        assertThat(stats.getTotalUsers()).isEqualTo(11);
+        assertThat(stats.getTotalAdmins()).isEqualTo(2);
+        assertThat(stats.getVerifiedUsers()).isEqualTo(6);
+        assertThat(stats.getTotalSellers()).isEqualTo(3);
+    }
+
+    @Test
+    void deltaOfAChangeARefreshMayHaveCountedIsDropped() {
+        when(userStatsRepository.countUsers()).thenReturn(counts(10, 7, 3, 2, 1, 5));
+        statsService.getStats();
+
+        TransactionSynchronizationManager.initSynchronization();
+        statsService.recordChange(null, user(UserRole.USER, true, false));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        // A refresh runs between the commit and its afterCommit callback and already sees the new user
+        when(userStatsRepository.countUsers()).thenReturn(counts(11, 8, 3, 2, 1, 5));
+        statsService.refresh();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(statsService.getStats().getTotalUsers()).isEqualTo(11);
+        assertThat(statsService.getStats().getActiveUsers()).isEqualTo(8);
+        verify(scheduler).execute(any());
+    }
+
+    @Test
+    void changeCommittedWhileARefreshQueryRunsIsLeftToTheNextRefresh() {
+        when(userStatsRepository.countUsers()).thenReturn(counts(10, 7, 3, 2, 1, 5));
+        statsService.getStats();
+        when(userStatsRepository.countUsers()).thenAnswer(invocation -> {
+            statsService.recordChange(null, user(UserRole.USER, true, false));
+            return counts(11, 8, 3, 2, 1, 5);
+        });
+
+        statsService.refresh();
+
+        assertThat(statsService.getStats().getTotalUsers()).isEqualTo(11);
+        verify(scheduler).execute(any());
+    }
+
+    @Test
+    void readersNeverSeeCountersFromTwoDifferentRefreshes() throws InterruptedException {
+        UserStatsRepository.UserCounts small = counts(10, 10, 0, 0, 0, 0);
+        UserStatsRepository.UserCounts large = counts(1_000, 1_000, 0, 0, 0, 0);
+        AtomicLong queries = new AtomicLong();
+        when(userStatsRepository.countUsers()).thenAnswer(invocation -> queries.incrementAndGet() % 2 == 0 ? large : small);
+        statsService.getStats();
+        AtomicBoolean done = new AtomicBoolean();
+        List<Long> inconsistent = new ArrayList<>();
+
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                AdminService.AdminDashboardStats stats = statsService.getStats();
+                if (stats.getInactiveUsers() != 0) {
+                    inconsistent.add(stats.getInactiveUsers());
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20_000; i++) {
+            statsService.refresh();
+        }
+        done.set(true);
+        reader.join();
+
+        assertThat(inconsistent).isEmpty();
+    }
+
+    // Helper methods
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static User user(UserRole role, boolean active, boolean verified) {
+        return User.builder().email("stats@example.com").role(role).isActive(active).isVerified(verified).build();
+    }
+
+    private static UserStatsRepository.UserCounts counts(long total, long active, long sellers, long activeSellers,
+                                                         long admins, long verified) {
+        return new UserStatsRepository.UserCounts(total, active, sellers, activeSellers, admins, verified);
+    }
+}
@@ -0,0 +1,123 @@
+package com.bookvault.auth.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis round trips per login, counted as calls on the template and its operations. Every
+ * call is one command sent to Redis, so the counts are exact and repeatable, unlike timings.
+ *
+ * The per-key methods that the login flow used before the ban policy moved into Lua scripts
+ * are still in the service, which gives the "before" side of the comparison.
+ */
+class LoginAttemptServiceTest {
+
+    private static final String EMAIL = "reader@example.com";
+    private static final String IP = "203.0.113.7";
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    private LoginAttemptService service;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        service = new LoginAttemptService(redisTemplate);
+    }
+
+    @Test
+    void banCheckIsOneRoundTrip() {
+        scriptReturns(List.of(-2L, -2L, -2L, 1L, 2L, 0L));
+
+        LoginAttemptService.AttemptVerdict verdict = service.checkLogin(EMAIL, IP);
+
+        assertThat(verdict.getUserBanInfo().isBanned()).isFalse();
+        assertThat(verdict.getIpAttempts()).isEqualTo(2);
+        assertThat(roundTrips()).isEqualTo(1);
+    }
+
+    @Test
+    void perKeyBanCheckTakesThreeRoundTrips() {
+        when(redisTemplate.hasKey(anyString())).thenReturn(false);
+
+        service.getUserBanInfo(EMAIL);
+        service.isIpBanned(IP);
+
+        assertThat(roundTrips()).isEqualTo(3);
+    }
+
+    @Test
+    void failedLoginIsTwoRoundTrips() {
+        scriptReturns(List.of(-2L, -2L, -2L, 2L, 2L, 0L));
+
+        service.checkLogin(EMAIL, IP);
+        LoginAttemptService.AttemptVerdict verdict = service.recordFailedAttempt(EMAIL, IP);
+
+        assertThat(verdict.getUserAttempts()).isEqualTo(2);
+        assertThat(roundTrips()).isEqualTo(2);
+    }
+
+    @Test
+    void thirdFailureReportsTheTemporaryBanItApplied() {
+        scriptReturns(List.of(900L, -2L, -2L, 3L, 3L, 1L));
+
+        LoginAttemptService.AttemptVerdict verdict = service.recordFailedAttempt(EMAIL, IP);
+
+        assertThat(verdict.isUserTemporarilyBannedNow()).isTrue();
+        assertThat(verdict.getUserBanInfo().getRemainingMinutes()).isEqualTo(15);
+        assertThat(roundTrips()).isEqualTo(1);
+    }
+
+    @Test
+    void successfulLoginIsTwoRoundTrips() {
+        scriptReturns(List.of(-2L, -2L, -2L, 0L, 0L, 0L));
+
+        service.checkLogin(EMAIL, IP);
+        service.clearFailedAttempts(EMAIL, IP);
+
+        assertThat(roundTrips()).isEqualTo(2);
+    }
+
+    @Test
+    void loginsAreAllowedWhenRedisIsDown() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(service.checkLogin(EMAIL, IP).getUserBanInfo().isBanned()).isFalse();
+        assertThat(service.recordFailedAttempt(EMAIL, IP).isUserTemporarilyBannedNow()).isFalse();
+    }
+
+    // Helper methods
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void scriptReturns(List<Long> result) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn((List) result);
+    }
+
+    /**
+     * Commands sent to Redis: every template and operations call except obtaining the operations
+     */
+    private long roundTrips() {
+        long templateCalls = mockingDetails(redisTemplate).getInvocations().stream()
+                .filter(invocation -> !invocation.getMethod().getName().startsWith("opsFor"))
+                .count();
+        return templateCalls + mockingDetails(valueOperations).getInvocations().size();
+    }
+}
@@ -0,0 +1,143 @@
+package com.bookvault.auth.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import com.bookvault.auth.cache.UserSecurityCache;
+import com.bookvault.auth.config.BoundedPasswordEncoder;
+import com.bookvault.auth.config.SecurityConfig;
+import com.bookvault.auth.model.User;
+import com.bookvault.auth.model.UserSecurityRecord;
+import com.bookvault.auth.repository.UserRepository;
+import com.bookvault.shared.enums.UserRole;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Logins with a stored hash in an outdated format or cost rehash the password once, through
+ * the production encoder and Spring Security's DaoAuthenticationProvider
+ */
+class PasswordRehashTest {
+
+    private static final String EMAIL = "reader@example.com";
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private PasswordEncoder passwordEncoder;
+    private DaoAuthenticationProvider provider;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = new SecurityConfig(null).passwordEncoder(new SimpleMeterRegistry(), "bcrypt", 10,
+                2, 16, Duration.ofSeconds(10));
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(userRepository,
+                new UserSecurityCache(100, Duration.ofSeconds(30)));
+        provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        user = User.builder()
+                .email(EMAIL)
+                .firstName("Avid")
+                .lastName("Reader")
+                .role(UserRole.USER)
+                .isActive(true)
+                .isVerified(true)
+                .build();
+        when(userRepository.findByEmail(EMAIL)).thenAnswer(invocation -> Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((BoundedPasswordEncoder) passwordEncoder).destroy();
+    }
+
+    @Test
+    void legacyUnprefixedBcryptHashesAreRehashedOnce() {
+        user.setPassword(new BCryptPasswordEncoder(10).encode(PASSWORD));
+
+        login(PASSWORD);
+
+        String upgraded = savedPassword();
+        assertThat(upgraded).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches(PASSWORD, upgraded)).isTrue();
+
+        // The upgraded hash is current, so the next login writes nothing
+        login(PASSWORD);
+        verify(userRepository).save(any(User.class));
+    }
+
+    @Test
+    void hashesAtAnOldCostAreRehashedAtTheConfiguredCost() {
+        user.setPassword("{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD));
+
+        login(PASSWORD);
+
+        assertThat(savedPassword()).startsWith("{bcrypt}$2a$10$");
+    }
+
+    @Test
+    void hashesFromAnotherAlgorithmAreRehashedWithTheConfiguredOne() {
+        user.setPassword("{pbkdf2}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode(PASSWORD));
+
+        login(PASSWORD);
+
+        assertThat(savedPassword()).startsWith("{bcrypt}$2a$10$");
+    }
+
+    @Test
+    void currentHashesAreLeftAlone() {
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+
+        Authentication authentication = login(PASSWORD);
+
+        assertThat(((UserSecurityRecord) authentication.getPrincipal()).getEmail()).isEqualTo(EMAIL);
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void failedLoginsNeverRehash() {
+        String legacy = new BCryptPasswordEncoder(10).encode(PASSWORD);
+        user.setPassword(legacy);
+
+        assertThatThrownBy(() -> login("wrong password")).isInstanceOf(BadCredentialsException.class);
+
+        verify(userRepository, never()).save(any(User.class));
+        assertThat(user.getPassword()).isEqualTo(legacy);
+    }
+
+    // Helper methods
+
+    private Authentication login(String password) {
+        return provider.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, password));
+    }
+
+    private String savedPassword() {
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        return saved.getValue().getPassword();
+    }
+}
@@ -0,0 +1,70 @@
+package com.bookvault.auth.util;
+
+import com.bookvault.shared.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorUtilTest {
+
+    @Test
+    void partsRoundTrip() {
+        String cursor = CursorUtil.encode("2026-01-01T10:15:30.123456", "6f1c2d3e-0000-4000-8000-000000000001");
+
+        assertThat(CursorUtil.decode(cursor, 2))
+                .containsExactly("2026-01-01T10:15:30.123456", "6f1c2d3e-0000-4000-8000-000000000001");
+    }
+
+    @Test
+    void partsContainingTheSeparatorRoundTrip() {
+        // '|' is legal in the local part of an email address
+        String cursor = CursorUtil.encode("a|b@example.com");
+
+        assertThat(CursorUtil.decode(cursor, 1)).containsExactly("a|b@example.com");
+        assertThat(CursorUtil.decode(CursorUtil.encode("|", "x|y|z"), 2)).containsExactly("|", "x|y|z");
+        assertThat(CursorUtil.decode(CursorUtil.encode("", "ünïcødé"), 2)).containsExactly("", "ünïcødé");
+    }
+
+    @Test
+    void cursorsAreUrlSafe() {
+        String cursor = CursorUtil.encode("?>?>~~@example.com");
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void cursorsForAnotherNumberOfPartsAreRejected() {
+        String onePart = CursorUtil.encode("reader@example.com");
+        String twoParts = CursorUtil.encode("2026-01-01T10:15:30", "6f1c2d3e-0000-4000-8000-000000000001");
+
+        assertThatThrownBy(() -> CursorUtil.decode(onePart, 2)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> CursorUtil.decode(twoParts, 1)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void cursorsOfAnotherVersionAreRejected() {
+        // The v1 format joined the raw parts, so "a|b@example.com" split into two
+        String v1 = base64("v1|reader@example.com");
+        String unknown = base64("v3|" + base64("reader@example.com"));
+
+        assertThatThrownBy(() -> CursorUtil.decode(v1, 1)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> CursorUtil.decode(unknown, 1)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThatThrownBy(() -> CursorUtil.decode("not base64!", 1)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> CursorUtil.decode(base64("v2|not base64!"), 1)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> CursorUtil.decode("", 1)).isInstanceOf(BadRequestException.class);
+    }
+
+    // Helper methods
+
+    private static String base64(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,330 @@
+package com.bookvault.book.cache;
+
+import com.bookvault.book.dto.BookResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier read-through cache for {@link BookResponse}.
+ *
+ * L1 is a bounded in-process Caffeine cache, L2 is Redis. Concurrent misses for
+ * the same book share a single load. Invalidations evict both tiers and are
+ * broadcast on a Redis channel so other instances drop their L1 copy too.
+ * Redis failures only degrade the cache to L1 and never fail a request.
+ *
+ * Every eviction bumps a generation, locally (striped by book ID) and in Redis (per
+ * book). A load only populates a tier if that tier's generation is unchanged since
+ * the load started, so an eviction that races a load cannot be overwritten by the
+ * stale row the load read.
+ */
+@Component
+public class BookCache implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BookCache.class);
+
+    public static final String INVALIDATION_CHANNEL = "book-cache:invalidate";
+
+    private static final String BOOK_KEY_PREFIX = "book-cache:book:";
+    private static final String ISBN_KEY_PREFIX = "book-cache:isbn:";
+    private static final String GENERATION_KEY_PREFIX = "book-cache:gen:";
+
+    // Power of two; books sharing a stripe only cost each other an L1 put
+    private static final int GENERATION_STRIPES = 1024;
+
+    // Write the book only if its generation still has the value read before the load
+    private static final String WRITE_IF_CURRENT_LUA =
+            "local generation = redis.call('GET', KEYS[1]) or ''\n" +
+            "if generation ~= ARGV[1] then return 0 end\n" +
+            "redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])\n" +
+            "return 1";
+
+    // KEYS alternate book key, generation key
+    private static final String EVICT_LUA =
+            "for i = 1, #KEYS, 2 do\n" +
+            "  redis.call('DEL', KEYS[i])\n" +
+            "  redis.call('INCR', KEYS[i + 1])\n" +
+            "  redis.call('PEXPIRE', KEYS[i + 1], ARGV[1])\n" +
+            "end\n" +
+            "return #KEYS / 2";
+
+    private static final RedisScript<Long> WRITE_IF_CURRENT_SCRIPT = RedisScript.of(WRITE_IF_CURRENT_LUA, Long.class);
+    private static final RedisScript<Long> EVICT_SCRIPT = RedisScript.of(EVICT_LUA, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration redisTtl;
+
+    private final Cache<UUID, BookResponse> books;
+    private final Cache<String, UUID> isbnToId;
+    private final ConcurrentMap<UUID, CompletableFuture<BookResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public BookCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                     @Value("${bookvault.cache.book.local-max-size:10000}") long localMaxSize,
+                     @Value("${bookvault.cache.book.local-ttl:60s}") Duration localTtl,
+                     @Value("${bookvault.cache.book.redis-ttl:10m}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = redisTtl;
+        this.books = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        this.isbnToId = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+    }
+
+    /**
+     * Get a book from L1, then L2, then the loader. Only one loader call runs
+     * per book at a time; other callers wait for its result.
+     */
+    public BookResponse get(UUID bookId, Supplier<BookResponse> loader) {
+        BookResponse cached = books.getIfPresent(bookId);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<BookResponse> pending = new CompletableFuture<>();
+        CompletableFuture<BookResponse> existing = inFlight.putIfAbsent(bookId, pending);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            long localGeneration = generations.get(stripe(bookId));
+            RemoteEntry remote = readRemote(bookId);
+            BookResponse book = remote.book;
+            if (book == null) {
+                book = loader.get();
+                if (remote.available) {
+                    writeRemote(book, remote.generation);
+                }
+            }
+            // An eviction since the load started means the book may predate it
+            if (generations.get(stripe(bookId)) == localGeneration) {
+                books.put(bookId, book);
+            }
+            pending.complete(book);
+            return book;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(bookId, pending);
+        }
+    }
+
+    /**
+     * Resolve an ISBN to a book ID, caching the mapping in both tiers
+     */
+    public UUID resolveIsbn(String isbn, Supplier<UUID> loader) {
+        UUID cached = isbnToId.getIfPresent(isbn);
+        if (cached != null) {
+            return cached;
+        }
+
+        UUID bookId = null;
+        try {
+            String remote = redisTemplate.opsForValue().get(ISBN_KEY_PREFIX + isbn);
+            if (remote != null) {
+                bookId = UUID.fromString(remote);
+            }
+        } catch (Exception e) {
+            log.debug("Redis unavailable while resolving ISBN {}: {}", isbn, e.getMessage());
+        }
+
+        if (bookId == null) {
+            bookId = loader.get();
+            try {
+                redisTemplate.opsForValue().set(ISBN_KEY_PREFIX + isbn, bookId.toString(), redisTtl);
+            } catch (Exception e) {
+                log.debug("Redis unavailable while caching ISBN {}: {}", isbn, e.getMessage());
+            }
+        }
+        isbnToId.put(isbn, bookId);
+        return bookId;
+    }
+
+    /**
+     * Forget a stale ISBN mapping, e.g. after the book it pointed to was deleted
+     */
+    public void evictIsbn(String isbn) {
+        isbnToId.invalidate(isbn);
+        try {
+            redisTemplate.delete(ISBN_KEY_PREFIX + isbn);
+        } catch (Exception e) {
+            log.debug("Redis unavailable while evicting ISBN {}: {}", isbn, e.getMessage());
+        }
+    }
+
+    public void invalidate(UUID bookId) {
+        if (bookId != null) {
+            invalidateAll(List.of(bookId));
+        }
+    }
+
+    /**
+     * Evict books from both tiers now and again after the surrounding
+     * transaction commits, so a concurrent reader cannot re-populate the cache
+     * with the pre-commit row. Other instances are notified over pub/sub.
+     */
+    public void invalidateAll(Collection<UUID> bookIds) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(bookIds);
+        evict(ids);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(ids);
+                }
+            });
+        }
+    }
+
+    /**
+     * Receive invalidations published by any instance (including this one)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String id : body.split(",")) {
+            try {
+                evictLocal(UUID.fromString(id.trim()));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed book cache invalidation: {}", id);
+            }
+        }
+    }
+
+    // Helper methods
+
+    private void evict(List<UUID> ids) {
+        for (UUID id : ids) {
+            evictLocal(id);
+        }
+        try {
+            List<String> keys = new ArrayList<>(ids.size() * 2);
+            for (UUID id : ids) {
+                keys.add(BOOK_KEY_PREFIX + id);
+                keys.add(GENERATION_KEY_PREFIX + id);
+            }
+            redisTemplate.execute(EVICT_SCRIPT, keys, String.valueOf(redisTtl.toMillis()));
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, joinIds(ids));
+        } catch (Exception e) {
+            log.warn("Redis unavailable while invalidating {} cached books: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Drop the L1 copy, make loads already running skip their L1 put and stop new
+     * callers from joining them
+     */
+    private void evictLocal(UUID bookId) {
+        generations.incrementAndGet(stripe(bookId));
+        books.invalidate(bookId);
+        inFlight.remove(bookId);
+    }
+
+    /**
+     * Read the cached book and its generation in one round trip
+     */
+    private RemoteEntry readRemote(UUID bookId) {
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(
+                    List.of(BOOK_KEY_PREFIX + bookId, GENERATION_KEY_PREFIX + bookId));
+            if (values == null) {
+                return RemoteEntry.UNAVAILABLE;
+            }
+            String json = values.get(0);
+            String generation = values.get(1) != null ? values.get(1) : "";
+            BookResponse book = json != null ? objectMapper.readValue(json, BookResponse.class) : null;
+            return new RemoteEntry(true, book, generation);
+        } catch (Exception e) {
+            log.debug("Redis unavailable while reading book {}: {}", bookId, e.getMessage());
+            return RemoteEntry.UNAVAILABLE;
+        }
+    }
+
+    private void writeRemote(BookResponse book, String expectedGeneration) {
+        try {
+            redisTemplate.execute(WRITE_IF_CURRENT_SCRIPT,
+                    List.of(GENERATION_KEY_PREFIX + book.getId(), BOOK_KEY_PREFIX + book.getId()),
+                    expectedGeneration, objectMapper.writeValueAsString(book), String.valueOf(redisTtl.toMillis()));
+        } catch (Exception e) {
+            log.debug("Redis unavailable while caching book {}: {}", book.getId(), e.getMessage());
+        }
+    }
+
+    private BookResponse await(CompletableFuture<BookResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static int stripe(UUID bookId) {
+        return bookId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    private static String joinIds(List<UUID> ids) {
+        StringBuilder body = new StringBuilder(ids.size() * 37);
+        for (UUID id : ids) {
+            if (body.length() > 0) {
+                body.append(',');
+            }
+            body.append(id);
+        }
+        return body.toString();
+    }
+
+    /**
+     * Result of an L2 read; when Redis is unavailable the loaded book is not written back
+     */
+    private static final class RemoteEntry {
+        private static final RemoteEntry UNAVAILABLE = new RemoteEntry(false, null, null);
+
+        private final boolean available;
+        private final BookResponse book;
+        private final String generation;
+
+        private RemoteEntry(boolean available, BookResponse book, String generation) {
+            this.available = available;
+            this.book = book;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.bookvault.book.catalog;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pulls catalog rows one at a time from an upload, so only the current row is in memory.
+ *
+ * JSON input is either the data/books.json document (rows under {@code "books"}, other
+ * fields skipped) or a top-level array of book objects, read with Jackson's streaming
+ * parser. CSV input has a header row naming the fields; multiple categories in one cell
+ * are separated by '|' or ';'.
+ */
+public abstract class CatalogImportReader implements Closeable {
+
+    public enum Format {
+        JSON,
+        CSV
+    }
+
+    private long rowsRead = 0;
+
+    public static CatalogImportReader open(Format format, InputStream input, ObjectMapper objectMapper)
+            throws IOException {
+        return format == Format.CSV ? new CsvReader(input) : new JsonReader(input, objectMapper);
+    }
+
+    /**
+     * The next row's raw values, or null at the end of the input
+     *
+     * @throws IOException if the input is malformed; the rest of the input cannot be read
+     */
+    public Map<String, Object> next() throws IOException {
+        Map<String, Object> values = readValues();
+        if (values != null) {
+            rowsRead++;
+        }
+        return values;
+    }
+
+    /**
+     * Position of the last row returned: the CSV line number, or the JSON row number
+     */
+    public abstract long position();
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    protected abstract Map<String, Object> readValues() throws IOException;
+
+    private static final class JsonReader extends CatalogImportReader {
+        private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {};
+
+        private final JsonParser parser;
+        private boolean inArray;
+
+        JsonReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+            this.parser = objectMapper.createParser(input);
+            this.inArray = seekRows();
+        }
+
+        @Override
+        protected Map<String, Object> readValues() throws IOException {
+            if (!inArray) {
+                return null;
+            }
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                inArray = false;
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a book object at " + parser.currentLocation());
+            }
+            return parser.readValueAs(ROW_TYPE);
+        }
+
+        @Override
+        public long position() {
+            return getRowsRead();
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+
+        /**
+         * Move the parser to the start of the rows array
+         */
+        private boolean seekRows() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                return true;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON array of books or an object with a \"books\" array");
+            }
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("books".equals(field) && value == JsonToken.START_ARRAY) {
+                    return true;
+                }
+                parser.skipChildren();
+            }
+            return false;
+        }
+    }
+
+    private static final class CsvReader extends CatalogImportReader {
+        private final BufferedReader reader;
+        private final List<String> header;
+        private long line = 0;
+        private long rowStartLine = 0;
+
+        CsvReader(InputStream input) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            List<String> columns = readRecord();
+            if (columns == null) {
+                throw new IOException("CSV input has no header row");
+            }
+            if (!columns.isEmpty() && columns.get(0).startsWith("\uFEFF")) { // UTF-8 byte order mark
+                columns.set(0, columns.get(0).substring(1));
+            }
+            this.header = columns;
+        }
+
+        @Override
+        protected Map<String, Object> readValues() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isEmpty()); // blank line
+
+            Map<String, Object> values = new HashMap<>();
+            for (int i = 0; i < header.size() && i < record.size(); i++) {
+                values.put(header.get(i).trim(), record.get(i));
+            }
+            return values;
+        }
+
+        @Override
+        public long position() {
+            return rowStartLine;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        /**
+         * One RFC 4180 record; quoted fields may contain commas, doubled quotes and line breaks
+         */
+        private List<String> readRecord() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            rowStartLine = line;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    text = reader.readLine();
+                    if (text == null) {
+                        throw new IOException("Unterminated quoted field starting on line " + rowStartLine);
+                    }
+                    line++;
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i < text.length() && text.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.bookvault.book.catalog;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * One book read by a {@link CatalogImportReader}, validated and normalized.
+ *
+ * Field names follow data/books.json ({@code category}, {@code coverImage}, {@code stock},
+ * {@code reviews}); the API names ({@code categoryNames}, {@code coverImageUrl},
+ * {@code stockQuantity}, {@code reviewCount}) are accepted as well.
+ */
+public class CatalogImportRow {
+
+    private static final int MAX_ISBN_LENGTH = 20;
+    private static final int MAX_CATEGORY_LENGTH = 100;
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_LANGUAGE_LENGTH = 50;
+    private static final int MAX_DESCRIPTION_LENGTH = 5000;
+    // NUMERIC(precision, scale) of books.price and books.rating; PostgreSQL would round
+    // extra decimals silently and reject extra integer digits for the whole batch
+    private static final int PRICE_PRECISION = 10;
+    private static final int RATING_PRECISION = 3;
+    private static final int DECIMAL_SCALE = 2;
+
+    private final long line;
+    private final String isbn;
+    private final String title;
+    private final String author;
+    private final String description;
+    private final BigDecimal price;
+    private final LocalDate publishedDate;
+    private final String coverImageUrl;
+    private final int stockQuantity;
+    private final BigDecimal rating;
+    private final Integer reviewCount;
+    private final String language;
+    private final Integer pageCount;
+    private final String publisher;
+    private final List<String> categoryNames;
+    private final String contentHash;
+
+    private CatalogImportRow(long line, Map<String, Object> values) {
+        this.line = line;
+        this.isbn = requireText(values, "isbn");
+        if (isbn.length() > MAX_ISBN_LENGTH) {
+            throw new IllegalArgumentException("isbn is longer than " + MAX_ISBN_LENGTH + " characters");
+        }
+        this.title = maxLength(requireText(values, "title"), "title", MAX_TEXT_LENGTH);
+        this.author = maxLength(requireText(values, "author"), "author", MAX_TEXT_LENGTH);
+        this.description = maxLength(text(values, "description"), "description", MAX_DESCRIPTION_LENGTH);
+        this.price = numeric(decimal(values, "price"), "price", PRICE_PRECISION);
+        if (price == null || price.signum() <= 0) {
+            throw new IllegalArgumentException("price must be greater than 0");
+        }
+        this.publishedDate = date(values, "publishedDate");
+        this.coverImageUrl = firstText(values, "coverImageUrl", "coverImage");
+        Integer stock = integer(values, "stockQuantity", "stock");
+        this.stockQuantity = stock != null ? stock : 0;
+        if (stockQuantity < 0) {
+            throw new IllegalArgumentException("stock must be 0 or greater");
+        }
+        this.rating = numeric(decimal(values, "rating"), "rating", RATING_PRECISION);
+        if (rating != null && (rating.signum() < 0 || rating.compareTo(BigDecimal.valueOf(5)) > 0)) {
+            throw new IllegalArgumentException("rating must be between 0 and 5");
+        }
+        this.reviewCount = integer(values, "reviewCount", "reviews");
+        if (reviewCount != null && reviewCount < 0) {
+            throw new IllegalArgumentException("reviews must be 0 or greater");
+        }
+        this.language = maxLength(text(values, "language"), "language", MAX_LANGUAGE_LENGTH);
+        this.pageCount = integer(values, "pageCount");
+        if (pageCount != null && pageCount < 1) {
+            throw new IllegalArgumentException("pageCount must be greater than 0");
+        }
+        this.publisher = maxLength(text(values, "publisher"), "publisher", MAX_TEXT_LENGTH);
+        this.categoryNames = categories(values);
+        this.contentHash = computeHash();
+    }
+
+    /**
+     * Build a row from parsed field values
+     *
+     * @param line source line (CSV) or row number (JSON), for error reports
+     * @throws IllegalArgumentException if a field is missing or invalid
+     */
+    public static CatalogImportRow of(long line, Map<String, Object> values) {
+        return new CatalogImportRow(line, values);
+    }
+
+    // Helper methods
+
+    /**
+     * SHA-256 over the catalog fields the import writes on update. Stock is left out:
+     * it is only set when a book is created, so live inventory is never overwritten.
+     */
+    private String computeHash() {
+        StringBuilder content = new StringBuilder(256);
+        append(content, title);
+        append(content, author);
+        append(content, description);
+        append(content, price.stripTrailingZeros().toPlainString());
+        append(content, publishedDate != null ? publishedDate.toString() : null);
+        append(content, coverImageUrl);
+        append(content, rating != null ? rating.stripTrailingZeros().toPlainString() : null);
+        append(content, reviewCount != null ? reviewCount.toString() : null);
+        append(content, language);
+        append(content, pageCount != null ? pageCount.toString() : null);
+        append(content, publisher);
+        append(content, String.join("\u001f", new TreeSet<>(categoryNames)));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void append(StringBuilder content, String value) {
+        // Record separator between fields; null and empty hash differently
+        content.append(value == null ? "\u0000" : value).append('\u001e');
+    }
+
+    private static List<String> categories(Map<String, Object> values) {
+        Object raw = first(values, "categoryNames", "categories", "category");
+        List<String> names = new ArrayList<>();
+        if (raw instanceof Collection<?> collection) {
+            for (Object item : collection) {
+                addCategory(names, item != null ? item.toString() : null);
+            }
+        } else if (raw != null) {
+            // CSV: several categories separated by '|' or ';'
+            for (String item : raw.toString().split("[|;]")) {
+                addCategory(names, item);
+            }
+        }
+        return names;
+    }
+
+    private static void addCategory(List<String> names, String name) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        String trimmed = name.trim();
+        if (trimmed.length() > MAX_CATEGORY_LENGTH) {
+            throw new IllegalArgumentException("category is longer than " + MAX_CATEGORY_LENGTH + " characters");
+        }
+        if (!names.contains(trimmed)) {
+            names.add(trimmed);
+        }
+    }
+
+    private static Object first(Map<String, Object> values, String... names) {
+        for (String name : names) {
+            Object value = values.get(name);
+            if (value == null) {
+                value = values.get(name.toLowerCase(Locale.ROOT));
+            }
+            if (value != null && !(value instanceof String s && s.isBlank())) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static String firstText(Map<String, Object> values, String... names) {
+        Object value = first(values, names);
+        return value != null ? value.toString().trim() : null;
+    }
+
+    private static String text(Map<String, Object> values, String name) {
+        return firstText(values, name);
+    }
+
+    private static String requireText(Map<String, Object> values, String name) {
+        String value = text(values, name);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private static String maxLength(String value, String name, int max) {
+        if (value != null && value.length() > max) {
+            throw new IllegalArgumentException(name + " is longer than " + max + " characters");
+        }
+        return value;
+    }
+
+    /**
+     * Check that a value fits NUMERIC(precision, 2) without rounding
+     */
+    private static BigDecimal numeric(BigDecimal value, String name, int precision) {
+        if (value == null) {
+            return null;
+        }
+        BigDecimal stripped = value.stripTrailingZeros();
+        if (stripped.scale() > DECIMAL_SCALE) {
+            throw new IllegalArgumentException(name + " has more than " + DECIMAL_SCALE + " decimal places: " + value);
+        }
+        if (stripped.precision() - stripped.scale() > precision - DECIMAL_SCALE) {
+            throw new IllegalArgumentException(name + " is too large: " + value);
+        }
+        return value;
+    }
+
+    private static BigDecimal decimal(Map<String, Object> values, String name) {
+        Object value = first(values, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+    }
+
+    private static Integer integer(Map<String, Object> values, String... names) {
+        Object value = first(values, names);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(names[0] + " is not a whole number: " + value);
+        }
+    }
+
+    private static LocalDate date(Map<String, Object> values, String name) {
+        String value = text(values, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " is not an ISO date: " + value);
+        }
+    }
+
+    // Getters
+    public long getLine() { return line; }
+    public String getIsbn() { return isbn; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public String getDescription() { return description; }
+    public BigDecimal getPrice() { return price; }
+    public LocalDate getPublishedDate() { return publishedDate; }
+    public String getCoverImageUrl() { return coverImageUrl; }
+    public int getStockQuantity() { return stockQuantity; }
+    public BigDecimal getRating() { return rating; }
+    public Integer getReviewCount() { return reviewCount; }
+    public String getLanguage() { return language; }
+    public Integer getPageCount() { return pageCount; }
+    public String getPublisher() { return publisher; }
+    public List<String> getCategoryNames() { return categoryNames; }
+    public String getContentHash() { return contentHash; }
+}
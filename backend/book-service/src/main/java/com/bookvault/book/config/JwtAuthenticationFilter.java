@@ -1,6 +1,8 @@
 package com.bookvault.book.config;
 
+import com.bookvault.shared.security.JwtPrincipal;
 import com.bookvault.shared.security.JwtUtil;
+import com.bookvault.shared.security.RouteClassifier;
 import com.bookvault.shared.enums.UserRole;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -15,7 +17,6 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
-import java.util.Arrays;
 
 /**
  * OPTIMIZED JWT Authentication Filter for Book Service
@@ -23,58 +24,24 @@ import java.util.Arrays;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
+    private final RouteClassifier routeClassifier;
     
-    // OPTIMIZATION: Define public endpoints to skip JWT processing
-    private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
-        "/api/books/categories",
-        "/api/books/search",
-        "/api/books/featured", 
-        "/api/books/bestsellers",
-        "/api/books/new-releases",
-        "/api/books/filter",
-        "/actuator/health",
-        "/v3/api-docs",
-        "/swagger-ui"
-    );
-    
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, RouteClassifier routeClassifier) {
         this.jwtUtil = jwtUtil;
+        this.routeClassifier = routeClassifier;
     }
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
         
-        String requestPath = request.getRequestURI();
-        String method = request.getMethod();
-        
-        // CRITICAL: Allow OPTIONS requests to pass through for CORS preflight
-        if ("OPTIONS".equals(method)) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-        
-        // OPTIMIZATION: Skip JWT processing for public GET endpoints
-        if ("GET".equals(method) && isPublicEndpoint(requestPath)) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-        
-        // OPTIMIZATION: Skip JWT processing for public book browsing
-        if ("GET".equals(method) && (requestPath.equals("/api/books") || 
-            requestPath.matches("/api/books/[a-fA-F0-9-]{36}") ||
-            requestPath.startsWith("/api/books/category/") ||
-            requestPath.startsWith("/api/books/author/") ||
-            requestPath.startsWith("/api/books/isbn/"))) {
+        // OPTIMIZATION: Skip JWT processing for public routes (CORS preflight, catalog browsing);
+        // the route trie classifies the request without regexes or allocation
+        if (routeClassifier.classify(request).isPublic()) {
             filterChain.doFilter(request, response);
             return;
         }
         
-        // IMPORTANT: Seller endpoints require authentication
-        if (requestPath.startsWith("/api/books/seller/")) {
-            // Continue with JWT authentication for seller endpoints
-        }
-        
         String authHeader = request.getHeader("Authorization");
         
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -85,11 +52,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = authHeader.substring(7);
             
-            // OPTIMIZATION: Quick token validation before expensive operations
-            if (jwtUtil.validateToken(token) && !jwtUtil.isTokenExpired(token)) {
-                UUID userId = jwtUtil.getUserIdFromToken(token);
-                String email = jwtUtil.getEmailFromToken(token);
-                UserRole role = jwtUtil.getRoleFromToken(token);
+            // OPTIMIZATION: Verify signature and expiry once (repeat tokens are served from cache)
+            JwtPrincipal principal = jwtUtil.verify(token);
+            if (principal.isAccessToken()) {
+                UUID userId = principal.getUserId();
+                UserRole role = principal.getRole();
                 
                 List<SimpleGrantedAuthority> authorities = List.of(
                     new SimpleGrantedAuthority("ROLE_" + role.name())
@@ -113,11 +80,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
-    
-    /**
-     * OPTIMIZATION: Check if endpoint is public to skip JWT processing
-     */
-    private boolean isPublicEndpoint(String requestPath) {
-        return PUBLIC_ENDPOINTS.stream().anyMatch(requestPath::startsWith);
-    }
-} 
\ No newline at end of file
+}
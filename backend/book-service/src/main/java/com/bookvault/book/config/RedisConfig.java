@@ -0,0 +1,27 @@
+package com.bookvault.book.config;
+
+import com.bookvault.book.cache.BookCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis configuration for Book Service
+ */
+@Configuration
+public class RedisConfig {
+
+    /**
+     * Subscribe the book cache to invalidations published by other instances
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       BookCache bookCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(bookCache, new ChannelTopic(BookCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
@@ -1,6 +1,8 @@
 package com.bookvault.book.config;
 
 import com.bookvault.shared.security.JwtUtil;
+import com.bookvault.shared.security.RouteAccess;
+import com.bookvault.shared.security.RouteClassifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -28,43 +30,47 @@ public class SecurityConfig {
         this.corsConfigurationSource = corsConfigurationSource;
     }
     
+    /**
+     * Single source of truth for which routes are public; used by the authorization rules
+     * and by JwtAuthenticationFilter to skip token processing
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public RouteClassifier routeClassifier() {
+        return RouteClassifier.builder()
+                // CORS preflight
+                .permit(HttpMethod.OPTIONS, "/**")
+                
+                // Health and documentation endpoints
+                .permitAll("/actuator/health")
+                .permitAll("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html")
+                
+                // Public READ access to books
+                .permit(HttpMethod.GET, "/api/books", "/api/books/{id}")
+                .permit(HttpMethod.GET, "/api/books/categories", "/api/books/search", "/api/books/filter")
+                .permit(HttpMethod.GET, "/api/books/featured", "/api/books/bestsellers", "/api/books/new-releases")
+                .permit(HttpMethod.GET, "/api/books/cursor", "/api/books/featured/cursor",
+                        "/api/books/bestsellers/cursor", "/api/books/new-releases/cursor")
+                .permit(HttpMethod.GET, "/api/books/category/**", "/api/books/author/**", "/api/books/isbn/**")
+                .permit(HttpMethod.GET, "/api/books/proxy-image", "/api/books/covers/{hash}")
+                .authenticated(HttpMethod.GET, "/api/books/seller/**") // Seller-specific endpoints require auth
+                
+                // Write operations and everything else require authentication
+                .defaultAccess(RouteAccess.AUTHENTICATED)
+                .build();
+    }
+    
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http, RouteClassifier routeClassifier) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> {}) // Use the existing CorsConfig
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // OPTIMIZATION: One precompiled route trie instead of a chain of request matchers
             .authorizeHttpRequests(auth -> auth
-                // Health and documentation endpoints
-                .requestMatchers("/actuator/health").permitAll()
-                .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-                
-                // Public READ access to books
-                .requestMatchers(HttpMethod.GET, "/api/books/categories").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/books/search").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/books/featured").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/books/bestsellers").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/books/new-releases").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/books/filter").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/books/category/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/books/author/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/books/isbn/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/books/{id}").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/books/seller/**").authenticated() // Seller-specific endpoints require auth
-                .requestMatchers(HttpMethod.GET, "/api/books").permitAll() // Allow public book browsing
-                
-                // Require authentication for write operations
-                .requestMatchers(HttpMethod.POST, "/api/books").authenticated()
-                .requestMatchers(HttpMethod.POST, "/api/books/upload").authenticated()
-                .requestMatchers(HttpMethod.PUT, "/api/books/**").authenticated()
-                .requestMatchers(HttpMethod.PATCH, "/api/books/**").authenticated()
-                .requestMatchers(HttpMethod.DELETE, "/api/books/**").authenticated()
-                
-                // All other requests require authentication
-                .anyRequest().authenticated()
+                .anyRequest().access(routeClassifier.authorizationManager())
             )
-            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, routeClassifier), UsernamePasswordAuthenticationFilter.class);
         
         return http.build();
     }
-} 
\ No newline at end of file
+}
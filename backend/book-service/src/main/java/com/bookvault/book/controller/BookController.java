@@ -1,12 +1,22 @@
 package com.bookvault.book.controller;
 
+import com.bookvault.book.catalog.CatalogImportReader;
 import com.bookvault.book.dto.*;
+import com.bookvault.book.image.CoverImageService;
+import com.bookvault.book.image.ImageProxyService;
 import com.bookvault.book.service.BookService;
+import com.bookvault.book.service.CatalogImportService;
 import com.bookvault.shared.dto.ApiResponse;
+import com.bookvault.shared.dto.CursorPagedResponse;
 import com.bookvault.shared.dto.PagedResponse;
+import com.bookvault.shared.exception.BadRequestException;
+import com.bookvault.shared.exception.TooManyRequestsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 // import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -17,6 +27,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.Base64;
@@ -26,15 +37,11 @@ import java.util.UUID;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import java.io.IOException;
-import java.net.URL;
-import java.net.URLConnection;
-import java.io.InputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
 
 /**
  * REST Controller for book management
@@ -45,11 +52,23 @@ import java.io.ByteArrayOutputStream;
 @Tag(name = "Books", description = "Book management API")
 public class BookController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    
     private final BookService bookService;
+    private final ImageProxyService imageProxyService;
+    private final CoverImageService coverImageService;
+    private final CatalogImportService catalogImportService;
+    private final ObjectMapper objectMapper;
     
     // Constructor (replacing @RequiredArgsConstructor)
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, ImageProxyService imageProxyService,
+                          CoverImageService coverImageService, CatalogImportService catalogImportService,
+                          ObjectMapper objectMapper) {
         this.bookService = bookService;
+        this.imageProxyService = imageProxyService;
+        this.coverImageService = coverImageService;
+        this.catalogImportService = catalogImportService;
+        this.objectMapper = objectMapper;
     }
     
     @GetMapping
@@ -155,6 +174,48 @@ public class BookController {
         return ResponseEntity.ok(ApiResponse.success(books));
     }
     
+    // ========== CURSOR (KEYSET) PAGINATION ENDPOINTS ==========
+    
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all books (cursor)", description = "Retrieve active books newest first using cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPagedResponse<BookResponse>>> getAllBooksByCursor(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "12") int size) {
+        
+        CursorPagedResponse<BookResponse> books = bookService.getNewestBooksAfter(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(books));
+    }
+    
+    @GetMapping("/featured/cursor")
+    @Operation(summary = "Get featured books (cursor)", description = "Retrieve featured books using cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPagedResponse<BookResponse>>> getFeaturedBooksByCursor(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "12") int size) {
+        
+        CursorPagedResponse<BookResponse> books = bookService.getFeaturedBooksAfter(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(books));
+    }
+    
+    @GetMapping("/bestsellers/cursor")
+    @Operation(summary = "Get bestselling books (cursor)", description = "Retrieve top-rated books using cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPagedResponse<BookResponse>>> getBestsellingBooksByCursor(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "12") int size) {
+        
+        CursorPagedResponse<BookResponse> books = bookService.getTopRatedBooksAfter(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(books));
+    }
+    
+    @GetMapping("/new-releases/cursor")
+    @Operation(summary = "Get new releases (cursor)", description = "Retrieve newest books using cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPagedResponse<BookResponse>>> getNewReleasesByCursor(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "12") int size) {
+        
+        CursorPagedResponse<BookResponse> books = bookService.getNewestBooksAfter(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(books));
+    }
+    
     @GetMapping("/filter")
     @Operation(summary = "Filter books", description = "Filter books with multiple criteria")
     public ResponseEntity<ApiResponse<PagedResponse<BookResponse>>> filterBooks(
@@ -227,13 +288,8 @@ public class BookController {
         
         // Handle cover image
         if (coverImage != null && !coverImage.isEmpty()) {
-            // For now, store a placeholder URL instead of base64 to avoid PostgreSQL issues
-            // In a production environment, you would upload to a cloud storage service
-            String fileName = "book_" + System.currentTimeMillis() + "_" + coverImage.getOriginalFilename();
-            request.setCoverImageUrl("/asset/img/books/" + fileName);
-            
-            // Log the image details for debugging
-            System.out.println("Image uploaded: " + fileName + " (" + coverImage.getSize() + " bytes)");
+            // Stored content-addressed on disk; resized variants are rendered in the background
+            request.setCoverImageUrl(coverImageService.storeCover(coverImage));
         } else {
             request.setCoverImageUrl("/asset/img/books/placeholder.jpg");
         }
@@ -295,13 +351,8 @@ public class BookController {
         
         // Handle cover image
         if (coverImage != null && !coverImage.isEmpty()) {
-            // For now, store a placeholder URL instead of base64 to avoid PostgreSQL issues
-            // In a production environment, you would upload to a cloud storage service
-            String fileName = "book_" + System.currentTimeMillis() + "_" + coverImage.getOriginalFilename();
-            request.setCoverImageUrl("/asset/img/books/" + fileName);
-            
-            // Log the image details for debugging
-            System.out.println("Image uploaded for update: " + fileName + " (" + coverImage.getSize() + " bytes)");
+            // Stored content-addressed on disk; resized variants are rendered in the background
+            request.setCoverImageUrl(coverImageService.storeCover(coverImage));
         } else {
             // Keep existing cover image URL if no new image provided
             request.setCoverImageUrl(null);
@@ -378,6 +429,8 @@ public class BookController {
             UUID currentUserId = getCurrentUserId();
             SellerRevenueResponse analytics = bookService.getSellerRevenueAnalytics(currentUserId);
             return ResponseEntity.ok(ApiResponse.success(analytics, "Seller revenue analytics retrieved successfully"));
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to get seller revenue analytics: " + e.getMessage()));
@@ -406,78 +459,117 @@ public class BookController {
             UUID currentUserId = getCurrentUserId();
             Map<String, Object> stats = bookService.getSellerDashboardStats(currentUserId);
             return ResponseEntity.ok(ApiResponse.success(stats, "Seller dashboard stats retrieved successfully"));
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to get seller dashboard stats: " + e.getMessage()));
         }
     }
     
+    @PostMapping("/admin/seller-revenue/rebuild")
+    @Operation(summary = "Rebuild seller revenue rollup", description = "Recompute the seller revenue rollup from all historical order items")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> rebuildSellerRevenueRollup() {
+        int rows = bookService.rebuildSellerRevenueRollup();
+        if (rows < 0) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("A seller revenue rebuild is already running"));
+        }
+        return ResponseEntity.ok(ApiResponse.success(rows, "Seller revenue rollup rebuilt"));
+    }
+    
+    @PutMapping("/admin/stock")
+    @Operation(summary = "Bulk update stock", description = "Set the stock of many books by ID; rows are committed in chunks and rejected rows are reported individually")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BulkStockUpdateResponse>> bulkUpdateStock(
+            @RequestBody Map<UUID, Integer> stockUpdates) {
+        BulkStockUpdateResponse result = bookService.bulkUpdateStock(stockUpdates);
+        String message = String.format("Bulk stock update completed: %d updated, %d errors",
+                result.getUpdatedCount(), result.getErrorCount());
+        return ResponseEntity.ok(ApiResponse.success(result, message));
+    }
+    
+    @PostMapping("/admin/import")
+    @Operation(summary = "Import catalog", description = "Bulk insert or update books by ISBN from a books.json document or CSV sent as the request body")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CatalogImportResponse>> importCatalog(
+            @Parameter(description = "json or csv; defaults from the Content-Type") @RequestParam(required = false) String format,
+            @Parameter(description = "Seller of newly created books; defaults to the caller") @RequestParam(required = false) UUID sellerId,
+            HttpServletRequest request) throws IOException {
+        CatalogImportResponse result = catalogImportService.importCatalog(resolveImportFormat(format, request),
+                request.getInputStream(), sellerId != null ? sellerId : getCurrentUserId(), null);
+        return ResponseEntity.ok(ApiResponse.success(result, "Catalog imported"));
+    }
+    
+    /**
+     * Catalog import streamed as NDJSON: one {"progress": ...} line per committed chunk,
+     * then a final {"summary": ...} line
+     */
+    @PostMapping(value = "/admin/import", params = "stream=true", produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamImportCatalog(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) UUID sellerId,
+            HttpServletRequest request) {
+        CatalogImportReader.Format importFormat = resolveImportFormat(format, request);
+        // Resolved here: the body is written on another thread without the security context
+        UUID importSellerId = sellerId != null ? sellerId : getCurrentUserId();
+        
+        StreamingResponseBody body = outputStream -> {
+            CatalogImportResponse summary = catalogImportService.importCatalog(importFormat, request.getInputStream(),
+                    importSellerId, progress -> writeLine(outputStream, Map.of("progress", progress), true));
+            writeLine(outputStream, Map.of("summary", summary), true);
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+    
     @GetMapping("/proxy-image")
     @Operation(summary = "Proxy image for CORS", description = "Proxy external image URLs to avoid CORS issues")
-    public ResponseEntity<Resource> proxyImage(@RequestParam String url) {
-        try {
-            // Validate URL
-            if (url == null || url.trim().isEmpty()) {
-                return ResponseEntity.badRequest().build();
-            }
-            
-            // Basic URL validation
-            URL imageUrl = new URL(url);
-            String protocol = imageUrl.getProtocol();
-            if (!"http".equals(protocol) && !"https".equals(protocol)) {
-                return ResponseEntity.badRequest().build();
+    public void proxyImage(@RequestParam String url, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        // OPTIMIZATION: Served from the disk cache (ETag/304 aware); misses share one upstream fetch
+        imageProxyService.serve(url, request, response);
+    }
+    
+    @GetMapping("/covers/{hash}")
+    @Operation(summary = "Get cover image", description = "Serve an uploaded cover, as the smallest stored variant at least w pixels wide when w is given")
+    public void getCover(
+            @Parameter(description = "Cover content hash") @PathVariable String hash,
+            @Parameter(description = "Minimum width in pixels") @RequestParam(value = "w", required = false) Integer width,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        coverImageService.serve(hash, width, request, response);
+    }
+    
+    /**
+     * Import format from the format parameter, else from the request Content-Type
+     */
+    private CatalogImportReader.Format resolveImportFormat(String format, HttpServletRequest request) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return CatalogImportReader.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported import format: " + format + " (expected json or csv)");
             }
-            
-            // Open connection
-            URLConnection connection = imageUrl.openConnection();
-            connection.setRequestProperty("User-Agent", "BookVault/1.0");
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(10000);
-            
-            // Read the image
-            try (InputStream inputStream = connection.getInputStream();
-                 ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                
-                byte[] buffer = new byte[1024];
-                int bytesRead;
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                }
-                
-                byte[] imageBytes = outputStream.toByteArray();
-                
-                // Determine content type
-                String contentType = connection.getContentType();
-                if (contentType == null || !contentType.startsWith("image/")) {
-                    // Try to guess from URL
-                    String lowerUrl = url.toLowerCase();
-                    if (lowerUrl.contains(".jpg") || lowerUrl.contains(".jpeg")) {
-                        contentType = "image/jpeg";
-                    } else if (lowerUrl.contains(".png")) {
-                        contentType = "image/png";
-                    } else if (lowerUrl.contains(".gif")) {
-                        contentType = "image/gif";
-                    } else if (lowerUrl.contains(".webp")) {
-                        contentType = "image/webp";
-                    } else {
-                        contentType = "image/jpeg"; // Default
-                    }
-                }
-                
-                // Create response
-                ByteArrayResource resource = new ByteArrayResource(imageBytes);
-                
-                return ResponseEntity.ok()
-                        .header(HttpHeaders.CONTENT_TYPE, contentType)
-                        .header(HttpHeaders.CACHE_CONTROL, "public, max-age=3600")
-                        .header(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*")
-                        .body(resource);
+        }
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv")
+                ? CatalogImportReader.Format.CSV
+                : CatalogImportReader.Format.JSON;
+    }
+    
+    private void writeLine(OutputStream outputStream, Object value, boolean flush) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+            if (flush) {
+                outputStream.flush();
             }
-            
         } catch (IOException e) {
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            throw new UncheckedIOException(e);
         }
     }
     
@@ -4,8 +4,10 @@ import com.bookvault.shared.dto.ApiResponse;
 import com.bookvault.shared.exception.BadRequestException;
 import com.bookvault.shared.exception.BookVaultException;
 import com.bookvault.shared.exception.NotFoundException;
+import com.bookvault.shared.exception.TooManyRequestsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -108,6 +110,17 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(message, "FILE_SIZE_EXCEEDED"));
     }
 
+    /**
+     * Handle load shedding (e.g. analytics query pool saturated)
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<Object>> handleTooManyRequestsException(TooManyRequestsException e) {
+        log.warn("Too many requests: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage(), e.getErrorCode()));
+    }
+
     /**
      * Handle custom BookVault exceptions
      */
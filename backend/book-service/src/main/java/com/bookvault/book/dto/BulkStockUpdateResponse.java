@@ -0,0 +1,69 @@
+package com.bookvault.book.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for a bulk stock update: totals, the rows that were rejected and why, and timing
+ */
+public class BulkStockUpdateResponse {
+    private int totalRequested;
+    private int updatedCount;
+    private int errorCount;
+    private List<Failure> failures = new ArrayList<>();
+    private long durationMs;
+
+    // Default constructor
+    public BulkStockUpdateResponse() {}
+
+    public BulkStockUpdateResponse(int totalRequested) {
+        this.totalRequested = totalRequested;
+    }
+
+    public void addUpdated(int count) {
+        updatedCount += count;
+    }
+
+    public void addFailure(UUID bookId, String reason) {
+        failures.add(new Failure(bookId, reason));
+        errorCount++;
+    }
+
+    // Getters and Setters
+    public int getTotalRequested() { return totalRequested; }
+    public void setTotalRequested(int totalRequested) { this.totalRequested = totalRequested; }
+
+    public int getUpdatedCount() { return updatedCount; }
+    public void setUpdatedCount(int updatedCount) { this.updatedCount = updatedCount; }
+
+    public int getErrorCount() { return errorCount; }
+    public void setErrorCount(int errorCount) { this.errorCount = errorCount; }
+
+    public List<Failure> getFailures() { return failures; }
+    public void setFailures(List<Failure> failures) { this.failures = failures; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    /**
+     * One stock row that was not applied
+     */
+    public static class Failure {
+        private UUID bookId;
+        private String reason;
+
+        public Failure() {}
+
+        public Failure(UUID bookId, String reason) {
+            this.bookId = bookId;
+            this.reason = reason;
+        }
+
+        public UUID getBookId() { return bookId; }
+        public void setBookId(UUID bookId) { this.bookId = bookId; }
+
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+    }
+}
@@ -0,0 +1,104 @@
+package com.bookvault.book.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for a bulk catalog import: row counts by outcome, throughput and the
+ * first rows that failed. In streaming mode a snapshot is written after every chunk.
+ */
+public class CatalogImportResponse {
+    private String format;
+    private long rowsRead;
+    private long inserted;
+    private long updated;
+    private long unchanged;
+    private long failed;
+    private List<Failure> failures = new ArrayList<>();
+    private long durationMs;
+    private double rowsPerSecond;
+
+    // Default constructor
+    public CatalogImportResponse() {}
+
+    public CatalogImportResponse(String format) {
+        this.format = format;
+    }
+
+    /**
+     * Record a failed row; only the first {@code maxFailures} are kept, all are counted
+     */
+    public void addFailure(long line, String isbn, String reason, int maxFailures) {
+        failed++;
+        if (failures.size() < maxFailures) {
+            failures.add(new Failure(line, isbn, reason));
+        }
+    }
+
+    public void addInserted(long count) { inserted += count; }
+    public void addUpdated(long count) { updated += count; }
+    public void addUnchanged(long count) { unchanged += count; }
+
+    /**
+     * Update the elapsed time and the overall rows per second
+     */
+    public void updateTiming(long startNanos) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        durationMs = elapsedNanos / 1_000_000;
+        rowsPerSecond = Math.round(rowsRead * 1_000_000_000.0 / elapsedNanos * 10) / 10.0;
+    }
+
+    // Getters and Setters
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+
+    public long getRowsRead() { return rowsRead; }
+    public void setRowsRead(long rowsRead) { this.rowsRead = rowsRead; }
+
+    public long getInserted() { return inserted; }
+    public void setInserted(long inserted) { this.inserted = inserted; }
+
+    public long getUpdated() { return updated; }
+    public void setUpdated(long updated) { this.updated = updated; }
+
+    public long getUnchanged() { return unchanged; }
+    public void setUnchanged(long unchanged) { this.unchanged = unchanged; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public List<Failure> getFailures() { return failures; }
+    public void setFailures(List<Failure> failures) { this.failures = failures; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+
+    /**
+     * One input row that could not be imported
+     */
+    public static class Failure {
+        private long line;
+        private String isbn;
+        private String reason;
+
+        public Failure() {}
+
+        public Failure(long line, String isbn, String reason) {
+            this.line = line;
+            this.isbn = isbn;
+            this.reason = reason;
+        }
+
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+
+        public String getIsbn() { return isbn; }
+        public void setIsbn(String isbn) { this.isbn = isbn; }
+
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+    }
+}
@@ -1,8 +1,6 @@
 package com.bookvault.book.dto;
 
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
@@ -17,11 +15,11 @@ public class OrderItemRequest {
     @NotNull(message = "Book ID is required")
     private UUID bookId;
     
-    @NotBlank(message = "Book title is required")
-    @Size(max = 200, message = "Book title must not exceed 200 characters")
+    // Book details and price are snapshotted from the catalog; client values are ignored
+    @Size(max = 255, message = "Book title must not exceed 255 characters")
     private String bookTitle;
     
-    @Size(max = 200, message = "Book author must not exceed 200 characters")
+    @Size(max = 255, message = "Book author must not exceed 255 characters")
     private String bookAuthor;
     
     @Size(max = 20, message = "Book ISBN must not exceed 20 characters")
@@ -34,10 +32,9 @@ public class OrderItemRequest {
     @Min(value = 1, message = "Quantity must be at least 1")
     private Integer quantity;
     
-    @NotNull(message = "Unit price is required")
-    @DecimalMin(value = "0.0", inclusive = false, message = "Unit price must be greater than 0")
     private BigDecimal unitPrice;
     
+    // Must be omitted or 0: discounts are never taken from the client
     private BigDecimal discountAmount = BigDecimal.ZERO;
     
     // Constructors
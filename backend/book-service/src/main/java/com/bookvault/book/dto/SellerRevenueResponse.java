@@ -39,6 +39,9 @@ public class SellerRevenueResponse {
     // Recent orders
     private List<SellerOrderItem> recentOrders;
     
+    // True when some sections could not be loaded in time and hold defaults
+    private Boolean partial = false;
+    
     // Default constructor
     public SellerRevenueResponse() {}
     
@@ -229,6 +232,9 @@ public class SellerRevenueResponse {
     public List<SellerOrderItem> getRecentOrders() { return recentOrders; }
     public void setRecentOrders(List<SellerOrderItem> recentOrders) { this.recentOrders = recentOrders; }
     
+    public Boolean getPartial() { return partial; }
+    public void setPartial(Boolean partial) { this.partial = partial; }
+    
     /**
      * Inner class for book revenue items
      */
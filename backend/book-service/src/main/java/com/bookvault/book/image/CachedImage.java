@@ -0,0 +1,58 @@
+package com.bookvault.book.image;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Index entry of {@link ImageDiskCache}: where a proxied image lives on disk and how to serve it
+ */
+public final class CachedImage {
+
+    private final String key;
+    private final Path file;
+    private final String contentType;
+    private final String etag;
+    private final Instant expiresAt;
+    private final long size;
+
+    public CachedImage(String key, Path file, String contentType, String etag, Instant expiresAt, long size) {
+        this.key = key;
+        this.file = file;
+        this.contentType = contentType;
+        this.etag = etag;
+        this.expiresAt = expiresAt;
+        this.size = size;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Whether an If-None-Match header value matches this entry's ETag (weak comparison)
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String current = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || stripWeak(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    public String getKey() { return key; }
+    public Path getFile() { return file; }
+    public String getContentType() { return contentType; }
+    public String getEtag() { return etag; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public long getSize() { return size; }
+}
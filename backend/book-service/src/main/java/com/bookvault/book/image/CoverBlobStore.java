@@ -0,0 +1,220 @@
+package com.bookvault.book.image;
+
+import com.bookvault.shared.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store of uploaded cover images on local disk.
+ *
+ * Originals live at {@code originals/<ab>/<sha256>.<ext>} and resized variants at
+ * {@code variants/<ab>/<sha256>/<width>.jpg}, where {@code <ab>} is the first two hex
+ * digits of the hash. Uploads are streamed to a temp file while hashing, so identical
+ * covers are stored once and nothing is buffered in memory.
+ */
+@Component
+public class CoverBlobStore {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final String COMPLETE_MARKER = ".complete";
+
+    private final Path directory;
+    private final Path tempDirectory;
+    private final long maxBytes;
+
+    public CoverBlobStore(@Value("${bookvault.covers.directory:./data/covers}") String directory,
+                          @Value("${bookvault.covers.max-size:10MB}") DataSize maxSize) {
+        this.directory = Paths.get(directory);
+        this.tempDirectory = this.directory.resolve("tmp");
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(tempDirectory);
+    }
+
+    /**
+     * Store an uploaded image, returning the existing blob if the same content was stored before
+     *
+     * @throws BadRequestException if the content is not a JPEG, PNG, GIF or WebP image or is too large
+     */
+    public StoredCover store(InputStream body) throws IOException {
+        Path temp = tempDirectory.resolve(UUID.randomUUID() + ".tmp");
+        MessageDigest digest = sha256();
+        byte[] header = new byte[12];
+        int headerLength = 0;
+        long size = 0;
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new BadRequestException("Cover image exceeds " + DataSize.ofBytes(maxBytes).toMegabytes() + " MB");
+                    }
+                    if (headerLength < header.length) {
+                        int copy = Math.min(read, header.length - headerLength);
+                        System.arraycopy(buffer, 0, header, headerLength, copy);
+                        headerLength += copy;
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+
+            CoverFormat format = CoverFormat.detect(header, headerLength);
+            if (format == null) {
+                throw new BadRequestException("Cover must be a JPEG, PNG, GIF or WebP image");
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = originalPath(hash, format);
+            if (Files.exists(target)) {
+                return new StoredCover(hash, format, target, true);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                return new StoredCover(hash, format, target, true); // concurrent upload of the same image
+            }
+            return new StoredCover(hash, format, target, false);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The stored original for a hash, or null if there is none
+     */
+    public StoredCover findOriginal(String hash) {
+        if (!isValidHash(hash)) {
+            return null;
+        }
+        for (CoverFormat format : CoverFormat.values()) {
+            Path path = originalPath(hash, format);
+            if (Files.isRegularFile(path)) {
+                return new StoredCover(hash, format, path, true);
+            }
+        }
+        return null;
+    }
+
+    public boolean isValidHash(String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    public Path variantPath(String hash, int width) {
+        return variantDirectory(hash).resolve(width + ".jpg");
+    }
+
+    /**
+     * Marker written once every variant narrower than the original exists
+     */
+    public Path completeMarker(String hash) {
+        return variantDirectory(hash).resolve(COMPLETE_MARKER);
+    }
+
+    public Path tempFile() {
+        return tempDirectory.resolve(UUID.randomUUID() + ".tmp");
+    }
+
+    // Helper methods
+
+    private Path originalPath(String hash, CoverFormat format) {
+        return directory.resolve("originals").resolve(hash.substring(0, 2)).resolve(hash + "." + format.getExtension());
+    }
+
+    private Path variantDirectory(String hash) {
+        return directory.resolve("variants").resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Image formats accepted as covers, detected from the leading bytes
+     */
+    public enum CoverFormat {
+        JPEG("jpg", "image/jpeg"),
+        PNG("png", "image/png"),
+        GIF("gif", "image/gif"),
+        WEBP("webp", "image/webp");
+
+        private final String extension;
+        private final String contentType;
+
+        CoverFormat(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() { return extension; }
+        public String getContentType() { return contentType; }
+
+        static CoverFormat detect(byte[] header, int length) {
+            if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+                return JPEG;
+            }
+            if (length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+                return PNG;
+            }
+            if (length >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+                return GIF;
+            }
+            if (length >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                    && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+                return WEBP;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * An original cover in the store
+     */
+    public static class StoredCover {
+        private final String hash;
+        private final CoverFormat format;
+        private final Path path;
+        private final boolean existing;
+
+        public StoredCover(String hash, CoverFormat format, Path path, boolean existing) {
+            this.hash = hash;
+            this.format = format;
+            this.path = path;
+            this.existing = existing;
+        }
+
+        public String getHash() { return hash; }
+        public CoverFormat getFormat() { return format; }
+        public Path getPath() { return path; }
+
+        /**
+         * Whether the same content had already been stored
+         */
+        public boolean isExisting() { return existing; }
+    }
+}
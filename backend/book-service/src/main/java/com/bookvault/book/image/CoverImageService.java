@@ -0,0 +1,335 @@
+package com.bookvault.book.image;
+
+import com.bookvault.shared.exception.BookVaultException;
+import com.bookvault.shared.exception.NotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uploaded book covers: stores them in {@link CoverBlobStore}, renders fixed-width JPEG
+ * variants in the background and serves the smallest variant at least as wide as requested.
+ *
+ * Responses for a hash and width never change, so they are sent as immutable. While the
+ * variants of a new cover are still rendering, the original is served with a short max-age
+ * and rendering is (re)scheduled, so missing variants heal themselves after a restart.
+ */
+@Service
+public class CoverImageService {
+
+    private static final Logger log = LoggerFactory.getLogger(CoverImageService.class);
+
+    public static final String COVER_PATH = "/api/books/covers/";
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String PENDING = "public, max-age=60";
+
+    private final CoverBlobStore blobStore;
+    private final int[] widths;
+    private final float jpegQuality;
+    private final String publicBaseUrl;
+    private final long maxDecodePixels;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> rendering = ConcurrentHashMap.newKeySet();
+
+    private final Counter uploadCounter;
+    private final Counter dedupCounter;
+    private final Timer renderTimer;
+
+    public CoverImageService(CoverBlobStore blobStore, MeterRegistry meterRegistry,
+                             @Value("${bookvault.covers.widths:200,400,800}") int[] widths,
+                             @Value("${bookvault.covers.jpeg-quality:0.82}") float jpegQuality,
+                             @Value("${bookvault.covers.public-base-url:}") String publicBaseUrl,
+                             @Value("${bookvault.covers.render-threads:2}") int renderThreads,
+                             @Value("${bookvault.covers.render-queue-capacity:100}") int renderQueueCapacity,
+                             @Value("${bookvault.covers.max-decode-pixels:16000000}") long maxDecodePixels) {
+        this.blobStore = blobStore;
+        this.widths = Arrays.stream(widths).filter(width -> width > 0).sorted().distinct().toArray();
+        this.jpegQuality = jpegQuality;
+        this.publicBaseUrl = validateBaseUrl(publicBaseUrl);
+        this.maxDecodePixels = maxDecodePixels;
+
+        // The render threads are the only decoders, so at most renderThreads * maxDecodePixels
+        // * 4 bytes of decoded images are on the heap at once
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, renderThreads);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, renderQueueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "cover-render-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+
+        this.uploadCounter = Counter.builder("bookvault.covers.uploads")
+                .description("Cover images uploaded")
+                .register(meterRegistry);
+        this.dedupCounter = Counter.builder("bookvault.covers.uploads.deduplicated")
+                .description("Cover uploads whose content was already stored")
+                .register(meterRegistry);
+        this.renderTimer = Timer.builder("bookvault.covers.render")
+                .description("Rendering the resized variants of one cover")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Store an uploaded cover and schedule its variants; returns the URL to save on the book.
+     * Without a public base URL this is a book-service path that clients resolve against it.
+     */
+    public String storeCover(MultipartFile file) {
+        CoverBlobStore.StoredCover cover;
+        try (InputStream body = file.getInputStream()) {
+            cover = blobStore.store(body);
+        } catch (IOException e) {
+            throw new BookVaultException("Failed to store cover image", "COVER_STORAGE_ERROR",
+                    HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+        uploadCounter.increment();
+        if (cover.isExisting()) {
+            dedupCounter.increment();
+        }
+        scheduleVariants(cover.getHash());
+        return publicBaseUrl + COVER_PATH + cover.getHash();
+    }
+
+    /**
+     * Serve a cover: the smallest rendered variant at least {@code width} pixels wide, or the
+     * original when no width is given, the original is narrower, or variants are not ready yet
+     */
+    public void serve(String hash, Integer width, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        CoverBlobStore.StoredCover original = blobStore.findOriginal(hash);
+        if (original == null) {
+            throw new NotFoundException("Cover not found");
+        }
+
+        String cacheControl = IMMUTABLE;
+        if (width != null && width > 0) {
+            for (int candidate : widths) {
+                if (candidate < width) {
+                    continue;
+                }
+                Path variant = blobStore.variantPath(hash, candidate);
+                if (Files.isRegularFile(variant)) {
+                    write(variant, "image/jpeg", "\"" + hash + "-" + candidate + "\"", IMMUTABLE, request, response);
+                    return;
+                }
+            }
+            if (!Files.exists(blobStore.completeMarker(hash))) {
+                // A smaller variant may still appear for this URL, so do not pin the original
+                scheduleVariants(hash);
+                cacheControl = PENDING;
+            }
+        }
+        write(original.getPath(), original.getFormat().getContentType(), "\"" + hash + "\"", cacheControl,
+                request, response);
+    }
+
+    // Helper methods
+
+    private void scheduleVariants(String hash) {
+        if (widths.length == 0 || !rendering.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    renderTimer.record(() -> renderVariants(hash));
+                } finally {
+                    rendering.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rendering.remove(hash);
+            log.debug("Cover render queue full, deferring variants of {}", hash);
+        }
+    }
+
+    private void renderVariants(String hash) {
+        CoverBlobStore.StoredCover original = blobStore.findOriginal(hash);
+        if (original == null || Files.exists(blobStore.completeMarker(hash))) {
+            return;
+        }
+        try {
+            // No ImageIO reader for the format (e.g. WebP) or too many pixels to decode safely:
+            // the original is served as is
+            BufferedImage source = isDecodable(original.getPath())
+                    ? ImageIO.read(original.getPath().toFile())
+                    : null;
+            if (source == null) {
+                markComplete(hash);
+                return;
+            }
+            for (int width : widths) {
+                if (width >= source.getWidth()) {
+                    break;
+                }
+                Path target = blobStore.variantPath(hash, width);
+                if (!Files.exists(target)) {
+                    writeJpeg(resize(source, width), target);
+                }
+            }
+            markComplete(hash);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to render variants of cover {}: {}", hash, e.getMessage());
+        }
+    }
+
+    /**
+     * Whether ImageIO can read the image and its dimensions are within the decode limit
+     */
+    private boolean isDecodable(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                return false;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return (long) reader.getWidth(0) * reader.getHeight(0) <= maxDecodePixels;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale to the target width, halving first for large reductions so bilinear sampling stays sharp
+     */
+    private static BufferedImage resize(BufferedImage source, int targetWidth) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            int nextWidth = Math.max(targetWidth, currentWidth / 2);
+            int nextHeight = Math.max(1, (int) Math.round((double) source.getHeight() * nextWidth / source.getWidth()));
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setColor(Color.WHITE); // JPEG has no alpha channel
+                graphics.fillRect(0, 0, nextWidth, nextHeight);
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth > targetWidth);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = blobStore.tempFile();
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Blank, or an absolute http(s) URL without a trailing slash
+     */
+    private static String validateBaseUrl(String baseUrl) {
+        String trimmed = baseUrl != null ? baseUrl.trim() : "";
+        if (trimmed.isEmpty()) {
+            return "";
+        }
+        try {
+            URI uri = new URI(trimmed);
+            if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme()) || uri.getHost() == null) {
+                throw new IllegalStateException("bookvault.covers.public-base-url must be an absolute http(s) URL: " + trimmed);
+            }
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("bookvault.covers.public-base-url is not a valid URL: " + trimmed, e);
+        }
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    private void markComplete(String hash) throws IOException {
+        Path marker = blobStore.completeMarker(hash);
+        Files.createDirectories(marker.getParent());
+        if (!Files.exists(marker)) {
+            Files.createFile(marker);
+        }
+    }
+
+    private static void write(Path file, String contentType, String etag, String cacheControl,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || "*".equals(ifNoneMatch.trim()))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long size = Files.size(file);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(contentType);
+        response.setContentLengthLong(size);
+        if (!"HEAD".equals(request.getMethod())) {
+            ImageFileWriter.send(file, size, request, response, true);
+        }
+    }
+}
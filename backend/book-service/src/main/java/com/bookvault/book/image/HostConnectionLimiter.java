@@ -0,0 +1,136 @@
+package com.bookvault.book.image;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent upstream connections per host.
+ *
+ * Callers over the limit queue without holding a thread. A queued caller gets the next
+ * released permit, or fails with {@link HostBusyException} once the maximum wait expires.
+ * Every successful {@link #acquire} must be paired with exactly one {@link #release}.
+ * A host's state is dropped once it has no connections and no waiters, so the map only
+ * holds hosts with fetches in progress.
+ */
+final class HostConnectionLimiter {
+
+    private final int maxPerHost;
+    private final long maxWaitMs;
+    private final ScheduledExecutorService timer;
+    private final ConcurrentMap<String, Gate> gates = new ConcurrentHashMap<>();
+
+    HostConnectionLimiter(int maxPerHost, Duration maxWait, ScheduledExecutorService timer) {
+        this.maxPerHost = Math.max(1, maxPerHost);
+        this.maxWaitMs = maxWait.toMillis();
+        this.timer = timer;
+    }
+
+    /**
+     * Completes once a connection to the host may be opened
+     */
+    CompletableFuture<Void> acquire(String host) {
+        Gate gate;
+        Waiter waiter;
+        while (true) {
+            gate = gates.computeIfAbsent(host, key -> new Gate());
+            synchronized (gate) {
+                if (gate.removed) {
+                    continue; // dropped by a concurrent release, use the host's new gate
+                }
+                if (gate.active < maxPerHost) {
+                    gate.active++;
+                    return CompletableFuture.completedFuture(null);
+                }
+                waiter = new Waiter();
+                gate.waiters.add(waiter);
+                break;
+            }
+        }
+        Gate waitingGate = gate;
+        waiter.timeout = timer.schedule(() -> expire(host, waitingGate, waiter), maxWaitMs, TimeUnit.MILLISECONDS);
+        return waiter.future;
+    }
+
+    /**
+     * Return a permit, handing it to the oldest waiter if there is one
+     */
+    void release(String host) {
+        Gate gate = gates.get(host);
+        if (gate == null) {
+            return;
+        }
+        Waiter next;
+        synchronized (gate) {
+            next = gate.waiters.poll();
+            if (next == null) {
+                gate.active--;
+            }
+        }
+        if (next == null) {
+            gates.computeIfPresent(host, (h, g) -> g.idle() ? null : g);
+            return;
+        }
+        if (next.timeout != null) {
+            next.timeout.cancel(false);
+        }
+        if (!next.future.complete(null)) {
+            release(host);
+        }
+    }
+
+    /**
+     * Number of hosts with connections or waiters
+     */
+    int trackedHosts() {
+        return gates.size();
+    }
+
+    // Helper methods
+
+    private void expire(String host, Gate gate, Waiter waiter) {
+        synchronized (gate) {
+            if (!gate.waiters.remove(waiter)) {
+                return; // already granted a permit
+            }
+        }
+        waiter.future.completeExceptionally(new HostBusyException(host));
+    }
+
+    private static final class Gate {
+        private int active = 0;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private boolean removed = false;
+
+        /**
+         * Whether the gate can be dropped; if so it is marked removed, so a caller that
+         * looked it up just before sees that and retries with a new one
+         */
+        synchronized boolean idle() {
+            if (active == 0 && waiters.isEmpty()) {
+                removed = true;
+            }
+            return removed;
+        }
+    }
+
+    private static final class Waiter {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private volatile ScheduledFuture<?> timeout;
+    }
+
+    /**
+     * Thrown when no connection to a host became free within the maximum wait
+     */
+    static class HostBusyException extends IOException {
+        HostBusyException(String host) {
+            super("Too many concurrent image fetches from " + host);
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.bookvault.book.image;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size-bounded LRU cache of proxied images on local disk.
+ *
+ * Each version of an image is stored as {@code <sha256(url)>.<version>.img} with a small
+ * {@code <sha256(url)>.meta} sidecar naming the current version's file and holding its
+ * content type, ETag and expiry. The in-memory index is an access-ordered map rebuilt from
+ * the sidecars on startup; when the total size exceeds the limit the least recently used
+ * entries are dropped. Bodies are written chunk by chunk to a temp file and moved into
+ * place, so a reader never sees a partially written image.
+ *
+ * A served file may be opened after the response headers are written (Tomcat sendfile
+ * runs once the servlet returns), so a replaced or evicted version is never overwritten
+ * and its file is only deleted after a grace period. Files no sidecar refers to are
+ * removed on startup.
+ */
+@Component
+public class ImageDiskCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDiskCache.class);
+
+    private static final String DATA_SUFFIX = ".img";
+    private static final String META_SUFFIX = ".meta";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final Duration deleteGrace;
+    private final ScheduledExecutorService cleaner;
+
+    // Guarded by this
+    private final LinkedHashMap<String, CachedImage> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes = 0;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public ImageDiskCache(MeterRegistry meterRegistry,
+                          @Value("${bookvault.image-cache.directory:${java.io.tmpdir}/bookvault/image-cache}") String directory,
+                          @Value("${bookvault.image-cache.max-size:512MB}") DataSize maxSize,
+                          @Value("${bookvault.image-cache.max-entry-size:10MB}") DataSize maxEntrySize,
+                          @Value("${bookvault.image-cache.delete-grace:60s}") Duration deleteGrace) {
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxSize.toBytes();
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.deleteGrace = deleteGrace;
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "image-cache-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.hitCounter = Counter.builder("bookvault.image.cache.requests")
+                .description("Proxied image lookups served from the disk cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("bookvault.image.cache.requests")
+                .description("Proxied image lookups that had to go upstream")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("bookvault.image.cache.evictions")
+                .description("Proxied images removed to stay under the size limit")
+                .register(meterRegistry);
+        Gauge.builder("bookvault.image.cache.size", this, ImageDiskCache::getTotalBytes)
+                .description("Bytes of proxied images on disk")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("bookvault.image.cache.entries", this, ImageDiskCache::getEntryCount)
+                .description("Proxied images on disk")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuild the index from the sidecar files left by a previous run, oldest first, and
+     * delete image files that no sidecar refers to (e.g. pending deletions at shutdown)
+     */
+    @PostConstruct
+    public void loadIndex() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> metaFiles = new ArrayList<>();
+        List<Path> dataFiles = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(META_SUFFIX)) {
+                    metaFiles.add(path);
+                } else if (name.endsWith(DATA_SUFFIX)) {
+                    dataFiles.add(path);
+                } else if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+        metaFiles.sort(Comparator.comparing(ImageDiskCache::lastModified));
+
+        Instant now = Instant.now();
+        int loaded = 0;
+        for (Path metaFile : metaFiles) {
+            String name = metaFile.getFileName().toString();
+            String key = name.substring(0, name.length() - META_SUFFIX.length());
+            CachedImage image = readMeta(key, metaFile);
+            if (image == null || image.isExpired(now)) {
+                Files.deleteIfExists(metaFile);
+                continue;
+            }
+            synchronized (this) {
+                index.put(key, image);
+                totalBytes += image.getSize();
+            }
+            loaded++;
+        }
+
+        Set<Path> referenced = new HashSet<>();
+        synchronized (this) {
+            for (CachedImage image : index.values()) {
+                referenced.add(image.getFile());
+            }
+        }
+        for (Path dataFile : dataFiles) {
+            if (!referenced.contains(dataFile)) {
+                Files.deleteIfExists(dataFile);
+            }
+        }
+        evictIfNeeded();
+        log.info("Image cache at {} loaded {} entries ({} bytes)", directory, loaded, getTotalBytes());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Files still waiting for their grace period are swept by the next loadIndex
+        cleaner.shutdownNow();
+    }
+
+    /**
+     * Cached image for a URL, or null if absent or expired. Records a hit or a miss.
+     */
+    public CachedImage get(String url) {
+        CachedImage image = peek(url);
+        if (image == null) {
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        return image;
+    }
+
+    /**
+     * Like {@link #get} but without recording metrics, e.g. to re-check before a fetch
+     */
+    public CachedImage peek(String url) {
+        String key = keyOf(url);
+        synchronized (this) {
+            CachedImage image = index.get(key);
+            if (image != null && image.isExpired(Instant.now())) {
+                removeEntry(key);
+                return null;
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Start writing a new cache entry for a URL. The body is written in chunks to a temp
+     * file and only becomes visible once {@link PendingImage#commit} moves it into place.
+     */
+    public PendingImage begin(String url) throws IOException {
+        String key = keyOf(url);
+        String version = UUID.randomUUID().toString();
+        Path temp = directory.resolve(key + "." + version + TEMP_SUFFIX);
+        Path file = directory.resolve(key + "." + version + DATA_SUFFIX);
+        return new PendingImage(url, key, file, temp, FileChannel.open(temp,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int getEntryCount() {
+        return index.size();
+    }
+
+    // Helper methods
+
+    private void evictIfNeeded() {
+        List<CachedImage> evicted = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<String, CachedImage>> eldest = index.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                CachedImage image = eldest.next().getValue();
+                eldest.remove();
+                totalBytes -= image.getSize();
+                evicted.add(image);
+            }
+        }
+        for (CachedImage image : evicted) {
+            deleteFiles(image);
+            evictionCounter.increment();
+        }
+    }
+
+    // Caller holds the lock
+    private void removeEntry(String key) {
+        CachedImage removed = index.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.getSize();
+            deleteFiles(removed);
+        }
+    }
+
+    private void deleteFiles(CachedImage image) {
+        try {
+            Files.deleteIfExists(directory.resolve(image.getKey() + META_SUFFIX));
+        } catch (IOException e) {
+            log.warn("Failed to delete cached image metadata {}: {}", image.getKey(), e.getMessage());
+        }
+        deleteLater(image.getFile());
+    }
+
+    /**
+     * Delete an image file once responses that already chose it have had time to open it
+     */
+    private void deleteLater(Path file) {
+        try {
+            cleaner.schedule(() -> deleteQuietly(file), deleteGrace.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the startup sweep removes it
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete cached image {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void writeMeta(CachedImage image, String url) throws IOException {
+        Properties meta = new Properties();
+        meta.setProperty("url", url);
+        meta.setProperty("file", image.getFile().getFileName().toString());
+        meta.setProperty("contentType", image.getContentType());
+        meta.setProperty("etag", image.getEtag());
+        meta.setProperty("expiresAt", image.getExpiresAt().toString());
+        meta.setProperty("size", Long.toString(image.getSize()));
+        Path temp = directory.resolve(image.getKey() + "." + UUID.randomUUID() + TEMP_SUFFIX);
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            meta.store(writer, null);
+        }
+        Files.move(temp, directory.resolve(image.getKey() + META_SUFFIX),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private CachedImage readMeta(String key, Path metaFile) {
+        try (Reader reader = Files.newBufferedReader(metaFile, StandardCharsets.UTF_8)) {
+            Properties meta = new Properties();
+            meta.load(reader);
+            String fileName = meta.getProperty("file", "");
+            if (!fileName.startsWith(key + ".") || !fileName.endsWith(DATA_SUFFIX) || fileName.contains("/")) {
+                return null;
+            }
+            Path dataFile = directory.resolve(fileName);
+            long size = Long.parseLong(meta.getProperty("size"));
+            if (!Files.isRegularFile(dataFile) || Files.size(dataFile) != size) {
+                return null;
+            }
+            return new CachedImage(key, dataFile, meta.getProperty("contentType"),
+                    meta.getProperty("etag"), Instant.parse(meta.getProperty("expiresAt")), size);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Discarding unreadable image cache entry {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static String keyOf(String url) {
+        return HexFormat.of().formatHex(sha256().digest(url.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * An entry being written. Not thread-safe; chunks must be written by one thread at a time.
+     */
+    public final class PendingImage {
+        private final String url;
+        private final String key;
+        private final Path file;
+        private final Path temp;
+        private final FileChannel channel;
+        private final MessageDigest digest = sha256();
+        private long size = 0;
+
+        private PendingImage(String url, String key, Path file, Path temp, FileChannel channel) {
+            this.url = url;
+            this.key = key;
+            this.file = file;
+            this.temp = temp;
+            this.channel = channel;
+        }
+
+        /**
+         * Append a chunk of the body
+         *
+         * @throws IOException if the write fails or the body exceeds the per-entry limit
+         */
+        public void write(ByteBuffer chunk) throws IOException {
+            size += chunk.remaining();
+            if (size > maxEntryBytes) {
+                throw new IOException("Image exceeds " + maxEntryBytes + " bytes: " + url);
+            }
+            digest.update(chunk.duplicate());
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+        }
+
+        /**
+         * Publish the entry. Without an upstream ETag, a strong ETag is derived from the content hash.
+         */
+        public CachedImage commit(String contentType, String upstreamEtag, Duration ttl) throws IOException {
+            try {
+                channel.close();
+                String etag = upstreamEtag != null && !upstreamEtag.isBlank()
+                        ? upstreamEtag
+                        : "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+                CachedImage image = new CachedImage(key, file, contentType, etag, Instant.now().plus(ttl), size);
+
+                // A new file per version: responses still serving the previous one keep reading it
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+                writeMeta(image, url);
+
+                CachedImage previous;
+                synchronized (ImageDiskCache.this) {
+                    previous = index.put(key, image);
+                    if (previous != null) {
+                        totalBytes -= previous.getSize();
+                    }
+                    totalBytes += size;
+                }
+                if (previous != null && !previous.getFile().equals(file)) {
+                    deleteLater(previous.getFile());
+                }
+                evictIfNeeded();
+                return image;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        /**
+         * Discard the partially written body
+         */
+        public void abort() {
+            try {
+                channel.close();
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("Failed to discard partial image {}: {}", temp, e.getMessage());
+            }
+        }
+    }
+}
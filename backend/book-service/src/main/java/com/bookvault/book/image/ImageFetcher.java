@@ -0,0 +1,327 @@
+package com.bookvault.book.image;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches external images into {@link ImageDiskCache} with a non-blocking HTTP client.
+ *
+ * Concurrent requests for the same URL share one upstream fetch. Connections per host are
+ * capped, and callers over the cap wait a bounded time for a free slot. Response bodies
+ * are written to disk chunk by chunk as they arrive; no thread blocks on upstream I/O.
+ */
+@Component
+public class ImageFetcher {
+
+    private static final String USER_AGENT = "BookVault/1.0";
+
+    private final ImageDiskCache imageCache;
+    private final Duration requestTimeout;
+    private final Duration fetchTimeout;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService timer;
+    private final HttpClient httpClient;
+    private final HostConnectionLimiter hostLimiter;
+    private final ConcurrentMap<String, CompletableFuture<CachedImage>> inFlight = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter coalescedCounter;
+    private final Counter hostBusyCounter;
+    private final Counter upstreamBytesCounter;
+
+    public ImageFetcher(ImageDiskCache imageCache, MeterRegistry meterRegistry,
+                        @Value("${bookvault.image-proxy.threads:4}") int threads,
+                        @Value("${bookvault.image-proxy.connect-timeout:5s}") Duration connectTimeout,
+                        @Value("${bookvault.image-proxy.request-timeout:10s}") Duration requestTimeout,
+                        @Value("${bookvault.image-proxy.fetch-timeout:15s}") Duration fetchTimeout,
+                        @Value("${bookvault.image-proxy.max-connections-per-host:4}") int maxConnectionsPerHost,
+                        @Value("${bookvault.image-proxy.host-wait:2s}") Duration hostWait,
+                        @Value("${bookvault.image-cache.default-ttl:1h}") Duration defaultTtl,
+                        @Value("${bookvault.image-cache.max-ttl:7d}") Duration maxTtl) {
+        this.imageCache = imageCache;
+        this.meterRegistry = meterRegistry;
+        this.requestTimeout = requestTimeout;
+        this.fetchTimeout = fetchTimeout;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "image-fetch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "image-fetch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+        this.hostLimiter = new HostConnectionLimiter(maxConnectionsPerHost, hostWait, timer);
+
+        this.coalescedCounter = Counter.builder("bookvault.image.fetch.coalesced")
+                .description("Image requests that joined an upstream fetch already in flight")
+                .register(meterRegistry);
+        this.hostBusyCounter = Counter.builder("bookvault.image.fetch.host.busy")
+                .description("Image fetches rejected because the host's connection limit stayed full")
+                .register(meterRegistry);
+        this.upstreamBytesCounter = Counter.builder("bookvault.image.proxy.bytes")
+                .description("Proxied image bytes fetched from upstream")
+                .baseUnit("bytes")
+                .tag("source", "upstream")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Fetch an image into the cache. Joins the fetch already running for the URL, if any.
+     * The future fails with an IOException if the image could not be fetched.
+     */
+    public CompletableFuture<CachedImage> fetch(String url, URI uri) {
+        CompletableFuture<CachedImage> created = new CompletableFuture<>();
+        CompletableFuture<CachedImage> existing = inFlight.putIfAbsent(url, created);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return existing;
+        }
+
+        // A fetch for this URL may have finished since the caller's cache miss
+        CachedImage cached = imageCache.peek(url);
+        if (cached != null) {
+            inFlight.remove(url, created);
+            created.complete(cached);
+            return created;
+        }
+
+        String host = uri.getHost();
+        long start = System.nanoTime();
+        hostLimiter.acquire(host)
+                .thenCompose(ignored -> downloadWithPermit(url, uri, host))
+                .whenComplete((image, error) -> {
+                    // Unregister first so requests arriving after completion hit the cache
+                    inFlight.remove(url, created);
+                    if (error == null) {
+                        upstreamBytesCounter.increment(image.getSize());
+                        record(start, "success");
+                        created.complete(image);
+                    } else {
+                        Throwable cause = unwrap(error);
+                        if (cause instanceof HostConnectionLimiter.HostBusyException) {
+                            hostBusyCounter.increment();
+                        }
+                        record(start, "error");
+                        created.completeExceptionally(cause);
+                    }
+                });
+        return created;
+    }
+
+    // Helper methods
+
+    private CompletableFuture<CachedImage> downloadWithPermit(String url, URI uri, String host) {
+        try {
+            return download(url, uri).whenComplete((image, error) -> hostLimiter.release(host));
+        } catch (RuntimeException e) {
+            hostLimiter.release(host);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<CachedImage> download(String url, URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header(HttpHeaders.USER_AGENT, USER_AGENT)
+                .GET()
+                .build();
+        CompletableFuture<HttpResponse<CachedImage>> response =
+                httpClient.sendAsync(request, info -> bodySubscriber(url, info));
+        return response.thenApply(HttpResponse::body)
+                .orTimeout(fetchTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((image, error) -> {
+                    if (error != null) {
+                        response.cancel(true);
+                    }
+                });
+    }
+
+    private HttpResponse.BodySubscriber<CachedImage> bodySubscriber(String url, HttpResponse.ResponseInfo info) {
+        if (info.statusCode() != 200) {
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.discarding(), ignored -> {
+                throw new UncheckedIOException(new IOException("Upstream returned " + info.statusCode() + " for " + url));
+            });
+        }
+        String contentType = resolveContentType(info.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse(null), url);
+        String etag = info.headers().firstValue(HttpHeaders.ETAG).orElse(null);
+        Duration ttl = resolveTtl(info.headers().firstValue(HttpHeaders.CACHE_CONTROL).orElse(null));
+        return new CacheWritingSubscriber(url, contentType, etag, ttl);
+    }
+
+    private void record(long startNanos, String result) {
+        Timer.builder("bookvault.image.fetch")
+                .description("Upstream image fetches including the wait for a host connection")
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof UncheckedIOException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Upstream content type if it is an image, otherwise a guess from the URL
+     */
+    private static String resolveContentType(String contentType, String url) {
+        if (contentType != null && contentType.startsWith("image/")) {
+            return contentType;
+        }
+        String lowerUrl = url.toLowerCase(Locale.ROOT);
+        if (lowerUrl.contains(".png")) {
+            return "image/png";
+        } else if (lowerUrl.contains(".gif")) {
+            return "image/gif";
+        } else if (lowerUrl.contains(".webp")) {
+            return "image/webp";
+        }
+        return "image/jpeg";
+    }
+
+    /**
+     * Upstream max-age capped at the configured maximum, or the default TTL
+     */
+    private Duration resolveTtl(String cacheControl) {
+        if (cacheControl != null) {
+            for (String directive : cacheControl.split(",")) {
+                String value = directive.trim().toLowerCase(Locale.ROOT);
+                if (value.startsWith("max-age=")) {
+                    try {
+                        Duration maxAge = Duration.ofSeconds(Long.parseLong(value.substring("max-age=".length())));
+                        return maxAge.compareTo(maxTtl) > 0 ? maxTtl : maxAge;
+                    } catch (NumberFormatException e) {
+                        break;
+                    }
+                }
+            }
+        }
+        return defaultTtl;
+    }
+
+    /**
+     * Writes each body chunk to a pending cache entry as it arrives and commits it at the end
+     */
+    private final class CacheWritingSubscriber implements HttpResponse.BodySubscriber<CachedImage> {
+        private final String url;
+        private final String contentType;
+        private final String etag;
+        private final Duration ttl;
+        private final CompletableFuture<CachedImage> result = new CompletableFuture<>();
+        private ImageDiskCache.PendingImage pending;
+        private Flow.Subscription subscription;
+
+        CacheWritingSubscriber(String url, String contentType, String etag, Duration ttl) {
+            this.url = url;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.ttl = ttl;
+        }
+
+        @Override
+        public CompletableFuture<CachedImage> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            try {
+                pending = imageCache.begin(url);
+            } catch (IOException e) {
+                subscription.cancel();
+                result.completeExceptionally(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                for (ByteBuffer item : items) {
+                    pending.write(item);
+                }
+            } catch (IOException e) {
+                subscription.cancel();
+                pending.abort();
+                result.completeExceptionally(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (pending != null) {
+                pending.abort();
+            }
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(pending.commit(contentType, etag, ttl));
+            } catch (IOException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bookvault.book.image;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes image files to a servlet response without copying them through the heap
+ */
+final class ImageFileWriter {
+
+    // Tomcat NIO sendfile request attributes
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private ImageFileWriter() {}
+
+    /**
+     * Write the body of a file whose headers have already been set. Pass
+     * {@code allowSendfile = false} from async request processing.
+     */
+    static void send(Path file, long size, HttpServletRequest request, HttpServletResponse response,
+                     boolean allowSendfile) throws IOException {
+        // OPTIMIZATION: Let Tomcat hand the file to the socket with sendfile after the
+        // servlet returns; fall back to transferTo on connectors without sendfile
+        if (allowSendfile && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.bookvault.book.image;
+
+import com.bookvault.shared.exception.BadRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves external cover images through {@link ImageDiskCache}.
+ *
+ * Hits are written straight from the cached file by {@link ImageFileWriter}. Misses are
+ * fetched by {@link ImageFetcher} while the request is suspended, so a slow image host
+ * does not hold container threads.
+ */
+@Service
+public class ImageProxyService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageProxyService.class);
+
+    private static final String CACHE_CONTROL = "public, max-age=3600";
+
+    private final ImageDiskCache imageCache;
+    private final ImageFetcher imageFetcher;
+    private final Duration responseTimeout;
+    private final Counter cacheBytesCounter;
+
+    public ImageProxyService(ImageDiskCache imageCache, ImageFetcher imageFetcher, MeterRegistry meterRegistry,
+                             @Value("${bookvault.image-proxy.response-timeout:20s}") Duration responseTimeout) {
+        this.imageCache = imageCache;
+        this.imageFetcher = imageFetcher;
+        this.responseTimeout = responseTimeout;
+        this.cacheBytesCounter = Counter.builder("bookvault.image.proxy.bytes")
+                .description("Proxied image bytes served from the disk cache")
+                .baseUnit("bytes")
+                .tag("source", "cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Serve an image URL from the cache, or suspend the request until the upstream fetch
+     * completes. Failed fetches answer 404, a host over its connection limit 503, and a
+     * fetch that outlives the response timeout 504.
+     */
+    public void serve(String url, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        URI uri = validate(url);
+        CachedImage cached = imageCache.get(url);
+        if (cached != null) {
+            write(cached, request, response, true);
+            return;
+        }
+
+        // OPTIMIZATION: Release the container thread while the (possibly shared) fetch runs
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(responseTimeout.toMillis());
+        AtomicBoolean finished = new AtomicBoolean(false);
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                if (finished.compareAndSet(false, true)) {
+                    response.setStatus(HttpServletResponse.SC_GATEWAY_TIMEOUT);
+                    async.complete();
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {}
+
+            @Override
+            public void onError(AsyncEvent event) {
+                finished.set(true);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {}
+        });
+
+        imageFetcher.fetch(url, uri).whenComplete((image, error) -> {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            async.start(() -> {
+                try {
+                    if (error == null) {
+                        write(image, request, response, false);
+                    } else {
+                        log.debug("Failed to proxy image {}: {}", url, error.getMessage());
+                        response.setStatus(error instanceof HostConnectionLimiter.HostBusyException
+                                ? HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                                : HttpServletResponse.SC_NOT_FOUND);
+                    }
+                } catch (IOException e) {
+                    log.debug("Failed to write proxied image {}: {}", url, e.getMessage());
+                } finally {
+                    async.complete();
+                }
+            });
+        });
+    }
+
+    // Helper methods
+
+    /**
+     * Write a cached image, or 304 if the client's If-None-Match still matches
+     */
+    private void write(CachedImage image, HttpServletRequest request, HttpServletResponse response,
+                       boolean allowSendfile) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, image.getEtag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        if (image.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(image.getContentType());
+        response.setContentLengthLong(image.getSize());
+        cacheBytesCounter.increment(image.getSize());
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        ImageFileWriter.send(image.getFile(), image.getSize(), request, response, allowSendfile);
+    }
+
+    private URI validate(String url) {
+        if (url == null || url.trim().isEmpty()) {
+            throw new BadRequestException("Image URL is required");
+        }
+        try {
+            URI uri = new URI(url);
+            String scheme = uri.getScheme();
+            if (!"http".equals(scheme) && !"https".equals(scheme)) {
+                throw new BadRequestException("Only http and https image URLs are supported");
+            }
+            if (uri.getHost() == null) {
+                throw new BadRequestException("Invalid image URL");
+            }
+            return uri;
+        } catch (URISyntaxException e) {
+            throw new BadRequestException("Invalid image URL");
+        }
+    }
+}
@@ -85,6 +85,10 @@ public class Book extends BaseEntity {
     @Column(name = "publisher", length = 255)
     private String publisher;
     
+    // Content hash written by the catalog import; null once the book is edited any other way
+    @Column(name = "import_hash", length = 64)
+    private String importHash;
+    
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<BookCategory> bookCategories;
     
@@ -354,6 +358,14 @@ public class Book extends BaseEntity {
         this.publisher = publisher;
     }
     
+    public String getImportHash() {
+        return importHash;
+    }
+    
+    public void setImportHash(String importHash) {
+        this.importHash = importHash;
+    }
+    
     public List<BookCategory> getBookCategories() {
         return bookCategories;
     }
@@ -370,6 +382,15 @@ public class Book extends BaseEntity {
         this.reviews = reviews;
     }
     
+    /**
+     * Any write through JPA may change fields the import hashes, so the next import of this
+     * ISBN must write the row again instead of skipping it as unchanged
+     */
+    @PreUpdate
+    protected void clearImportHash() {
+        importHash = null;
+    }
+    
     // Business methods
     public void updateRating(BigDecimal newRating, int newReviewCount) {
         this.rating = newRating;
@@ -0,0 +1,109 @@
+package com.bookvault.book.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Pre-aggregated sales of one book on one day, maintained incrementally by
+ * order placement, cancellation and returns (see {@code SellerRevenueRollupService}).
+ *
+ * {@code orderLines} counts the orders that contained the book. {@code sellerOrders}
+ * attributes each order to exactly one of the seller's books in it, so summing it
+ * over a seller's books yields the seller's distinct order count.
+ */
+@Entity
+@Table(name = "seller_book_daily_revenue",
+       indexes = @Index(name = "idx_seller_revenue_seller_date", columnList = "seller_id, revenue_date"))
+public class SellerBookDailyRevenue {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "items_sold", nullable = false)
+    private Long itemsSold = 0L;
+
+    @Column(name = "order_lines", nullable = false)
+    private Long orderLines = 0L;
+
+    @Column(name = "seller_orders", nullable = false)
+    private Long sellerOrders = 0L;
+
+    // Constructors
+    public SellerBookDailyRevenue() {}
+
+    public SellerBookDailyRevenue(Key id) {
+        this.id = id;
+    }
+
+    // Getters and Setters
+    public Key getId() { return id; }
+    public void setId(Key id) { this.id = id; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public Long getItemsSold() { return itemsSold; }
+    public void setItemsSold(Long itemsSold) { this.itemsSold = itemsSold; }
+
+    public Long getOrderLines() { return orderLines; }
+    public void setOrderLines(Long orderLines) { this.orderLines = orderLines; }
+
+    public Long getSellerOrders() { return sellerOrders; }
+    public void setSellerOrders(Long sellerOrders) { this.sellerOrders = sellerOrders; }
+
+    /**
+     * Composite key: seller, book and day
+     */
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "seller_id", nullable = false)
+        private UUID sellerId;
+
+        @Column(name = "book_id", nullable = false)
+        private UUID bookId;
+
+        @Column(name = "revenue_date", nullable = false)
+        private LocalDate revenueDate;
+
+        public Key() {}
+
+        public Key(UUID sellerId, UUID bookId, LocalDate revenueDate) {
+            this.sellerId = sellerId;
+            this.bookId = bookId;
+            this.revenueDate = revenueDate;
+        }
+
+        public UUID getSellerId() { return sellerId; }
+        public void setSellerId(UUID sellerId) { this.sellerId = sellerId; }
+
+        public UUID getBookId() { return bookId; }
+        public void setBookId(UUID bookId) { this.bookId = bookId; }
+
+        public LocalDate getRevenueDate() { return revenueDate; }
+        public void setRevenueDate(LocalDate revenueDate) { this.revenueDate = revenueDate; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return Objects.equals(sellerId, other.sellerId)
+                    && Objects.equals(bookId, other.bookId)
+                    && Objects.equals(revenueDate, other.revenueDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sellerId, bookId, revenueDate);
+        }
+    }
+}
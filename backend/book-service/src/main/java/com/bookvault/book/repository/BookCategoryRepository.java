@@ -3,8 +3,10 @@ package com.bookvault.book.repository;
 import com.bookvault.book.model.BookCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +28,11 @@ public interface BookCategoryRepository extends JpaRepository<BookCategory, UUID
     // Find book categories by book ID and primary status
     List<BookCategory> findByBookIdAndIsPrimary(UUID bookId, Boolean isPrimary);
     
+    // Category rows for a whole page of books in one statement: each row is [bookId, Category]
+    @Query("SELECT bc.book.id, c FROM BookCategory bc JOIN bc.category c " +
+           "WHERE bc.book.id IN :bookIds ORDER BY bc.isPrimary DESC, c.name ASC")
+    List<Object[]> findCategoriesByBookIds(@Param("bookIds") Collection<UUID> bookIds);
+    
     // Count books by category
     @Query("SELECT COUNT(bc) FROM BookCategory bc WHERE bc.category.id = :categoryId")
     long countBooksByCategory(UUID categoryId);
@@ -1,14 +1,18 @@
 package com.bookvault.book.repository;
 
 import com.bookvault.book.model.Book;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +26,14 @@ public interface BookRepository extends JpaRepository<Book, UUID> {
     // Basic queries
     Optional<Book> findByIsbn(String isbn);
     
+    @Query("SELECT b.id FROM Book b WHERE b.isbn = :isbn")
+    Optional<UUID> findIdByIsbn(@Param("isbn") String isbn);
+    
+    // SELECT ... FOR UPDATE, rows locked in ID order so concurrent callers cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids ORDER BY b.id")
+    List<Book> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+    
     List<Book> findBySellerIdAndIsActiveTrue(UUID sellerId);
     
     Page<Book> findByIsActiveTrue(Pageable pageable);
@@ -38,6 +50,10 @@ public interface BookRepository extends JpaRepository<Book, UUID> {
            "     ELSE 3 END, b.rating DESC")
     Page<Book> searchBooks(@Param("query") String query, Pageable pageable);
     
+    // Searchable fields of all active books (id, title, author, description, rating) for the in-memory search index
+    @Query("SELECT b.id, b.title, b.author, b.description, b.rating FROM Book b WHERE b.isActive = true")
+    List<Object[]> findSearchableBookFields();
+    
     // Category-based queries
     @Query("SELECT DISTINCT b FROM Book b " +
            "JOIN b.bookCategories bc " +
@@ -74,6 +90,45 @@ public interface BookRepository extends JpaRepository<Book, UUID> {
     @Query("SELECT b FROM Book b WHERE b.isActive = true ORDER BY b.createdAt DESC")
     Page<Book> findNewestBooks(Pageable pageable);
     
+    // Keyset (cursor) pagination - no OFFSET and no COUNT query; callers ask for one extra row to detect a next page
+    @Query(value = "SELECT * FROM books b WHERE b.is_active = true " +
+                   "ORDER BY b.created_at DESC, b.id DESC LIMIT :limit", nativeQuery = true)
+    List<Book> findNewestBooksFirstPage(@Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM books b WHERE b.is_active = true " +
+                   "AND (b.created_at, b.id) < (:createdAt, :id) " +
+                   "ORDER BY b.created_at DESC, b.id DESC LIMIT :limit", nativeQuery = true)
+    List<Book> findNewestBooksAfter(@Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") UUID id,
+                                    @Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM books b WHERE b.is_active = true " +
+                   "ORDER BY COALESCE(b.rating, 0) DESC, COALESCE(b.review_count, 0) DESC, b.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Book> findTopRatedBooksFirstPage(@Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM books b WHERE b.is_active = true " +
+                   "AND (COALESCE(b.rating, 0), COALESCE(b.review_count, 0), b.id) < (:rating, :reviewCount, :id) " +
+                   "ORDER BY COALESCE(b.rating, 0) DESC, COALESCE(b.review_count, 0) DESC, b.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Book> findTopRatedBooksAfter(@Param("rating") BigDecimal rating,
+                                      @Param("reviewCount") int reviewCount,
+                                      @Param("id") UUID id,
+                                      @Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM books b WHERE b.is_active = true " +
+                   "ORDER BY (COALESCE(b.review_count, 0) * 0.7 + COALESCE(b.rating, 0) * 30) DESC, b.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Book> findFeaturedBooksFirstPage(@Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM books b WHERE b.is_active = true " +
+                   "AND (COALESCE(b.review_count, 0) * 0.7 + COALESCE(b.rating, 0) * 30, b.id) < (:score, :id) " +
+                   "ORDER BY (COALESCE(b.review_count, 0) * 0.7 + COALESCE(b.rating, 0) * 30) DESC, b.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Book> findFeaturedBooksAfter(@Param("score") BigDecimal score,
+                                      @Param("id") UUID id,
+                                      @Param("limit") int limit);
+    
     // Author-based queries
     Page<Book> findByAuthorContainingIgnoreCaseAndIsActiveTrue(String author, Pageable pageable);
     
@@ -115,4 +170,10 @@ public interface BookRepository extends JpaRepository<Book, UUID> {
     
     @Query("SELECT COUNT(b) FROM Book b WHERE b.sellerId = :sellerId AND b.stockQuantity <= :threshold")
     long countBySellerIdAndStockQuantityLessThanEqual(@Param("sellerId") UUID sellerId, @Param("threshold") Long threshold);
+    
+    // Active and low-stock book counts for a seller in one scan
+    @Query("SELECT SUM(CASE WHEN b.isActive = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.stockQuantity <= :threshold THEN 1 ELSE 0 END) " +
+           "FROM Book b WHERE b.sellerId = :sellerId")
+    List<Object[]> countSellerBookStats(@Param("sellerId") UUID sellerId, @Param("threshold") Integer threshold);
 } 
\ No newline at end of file
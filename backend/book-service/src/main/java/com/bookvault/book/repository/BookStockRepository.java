@@ -0,0 +1,126 @@
+package com.bookvault.book.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * JDBC repository for atomic stock changes on the books table.
+ * Each statement checks and changes stock in one step, so concurrent orders
+ * never read-modify-write the same row through the persistence context.
+ */
+@Repository
+public class BookStockRepository {
+
+    private static final String DECREMENT_STOCK_SQL =
+            "UPDATE books SET stock_quantity = stock_quantity - ?, " +
+            "version = COALESCE(version, 0) + 1, updated_at = now() " +
+            "WHERE id = ? AND stock_quantity >= ? AND is_active = true";
+
+    private static final String INCREMENT_STOCK_SQL =
+            "UPDATE books SET stock_quantity = stock_quantity + ?, " +
+            "version = COALESCE(version, 0) + 1, updated_at = now() " +
+            "WHERE id = ?";
+
+    private static final String SET_STOCK_SQL =
+            "UPDATE books b SET stock_quantity = u.stock_quantity, " +
+            "version = COALESCE(b.version, 0) + 1, updated_at = now() " +
+            "FROM unnest(?::uuid[], ?::int[]) AS u(id, stock_quantity) " +
+            "WHERE b.id = u.id RETURNING b.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookStockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Decrement stock for every entry in a single JDBC batch.
+     * Entries are applied in the map's iteration order; callers should pass a
+     * sorted map so concurrent batches lock rows in the same order.
+     *
+     * @return the IDs of books whose guard failed (missing, inactive or not enough stock)
+     */
+    public List<UUID> decrementStock(Map<UUID, Integer> quantities) {
+        List<UUID> bookIds = new ArrayList<>(quantities.keySet());
+        List<Object[]> batchArgs = new ArrayList<>(bookIds.size());
+        for (UUID bookId : bookIds) {
+            int quantity = quantities.get(bookId);
+            batchArgs.add(new Object[]{quantity, bookId, quantity});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, batchArgs);
+
+        List<UUID> rejected = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                rejected.add(bookIds.get(i));
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Increment stock for every entry in a single JDBC batch, e.g. when an order
+     * is cancelled. Callers should pass a sorted map, as for {@link #decrementStock}.
+     *
+     * @return the IDs of books that no longer exist
+     */
+    public List<UUID> incrementStock(Map<UUID, Integer> quantities) {
+        List<UUID> bookIds = new ArrayList<>(quantities.keySet());
+        List<Object[]> batchArgs = new ArrayList<>(bookIds.size());
+        for (UUID bookId : bookIds) {
+            batchArgs.add(new Object[]{quantities.get(bookId), bookId});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(INCREMENT_STOCK_SQL, batchArgs);
+
+        List<UUID> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(bookIds.get(i));
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Set absolute stock levels with one set-based UPDATE joined against unnest() of the
+     * id and quantity arrays. Callers should pass a sorted map, as for {@link #decrementStock}.
+     *
+     * @return the IDs of books that were updated; the others do not exist
+     */
+    public Set<UUID> setStock(Map<UUID, Integer> quantities) {
+        UUID[] bookIds = new UUID[quantities.size()];
+        Integer[] stock = new Integer[quantities.size()];
+        int i = 0;
+        for (Map.Entry<UUID, Integer> entry : quantities.entrySet()) {
+            bookIds[i] = entry.getKey();
+            stock[i] = entry.getValue();
+            i++;
+        }
+
+        List<UUID> updated = jdbcTemplate.query(SET_STOCK_SQL,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("uuid", bookIds));
+                    ps.setArray(2, ps.getConnection().createArrayOf("integer", stock));
+                },
+                (rs, rowNum) -> rs.getObject(1, UUID.class));
+        return new HashSet<>(updated);
+    }
+
+    /**
+     * Read the committed stock level of a book, bypassing the persistence context
+     */
+    public Integer findStockQuantity(UUID bookId) {
+        List<Integer> stock = jdbcTemplate.queryForList(
+                "SELECT stock_quantity FROM books WHERE id = ?", Integer.class, bookId);
+        return stock.isEmpty() ? null : stock.get(0);
+    }
+}
@@ -0,0 +1,172 @@
+package com.bookvault.book.repository;
+
+import com.bookvault.book.catalog.CatalogImportRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC repository for the bulk catalog import: set-based lookups by ISBN and category
+ * name, and batched upserts keyed by the unique ISBN.
+ */
+@Repository
+public class CatalogImportRepository {
+
+    private static final String FIND_IMPORT_HASHES_SQL =
+            "SELECT isbn, import_hash FROM books WHERE isbn = ANY(?)";
+
+    private static final String FIND_IDS_BY_ISBN_SQL =
+            "SELECT isbn, id FROM books WHERE isbn = ANY(?)";
+
+    private static final String FIND_CATEGORIES_SQL =
+            "SELECT name, id FROM categories";
+
+    private static final String FIND_CATEGORIES_BY_NAME_SQL =
+            "SELECT name, id FROM categories WHERE name = ANY(?)";
+
+    private static final String INSERT_CATEGORY_SQL =
+            "INSERT INTO categories (id, created_at, updated_at, version, name, is_active) " +
+            "VALUES (?, now(), now(), 0, ?, true) ON CONFLICT (name) DO NOTHING";
+
+    // Stock is only set on insert; an unchanged hash leaves the existing row untouched
+    private static final String UPSERT_BOOK_SQL =
+            "INSERT INTO books (id, created_at, updated_at, version, title, author, isbn, description, price, " +
+            "published_date, cover_image_url, stock_quantity, seller_id, is_active, rating, review_count, " +
+            "language, page_count, publisher, import_hash) " +
+            "VALUES (?, now(), now(), 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, true, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (isbn) DO UPDATE SET " +
+            "title = EXCLUDED.title, author = EXCLUDED.author, description = EXCLUDED.description, " +
+            "price = EXCLUDED.price, published_date = EXCLUDED.published_date, " +
+            "cover_image_url = EXCLUDED.cover_image_url, rating = EXCLUDED.rating, " +
+            "review_count = EXCLUDED.review_count, language = EXCLUDED.language, " +
+            "page_count = EXCLUDED.page_count, publisher = EXCLUDED.publisher, " +
+            "import_hash = EXCLUDED.import_hash, " +
+            "version = COALESCE(books.version, 0) + 1, updated_at = now() " +
+            "WHERE books.import_hash IS DISTINCT FROM EXCLUDED.import_hash";
+
+    private static final String DELETE_BOOK_CATEGORIES_SQL =
+            "DELETE FROM book_categories WHERE book_id = ANY(?)";
+
+    private static final String INSERT_BOOK_CATEGORY_SQL =
+            "INSERT INTO book_categories (id, created_at, updated_at, version, book_id, category_id, is_primary) " +
+            "VALUES (?, now(), now(), 0, ?, ?, ?) ON CONFLICT (book_id, category_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Import hash of every existing book among the ISBNs (null for books never imported)
+     */
+    public Map<String, String> findImportHashes(Collection<String> isbns) {
+        Map<String, String> hashes = new HashMap<>();
+        jdbcTemplate.query(FIND_IMPORT_HASHES_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", isbns.toArray())),
+                rs -> {
+                    hashes.put(rs.getString("isbn"), rs.getString("import_hash"));
+                });
+        return hashes;
+    }
+
+    public Map<String, UUID> findIdsByIsbn(Collection<String> isbns) {
+        Map<String, UUID> ids = new HashMap<>();
+        jdbcTemplate.query(FIND_IDS_BY_ISBN_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", isbns.toArray())),
+                rs -> {
+                    ids.put(rs.getString("isbn"), rs.getObject("id", UUID.class));
+                });
+        return ids;
+    }
+
+    /**
+     * Every category id by name, loaded once per import
+     */
+    public Map<String, UUID> findAllCategoryIds() {
+        Map<String, UUID> ids = new HashMap<>();
+        jdbcTemplate.query(FIND_CATEGORIES_SQL, rs -> {
+            ids.put(rs.getString("name"), rs.getObject("id", UUID.class));
+        });
+        return ids;
+    }
+
+    /**
+     * Create the named categories in one batch (names that already exist are left alone)
+     * and return the ids of all of them
+     */
+    public Map<String, UUID> createCategories(Collection<String> names) {
+        List<Object[]> batchArgs = new ArrayList<>(names.size());
+        for (String name : names) {
+            batchArgs.add(new Object[]{UUID.randomUUID(), name});
+        }
+        jdbcTemplate.batchUpdate(INSERT_CATEGORY_SQL, batchArgs);
+
+        Map<String, UUID> ids = new HashMap<>();
+        jdbcTemplate.query(FIND_CATEGORIES_BY_NAME_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", names.toArray())),
+                rs -> {
+                    ids.put(rs.getString("name"), rs.getObject("id", UUID.class));
+                });
+        return ids;
+    }
+
+    /**
+     * Insert or update every row in a single JDBC batch
+     *
+     * @return per row, whether it was written (false if the stored hash already matched)
+     */
+    public boolean[] upsertBooks(List<CatalogImportRow> rows, UUID sellerId) {
+        List<Object[]> batchArgs = new ArrayList<>(rows.size());
+        for (CatalogImportRow row : rows) {
+            batchArgs.add(new Object[]{
+                    UUID.randomUUID(), row.getTitle(), row.getAuthor(), row.getIsbn(), row.getDescription(),
+                    row.getPrice(), row.getPublishedDate(), row.getCoverImageUrl(), row.getStockQuantity(),
+                    sellerId, row.getRating(), row.getReviewCount(), row.getLanguage(), row.getPageCount(),
+                    row.getPublisher(), row.getContentHash()
+            });
+        }
+        int[] argTypes = {
+                Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+                Types.NUMERIC, Types.DATE, Types.VARCHAR, Types.INTEGER,
+                Types.OTHER, Types.NUMERIC, Types.INTEGER, Types.VARCHAR, Types.INTEGER,
+                Types.VARCHAR, Types.VARCHAR
+        };
+
+        int[] updated = jdbcTemplate.batchUpdate(UPSERT_BOOK_SQL, batchArgs, argTypes);
+        boolean[] written = new boolean[updated.length];
+        for (int i = 0; i < updated.length; i++) {
+            written[i] = updated[i] != 0;
+        }
+        return written;
+    }
+
+    /**
+     * Replace the category links of the given books; the first category of each book is primary
+     */
+    public void replaceBookCategories(Map<UUID, List<UUID>> categoryIdsByBookId) {
+        if (categoryIdsByBookId.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(DELETE_BOOK_CATEGORIES_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", categoryIdsByBookId.keySet().toArray())));
+
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (Map.Entry<UUID, List<UUID>> entry : categoryIdsByBookId.entrySet()) {
+            List<UUID> categoryIds = entry.getValue();
+            for (int i = 0; i < categoryIds.size(); i++) {
+                batchArgs.add(new Object[]{UUID.randomUUID(), entry.getKey(), categoryIds.get(i), i == 0});
+            }
+        }
+        if (!batchArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BOOK_CATEGORY_SQL, batchArgs);
+        }
+    }
+}
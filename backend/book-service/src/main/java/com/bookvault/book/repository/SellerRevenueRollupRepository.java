@@ -0,0 +1,268 @@
+package com.bookvault.book.repository;
+
+import com.bookvault.book.dto.SellerRevenueResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * JDBC repository for the seller_book_daily_revenue rollup table.
+ * Writes are additive upserts so concurrent orders never overwrite each other.
+ *
+ * Rebuilding a day range would overwrite deltas committed after its snapshot, so
+ * both sides take a transaction-scoped advisory lock per revenue day: deltas in
+ * shared mode, rebuilds exclusively. A rebuild therefore waits for in-flight orders
+ * on its days to commit, and orders on those days wait for the rebuild.
+ */
+@Repository
+public class SellerRevenueRollupRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO seller_book_daily_revenue " +
+            "(seller_id, book_id, revenue_date, revenue, items_sold, order_lines, seller_orders) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (seller_id, book_id, revenue_date) DO UPDATE SET " +
+            "revenue = seller_book_daily_revenue.revenue + EXCLUDED.revenue, " +
+            "items_sold = seller_book_daily_revenue.items_sold + EXCLUDED.items_sold, " +
+            "order_lines = seller_book_daily_revenue.order_lines + EXCLUDED.order_lines, " +
+            "seller_orders = seller_book_daily_revenue.seller_orders + EXCLUDED.seller_orders";
+
+    // Recomputes one [from, to) window of order dates from order_items. Each order is
+    // attributed to the seller's book with the lowest ID (as text) for seller_orders.
+    private static final String REBUILD_RANGE_SQL =
+            "INSERT INTO seller_book_daily_revenue " +
+            "(seller_id, book_id, revenue_date, revenue, items_sold, order_lines, seller_orders) " +
+            "SELECT s.seller_id, s.book_id, s.revenue_date, COALESCE(SUM(s.final_price), 0), SUM(s.quantity), " +
+            "COUNT(DISTINCT s.order_id), COUNT(DISTINCT s.order_id) FILTER (WHERE s.book_key = s.first_book_key) " +
+            "FROM (SELECT b.seller_id, oi.book_id, CAST(o.created_at AS date) AS revenue_date, " +
+            "      oi.final_price, oi.quantity, o.id AS order_id, CAST(oi.book_id AS text) COLLATE \"C\" AS book_key, " +
+            "      MIN(CAST(oi.book_id AS text) COLLATE \"C\") OVER (PARTITION BY o.id, b.seller_id) AS first_book_key " +
+            "      FROM order_items oi " +
+            "      JOIN orders o ON o.id = oi.order_id " +
+            "      JOIN books b ON b.id = oi.book_id " +
+            "      WHERE o.created_at >= ? AND o.created_at < ? " +
+            "      AND o.status NOT IN ('CANCELLED', 'RETURNED')) s " +
+            "GROUP BY s.seller_id, s.book_id, s.revenue_date " +
+            "ON CONFLICT (seller_id, book_id, revenue_date) DO UPDATE SET " +
+            "revenue = EXCLUDED.revenue, items_sold = EXCLUDED.items_sold, " +
+            "order_lines = EXCLUDED.order_lines, seller_orders = EXCLUDED.seller_orders";
+
+    // Advisory lock namespace; the second key is the revenue day as epoch days
+    private static final String LOCK_NAMESPACE = "seller_book_daily_revenue";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SellerRevenueRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add the deltas to their rollup rows in a single JDBC batch.
+     * Must run inside the order's transaction so the day locks are held until it commits.
+     */
+    public void applyDeltas(List<Delta> deltas) {
+        // Ascending order, like the rebuild, so the two can never deadlock
+        SortedSet<Long> days = new TreeSet<>();
+        for (Delta delta : deltas) {
+            days.add(delta.revenueDate.toEpochDay());
+        }
+        for (long day : days) {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock_shared(hashtext(?), ?)",
+                    rs -> { }, LOCK_NAMESPACE, (int) day);
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        for (Delta delta : deltas) {
+            batchArgs.add(new Object[]{delta.sellerId, delta.bookId, Date.valueOf(delta.revenueDate),
+                    delta.revenue, delta.itemsSold, delta.orderLines, delta.sellerOrders});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+    }
+
+    public Map<UUID, UUID> findSellerIdsByBookIds(Collection<UUID> bookIds) {
+        Map<UUID, UUID> sellerIds = new HashMap<>();
+        if (bookIds.isEmpty()) {
+            return sellerIds;
+        }
+        jdbcTemplate.query("SELECT id, seller_id FROM books WHERE id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", bookIds.toArray())),
+                rs -> {
+                    sellerIds.put(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class));
+                });
+        return sellerIds;
+    }
+
+    /**
+     * Totals for a seller plus revenue since each of the given dates, in one pass.
+     * Keys: revenue, items_sold, orders, revenue_since_week, revenue_since_month,
+     * revenue_since_year, revenue_previous_month.
+     */
+    public Map<String, Object> findSellerTotals(UUID sellerId, LocalDate weekStart, LocalDate monthStart,
+                                                LocalDate previousMonthStart, LocalDate yearStart) {
+        return jdbcTemplate.queryForMap(
+                "SELECT COALESCE(SUM(revenue), 0) AS revenue, " +
+                "COALESCE(SUM(items_sold), 0) AS items_sold, " +
+                "COALESCE(SUM(seller_orders), 0) AS orders, " +
+                "COALESCE(SUM(revenue) FILTER (WHERE revenue_date >= ?), 0) AS revenue_since_week, " +
+                "COALESCE(SUM(revenue) FILTER (WHERE revenue_date >= ?), 0) AS revenue_since_month, " +
+                "COALESCE(SUM(revenue) FILTER (WHERE revenue_date >= ?), 0) AS revenue_since_year, " +
+                "COALESCE(SUM(revenue) FILTER (WHERE revenue_date >= ? AND revenue_date < ?), 0) AS revenue_previous_month " +
+                "FROM seller_book_daily_revenue WHERE seller_id = ?",
+                Date.valueOf(weekStart), Date.valueOf(monthStart), Date.valueOf(yearStart),
+                Date.valueOf(previousMonthStart), Date.valueOf(monthStart), sellerId);
+    }
+
+    /**
+     * Lifetime totals for a seller. Keys: revenue, items_sold, orders.
+     */
+    public Map<String, Object> findSellerLifetimeTotals(UUID sellerId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT COALESCE(SUM(revenue), 0) AS revenue, " +
+                "COALESCE(SUM(items_sold), 0) AS items_sold, " +
+                "COALESCE(SUM(seller_orders), 0) AS orders " +
+                "FROM seller_book_daily_revenue WHERE seller_id = ?",
+                sellerId);
+    }
+
+    public List<SellerRevenueResponse.BookRevenueItem> findTopBooks(UUID sellerId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT r.book_id, b.title, b.author, b.cover_image_url, r.items_sold, r.revenue, b.rating " +
+                "FROM (SELECT book_id, SUM(items_sold) AS items_sold, SUM(revenue) AS revenue " +
+                "      FROM seller_book_daily_revenue WHERE seller_id = ? " +
+                "      GROUP BY book_id HAVING SUM(items_sold) > 0 " +
+                "      ORDER BY SUM(revenue) DESC LIMIT ?) r " +
+                "JOIN books b ON b.id = r.book_id " +
+                "ORDER BY r.revenue DESC",
+                (rs, rowNum) -> new SellerRevenueResponse.BookRevenueItem(
+                        rs.getObject("book_id", UUID.class),
+                        rs.getString("title"),
+                        rs.getString("author"),
+                        rs.getString("cover_image_url"),
+                        rs.getLong("items_sold"),
+                        rs.getBigDecimal("revenue"),
+                        rs.getBigDecimal("rating")),
+                sellerId, limit);
+    }
+
+    /**
+     * Revenue per calendar month ("yyyy-MM") from the given date onwards
+     */
+    public List<SellerRevenueResponse.RevenuePeriod> findMonthlyBreakdown(UUID sellerId, LocalDate from) {
+        return jdbcTemplate.query(
+                "SELECT to_char(date_trunc('month', revenue_date), 'YYYY-MM') AS period, " +
+                "SUM(revenue) AS revenue, SUM(seller_orders) AS orders, SUM(items_sold) AS items_sold " +
+                "FROM seller_book_daily_revenue WHERE seller_id = ? AND revenue_date >= ? " +
+                "GROUP BY 1 ORDER BY 1",
+                (rs, rowNum) -> new SellerRevenueResponse.RevenuePeriod(
+                        rs.getString("period"),
+                        rs.getBigDecimal("revenue"),
+                        rs.getLong("orders"),
+                        rs.getLong("items_sold")),
+                sellerId, Date.valueOf(from));
+    }
+
+    /**
+     * Most recent order lines for a seller's books. Not part of the rollup; this is
+     * a bounded query driven by the orders.created_at ordering.
+     */
+    public List<SellerRevenueResponse.SellerOrderItem> findRecentOrderItems(UUID sellerId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT o.id, o.order_number, oi.book_title, oi.book_author, oi.book_image_url, " +
+                "oi.quantity, oi.unit_price, oi.final_price, o.customer_name, o.customer_email, " +
+                "o.created_at, o.status " +
+                "FROM order_items oi " +
+                "JOIN orders o ON o.id = oi.order_id " +
+                "JOIN books b ON b.id = oi.book_id " +
+                "WHERE b.seller_id = ? " +
+                "ORDER BY o.created_at DESC LIMIT ?",
+                (rs, rowNum) -> {
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    return new SellerRevenueResponse.SellerOrderItem(
+                            rs.getObject("id", UUID.class),
+                            rs.getString("order_number"),
+                            rs.getString("book_title"),
+                            rs.getString("book_author"),
+                            rs.getString("book_image_url"),
+                            rs.getInt("quantity"),
+                            rs.getBigDecimal("unit_price"),
+                            rs.getBigDecimal("final_price"),
+                            rs.getString("customer_name"),
+                            rs.getString("customer_email"),
+                            createdAt != null ? createdAt.toLocalDateTime() : null,
+                            rs.getString("status"));
+                },
+                sellerId, limit);
+    }
+
+    // ========== BACKFILL ==========
+
+    public boolean isEmpty() {
+        List<Integer> rows = jdbcTemplate.queryForList(
+                "SELECT 1 FROM seller_book_daily_revenue LIMIT 1", Integer.class);
+        return rows.isEmpty();
+    }
+
+    /**
+     * Earliest and latest order creation time, or null if there are no orders
+     */
+    public LocalDateTime[] findOrderDateRange() {
+        return jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at), MAX(created_at) FROM orders",
+                (rs, rowNum) -> {
+                    Timestamp min = rs.getTimestamp(1);
+                    Timestamp max = rs.getTimestamp(2);
+                    return min == null ? null : new LocalDateTime[]{min.toLocalDateTime(), max.toLocalDateTime()};
+                });
+    }
+
+    /**
+     * Replace the rollup rows for days in [from, to) with values recomputed from order_items.
+     * Must run inside a transaction; it holds the range's day locks until commit.
+     */
+    public int rebuildRange(LocalDate from, LocalDate to) {
+        // Wait for orders already writing to these days; later ones wait for this rebuild
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?), d) FROM generate_series(?, ?) AS d",
+                rs -> { }, LOCK_NAMESPACE, (int) from.toEpochDay(), (int) to.toEpochDay() - 1);
+        jdbcTemplate.update("DELETE FROM seller_book_daily_revenue WHERE revenue_date >= ? AND revenue_date < ?",
+                Date.valueOf(from), Date.valueOf(to));
+        return jdbcTemplate.update(REBUILD_RANGE_SQL,
+                Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()));
+    }
+
+    /**
+     * Change to apply to one rollup row
+     */
+    public static final class Delta {
+        private final UUID sellerId;
+        private final UUID bookId;
+        private final LocalDate revenueDate;
+        private final BigDecimal revenue;
+        private final long itemsSold;
+        private final long orderLines;
+        private final long sellerOrders;
+
+        public Delta(UUID sellerId, UUID bookId, LocalDate revenueDate, BigDecimal revenue,
+                     long itemsSold, long orderLines, long sellerOrders) {
+            this.sellerId = sellerId;
+            this.bookId = bookId;
+            this.revenueDate = revenueDate;
+            this.revenue = revenue;
+            this.itemsSold = itemsSold;
+            this.orderLines = orderLines;
+            this.sellerOrders = sellerOrders;
+        }
+    }
+}
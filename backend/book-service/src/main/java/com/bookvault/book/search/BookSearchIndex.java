@@ -0,0 +1,390 @@
+package com.bookvault.book.search;
+
+import com.bookvault.book.model.Book;
+import com.bookvault.book.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over the searchable fields of active books.
+ *
+ * Postings keep per-field term frequencies for title, author and description so
+ * queries can be scored with BM25F (field-weighted BM25). The index is rebuilt
+ * once the application is ready and then kept in sync by {@code BookService}.
+ * Until the first build completes {@link #isReady()} returns false and callers
+ * are expected to fall back to the database search.
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    // Field order used for every per-field array in this class
+    private static final int TITLE = 0;
+    private static final int AUTHOR = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int FIELD_COUNT = 3;
+
+    // BM25F parameters
+    private static final double[] FIELD_WEIGHTS = {3.0, 2.0, 1.0};
+    private static final double[] FIELD_LENGTH_NORMALIZATION = {0.5, 0.3, 0.75};
+    private static final double K1 = 1.2;
+
+    // Upper bound on dictionary terms a trailing prefix may expand to
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final BookRepository bookRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+
+    // Guarded by lock
+    private IndexState state = new IndexState();
+    // Incremental changes applied while a rebuild is loading, replayed onto the new state; guarded by lock
+    private List<Consumer<IndexState>> pendingChanges;
+
+    private volatile boolean ready = false;
+
+    public BookSearchIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Build the index in the background once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        CompletableFuture.runAsync(this::rebuild)
+                .exceptionally(e -> {
+                    log.error("Failed to build book search index: {}", e.getMessage(), e);
+                    return null;
+                });
+    }
+
+    /**
+     * Rebuild the whole index from the database.
+     * Rows are loaded and tokenized in parallel without holding the lock, so searches keep
+     * using the current index; incremental updates issued meanwhile are recorded and
+     * replayed onto the new index before it is swapped in.
+     */
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            long start = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            IndexState rebuilt = new IndexState();
+            try {
+                List<Object[]> rows = bookRepository.findSearchableBookFields();
+                List<IndexedBook> indexed = rows.parallelStream()
+                        .map(row -> IndexedBook.of((UUID) row[0], (String) row[1], (String) row[2],
+                                (String) row[3], (BigDecimal) row[4]))
+                        .collect(Collectors.toList());
+                for (IndexedBook book : indexed) {
+                    rebuilt.addDocument(book);
+                }
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            int replayed;
+            lock.writeLock().lock();
+            try {
+                replayed = pendingChanges.size();
+                for (Consumer<IndexState> change : pendingChanges) {
+                    change.accept(rebuilt);
+                }
+                pendingChanges = null;
+                state = rebuilt;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            log.info("Book search index built: {} books, {} terms in {} ms ({} concurrent updates replayed)",
+                    rebuilt.documents.size(), rebuilt.postings.size(), System.currentTimeMillis() - start, replayed);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Add or replace a book in the index. Inactive books are removed instead.
+     * Applied after the surrounding transaction commits, if there is one.
+     */
+    public void index(Book book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(book.getIsActive())) {
+            remove(book.getId());
+            return;
+        }
+
+        IndexedBook indexed = IndexedBook.of(book.getId(), book.getTitle(), book.getAuthor(),
+                book.getDescription(), book.getRating());
+        afterCommit(() -> apply(target -> {
+            target.removeDocument(indexed.id);
+            target.addDocument(indexed);
+        }));
+    }
+
+    /**
+     * Remove a book from the index.
+     * Applied after the surrounding transaction commits, if there is one.
+     */
+    public void remove(UUID bookId) {
+        if (bookId == null) {
+            return;
+        }
+        afterCommit(() -> apply(target -> target.removeDocument(bookId)));
+    }
+
+    /**
+     * Search the index and return matching book IDs ordered by relevance.
+     * Every query term is matched exactly; the last term is also matched as a
+     * prefix so partially typed words still find results.
+     */
+    public List<UUID> search(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            IndexState current = state;
+            Map<UUID, IndexedBook> documents = current.documents;
+            NavigableMap<String, Map<UUID, int[]>> postings = current.postings;
+            long[] totalFieldLengths = current.totalFieldLengths;
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return Collections.emptyList();
+            }
+
+            double[] averageFieldLengths = new double[FIELD_COUNT];
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                averageFieldLengths[field] = Math.max(1.0, (double) totalFieldLengths[field] / documentCount);
+            }
+
+            Map<UUID, Double> scores = new HashMap<>();
+            Set<String> scoredTerms = new HashSet<>();
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                boolean lastTerm = i == terms.size() - 1;
+
+                if (lastTerm) {
+                    int expansions = 0;
+                    for (Map.Entry<String, Map<UUID, int[]>> entry : postings.tailMap(term, true).entrySet()) {
+                        if (!entry.getKey().startsWith(term) || expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                            break;
+                        }
+                        if (scoredTerms.add(entry.getKey())) {
+                            scoreTerm(documents, entry.getValue(), documentCount, averageFieldLengths, scores);
+                        }
+                    }
+                } else if (scoredTerms.add(term)) {
+                    Map<UUID, int[]> termPostings = postings.get(term);
+                    if (termPostings != null) {
+                        scoreTerm(documents, termPostings, documentCount, averageFieldLengths, scores);
+                    }
+                }
+            }
+
+            List<Map.Entry<UUID, Double>> hits = new ArrayList<>(scores.entrySet());
+            hits.sort(Comparator.<Map.Entry<UUID, Double>>comparingDouble(Map.Entry::getValue).reversed()
+                    .thenComparing(entry -> documents.get(entry.getKey()).rating, Comparator.reverseOrder())
+                    .thenComparing(Map.Entry::getKey));
+
+            return hits.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Helper methods
+
+    private void scoreTerm(Map<UUID, IndexedBook> documents, Map<UUID, int[]> termPostings, int documentCount,
+                           double[] averageFieldLengths, Map<UUID, Double> scores) {
+        int documentFrequency = termPostings.size();
+        double idf = Math.log(1.0 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+        for (Map.Entry<UUID, int[]> posting : termPostings.entrySet()) {
+            IndexedBook book = documents.get(posting.getKey());
+            int[] frequencies = posting.getValue();
+
+            double weightedFrequency = 0.0;
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                if (frequencies[field] == 0) {
+                    continue;
+                }
+                double b = FIELD_LENGTH_NORMALIZATION[field];
+                double lengthRatio = book.fieldLengths[field] / averageFieldLengths[field];
+                weightedFrequency += FIELD_WEIGHTS[field] * frequencies[field] / (1.0 - b + b * lengthRatio);
+            }
+
+            double score = idf * weightedFrequency * (K1 + 1.0) / (K1 + weightedFrequency);
+            scores.merge(posting.getKey(), score, Double::sum);
+        }
+    }
+
+    /**
+     * Apply an incremental change to the live index, and record it for replay if a rebuild is loading
+     */
+    private void apply(Consumer<IndexState> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Split text into lower-case alphanumeric tokens
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean tokenChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Postings, documents and field length totals of one index generation
+     */
+    private static final class IndexState {
+        private final NavigableMap<String, Map<UUID, int[]>> postings = new TreeMap<>();
+        private final Map<UUID, IndexedBook> documents = new HashMap<>();
+        private final long[] totalFieldLengths = new long[FIELD_COUNT];
+
+        private void addDocument(IndexedBook book) {
+            documents.put(book.id, book);
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                totalFieldLengths[field] += book.fieldLengths[field];
+            }
+            for (Map.Entry<String, int[]> entry : book.termFrequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(book.id, entry.getValue());
+            }
+        }
+
+        private void removeDocument(UUID bookId) {
+            IndexedBook existing = documents.remove(bookId);
+            if (existing == null) {
+                return;
+            }
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                totalFieldLengths[field] -= existing.fieldLengths[field];
+            }
+            for (String term : existing.termFrequencies.keySet()) {
+                Map<UUID, int[]> termPostings = postings.get(term);
+                if (termPostings != null) {
+                    termPostings.remove(bookId);
+                    if (termPostings.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tokenized snapshot of a single book
+     */
+    private static final class IndexedBook {
+        private final UUID id;
+        private final BigDecimal rating;
+        private final int[] fieldLengths;
+        private final Map<String, int[]> termFrequencies;
+
+        private IndexedBook(UUID id, BigDecimal rating, int[] fieldLengths, Map<String, int[]> termFrequencies) {
+            this.id = id;
+            this.rating = rating != null ? rating : BigDecimal.ZERO;
+            this.fieldLengths = fieldLengths;
+            this.termFrequencies = termFrequencies;
+        }
+
+        static IndexedBook of(UUID id, String title, String author, String description, BigDecimal rating) {
+            String[] fields = new String[FIELD_COUNT];
+            fields[TITLE] = title;
+            fields[AUTHOR] = author;
+            fields[DESCRIPTION] = description;
+
+            int[] fieldLengths = new int[FIELD_COUNT];
+            Map<String, int[]> termFrequencies = new HashMap<>();
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                List<String> tokens = tokenize(fields[field]);
+                fieldLengths[field] = tokens.size();
+                for (String token : tokens) {
+                    termFrequencies.computeIfAbsent(token, t -> new int[FIELD_COUNT])[field]++;
+                }
+            }
+            return new IndexedBook(id, rating, fieldLengths, termFrequencies);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.bookvault.book.service;
+
+import com.bookvault.shared.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent analytics queries concurrently on a bounded pool.
+ *
+ * Every query runs in its own read-only transaction with a PostgreSQL
+ * {@code statement_timeout}, so the database cancels it when it runs too long, and
+ * is timed under {@code bookvault.analytics.query} (tags: query, outcome). Optional
+ * queries fall back to a default value when they fail or time out so the caller can
+ * still return a partial result; required queries propagate the failure. When the
+ * pool and its queue are full the query is rejected with a
+ * {@link TooManyRequestsException} instead of running on the request thread.
+ */
+@Component
+public class AnalyticsQueryExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsQueryExecutor.class);
+
+    // PostgreSQL query_canceled, raised when statement_timeout fires
+    private static final String QUERY_CANCELED_STATE = "57014";
+
+    // The caller only stops waiting this long after the database should have cancelled
+    private static final long CALLER_TIMEOUT_GRACE_MS = 1000;
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration queryTimeout;
+
+    public AnalyticsQueryExecutor(MeterRegistry meterRegistry, JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${bookvault.analytics.threads:8}") int threads,
+                                  @Value("${bookvault.analytics.queue-capacity:100}") int queueCapacity,
+                                  @Value("${bookvault.analytics.query-timeout:2s}") Duration queryTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryTimeout = queryTimeout;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "analytics-query-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Start a query whose failure fails the whole request
+     *
+     * @throws TooManyRequestsException if the pool and its queue are full
+     */
+    public <T> CompletableFuture<T> required(String name, Supplier<T> query) {
+        return submit(name, query);
+    }
+
+    /**
+     * Start a query that resolves to {@code fallback} if it fails or times out
+     *
+     * @throws TooManyRequestsException if the pool and its queue are full
+     */
+    public <T> CompletableFuture<T> optional(String name, Supplier<T> query, T fallback, PartialResult partial) {
+        return submit(name, query).exceptionally(e -> {
+            log.warn("Analytics query {} failed, using fallback: {}", name, rootCause(e).toString());
+            partial.markIncomplete(name);
+            return fallback;
+        });
+    }
+
+    /**
+     * Wait for a query started by this executor, unwrapping its failure
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = rootCause(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Helper methods
+
+    private <T> CompletableFuture<T> submit(String name, Supplier<T> query) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> runWithTimeout(query), executor);
+        } catch (RejectedExecutionException e) {
+            record(name, "rejected", start);
+            throw new TooManyRequestsException("Analytics are busy, please retry shortly", e);
+        }
+        return future
+                .orTimeout(queryTimeout.toMillis() + CALLER_TIMEOUT_GRACE_MS, TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) ->
+                        record(name, error == null ? "success" : isTimeout(error) ? "timeout" : "error", start));
+    }
+
+    /**
+     * Run the query in a read-only transaction whose statements PostgreSQL cancels after the timeout
+     */
+    private <T> T runWithTimeout(Supplier<T> query) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL statement_timeout = " + Math.max(1, queryTimeout.toMillis()));
+            return query.get();
+        });
+    }
+
+    private void record(String name, String outcome, long start) {
+        Timer.builder("bookvault.analytics.query")
+                .description("Latency of individual seller analytics queries")
+                .tag("query", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof QueryTimeoutException
+                    || cause instanceof SQLException && QUERY_CANCELED_STATE.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Records which optional queries of one request fell back to a default
+     */
+    public static class PartialResult {
+        private final List<String> missing = new CopyOnWriteArrayList<>();
+
+        void markIncomplete(String name) {
+            missing.add(name);
+        }
+
+        public boolean isPartial() {
+            return !missing.isEmpty();
+        }
+
+        public List<String> getMissing() {
+            return missing;
+        }
+    }
+}
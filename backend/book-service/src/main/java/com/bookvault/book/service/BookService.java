@@ -1,28 +1,47 @@
 package com.bookvault.book.service;
 
+import com.bookvault.book.cache.BookCache;
 import com.bookvault.book.dto.*;
 import com.bookvault.book.model.*;
 import com.bookvault.book.repository.*;
+import com.bookvault.book.search.BookSearchIndex;
+import com.bookvault.book.util.CursorUtil;
+import com.bookvault.shared.dto.CursorPagedResponse;
 import com.bookvault.shared.dto.PagedResponse;
 import com.bookvault.shared.exception.BadRequestException;
 import com.bookvault.shared.exception.NotFoundException;
+import com.bookvault.shared.exception.TooManyRequestsException;
 // import lombok.RequiredArgsConstructor;
 // import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.Authentication;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 
@@ -37,15 +56,50 @@ public class BookService {
     
     private static final Logger log = LoggerFactory.getLogger(BookService.class);
     
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final BigDecimal FEATURED_REVIEW_WEIGHT = new BigDecimal("0.7");
+    private static final BigDecimal FEATURED_RATING_WEIGHT = BigDecimal.valueOf(30);
+    
+    private static final int LOW_STOCK_THRESHOLD = 10;
+    private static final int TOP_BOOKS_LIMIT = 5;
+    private static final int RECENT_ORDERS_LIMIT = 10;
+    private static final int SELLER_ORDERS_LIMIT = 50;
+    
     private final BookRepository bookRepository;
     private final CategoryRepository categoryRepository;
     private final OrderItemRepository orderItemRepository;
+    private final BookCategoryRepository bookCategoryRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookCache bookCache;
+    private final SellerRevenueRollupRepository sellerRevenueRollupRepository;
+    private final SellerRevenueRollupService sellerRevenueRollupService;
+    private final AnalyticsQueryExecutor analyticsQueryExecutor;
+    private final BookStockRepository bookStockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int stockChunkSize;
     
     // Constructor (replacing @RequiredArgsConstructor)
-    public BookService(BookRepository bookRepository, CategoryRepository categoryRepository, OrderItemRepository orderItemRepository) {
+    public BookService(BookRepository bookRepository, CategoryRepository categoryRepository, 
+                      OrderItemRepository orderItemRepository, BookCategoryRepository bookCategoryRepository,
+                      BookSearchIndex bookSearchIndex, BookCache bookCache,
+                      SellerRevenueRollupRepository sellerRevenueRollupRepository,
+                      SellerRevenueRollupService sellerRevenueRollupService,
+                      AnalyticsQueryExecutor analyticsQueryExecutor,
+                      BookStockRepository bookStockRepository,
+                      TransactionTemplate transactionTemplate,
+                      @Value("${bookvault.stock.bulk-chunk-size:1000}") int stockChunkSize) {
         this.bookRepository = bookRepository;
         this.categoryRepository = categoryRepository;
         this.orderItemRepository = orderItemRepository;
+        this.bookCategoryRepository = bookCategoryRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookCache = bookCache;
+        this.sellerRevenueRollupRepository = sellerRevenueRollupRepository;
+        this.sellerRevenueRollupService = sellerRevenueRollupService;
+        this.analyticsQueryExecutor = analyticsQueryExecutor;
+        this.bookStockRepository = bookStockRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stockChunkSize = Math.max(1, stockChunkSize);
     }
     
     // Get all books (paginated)
@@ -55,27 +109,49 @@ public class BookService {
         return mapToPagedResponse(books);
     }
     
-    // Get book by ID
-    @Transactional(readOnly = true)
+    // Get book by ID - read through the book cache, no transaction is opened on a cache hit
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BookResponse getBookById(UUID id) {
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Book not found with ID: " + id));
-        return mapToResponse(book);
+        return bookCache.get(id, () -> loadBookResponse(id));
     }
     
     // Get book by ISBN
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BookResponse getBookByIsbn(String isbn) {
-        Book book = bookRepository.findByIsbn(isbn)
-                .orElseThrow(() -> new NotFoundException("Book not found with ISBN: " + isbn));
-        return mapToResponse(book);
+        UUID id = bookCache.resolveIsbn(isbn, () -> bookRepository.findIdByIsbn(isbn)
+                .orElseThrow(() -> new NotFoundException("Book not found with ISBN: " + isbn)));
+        try {
+            return getBookById(id);
+        } catch (NotFoundException e) {
+            // The cached mapping points at a deleted book
+            bookCache.evictIsbn(isbn);
+            throw new NotFoundException("Book not found with ISBN: " + isbn);
+        }
     }
     
-    // Search books
+    // Search books - served from the in-memory index, the database is only used to load the page
     @Transactional(readOnly = true)
     public PagedResponse<BookResponse> searchBooks(String query, Pageable pageable) {
-        Page<Book> books = bookRepository.searchBooks(query, pageable);
-        return mapToPagedResponse(books);
+        if (!bookSearchIndex.isReady()) {
+            Page<Book> books = bookRepository.searchBooks(query, pageable);
+            return mapToPagedResponse(books);
+        }
+        
+        List<UUID> matchingIds = bookSearchIndex.search(query);
+        int from = (int) Math.min(pageable.getOffset(), matchingIds.size());
+        int to = Math.min(from + pageable.getPageSize(), matchingIds.size());
+        List<UUID> pageIds = matchingIds.subList(from, to);
+        
+        // Load the page and restore relevance order
+        Map<UUID, Book> booksById = bookRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<Book> books = pageIds.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .filter(Book::getIsActive)
+                .collect(Collectors.toList());
+        
+        return mapToPagedResponse(new PageImpl<>(books, pageable, matchingIds.size()));
     }
     
     // Get books by category
@@ -113,6 +189,54 @@ public class BookService {
         return mapToPagedResponse(books);
     }
     
+    // Get newest books after a cursor (keyset pagination, also backs the default /api/books ordering)
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<BookResponse> getNewestBooksAfter(String cursor, int size) {
+        int limit = normalizeCursorPageSize(size);
+        List<Book> books;
+        if (cursor == null || cursor.isBlank()) {
+            books = bookRepository.findNewestBooksFirstPage(limit + 1);
+        } else {
+            String[] key = CursorUtil.decode(cursor, 2);
+            books = bookRepository.findNewestBooksAfter(parseCursorDateTime(key[0]), parseCursorId(key[1]), limit + 1);
+        }
+        return mapToCursorPagedResponse(books, limit,
+                book -> CursorUtil.encode(book.getCreatedAt().toString(), book.getId().toString()));
+    }
+    
+    // Get top rated books after a cursor (keyset pagination)
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<BookResponse> getTopRatedBooksAfter(String cursor, int size) {
+        int limit = normalizeCursorPageSize(size);
+        List<Book> books;
+        if (cursor == null || cursor.isBlank()) {
+            books = bookRepository.findTopRatedBooksFirstPage(limit + 1);
+        } else {
+            String[] key = CursorUtil.decode(cursor, 3);
+            books = bookRepository.findTopRatedBooksAfter(parseCursorDecimal(key[0]), parseCursorInt(key[1]),
+                    parseCursorId(key[2]), limit + 1);
+        }
+        return mapToCursorPagedResponse(books, limit, book -> CursorUtil.encode(
+                (book.getRating() != null ? book.getRating() : BigDecimal.ZERO).toPlainString(),
+                String.valueOf(book.getReviewCount() != null ? book.getReviewCount() : 0),
+                book.getId().toString()));
+    }
+    
+    // Get featured books after a cursor (keyset pagination)
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<BookResponse> getFeaturedBooksAfter(String cursor, int size) {
+        int limit = normalizeCursorPageSize(size);
+        List<Book> books;
+        if (cursor == null || cursor.isBlank()) {
+            books = bookRepository.findFeaturedBooksFirstPage(limit + 1);
+        } else {
+            String[] key = CursorUtil.decode(cursor, 2);
+            books = bookRepository.findFeaturedBooksAfter(parseCursorDecimal(key[0]), parseCursorId(key[1]), limit + 1);
+        }
+        return mapToCursorPagedResponse(books, limit,
+                book -> CursorUtil.encode(featuredScore(book).toPlainString(), book.getId().toString()));
+    }
+    
     // Filter books
     @Transactional(readOnly = true)
     public PagedResponse<BookResponse> filterBooks(String title, String author, String category,
@@ -183,6 +307,8 @@ public class BookService {
                 log.info("Saved book with categories: {}", savedBook.getId());
             }
             
+            bookSearchIndex.index(savedBook);
+            
             log.info("Created new book: {} by {}", savedBook.getTitle(), savedBook.getAuthor());
             return mapToResponse(savedBook);
         } catch (Exception e) {
@@ -249,6 +375,9 @@ public class BookService {
             log.info("Updated book with categories: {}", savedBook.getId());
         }
         
+        bookSearchIndex.index(savedBook);
+        bookCache.invalidate(savedBook.getId());
+        
         log.info("Updated book: {}", savedBook.getId());
         return mapToResponse(savedBook);
     }
@@ -292,6 +421,7 @@ public class BookService {
             
             book.setStockQuantity(stockQuantity);
             bookRepository.save(book);
+            bookCache.invalidate(id);
             log.info("Updated stock for book {}: {} -> {}", id, book.getTitle(), stockQuantity);
         } catch (Exception e) {
             log.error("Failed to update stock for book: {}", id, e);
@@ -300,31 +430,65 @@ public class BookService {
     }
     
     /**
-     * Bulk update stock for multiple books (for admin operations)
+     * Bulk update stock for multiple books (for admin operations, e.g. a warehouse sync).
+     * Rows are applied in chunks, each committed on its own; missing books and negative
+     * quantities are reported per row instead of failing the whole request.
      */
-    @Transactional
-    public void bulkUpdateStock(Map<UUID, Integer> stockUpdates) {
-        try {
-            for (Map.Entry<UUID, Integer> entry : stockUpdates.entrySet()) {
-                UUID bookId = entry.getKey();
-                Integer newStock = entry.getValue();
-                
-                if (newStock < 0) {
-                    throw new BadRequestException("Stock quantity cannot be negative for book: " + bookId);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkStockUpdateResponse bulkUpdateStock(Map<UUID, Integer> stockUpdates) {
+        if (stockUpdates == null || stockUpdates.isEmpty()) {
+            throw new BadRequestException("At least one stock update is required");
+        }
+        
+        long start = System.currentTimeMillis();
+        BulkStockUpdateResponse summary = new BulkStockUpdateResponse(stockUpdates.size());
+        
+        // Sorted so concurrent syncs lock rows in the same order
+        TreeMap<UUID, Integer> valid = new TreeMap<>();
+        for (Map.Entry<UUID, Integer> entry : stockUpdates.entrySet()) {
+            if (entry.getKey() == null) {
+                summary.addFailure(null, "Missing book ID");
+            } else if (entry.getValue() == null) {
+                summary.addFailure(entry.getKey(), "Stock quantity is required");
+            } else if (entry.getValue() < 0) {
+                summary.addFailure(entry.getKey(), "Stock quantity cannot be negative");
+            } else {
+                valid.put(entry.getKey(), entry.getValue());
+            }
+        }
+        
+        // OPTIMIZATION: One UPDATE ... FROM unnest(ids, quantities) per chunk instead of a find + save per book
+        List<UUID> bookIds = new ArrayList<>(valid.keySet());
+        for (int from = 0; from < bookIds.size(); from += stockChunkSize) {
+            Map<UUID, Integer> chunk = new LinkedHashMap<>();
+            for (UUID bookId : bookIds.subList(from, Math.min(from + stockChunkSize, bookIds.size()))) {
+                chunk.put(bookId, valid.get(bookId));
+            }
+            
+            try {
+                Set<UUID> updated = transactionTemplate.execute(status -> {
+                    Set<UUID> ids = bookStockRepository.setStock(chunk);
+                    bookCache.invalidateAll(ids);
+                    return ids;
+                });
+                summary.addUpdated(updated.size());
+                for (UUID bookId : chunk.keySet()) {
+                    if (!updated.contains(bookId)) {
+                        summary.addFailure(bookId, "Book not found");
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.error("Bulk stock update chunk of {} books failed: {}", chunk.size(), e.getMessage());
+                for (UUID bookId : chunk.keySet()) {
+                    summary.addFailure(bookId, "Update failed: " + e.getMessage());
                 }
-                
-                Book book = bookRepository.findById(bookId)
-                        .orElseThrow(() -> new NotFoundException("Book not found with ID: " + bookId));
-                
-                book.setStockQuantity(newStock);
-                bookRepository.save(book);
-                
-                log.info("Updated stock for book {}: {} -> {}", book.getTitle(), bookId, newStock);
             }
-        } catch (Exception e) {
-            log.error("Failed to bulk update stock", e);
-            throw new BadRequestException("Failed to bulk update stock: " + e.getMessage());
         }
+        
+        summary.setDurationMs(System.currentTimeMillis() - start);
+        log.info("Bulk stock update completed - {} requested, {} updated, {} errors in {} ms",
+                summary.getTotalRequested(), summary.getUpdatedCount(), summary.getErrorCount(), summary.getDurationMs());
+        return summary;
     }
     
     // Activate book
@@ -340,6 +504,8 @@ public class BookService {
         
         book.setIsActive(true);
         bookRepository.save(book);
+        bookSearchIndex.index(book);
+        bookCache.invalidate(id);
     }
     
     // Deactivate book
@@ -355,6 +521,8 @@ public class BookService {
         
         book.setIsActive(false);
         bookRepository.save(book);
+        bookSearchIndex.remove(id);
+        bookCache.invalidate(id);
     }
     
     // Delete book
@@ -369,6 +537,9 @@ public class BookService {
         }
         
         bookRepository.deleteById(id);
+        bookSearchIndex.remove(id);
+        bookCache.invalidate(id);
+        bookCache.evictIsbn(book.getIsbn());
         log.info("Deleted book: {}", id);
     }
     
@@ -376,7 +547,7 @@ public class BookService {
     @Transactional(readOnly = true)
     public List<BookResponse> getBooksBySeller(UUID sellerId) {
         List<Book> books = bookRepository.findBySellerIdAndIsActiveTrue(sellerId);
-        return books.stream().map(this::mapToResponse).collect(Collectors.toList());
+        return mapToResponses(books);
     }
     
     // Get all categories
@@ -390,9 +561,7 @@ public class BookService {
     
     // Helper methods
     private PagedResponse<BookResponse> mapToPagedResponse(Page<Book> books) {
-        List<BookResponse> content = books.getContent().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<BookResponse> content = mapToResponses(books.getContent());
         
         return PagedResponse.<BookResponse>builder()
                 .content(content)
@@ -406,15 +575,104 @@ public class BookService {
                 .build();
     }
     
+    // Rows are fetched with one extra element so the presence of a next page is known without a COUNT
+    private CursorPagedResponse<BookResponse> mapToCursorPagedResponse(List<Book> books, int limit,
+                                                                       Function<Book, String> cursorOf) {
+        boolean hasNext = books.size() > limit;
+        List<Book> page = hasNext ? books.subList(0, limit) : books;
+        
+        List<BookResponse> content = mapToResponses(page);
+        
+        return CursorPagedResponse.<BookResponse>builder()
+                .content(content)
+                .size(limit)
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null)
+                .build();
+    }
+    
+    private int normalizeCursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+    
+    // Must match the ORDER BY expression of BookRepository.findFeaturedBooksAfter
+    private BigDecimal featuredScore(Book book) {
+        BigDecimal reviewCount = BigDecimal.valueOf(book.getReviewCount() != null ? book.getReviewCount() : 0);
+        BigDecimal rating = book.getRating() != null ? book.getRating() : BigDecimal.ZERO;
+        return reviewCount.multiply(FEATURED_REVIEW_WEIGHT).add(rating.multiply(FEATURED_RATING_WEIGHT));
+    }
+    
+    private LocalDateTime parseCursorDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+    
+    private BigDecimal parseCursorDecimal(String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+    
+    private int parseCursorInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+    
+    private UUID parseCursorId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+    
+    /**
+     * Map a list of books, loading the categories of all of them with a single query
+     * instead of walking each book's lazy bookCategories collection
+     */
+    private List<BookResponse> mapToResponses(List<Book> books) {
+        if (books.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<UUID> bookIds = books.stream().map(Book::getId).collect(Collectors.toList());
+        Map<UUID, List<CategoryResponse>> categoriesByBookId = new HashMap<>();
+        for (Object[] row : bookCategoryRepository.findCategoriesByBookIds(bookIds)) {
+            categoriesByBookId.computeIfAbsent((UUID) row[0], id -> new ArrayList<>())
+                    .add(mapCategoryToResponse((Category) row[1]));
+        }
+        
+        return books.stream()
+                .map(book -> mapToResponse(book, categoriesByBookId.getOrDefault(book.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+    
+    // Cache loader for a single book; categories are fetched eagerly so no open session is needed
+    private BookResponse loadBookResponse(UUID id) {
+        Book book = bookRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Book not found with ID: " + id));
+        return mapToResponses(List.of(book)).get(0);
+    }
+    
     private BookResponse mapToResponse(Book book) {
         // Map categories from BookCategory relationships
-        List<CategoryResponse> categories = null;
+        List<CategoryResponse> categories = List.of();
         if (book.getBookCategories() != null && !book.getBookCategories().isEmpty()) {
             categories = book.getBookCategories().stream()
                     .map(bc -> mapCategoryToResponse(bc.getCategory()))
                     .collect(Collectors.toList());
         }
-        
+        return mapToResponse(book, categories);
+    }
+    
+    private BookResponse mapToResponse(Book book, List<CategoryResponse> categories) {
         return BookResponse.builder()
                 .id(book.getId())
                 .title(book.getTitle())
@@ -452,61 +710,72 @@ public class BookService {
     // ========== SELLER REVENUE ANALYTICS METHODS ==========
     
     /**
-     * Get seller revenue analytics
+     * Get seller revenue analytics.
+     * Revenue figures come from the seller_book_daily_revenue rollup; periods are
+     * rolling windows ending today (7, 30 and 365 days) and growth compares the
+     * last 30 days with the 30 days before.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public SellerRevenueResponse getSellerRevenueAnalytics(UUID sellerId) {
         log.info("Getting revenue analytics for seller: {}", sellerId);
         
         try {
-            // Get basic seller stats
-            Long totalBooks = bookRepository.countBooksBySeller(sellerId);
-            Long activeBooks = bookRepository.countBySellerIdAndIsActiveTrue(sellerId);
-            Long lowStockBooks = bookRepository.countBySellerIdAndStockQuantityLessThanEqual(sellerId, 10L);
+            LocalDate today = LocalDate.now();
+            LocalDate monthStart = today.minusDays(29);
+            AnalyticsQueryExecutor.PartialResult partial = new AnalyticsQueryExecutor.PartialResult();
             
-            // Get revenue statistics
-            BigDecimal totalRevenue = orderItemRepository.getTotalRevenueBySellerId(sellerId);
-            Long totalSoldItems = orderItemRepository.getTotalQuantityBySellerId(sellerId);
-            Long orderCount = orderItemRepository.getOrderCountBySellerId(sellerId);
+            // Independent queries run concurrently; only the revenue totals are required
+            CompletableFuture<Map<String, Object>> totalsFuture = analyticsQueryExecutor.required("seller_totals",
+                    () -> sellerRevenueRollupRepository.findSellerTotals(sellerId,
+                            today.minusDays(6), monthStart, monthStart.minusDays(30), today.minusDays(364)));
+            CompletableFuture<Object[]> bookStatsFuture = analyticsQueryExecutor.optional("book_stats",
+                    () -> getSellerBookStats(sellerId), new Object[2], partial);
+            CompletableFuture<List<SellerRevenueResponse.BookRevenueItem>> topBooksFuture = analyticsQueryExecutor.optional("top_books",
+                    () -> sellerRevenueRollupRepository.findTopBooks(sellerId, TOP_BOOKS_LIMIT), new ArrayList<>(), partial);
+            CompletableFuture<List<SellerRevenueResponse.RevenuePeriod>> breakdownFuture = analyticsQueryExecutor.optional("revenue_breakdown",
+                    () -> sellerRevenueRollupRepository.findMonthlyBreakdown(sellerId, today.withDayOfMonth(1).minusMonths(11)),
+                    new ArrayList<>(), partial);
+            CompletableFuture<List<SellerRevenueResponse.SellerOrderItem>> recentOrdersFuture = analyticsQueryExecutor.optional("recent_orders",
+                    () -> sellerRevenueRollupRepository.findRecentOrderItems(sellerId, RECENT_ORDERS_LIMIT), new ArrayList<>(), partial);
             
-            // Handle null values
-            totalBooks = totalBooks != null ? totalBooks : 0L;
-            activeBooks = activeBooks != null ? activeBooks : 0L;
-            lowStockBooks = lowStockBooks != null ? lowStockBooks : 0L;
-            totalRevenue = totalRevenue != null ? totalRevenue : BigDecimal.ZERO;
-            totalSoldItems = totalSoldItems != null ? totalSoldItems : 0L;
-            orderCount = orderCount != null ? orderCount : 0L;
+            // Book counts
+            Object[] bookStats = AnalyticsQueryExecutor.join(bookStatsFuture);
+            Long activeBooks = toLong(bookStats[0]);
+            Long lowStockBooks = toLong(bookStats[1]);
+            
+            // Revenue totals and rolling windows
+            Map<String, Object> totals = AnalyticsQueryExecutor.join(totalsFuture);
+            BigDecimal totalRevenue = toBigDecimal(totals.get("revenue"));
+            Long totalSoldItems = toLong(totals.get("items_sold"));
+            Long orderCount = toLong(totals.get("orders"));
+            BigDecimal weeklyRevenue = toBigDecimal(totals.get("revenue_since_week"));
+            BigDecimal monthlyRevenue = toBigDecimal(totals.get("revenue_since_month"));
+            BigDecimal yearlyRevenue = toBigDecimal(totals.get("revenue_since_year"));
+            BigDecimal previousMonthlyRevenue = toBigDecimal(totals.get("revenue_previous_month"));
             
             // Calculate average order value
             BigDecimal averageOrderValue = BigDecimal.ZERO;
             if (orderCount > 0 && totalRevenue.compareTo(BigDecimal.ZERO) > 0) {
-                averageOrderValue = totalRevenue.divide(BigDecimal.valueOf(orderCount), 2, BigDecimal.ROUND_HALF_UP);
+                averageOrderValue = totalRevenue.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP);
             }
             
-            // Get time-based revenue (simplified for now)
-            BigDecimal monthlyRevenue = BigDecimal.ZERO;
-            BigDecimal yearlyRevenue = BigDecimal.ZERO;
-            BigDecimal weeklyRevenue = BigDecimal.ZERO;
-            
-            // Get top performing books
-            List<SellerRevenueResponse.BookRevenueItem> topPerformingBooks = getTopPerformingBooks(sellerId);
+            // Top performing books, revenue breakdown for the last 12 calendar months and recent orders
+            List<SellerRevenueResponse.BookRevenueItem> topPerformingBooks = AnalyticsQueryExecutor.join(topBooksFuture);
+            List<SellerRevenueResponse.RevenuePeriod> revenueBreakdown = AnalyticsQueryExecutor.join(breakdownFuture);
+            List<SellerRevenueResponse.SellerOrderItem> recentOrders = AnalyticsQueryExecutor.join(recentOrdersFuture);
             
-            // Get revenue breakdown
-            List<SellerRevenueResponse.RevenuePeriod> revenueBreakdown = getRevenueBreakdown(sellerId);
+            BigDecimal revenueGrowth = calculateRevenueGrowth(monthlyRevenue, previousMonthlyRevenue);
             
-            // Get recent orders
-            List<SellerRevenueResponse.SellerOrderItem> recentOrders = getRecentSellerOrders(sellerId);
-            
-            // Calculate revenue growth (simplified)
-            BigDecimal revenueGrowth = BigDecimal.ZERO;
-            
-            log.info("Seller analytics - Books: {}, Active: {}, Revenue: {}, Sold: {}, Orders: {}", 
-                    totalBooks, activeBooks, totalRevenue, totalSoldItems, orderCount);
+            if (partial.isPartial()) {
+                log.warn("Seller analytics for {} is partial, missing: {}", sellerId, partial.getMissing());
+            }
+            log.info("Seller analytics - Active books: {}, Revenue: {}, Sold: {}, Orders: {}", 
+                    activeBooks, totalRevenue, totalSoldItems, orderCount);
             
-            return SellerRevenueResponse.builder()
+            SellerRevenueResponse response = SellerRevenueResponse.builder()
                     .sellerId(sellerId)
                     .sellerName("Seller") // TODO: Get from auth service
-                    .totalBooks(totalBooks)
+                    .totalBooks(activeBooks)
                     .totalSoldItems(totalSoldItems)
                     .totalRevenue(totalRevenue)
                     .averageOrderValue(averageOrderValue)
@@ -521,7 +790,11 @@ public class BookService {
                     .revenueBreakdown(revenueBreakdown)
                     .recentOrders(recentOrders)
                     .build();
+            response.setPartial(partial.isPartial());
+            return response;
                     
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error getting seller revenue analytics: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to get seller revenue analytics: " + e.getMessage(), e);
@@ -536,7 +809,7 @@ public class BookService {
         log.info("Getting orders for seller: {}", sellerId);
         
         try {
-            return getRecentSellerOrders(sellerId);
+            return getRecentSellerOrders(sellerId, SELLER_ORDERS_LIMIT);
         } catch (Exception e) {
             log.error("Error getting seller orders: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to get seller orders: " + e.getMessage(), e);
@@ -546,20 +819,26 @@ public class BookService {
     /**
      * Get seller dashboard stats
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> getSellerDashboardStats(UUID sellerId) {
         log.info("Getting dashboard stats for seller: {}", sellerId);
         
         try {
-            Long totalBooks = bookRepository.countBooksBySeller(sellerId);
-            Long totalSoldItems = orderItemRepository.getTotalQuantityBySellerId(sellerId);
-            BigDecimal totalRevenue = orderItemRepository.getTotalRevenueBySellerId(sellerId);
+            CompletableFuture<Long> totalBooksFuture = analyticsQueryExecutor.required("book_count",
+                    () -> bookRepository.countBooksBySeller(sellerId));
+            CompletableFuture<Map<String, Object>> totalsFuture = analyticsQueryExecutor.required("seller_lifetime_totals",
+                    () -> sellerRevenueRollupRepository.findSellerLifetimeTotals(sellerId));
+            
+            Long totalBooks = AnalyticsQueryExecutor.join(totalBooksFuture);
+            Map<String, Object> totals = AnalyticsQueryExecutor.join(totalsFuture);
             
             return Map.of(
                 "totalBooks", totalBooks != null ? totalBooks : 0L,
-                "totalSold", totalSoldItems != null ? totalSoldItems : 0L,
-                "totalRevenue", totalRevenue != null ? totalRevenue : BigDecimal.ZERO
+                "totalSold", toLong(totals.get("items_sold")),
+                "totalRevenue", toBigDecimal(totals.get("revenue"))
             );
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error getting seller dashboard stats: {}", e.getMessage(), e);
             return Map.of(
@@ -570,45 +849,47 @@ public class BookService {
         }
     }
     
+    /**
+     * Rebuild the seller revenue rollup from historical order items
+     */
+    public int rebuildSellerRevenueRollup() {
+        return sellerRevenueRollupService.backfill();
+    }
+    
     // Helper methods for revenue analytics
     
-    private List<SellerRevenueResponse.BookRevenueItem> getTopPerformingBooks(UUID sellerId) {
-        try {
-            // For now, return empty list to avoid complex queries
-            // TODO: Implement when we have more order data
-            return new ArrayList<>();
-        } catch (Exception e) {
-            log.error("Error getting top performing books: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+    private Object[] getSellerBookStats(UUID sellerId) {
+        List<Object[]> rows = bookRepository.countSellerBookStats(sellerId, LOW_STOCK_THRESHOLD);
+        return rows.isEmpty() ? new Object[2] : rows.get(0);
     }
     
-    private List<SellerRevenueResponse.RevenuePeriod> getRevenueBreakdown(UUID sellerId) {
+    private List<SellerRevenueResponse.SellerOrderItem> getRecentSellerOrders(UUID sellerId, int limit) {
         try {
-            // For now, return empty list to avoid complex queries
-            // TODO: Implement when we have more order data
-            return new ArrayList<>();
+            return sellerRevenueRollupRepository.findRecentOrderItems(sellerId, limit);
         } catch (Exception e) {
-            log.error("Error getting revenue breakdown: {}", e.getMessage());
+            log.error("Error getting recent seller orders: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
     
-    private List<SellerRevenueResponse.SellerOrderItem> getRecentSellerOrders(UUID sellerId) {
-        try {
-            // For now, return empty list to avoid complex queries
-            // TODO: Implement when we have more order data
-            return new ArrayList<>();
-        } catch (Exception e) {
-            log.error("Error getting recent seller orders: {}", e.getMessage());
-            return new ArrayList<>();
+    private BigDecimal calculateRevenueGrowth(BigDecimal currentRevenue, BigDecimal previousRevenue) {
+        if (previousRevenue.compareTo(BigDecimal.ZERO) <= 0) {
+            return currentRevenue.compareTo(BigDecimal.ZERO) > 0 ? BigDecimal.valueOf(100) : BigDecimal.ZERO;
         }
+        return currentRevenue.subtract(previousRevenue)
+                .multiply(BigDecimal.valueOf(100))
+                .divide(previousRevenue, 2, RoundingMode.HALF_UP);
     }
     
-    private BigDecimal calculateRevenueGrowth(UUID sellerId) {
-        // Simplified revenue growth calculation
-        // TODO: Implement proper month-over-month comparison
-        return BigDecimal.ZERO;
+    private static Long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+    
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return value instanceof Number ? new BigDecimal(value.toString()) : BigDecimal.ZERO;
     }
 
     /**
@@ -0,0 +1,343 @@
+package com.bookvault.book.service;
+
+import com.bookvault.book.cache.BookCache;
+import com.bookvault.book.catalog.CatalogImportReader;
+import com.bookvault.book.catalog.CatalogImportRow;
+import com.bookvault.book.dto.CatalogImportResponse;
+import com.bookvault.book.repository.CatalogImportRepository;
+import com.bookvault.book.search.BookSearchIndex;
+import com.bookvault.shared.exception.BadRequestException;
+import com.bookvault.shared.exception.BookVaultException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Bulk catalog import from the data/books.json format or CSV.
+ *
+ * The input is parsed one row at a time and written in chunks, each in its own
+ * transaction: one lookup of the chunk's stored content hashes, one JDBC batch upsert
+ * by ISBN for the rows that changed, and set-based replacement of their category links.
+ * Category names are resolved against a map loaded once per import; missing categories
+ * are created in one batch per chunk. Rows whose hash matches the stored one are skipped.
+ * A chunk the database rejects is retried row by row, so one bad row fails on its own.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportService.class);
+
+    private final CatalogImportRepository catalogImportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BookCache bookCache;
+    private final BookSearchIndex bookSearchIndex;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxFailures;
+    private final long progressLogRows;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private final Counter insertedCounter;
+    private final Counter updatedCounter;
+    private final Counter unchangedCounter;
+    private final Counter failedCounter;
+
+    // Constructor (replacing @RequiredArgsConstructor)
+    public CatalogImportService(CatalogImportRepository catalogImportRepository,
+                                TransactionTemplate transactionTemplate,
+                                BookCache bookCache,
+                                BookSearchIndex bookSearchIndex,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${bookvault.catalog-import.chunk-size:500}") int chunkSize,
+                                @Value("${bookvault.catalog-import.max-reported-failures:100}") int maxFailures,
+                                @Value("${bookvault.catalog-import.progress-log-rows:10000}") long progressLogRows) {
+        this.catalogImportRepository = catalogImportRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.bookCache = bookCache;
+        this.bookSearchIndex = bookSearchIndex;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxFailures = Math.max(0, maxFailures);
+        this.progressLogRows = Math.max(1, progressLogRows);
+        this.insertedCounter = rowCounter(meterRegistry, "inserted");
+        this.updatedCounter = rowCounter(meterRegistry, "updated");
+        this.unchangedCounter = rowCounter(meterRegistry, "unchanged");
+        this.failedCounter = rowCounter(meterRegistry, "failed");
+    }
+
+    /**
+     * Import a catalog. Only one import runs at a time. Chunks that were written before a
+     * malformed part of the input stay committed.
+     *
+     * @param sellerId seller recorded on newly created books
+     * @param progressListener receives the running totals after every chunk, may be null
+     * @throws BookVaultException with status 409 if another import is running
+     * @throws BadRequestException if the input cannot be parsed
+     */
+    public CatalogImportResponse importCatalog(CatalogImportReader.Format format, InputStream input,
+                                               UUID sellerId, Consumer<CatalogImportResponse> progressListener) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BookVaultException("A catalog import is already running", "IMPORT_RUNNING", HttpStatus.CONFLICT);
+        }
+        long start = System.nanoTime();
+        CatalogImportResponse summary = new CatalogImportResponse(format.name());
+        boolean changed = false;
+        try (CatalogImportReader reader = CatalogImportReader.open(format, input, objectMapper)) {
+            Map<String, UUID> categoryIds = catalogImportRepository.findAllCategoryIds();
+            Map<String, CatalogImportRow> chunk = new LinkedHashMap<>();
+            long nextProgressLog = progressLogRows;
+
+            Map<String, Object> values;
+            while ((values = reader.next()) != null) {
+                summary.setRowsRead(reader.getRowsRead());
+                CatalogImportRow row;
+                try {
+                    row = CatalogImportRow.of(reader.position(), values);
+                } catch (IllegalArgumentException e) {
+                    summary.addFailure(reader.position(), isbnOf(values), e.getMessage(), maxFailures);
+                    failedCounter.increment();
+                    continue;
+                }
+
+                // Within a chunk the last occurrence of an ISBN wins
+                CatalogImportRow superseded = chunk.remove(row.getIsbn());
+                if (superseded != null) {
+                    summary.addFailure(superseded.getLine(), superseded.getIsbn(),
+                            "Duplicate ISBN, superseded by row " + row.getLine(), maxFailures);
+                    failedCounter.increment();
+                }
+                chunk.put(row.getIsbn(), row);
+
+                if (chunk.size() >= chunkSize) {
+                    changed |= importChunk(chunk.values(), categoryIds, sellerId, summary);
+                    chunk.clear();
+                    reportProgress(summary, start, progressListener);
+                    if (summary.getRowsRead() >= nextProgressLog) {
+                        log.info("Catalog import: {} rows read ({} rows/s)", summary.getRowsRead(), summary.getRowsPerSecond());
+                        nextProgressLog += progressLogRows;
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                changed |= importChunk(chunk.values(), categoryIds, sellerId, summary);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Malformed " + format + " input after " + summary.getRowsRead()
+                    + " rows (earlier chunks were imported): " + e.getMessage());
+        } finally {
+            running.set(false);
+            if (changed) {
+                rebuildSearchIndex();
+            }
+        }
+
+        summary.updateTiming(start);
+        log.info("Catalog import finished: {} rows read, {} inserted, {} updated, {} unchanged, {} failed in {} ms ({} rows/s)",
+                summary.getRowsRead(), summary.getInserted(), summary.getUpdated(), summary.getUnchanged(),
+                summary.getFailed(), summary.getDurationMs(), summary.getRowsPerSecond());
+        return summary;
+    }
+
+    // Helper methods
+
+    /**
+     * Write one chunk in its own transaction. If the batch fails, the chunk is retried one
+     * row per transaction so only the rows the database rejects are reported as failed.
+     *
+     * @return whether any book was inserted or updated
+     */
+    private boolean importChunk(Collection<CatalogImportRow> rows, Map<String, UUID> categoryIds,
+                                UUID sellerId, CatalogImportResponse summary) {
+        List<CatalogImportRow> chunk = new ArrayList<>(rows);
+        try {
+            return record(writeInTransaction(chunk, categoryIds, sellerId), summary);
+        } catch (DataAccessException e) {
+            if (chunk.size() == 1) {
+                recordFailure(chunk.get(0), e, summary);
+                return false;
+            }
+            log.warn("Catalog import chunk of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+        }
+
+        boolean changed = false;
+        for (CatalogImportRow row : chunk) {
+            try {
+                changed |= record(writeInTransaction(List.of(row), categoryIds, sellerId), summary);
+            } catch (DataAccessException e) {
+                recordFailure(row, e, summary);
+            }
+        }
+        return changed;
+    }
+
+    private ChunkResult writeInTransaction(List<CatalogImportRow> chunk, Map<String, UUID> categoryIds,
+                                           UUID sellerId) {
+        resolveCategories(chunk, categoryIds);
+        return transactionTemplate.execute(status -> writeChunk(chunk, categoryIds, sellerId));
+    }
+
+    /**
+     * Add a committed chunk to the totals
+     *
+     * @return whether any book was inserted or updated
+     */
+    private boolean record(ChunkResult result, CatalogImportResponse summary) {
+        summary.addInserted(result.inserted);
+        summary.addUpdated(result.updated);
+        summary.addUnchanged(result.unchanged);
+        insertedCounter.increment(result.inserted);
+        updatedCounter.increment(result.updated);
+        unchangedCounter.increment(result.unchanged);
+        return result.inserted + result.updated > 0;
+    }
+
+    private void recordFailure(CatalogImportRow row, DataAccessException e, CatalogImportResponse summary) {
+        log.debug("Catalog import row {} (ISBN {}) failed: {}", row.getLine(), row.getIsbn(), e.getMessage());
+        summary.addFailure(row.getLine(), row.getIsbn(),
+                "Rejected by the database: " + e.getMostSpecificCause().getMessage(), maxFailures);
+        failedCounter.increment();
+    }
+
+    private ChunkResult writeChunk(List<CatalogImportRow> chunk, Map<String, UUID> categoryIds, UUID sellerId) {
+        List<String> isbns = new ArrayList<>(chunk.size());
+        for (CatalogImportRow row : chunk) {
+            isbns.add(row.getIsbn());
+        }
+        Map<String, String> storedHashes = catalogImportRepository.findImportHashes(isbns);
+
+        // OPTIMIZATION: Rows whose content hash is unchanged are never sent to the database
+        List<CatalogImportRow> changed = new ArrayList<>();
+        for (CatalogImportRow row : chunk) {
+            if (!storedHashes.containsKey(row.getIsbn())
+                    || !Objects.equals(storedHashes.get(row.getIsbn()), row.getContentHash())) {
+                changed.add(row);
+            }
+        }
+        ChunkResult result = new ChunkResult();
+        result.unchanged = chunk.size() - changed.size();
+        if (changed.isEmpty()) {
+            return result;
+        }
+
+        boolean[] written = catalogImportRepository.upsertBooks(changed, sellerId);
+        List<CatalogImportRow> writtenRows = new ArrayList<>(changed.size());
+        for (int i = 0; i < written.length; i++) {
+            if (written[i]) {
+                writtenRows.add(changed.get(i));
+            } else {
+                result.unchanged++; // a concurrent import stored the same content
+            }
+        }
+        if (writtenRows.isEmpty()) {
+            return result;
+        }
+
+        List<String> writtenIsbns = new ArrayList<>(writtenRows.size());
+        for (CatalogImportRow row : writtenRows) {
+            writtenIsbns.add(row.getIsbn());
+        }
+        Map<String, UUID> bookIds = catalogImportRepository.findIdsByIsbn(writtenIsbns);
+
+        Map<UUID, List<UUID>> links = new LinkedHashMap<>();
+        List<UUID> updatedIds = new ArrayList<>();
+        for (CatalogImportRow row : writtenRows) {
+            UUID bookId = bookIds.get(row.getIsbn());
+            if (bookId == null) {
+                continue;
+            }
+            List<UUID> rowCategoryIds = new ArrayList<>(row.getCategoryNames().size());
+            for (String name : row.getCategoryNames()) {
+                rowCategoryIds.add(categoryIds.get(name));
+            }
+            links.put(bookId, rowCategoryIds);
+            if (storedHashes.containsKey(row.getIsbn())) {
+                updatedIds.add(bookId);
+                result.updated++;
+            } else {
+                result.inserted++;
+            }
+        }
+        catalogImportRepository.replaceBookCategories(links);
+        bookCache.invalidateAll(updatedIds);
+        return result;
+    }
+
+    /**
+     * Create the chunk's unknown categories in one batch, outside the chunk transaction so
+     * the shared name-to-id map never points at a rolled-back category
+     */
+    private void resolveCategories(List<CatalogImportRow> chunk, Map<String, UUID> categoryIds) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (CatalogImportRow row : chunk) {
+            for (String name : row.getCategoryNames()) {
+                if (!categoryIds.containsKey(name)) {
+                    missing.add(name);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            categoryIds.putAll(catalogImportRepository.createCategories(missing));
+        }
+    }
+
+    private void reportProgress(CatalogImportResponse summary, long start,
+                                Consumer<CatalogImportResponse> progressListener) {
+        summary.updateTiming(start);
+        if (progressListener != null) {
+            progressListener.accept(summary);
+        }
+    }
+
+    private void rebuildSearchIndex() {
+        CompletableFuture.runAsync(bookSearchIndex::rebuild)
+                .exceptionally(e -> {
+                    log.error("Failed to rebuild book search index after catalog import: {}", e.getMessage(), e);
+                    return null;
+                });
+    }
+
+    private static String isbnOf(Map<String, Object> values) {
+        Object isbn = values.get("isbn");
+        return isbn != null ? isbn.toString() : null;
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("bookvault.catalog.import.rows")
+                .description("Catalog import rows by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Row counts of one committed chunk
+     */
+    private static class ChunkResult {
+        private long inserted;
+        private long updated;
+        private long unchanged;
+    }
+}
@@ -1,22 +1,34 @@
 package com.bookvault.book.service;
 
+import com.bookvault.book.cache.BookCache;
 import com.bookvault.book.dto.*;
 import com.bookvault.book.model.*;
 import com.bookvault.book.repository.*;
 import com.bookvault.shared.exception.BadRequestException;
 import com.bookvault.shared.exception.NotFoundException;
+import com.bookvault.shared.util.OrderNumberGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -29,34 +41,103 @@ public class OrderService {
     
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
     
+    // Widths of the order_items snapshot columns (and of the OrderItem @Size limits)
+    private static final int SNAPSHOT_TEXT_LENGTH = 255;
+    private static final int SNAPSHOT_IMAGE_URL_LENGTH = 500;
+    
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final BookRepository bookRepository;
+    private final BookStockRepository bookStockRepository;
+    private final BookCache bookCache;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final SellerRevenueRollupService sellerRevenueRollupService;
+    private final TransactionTemplate transactionTemplate;
+    
+    // Bounded retry for orders that hit a lock conflict on contended book rows
+    private final int stockRetryMaxAttempts;
+    private final long stockRetryInitialBackoffMs;
+    private final long stockRetryMaxBackoffMs;
+    private final Counter stockRetryCounter;
+    private final Counter stockRetryExhaustedCounter;
+    private final Counter stockRejectedCounter;
     
     public OrderService(OrderRepository orderRepository, 
                        OrderItemRepository orderItemRepository,
-                       BookRepository bookRepository) {
+                       BookRepository bookRepository,
+                       BookStockRepository bookStockRepository,
+                       BookCache bookCache,
+                       OrderNumberGenerator orderNumberGenerator,
+                       SellerRevenueRollupService sellerRevenueRollupService,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${bookvault.orders.stock-retry.max-attempts:4}") int stockRetryMaxAttempts,
+                       @Value("${bookvault.orders.stock-retry.initial-backoff-ms:20}") long stockRetryInitialBackoffMs,
+                       @Value("${bookvault.orders.stock-retry.max-backoff-ms:200}") long stockRetryMaxBackoffMs) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.bookRepository = bookRepository;
+        this.bookStockRepository = bookStockRepository;
+        this.bookCache = bookCache;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.sellerRevenueRollupService = sellerRevenueRollupService;
+        this.transactionTemplate = transactionTemplate;
+        this.stockRetryMaxAttempts = Math.max(1, stockRetryMaxAttempts);
+        this.stockRetryInitialBackoffMs = stockRetryInitialBackoffMs;
+        this.stockRetryMaxBackoffMs = stockRetryMaxBackoffMs;
+        this.stockRetryCounter = Counter.builder("bookvault.orders.stock.retries")
+                .description("Order placements retried after a stock lock conflict")
+                .register(meterRegistry);
+        this.stockRetryExhaustedCounter = Counter.builder("bookvault.orders.stock.retries.exhausted")
+                .description("Order placements that still conflicted after the last retry")
+                .register(meterRegistry);
+        this.stockRejectedCounter = Counter.builder("bookvault.orders.stock.rejected")
+                .description("Order placements rejected because a book had insufficient stock")
+                .register(meterRegistry);
     }
     
     /**
-     * Create a new order with comprehensive inventory validation and management
+     * Create a new order with comprehensive inventory validation and management.
+     * Each attempt runs in its own transaction; attempts that fail on a lock
+     * conflict are retried with exponential backoff and jitter.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponse createOrder(UUID userId, CreateOrderRequest request) {
         log.info("Creating order for user: {}", userId);
         
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> placeOrder(userId, request));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= stockRetryMaxAttempts) {
+                    stockRetryExhaustedCounter.increment();
+                    log.error("Giving up on order for user {} after {} conflicting attempts", userId, attempt, e);
+                    throw new BadRequestException("Failed to create order: books in your cart are being updated, please try again");
+                }
+                stockRetryCounter.increment();
+                log.warn("Stock conflict creating order for user {} (attempt {}/{}): {}", 
+                    userId, attempt, stockRetryMaxAttempts, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+    
+    /**
+     * Single order placement attempt, runs inside the transaction opened by {@link #createOrder}
+     */
+    private OrderResponse placeOrder(UUID userId, CreateOrderRequest request) {
         try {
             // Validate request
             validateOrderRequest(request);
             
+            // Load every referenced book in one query
+            Map<UUID, Book> books = loadBooks(request.getItems());
+            
             // Generate unique order number
             String orderNumber = generateOrderNumber();
             
-            // Calculate total amount from items
-            BigDecimal totalAmount = calculateTotalAmount(request.getItems());
+            // Calculate total amount from catalog prices
+            BigDecimal totalAmount = calculateTotalAmount(request.getItems(), books);
             
             // Create order
             Order order = Order.builder()
@@ -84,7 +165,11 @@ public class OrderService {
             Order savedOrder = orderRepository.save(order);
             
             // Process order items with inventory management
-            processOrderItems(savedOrder, request.getItems());
+            processOrderItems(savedOrder, request.getItems(), books);
+            
+            // Add the order to the seller revenue rollup
+            sellerRevenueRollupService.recordOrderPlaced(savedOrder, books.values().stream()
+                    .collect(Collectors.toMap(Book::getId, Book::getSellerId)));
             
             // Save order with items
             savedOrder = orderRepository.save(savedOrder);
@@ -93,6 +178,9 @@ public class OrderService {
             
             return mapToOrderResponse(savedOrder);
             
+        } catch (ConcurrencyFailureException e) {
+            // Let createOrder decide whether to retry
+            throw e;
         } catch (Exception e) {
             log.error("Failed to create order for user: {}", userId, e);
             throw new BadRequestException("Failed to create order: " + e.getMessage());
@@ -241,6 +329,7 @@ public class OrderService {
         
         // Restore stock for cancelled order
         restoreStockForOrder(order);
+        sellerRevenueRollupService.recordOrderReversed(order);
         
         Order savedOrder = orderRepository.save(order);
         
@@ -337,27 +426,27 @@ public class OrderService {
      * Generate unique order number
      */
     private String generateOrderNumber() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String randomSuffix = String.valueOf((int) (Math.random() * 1000));
-        return "BV-" + timestamp + "-" + String.format("%03d", Integer.parseInt(randomSuffix));
+        return orderNumberGenerator.nextOrderNumber("BV-");
     }
     
     /**
      * Generate tracking number
      */
     private String generateTrackingNumber() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String randomSuffix = String.valueOf((int) (Math.random() * 100000));
-        return "TRK-" + timestamp + "-" + String.format("%05d", Integer.parseInt(randomSuffix));
+        return orderNumberGenerator.nextTrackingNumber();
     }
     
     /**
-     * Calculate total amount from order items
+     * Calculate total amount from order items, priced from the catalog.
+     * No item discounts exist on the server side, so none are subtracted.
      */
-    private BigDecimal calculateTotalAmount(List<OrderItemRequest> items) {
-        return items.stream()
-                .map(OrderItemRequest::getFinalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private BigDecimal calculateTotalAmount(List<OrderItemRequest> items, Map<UUID, Book> books) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItemRequest item : items) {
+            total = total.add(books.get(item.getBookId()).getPrice()
+                    .multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        return total;
     }
     
     /**
@@ -430,6 +519,7 @@ public class OrderService {
         if ((newStatus == OrderStatus.CANCELLED || newStatus == OrderStatus.RETURNED) && 
             oldStatus != OrderStatus.CANCELLED && oldStatus != OrderStatus.RETURNED) {
             restoreStockForOrder(order);
+            sellerRevenueRollupService.recordOrderReversed(order);
             log.info("Restored stock for order {} due to status change from {} to {}", 
                 order.getOrderNumber(), oldStatus, newStatus);
         }
@@ -444,8 +534,16 @@ public class OrderService {
      * Validate that all items in the order still have sufficient stock
      */
     private void validateOrderStockAvailability(Order order) {
+        // Lock the rows (in ID order) so stock cannot drop between the check and the confirmation
+        List<UUID> bookIds = order.getOrderItems().stream()
+                .map(OrderItem::getBookId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<UUID, Book> books = bookRepository.findAllByIdForUpdate(bookIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        
         for (OrderItem item : order.getOrderItems()) {
-            Book book = bookRepository.findById(item.getBookId()).orElse(null);
+            Book book = books.get(item.getBookId());
             if (book != null) {
                 if (!book.getIsActive()) {
                     throw new BadRequestException("Book is no longer available: " + book.getTitle());
@@ -464,21 +562,25 @@ public class OrderService {
      * Restore stock for cancelled/returned order
      */
     private void restoreStockForOrder(Order order) {
+        // Sorted by book ID so concurrent restores lock rows in the same order
+        Map<UUID, Integer> quantities = new TreeMap<>();
         for (OrderItem item : order.getOrderItems()) {
-            Book book = bookRepository.findById(item.getBookId()).orElse(null);
-            if (book != null) {
-                try {
-                    book.incrementStock(item.getQuantity());
-                    bookRepository.save(book);
-                    log.info("Restored {} units of book {} to stock (new total: {})", 
-                        item.getQuantity(), book.getTitle(), book.getStockQuantity());
-                } catch (Exception e) {
-                    log.error("Failed to restore stock for book: {}", book.getTitle(), e);
-                    throw new BadRequestException("Failed to restore stock for book: " + book.getTitle());
-                }
-            } else {
-                log.warn("Book not found for order item: {}", item.getBookId());
+            quantities.merge(item.getBookId(), item.getQuantity(), Integer::sum);
+        }
+        if (quantities.isEmpty()) {
+            return;
+        }
+        
+        try {
+            List<UUID> missing = bookStockRepository.incrementStock(quantities);
+            for (UUID bookId : missing) {
+                log.warn("Book not found for order item: {}", bookId);
             }
+            bookCache.invalidateAll(quantities.keySet());
+            log.info("Restored stock for {} books of order {}", quantities.size() - missing.size(), order.getOrderNumber());
+        } catch (Exception e) {
+            log.error("Failed to restore stock for order: {}", order.getOrderNumber(), e);
+            throw new BadRequestException("Failed to restore stock for order: " + order.getOrderNumber());
         }
     }
 
@@ -504,45 +606,29 @@ public class OrderService {
         }
     }
 
-    /**
-     * Update book stock with proper error handling
-     */
-    private void updateBookStock(Book book, int quantity) {
-        try {
-            book.decrementStock(quantity);
-            bookRepository.save(book);
-            log.info("Updated stock for book {}: {} -> {}", 
-                book.getTitle(), 
-                book.getStockQuantity() + quantity, 
-                book.getStockQuantity());
-        } catch (Exception e) {
-            log.error("Failed to update stock for book: {}", book.getTitle(), e);
-            throw new BadRequestException("Failed to update book stock: " + e.getMessage());
-        }
-    }
-
     /**
      * Process order items with comprehensive inventory validation and management
      */
-    private void processOrderItems(Order order, List<OrderItemRequest> items) {
+    private void processOrderItems(Order order, List<OrderItemRequest> items, Map<UUID, Book> books) {
+        // Sorted by book ID so concurrent orders lock rows in the same order
+        Map<UUID, Integer> quantities = new TreeMap<>();
+        
         for (OrderItemRequest itemRequest : items) {
-            // Verify book exists and has sufficient stock
-            Book book = bookRepository.findById(itemRequest.getBookId())
-                    .orElseThrow(() -> new NotFoundException("Book not found: " + itemRequest.getBookId()));
+            Book book = books.get(itemRequest.getBookId());
             
             // Validate book availability
             validateBookAvailability(book, itemRequest.getQuantity());
             
-            // Create order item
+            // Create order item, snapshotting book details and price from the catalog
             OrderItem orderItem = OrderItem.builder()
-                    .bookId(itemRequest.getBookId())
-                    .bookTitle(itemRequest.getBookTitle())
-                    .bookAuthor(itemRequest.getBookAuthor())
-                    .bookIsbn(itemRequest.getBookIsbn())
-                    .bookImageUrl(itemRequest.getBookImageUrl())
+                    .bookId(book.getId())
+                    .bookTitle(truncate(book.getTitle(), SNAPSHOT_TEXT_LENGTH))
+                    .bookAuthor(truncate(book.getAuthor(), SNAPSHOT_TEXT_LENGTH))
+                    .bookIsbn(book.getIsbn())
+                    .bookImageUrl(coverImageUrl(book))
                     .quantity(itemRequest.getQuantity())
-                    .unitPrice(itemRequest.getUnitPrice())
-                    .discountAmount(itemRequest.getDiscountAmount())
+                    .unitPrice(book.getPrice())
+                    .discountAmount(BigDecimal.ZERO)
                     .build();
             
             // Calculate prices
@@ -551,8 +637,78 @@ public class OrderService {
             // Associate with order
             order.addOrderItem(orderItem);
             
-            // Update book stock with proper error handling
-            updateBookStock(book, itemRequest.getQuantity());
+            quantities.merge(itemRequest.getBookId(), itemRequest.getQuantity(), Integer::sum);
+        }
+        
+        reserveStock(quantities, books);
+    }
+    
+    // Book title and author are VARCHAR(255) like the snapshot columns; this only guards rows
+    // written before that limit was enforced
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+    
+    // The catalog cover URL is TEXT; a cut-off URL would be broken, so one that does not fit is left out
+    private static String coverImageUrl(Book book) {
+        String url = book.getCoverImageUrl();
+        if (url != null && url.length() > SNAPSHOT_IMAGE_URL_LENGTH) {
+            log.warn("Cover image URL of book {} is {} characters, longer than the {} an order item stores; leaving it out",
+                    book.getId(), url.length(), SNAPSHOT_IMAGE_URL_LENGTH);
+            return null;
+        }
+        return url;
+    }
+    
+    /**
+     * Load all books referenced by the cart in a single query
+     */
+    private Map<UUID, Book> loadBooks(List<OrderItemRequest> items) {
+        Set<UUID> bookIds = items.stream()
+                .map(OrderItemRequest::getBookId)
+                .collect(Collectors.toSet());
+        Map<UUID, Book> books = bookRepository.findAllById(bookIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        
+        for (UUID bookId : bookIds) {
+            if (!books.containsKey(bookId)) {
+                throw new NotFoundException("Book not found: " + bookId);
+            }
+        }
+        return books;
+    }
+    
+    /**
+     * Reserve stock for the whole cart with guarded UPDATEs in one batch.
+     * The update row counts are authoritative; the checks above only reject
+     * obviously unavailable books early.
+     */
+    private void reserveStock(Map<UUID, Integer> quantities, Map<UUID, Book> books) {
+        List<UUID> rejected = bookStockRepository.decrementStock(quantities);
+        if (!rejected.isEmpty()) {
+            stockRejectedCounter.increment();
+            UUID bookId = rejected.get(0);
+            Integer available = bookStockRepository.findStockQuantity(bookId);
+            String title = books.containsKey(bookId) ? books.get(bookId).getTitle() : bookId.toString();
+            // Throwing rolls back the reservations already made in this batch
+            throw new BadRequestException(
+                String.format("Insufficient stock for book: %s. Available: %d, Requested: %d", 
+                    title, available != null ? available : 0, quantities.get(bookId))
+            );
+        }
+        
+        bookCache.invalidateAll(quantities.keySet());
+        log.info("Reserved stock for {} books", quantities.size());
+    }
+    
+    private void backoff(int attempt) {
+        long ceiling = Math.min(stockRetryMaxBackoffMs, stockRetryInitialBackoffMs << Math.min(attempt - 1, 16));
+        long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BadRequestException("Failed to create order: interrupted while retrying");
         }
     }
 
@@ -580,8 +736,9 @@ public class OrderService {
             if (item.getQuantity() == null || item.getQuantity() <= 0) {
                 throw new BadRequestException("Quantity must be greater than 0 for all items");
             }
-            if (item.getUnitPrice() == null || item.getUnitPrice().compareTo(BigDecimal.ZERO) <= 0) {
-                throw new BadRequestException("Unit price must be greater than 0 for all items");
+            // Prices and discounts come from the catalog, never from the client
+            if (item.getDiscountAmount() != null && item.getDiscountAmount().signum() != 0) {
+                throw new BadRequestException("Item discounts are not accepted; discountAmount must be omitted or 0");
             }
         }
     }
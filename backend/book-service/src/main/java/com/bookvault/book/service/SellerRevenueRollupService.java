@@ -0,0 +1,185 @@
+package com.bookvault.book.service;
+
+import com.bookvault.book.model.Order;
+import com.bookvault.book.model.OrderItem;
+import com.bookvault.book.repository.SellerRevenueRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maintains the seller_book_daily_revenue rollup.
+ *
+ * Order placement adds an order's lines to the rollup and cancellation or return
+ * subtracts them again, both inside the order's transaction. {@link #backfill()}
+ * rebuilds the table from historical order_items in parallel day-range chunks.
+ */
+@Service
+public class SellerRevenueRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SellerRevenueRollupService.class);
+
+    private final SellerRevenueRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int backfillChunkDays;
+    private final int backfillThreads;
+    private final boolean backfillOnStartup;
+
+    private final AtomicBoolean backfillRunning = new AtomicBoolean(false);
+
+    public SellerRevenueRollupService(SellerRevenueRollupRepository rollupRepository,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${bookvault.analytics.rollup.backfill-chunk-days:30}") int backfillChunkDays,
+                                      @Value("${bookvault.analytics.rollup.backfill-threads:4}") int backfillThreads,
+                                      @Value("${bookvault.analytics.rollup.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.backfillChunkDays = Math.max(1, backfillChunkDays);
+        this.backfillThreads = Math.max(1, backfillThreads);
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    /**
+     * Add a newly placed order to the rollup
+     *
+     * @param sellerIdsByBookId seller of every book in the order
+     */
+    public void recordOrderPlaced(Order order, Map<UUID, UUID> sellerIdsByBookId) {
+        applyOrder(order, sellerIdsByBookId, 1);
+    }
+
+    /**
+     * Remove a cancelled or returned order from the rollup
+     */
+    public void recordOrderReversed(Order order) {
+        List<UUID> bookIds = new ArrayList<>();
+        for (OrderItem item : order.getOrderItems()) {
+            bookIds.add(item.getBookId());
+        }
+        applyOrder(order, rollupRepository.findSellerIdsByBookIds(bookIds), -1);
+    }
+
+    /**
+     * Build the rollup on startup when it is empty but orders already exist,
+     * e.g. right after the table was introduced
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            if (rollupRepository.isEmpty() && rollupRepository.findOrderDateRange() != null) {
+                backfill();
+            }
+        }).exceptionally(e -> {
+            log.error("Failed to backfill seller revenue rollup: {}", e.getMessage(), e);
+            return null;
+        });
+    }
+
+    /**
+     * Rebuild the whole rollup from order_items.
+     * The order history is split into day ranges that are recomputed in parallel,
+     * each in its own transaction, so a failed chunk can simply be re-run.
+     *
+     * @return number of rollup rows written, or -1 if a backfill is already running
+     */
+    public int backfill() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            log.warn("Seller revenue backfill already running");
+            return -1;
+        }
+
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(backfillThreads);
+        try {
+            LocalDateTime[] range = rollupRepository.findOrderDateRange();
+            if (range == null) {
+                return 0;
+            }
+
+            LocalDate first = range[0].toLocalDate();
+            LocalDate end = range[1].toLocalDate().plusDays(1);
+            AtomicInteger rows = new AtomicInteger();
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (LocalDate from = first; from.isBefore(end); from = from.plusDays(backfillChunkDays)) {
+                LocalDate chunkFrom = from;
+                LocalDate chunkTo = from.plusDays(backfillChunkDays).isBefore(end) ? from.plusDays(backfillChunkDays) : end;
+                chunks.add(CompletableFuture.runAsync(() -> {
+                    Integer written = transactionTemplate.execute(status -> rollupRepository.rebuildRange(chunkFrom, chunkTo));
+                    rows.addAndGet(written != null ? written : 0);
+                }, executor));
+            }
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+
+            log.info("Seller revenue rollup rebuilt: {} rows from {} chunks in {} ms",
+                    rows.get(), chunks.size(), System.currentTimeMillis() - start);
+            return rows.get();
+        } finally {
+            executor.shutdown();
+            backfillRunning.set(false);
+        }
+    }
+
+    // Helper methods
+
+    private void applyOrder(Order order, Map<UUID, UUID> sellerIdsByBookId, int sign) {
+        if (order.getOrderItems() == null || order.getOrderItems().isEmpty()) {
+            return;
+        }
+        LocalDate revenueDate = order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate() : LocalDate.now();
+
+        // Aggregate the order's lines per book
+        Map<UUID, BigDecimal> revenueByBook = new LinkedHashMap<>();
+        Map<UUID, Long> quantityByBook = new HashMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            if (!sellerIdsByBookId.containsKey(item.getBookId())) {
+                log.warn("Skipping rollup for order {} item with unknown book {}", order.getOrderNumber(), item.getBookId());
+                continue;
+            }
+            BigDecimal finalPrice = item.getFinalPrice() != null ? item.getFinalPrice() : BigDecimal.ZERO;
+            revenueByBook.merge(item.getBookId(), finalPrice, BigDecimal::add);
+            quantityByBook.merge(item.getBookId(), (long) item.getQuantity(), Long::sum);
+        }
+
+        // Attribute the order to one book per seller, matching the backfill query
+        Map<UUID, String> firstBookKeyBySeller = new HashMap<>();
+        for (UUID bookId : revenueByBook.keySet()) {
+            firstBookKeyBySeller.merge(sellerIdsByBookId.get(bookId), bookId.toString(),
+                    (a, b) -> a.compareTo(b) <= 0 ? a : b);
+        }
+
+        List<SellerRevenueRollupRepository.Delta> deltas = new ArrayList<>(revenueByBook.size());
+        for (Map.Entry<UUID, BigDecimal> entry : revenueByBook.entrySet()) {
+            UUID bookId = entry.getKey();
+            UUID sellerId = sellerIdsByBookId.get(bookId);
+            boolean attributed = bookId.toString().equals(firstBookKeyBySeller.get(sellerId));
+            deltas.add(new SellerRevenueRollupRepository.Delta(sellerId, bookId, revenueDate,
+                    sign > 0 ? entry.getValue() : entry.getValue().negate(),
+                    sign * quantityByBook.get(bookId),
+                    sign,
+                    attributed ? sign : 0));
+        }
+        rollupRepository.applyDeltas(deltas);
+    }
+}
@@ -0,0 +1,40 @@
+package com.bookvault.book.util;
+
+import com.bookvault.shared.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class to encode and decode opaque keyset pagination cursors.
+ * A cursor is the URL-safe Base64 form of the last row's sort key parts and id.
+ */
+public class CursorUtil {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    public static String encode(String... parts) {
+        String raw = VERSION + SEPARATOR + String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into its parts, rejecting cursors that are malformed or
+     * were issued for a sort with a different number of key parts
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] tokens = raw.split("\\" + SEPARATOR, -1);
+            if (tokens.length != expectedParts + 1 || !VERSION.equals(tokens[0])) {
+                throw new BadRequestException("Invalid pagination cursor");
+            }
+            String[] parts = new String[expectedParts];
+            System.arraycopy(tokens, 1, parts, 0, expectedParts);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+}
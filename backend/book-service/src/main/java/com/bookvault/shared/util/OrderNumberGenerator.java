@@ -0,0 +1,141 @@
+package com.bookvault.shared.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style generator for order and tracking numbers.
+ *
+ * Each ID packs 41 bits of milliseconds since 2024-01-01, a 10 bit node ID and
+ * a 12 bit per-millisecond sequence, so IDs are unique across nodes and sort by
+ * creation time. The sequence is advanced with a CAS loop (no locks); when it
+ * overflows, or the clock moves backwards, the generator keeps counting on its
+ * last timestamp instead of waiting. IDs are rendered as 13 Crockford base32
+ * characters, e.g. {@code BV-0J8Z3K6M1P2QR}.
+ *
+ * The node ID comes from {@code bookvault.id-generator.node-id} and must be unique
+ * among all instances writing to the same table. Startup fails when it is unset,
+ * unless {@code bookvault.id-generator.allow-derived-node-id} is true: then it is
+ * hashed from the Eureka instance ID or host name and process ID, which can collide
+ * and is only meant for a single local instance.
+ */
+@Component
+public class OrderNumberGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderNumberGenerator.class);
+
+    // 2024-01-01T00:00:00Z
+    private static final long EPOCH_MS = 1704067200000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] CROCKFORD_BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final int nodeId;
+    private final LongSupplier clock;
+
+    // Last issued (timestamp << SEQUENCE_BITS | sequence)
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public OrderNumberGenerator(
+            @Value("${bookvault.id-generator.node-id:-1}") int configuredNodeId,
+            @Value("${bookvault.id-generator.allow-derived-node-id:false}") boolean allowDerivedNodeId,
+            @Value("${eureka.instance.instance-id:}") String instanceId) {
+        this(resolveNodeId(configuredNodeId, allowDerivedNodeId, instanceId), System::currentTimeMillis);
+    }
+
+    OrderNumberGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+        log.info("Order number generator using node ID {}", nodeId);
+    }
+
+    /**
+     * Next order number with the given prefix, e.g. {@code "BV-"}
+     */
+    public String nextOrderNumber(String prefix) {
+        return render(prefix, nextId());
+    }
+
+    public String nextTrackingNumber() {
+        return render("TRK-", nextId());
+    }
+
+    /**
+     * Next time-ordered 63 bit ID
+     */
+    public long nextId() {
+        long now = clock.getAsLong() - EPOCH_MS;
+        while (true) {
+            long last = state.get();
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                // Same millisecond, clock went backwards, or sequence overflowed into the next millisecond
+                next = last + 1;
+            }
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS))
+                        | ((long) nodeId << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    // Helper methods
+
+    private static String render(String prefix, long id) {
+        int prefixLength = prefix.length();
+        char[] chars = new char[prefixLength + ENCODED_LENGTH];
+        prefix.getChars(0, prefixLength, chars, 0);
+        for (int i = chars.length - 1; i >= prefixLength; i--) {
+            chars[i] = CROCKFORD_BASE32[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static int resolveNodeId(int configuredNodeId, boolean allowDerivedNodeId, String instanceId) {
+        if (configuredNodeId >= 0) {
+            return configuredNodeId;
+        }
+        if (!allowDerivedNodeId) {
+            throw new IllegalStateException("bookvault.id-generator.node-id is not set: give every instance that "
+                    + "writes orders a unique node ID between 0 and " + MAX_NODE_ID);
+        }
+        int derived = deriveNodeId(instanceId);
+        log.warn("No order number node ID configured, derived {} from the host; instances may collide", derived);
+        return derived;
+    }
+
+    private static int deriveNodeId(String instanceId) {
+        String source = instanceId;
+        if (source == null || source.isEmpty()) {
+            try {
+                source = InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName();
+            } catch (Exception e) {
+                source = ManagementFactory.getRuntimeMXBean().getName();
+            }
+        }
+        return (source.hashCode() & 0x7fffffff) % (MAX_NODE_ID + 1);
+    }
+}
@@ -0,0 +1,139 @@
+-- Baseline schema for book-service.
+-- Matches the tables previously generated by Hibernate (ddl-auto: update), so every
+-- statement is IF NOT EXISTS and this script is a no-op on an existing database.
+-- orders and order_items are shared with order-service; keep both definitions identical.
+
+CREATE TABLE IF NOT EXISTS categories (
+    id          UUID         NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    version     BIGINT,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    is_active   BOOLEAN      NOT NULL,
+    CONSTRAINT pk_categories PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS books (
+    id              UUID          NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    updated_at      TIMESTAMP(6)  NOT NULL,
+    version         BIGINT,
+    title           VARCHAR(255)  NOT NULL,
+    author          VARCHAR(255)  NOT NULL,
+    isbn            VARCHAR(20),
+    description     TEXT,
+    price           NUMERIC(10,2) NOT NULL,
+    published_date  DATE,
+    cover_image_url TEXT,
+    stock_quantity  INTEGER       NOT NULL,
+    seller_id       UUID          NOT NULL,
+    is_active       BOOLEAN       NOT NULL,
+    rating          NUMERIC(3,2),
+    review_count    INTEGER,
+    language        VARCHAR(50),
+    page_count      INTEGER,
+    publisher       VARCHAR(255),
+    CONSTRAINT pk_books PRIMARY KEY (id),
+    CONSTRAINT uk_books_isbn UNIQUE (isbn)
+);
+
+CREATE TABLE IF NOT EXISTS book_categories (
+    id          UUID         NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    version     BIGINT,
+    book_id     UUID         NOT NULL,
+    category_id UUID         NOT NULL,
+    is_primary  BOOLEAN      NOT NULL,
+    CONSTRAINT pk_book_categories PRIMARY KEY (id),
+    CONSTRAINT uk_book_categories_book_category UNIQUE (book_id, category_id),
+    CONSTRAINT fk_book_categories_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_book_categories_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+
+CREATE TABLE IF NOT EXISTS book_reviews (
+    id                   UUID         NOT NULL,
+    created_at           TIMESTAMP(6) NOT NULL,
+    updated_at           TIMESTAMP(6) NOT NULL,
+    version              BIGINT,
+    book_id              UUID         NOT NULL,
+    user_id              UUID         NOT NULL,
+    rating               NUMERIC(2,1) NOT NULL,
+    title                VARCHAR(255),
+    comment              TEXT,
+    is_verified_purchase BOOLEAN      NOT NULL,
+    helpful_count        INTEGER,
+    is_approved          BOOLEAN      NOT NULL,
+    CONSTRAINT pk_book_reviews PRIMARY KEY (id),
+    CONSTRAINT uk_book_reviews_book_user UNIQUE (book_id, user_id),
+    CONSTRAINT fk_book_reviews_book FOREIGN KEY (book_id) REFERENCES books (id)
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id                      UUID          NOT NULL,
+    created_at              TIMESTAMP(6)  NOT NULL,
+    updated_at              TIMESTAMP(6)  NOT NULL,
+    version                 BIGINT,
+    user_id                 UUID          NOT NULL,
+    order_number            VARCHAR(255)  NOT NULL,
+    status                  VARCHAR(255)  NOT NULL,
+    total_amount            NUMERIC(10,2) NOT NULL,
+    shipping_cost           NUMERIC(10,2),
+    tax_amount              NUMERIC(10,2),
+    discount_amount         NUMERIC(10,2),
+    final_amount            NUMERIC(10,2) NOT NULL,
+    shipping_address        VARCHAR(255),
+    shipping_city           VARCHAR(255),
+    shipping_state          VARCHAR(255),
+    shipping_postal_code    VARCHAR(255),
+    shipping_country        VARCHAR(255),
+    payment_method          VARCHAR(255),
+    payment_status          VARCHAR(255),
+    payment_transaction_id  VARCHAR(255),
+    customer_email          VARCHAR(255),
+    customer_phone          VARCHAR(255),
+    customer_name           VARCHAR(255),
+    tracking_number         VARCHAR(255),
+    estimated_delivery_date TIMESTAMP(6),
+    delivered_at            TIMESTAMP(6),
+    cancelled_at            TIMESTAMP(6),
+    cancellation_reason     VARCHAR(255),
+    order_notes             VARCHAR(255),
+    CONSTRAINT pk_orders PRIMARY KEY (id),
+    CONSTRAINT uk_orders_order_number UNIQUE (order_number)
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id              UUID          NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    updated_at      TIMESTAMP(6)  NOT NULL,
+    version         BIGINT,
+    order_id        UUID          NOT NULL,
+    book_id         UUID          NOT NULL,
+    book_title      VARCHAR(255)  NOT NULL,
+    book_author     VARCHAR(255),
+    book_isbn       VARCHAR(255),
+    book_image_url  VARCHAR(255),
+    quantity        INTEGER       NOT NULL,
+    unit_price      NUMERIC(10,2) NOT NULL,
+    total_price     NUMERIC(10,2),
+    discount_amount NUMERIC(10,2),
+    final_price     NUMERIC(10,2),
+    CONSTRAINT pk_order_items PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
+
+CREATE TABLE IF NOT EXISTS seller_book_daily_revenue (
+    seller_id     UUID          NOT NULL,
+    book_id       UUID          NOT NULL,
+    revenue_date  DATE          NOT NULL,
+    revenue       NUMERIC(14,2) NOT NULL,
+    items_sold    BIGINT        NOT NULL,
+    order_lines   BIGINT        NOT NULL,
+    seller_orders BIGINT        NOT NULL,
+    CONSTRAINT pk_seller_book_daily_revenue PRIMARY KEY (seller_id, book_id, revenue_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_seller_revenue_seller_date ON seller_book_daily_revenue (seller_id, revenue_date);
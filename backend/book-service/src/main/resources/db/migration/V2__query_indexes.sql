@@ -0,0 +1,58 @@
+-- Indexes for the queries in BookRepository, OrderRepository, OrderItemRepository
+-- and the JDBC repositories. Catalog listings only ever read active books, so those
+-- indexes are partial on is_active = true and skip deactivated rows entirely.
+-- Expression indexes must match the ORDER BY / keyset expressions in BookRepository exactly.
+--
+-- Indexes are built CONCURRENTLY (see V2__query_indexes.sql.conf), so existing tables stay
+-- writable while they build. If the migration fails part way, an index can be left INVALID
+-- and IF NOT EXISTS would skip it: drop it before running the migration again.
+
+-- ========== BOOKS ==========
+
+-- Seller dashboards, seller listings and the seller join in revenue queries
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_books_seller_id ON books (seller_id);
+
+-- Newest books (offset and keyset pages): WHERE is_active ORDER BY created_at DESC, id DESC
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_books_active_created
+    ON books (created_at DESC, id DESC) WHERE is_active = true;
+
+-- Top rated books keyset: ORDER BY COALESCE(rating, 0) DESC, COALESCE(review_count, 0) DESC, id DESC
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_books_active_top_rated
+    ON books ((COALESCE(rating, 0)) DESC, (COALESCE(review_count, 0)) DESC, id DESC) WHERE is_active = true;
+
+-- Featured books keyset: popularity score DESC, id DESC
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_books_active_featured
+    ON books ((COALESCE(review_count, 0) * 0.7 + COALESCE(rating, 0) * 30) DESC, id DESC) WHERE is_active = true;
+
+-- Author, price range and stock filters on the active catalog
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_books_active_author ON books (author) WHERE is_active = true;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_books_active_price ON books (price) WHERE is_active = true;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_books_active_stock ON books (stock_quantity) WHERE is_active = true;
+
+-- ========== CATEGORIES ==========
+
+-- Books by category: the unique (book_id, category_id) constraint only serves lookups by book
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_categories_category_book ON book_categories (category_id, book_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_book_reviews_user_id ON book_reviews (user_id);
+
+-- ========== ORDERS ==========
+
+-- Order history per user, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_user_created ON orders (user_id, created_at DESC);
+
+-- Status filters and stale PENDING/PROCESSING sweeps
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status_created ON orders (status, created_at);
+
+-- Date range reports, recent orders and the revenue rollup rebuild
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_created_at ON orders (created_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_tracking_number ON orders (tracking_number) WHERE tracking_number IS NOT NULL;
+
+-- ========== ORDER ITEMS ==========
+
+-- PostgreSQL does not index foreign keys: order item loads and cascades need this
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+
+-- Sales per book and the books join in seller revenue queries
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_book_id ON order_items (book_id);
@@ -0,0 +1,5 @@
+-- Content hash of the catalog fields last written by the bulk catalog import.
+-- Re-importing a row whose hash is unchanged is skipped without touching the table.
+-- NULL for books created through the API, so their first import always writes.
+
+ALTER TABLE books ADD COLUMN IF NOT EXISTS import_hash VARCHAR(64);
@@ -0,0 +1,5 @@
+-- Widen the order item cover URL snapshot to the 500 characters OrderItem already allows.
+-- order_items is shared with the other order-handling service, which runs the same change;
+-- widening a VARCHAR is a catalog-only change in PostgreSQL, so neither run rewrites the table.
+
+ALTER TABLE order_items ALTER COLUMN book_image_url TYPE VARCHAR(500);
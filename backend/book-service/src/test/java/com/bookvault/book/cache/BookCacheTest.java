@@ -0,0 +1,103 @@
+package com.bookvault.book.cache;
+
+import com.bookvault.book.dto.BookResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookCacheTest {
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private BookCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList(null, null));
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        cache = new BookCache(redisTemplate, objectMapper, 100, Duration.ofMinutes(1), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void cachesLoadedBook() {
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(id, () -> book(id, loads.incrementAndGet()));
+        BookResponse second = cache.get(id, () -> book(id, loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.getStockQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    void evictionDuringLoadIsNotOverwritten() {
+        UUID id = UUID.randomUUID();
+
+        BookResponse stale = cache.get(id, () -> {
+            BookResponse loaded = book(id, 5);
+            // The stock change commits and evicts after the loader read the row
+            cache.invalidate(id);
+            return loaded;
+        });
+        BookResponse fresh = cache.get(id, () -> book(id, 4));
+
+        assertThat(stale.getStockQuantity()).isEqualTo(5);
+        assertThat(fresh.getStockQuantity()).isEqualTo(4);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void remoteWriteIsConditionalOnGenerationReadBeforeLoad() {
+        UUID id = UUID.randomUUID();
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList(null, "3"));
+
+        cache.get(id, () -> book(id, 2));
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("book-cache:gen:" + id, "book-cache:book:" + id)),
+                eq("3"), anyString(), eq(String.valueOf(Duration.ofMinutes(10).toMillis())));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void remoteWriteIsSkippedWhenRedisIsUnavailable() {
+        UUID id = UUID.randomUUID();
+        when(valueOperations.multiGet(anyList())).thenThrow(new IllegalStateException("connection refused"));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(id, () -> book(id, loads.incrementAndGet()));
+        cache.get(id, () -> book(id, loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(1);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+
+    private static BookResponse book(UUID id, int stock) {
+        return BookResponse.builder().id(id).title("Book").stockQuantity(stock).isActive(true).build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.bookvault.book.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void readsBooksArrayOfTheCatalogDocumentAndSkipsOtherFields() throws IOException {
+        String json = """
+                {"version": 2, "meta": {"source": "export", "tags": ["a", "b"]},
+                 "books": [
+                   {"isbn": "978-0-7432-7356-5", "title": "The Great Gatsby", "tags": ["classic"]},
+                   {"isbn": "978-0-441-17271-9", "title": "Dune"}
+                 ],
+                 "categories": [{"name": "ignored"}]}
+                """;
+
+        try (CatalogImportReader reader = open(CatalogImportReader.Format.JSON, json)) {
+            List<Map<String, Object>> rows = readAll(reader);
+
+            assertThat(rows).extracting(row -> row.get("title")).containsExactly("The Great Gatsby", "Dune");
+            assertThat(rows.get(0).get("tags")).isEqualTo(List.of("classic"));
+            assertThat(reader.getRowsRead()).isEqualTo(2);
+            assertThat(reader.position()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void readsTopLevelJsonArray() throws IOException {
+        try (CatalogImportReader reader = open(CatalogImportReader.Format.JSON,
+                "[{\"isbn\": \"1\"}, {\"isbn\": \"2\"}, {\"isbn\": \"3\"}]")) {
+            assertThat(readAll(reader)).extracting(row -> row.get("isbn")).containsExactly("1", "2", "3");
+        }
+    }
+
+    @Test
+    void documentWithoutBooksHasNoRows() throws IOException {
+        try (CatalogImportReader reader = open(CatalogImportReader.Format.JSON, "{\"categories\": []}")) {
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void rowsBeforeMalformedJsonAreReturned() throws IOException {
+        try (CatalogImportReader reader = open(CatalogImportReader.Format.JSON,
+                "[{\"isbn\": \"1\"}, 42, {\"isbn\": \"3\"}]")) {
+            assertThat(reader.next()).containsEntry("isbn", "1");
+            assertThatThrownBy(reader::next).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void rejectsJsonThatIsNotABookList() {
+        assertThatThrownBy(() -> open(CatalogImportReader.Format.JSON, "\"books\""))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void readsCsvByHeaderWithQuotedFields() throws IOException {
+        String csv = "\uFEFFisbn,title,description,category\r\n"
+                + "1,Dune,\"Sand, spice and \"\"worms\"\"\",Science Fiction|Classics\r\n"
+                + "\r\n"
+                + "2,Hyperion,\"Line one\nline two\",Science Fiction\n"
+                + "3,Short row\n";
+
+        try (CatalogImportReader reader = open(CatalogImportReader.Format.CSV, csv)) {
+            Map<String, Object> first = reader.next();
+            assertThat(first).containsEntry("isbn", "1")
+                    .containsEntry("description", "Sand, spice and \"worms\"")
+                    .containsEntry("category", "Science Fiction|Classics");
+            assertThat(reader.position()).isEqualTo(2);
+
+            Map<String, Object> second = reader.next();
+            assertThat(second).containsEntry("description", "Line one\nline two");
+            assertThat(reader.position()).isEqualTo(4);
+
+            Map<String, Object> third = reader.next();
+            assertThat(third).containsEntry("title", "Short row").doesNotContainKey("description");
+            assertThat(reader.position()).isEqualTo(6);
+
+            assertThat(reader.next()).isNull();
+            assertThat(reader.getRowsRead()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedCsvField() throws IOException {
+        try (CatalogImportReader reader = open(CatalogImportReader.Format.CSV,
+                "isbn,title\n1,\"Dune\n2,Hyperion\n")) {
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("line 2");
+        }
+    }
+
+    @Test
+    void rejectsEmptyCsv() {
+        assertThatThrownBy(() -> open(CatalogImportReader.Format.CSV, ""))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("header");
+    }
+
+    // Helper methods
+
+    private CatalogImportReader open(CatalogImportReader.Format format, String content) throws IOException {
+        return CatalogImportReader.open(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), objectMapper);
+    }
+
+    private static List<Map<String, Object>> readAll(CatalogImportReader reader) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        Map<String, Object> values;
+        while ((values = reader.next()) != null) {
+            rows.add(values);
+        }
+        return rows;
+    }
+}
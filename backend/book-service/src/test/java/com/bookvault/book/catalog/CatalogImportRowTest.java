@@ -0,0 +1,89 @@
+package com.bookvault.book.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogImportRowTest {
+
+    @Test
+    void acceptsValuesThatFitTheColumns() {
+        CatalogImportRow row = CatalogImportRow.of(1, values(Map.of(
+                "price", "99999999.99", "rating", "4.50", "reviews", "0", "pageCount", "1")));
+
+        assertThat(row.getPrice()).isEqualByComparingTo("99999999.99");
+        assertThat(row.getRating()).isEqualByComparingTo("4.5");
+        assertThat(row.getCategoryNames()).containsExactly("Science Fiction", "Classics");
+    }
+
+    @Test
+    void rejectsDecimalsTheColumnsWouldRound() {
+        assertThatThrownBy(() -> CatalogImportRow.of(1, values(Map.of("price", "12.999"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("price has more than 2 decimal places");
+        assertThatThrownBy(() -> CatalogImportRow.of(1, values(Map.of("rating", "4.125"))))
+                .hasMessageContaining("rating has more than 2 decimal places");
+    }
+
+    @Test
+    void acceptsTrailingZerosBeyondTheScale() {
+        assertThat(CatalogImportRow.of(1, values(Map.of("price", "12.5000"))).getPrice())
+                .isEqualByComparingTo("12.50");
+    }
+
+    @Test
+    void rejectsPricesWithTooManyIntegerDigits() {
+        assertThatThrownBy(() -> CatalogImportRow.of(1, values(Map.of("price", "100000000"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("price is too large");
+    }
+
+    @Test
+    void rejectsTextLongerThanItsColumn() {
+        assertThatThrownBy(() -> CatalogImportRow.of(1, values(Map.of("language", "x".repeat(51)))))
+                .hasMessageContaining("language is longer than 50");
+        assertThatThrownBy(() -> CatalogImportRow.of(1, values(Map.of("publisher", "x".repeat(256)))))
+                .hasMessageContaining("publisher is longer than 255");
+        assertThatThrownBy(() -> CatalogImportRow.of(1, values(Map.of("description", "x".repeat(5001)))))
+                .hasMessageContaining("description is longer than 5000");
+        assertThatThrownBy(() -> CatalogImportRow.of(1, values(Map.of("isbn", "9".repeat(21)))))
+                .hasMessageContaining("isbn is longer than 20");
+    }
+
+    @Test
+    void rejectsNegativeCounts() {
+        assertThatThrownBy(() -> CatalogImportRow.of(1, values(Map.of("reviews", "-1"))))
+                .hasMessageContaining("reviews must be 0 or greater");
+        assertThatThrownBy(() -> CatalogImportRow.of(1, values(Map.of("pageCount", "0"))))
+                .hasMessageContaining("pageCount must be greater than 0");
+    }
+
+    @Test
+    void hashIgnoresStockAndCategoryOrder() {
+        CatalogImportRow first = CatalogImportRow.of(1, values(Map.of("stock", "5")));
+        CatalogImportRow second = CatalogImportRow.of(2, values(Map.of(
+                "stock", "50", "category", List.of("Classics", "Science Fiction"))));
+
+        assertThat(second.getContentHash()).isEqualTo(first.getContentHash());
+        assertThat(CatalogImportRow.of(3, values(Map.of("price", "10.01"))).getContentHash())
+                .isNotEqualTo(first.getContentHash());
+    }
+
+    // Helper methods
+
+    private static Map<String, Object> values(Map<String, Object> overrides) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("isbn", "978-0-441-17271-9");
+        values.put("title", "Dune");
+        values.put("author", "Frank Herbert");
+        values.put("price", "9.99");
+        values.put("category", "Science Fiction|Classics");
+        values.putAll(overrides);
+        return values;
+    }
+}
@@ -0,0 +1,132 @@
+package com.bookvault.book.image;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoverImageServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private CoverBlobStore blobStore;
+    private final List<CoverImageService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStore = new CoverBlobStore(directory.toString(), DataSize.ofMegabytes(10));
+        blobStore.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(CoverImageService::shutdown);
+    }
+
+    @Test
+    void storesBookServicePathWithoutBaseUrl() throws Exception {
+        String url = service("", 16_000_000L).storeCover(png(300, 450));
+
+        assertThat(url).matches("/api/books/covers/[0-9a-f]{64}");
+        awaitComplete(hashOf(url));
+    }
+
+    @Test
+    void prefixesConfiguredBaseUrl() throws Exception {
+        String url = service("https://books.example.com/", 16_000_000L).storeCover(png(300, 450));
+
+        assertThat(url).matches("https://books\\.example\\.com/api/books/covers/[0-9a-f]{64}");
+        awaitComplete(hashOf(url));
+    }
+
+    @Test
+    void rejectsRelativeBaseUrlAtStartup() {
+        assertThatThrownBy(() -> service("books.example.com", 16_000_000L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("public-base-url");
+        assertThatThrownBy(() -> service("/covers", 16_000_000L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void servesSmallestVariantAtLeastAsWideAsRequested() throws Exception {
+        CoverImageService service = service("", 16_000_000L);
+        String hash = hashOf(service.storeCover(png(1000, 1500)));
+        awaitComplete(hash);
+
+        MockHttpServletResponse response = serve(service, hash, 300);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getHeader("ETag")).isEqualTo("\"" + hash + "-400\"");
+        assertThat(ImageIO.read(new ByteArrayInputStream(response.getContentAsByteArray())).getWidth())
+                .isEqualTo(400);
+    }
+
+    @Test
+    void imagesOverTheDecodeLimitAreServedAsUploaded() throws Exception {
+        CoverImageService service = service("", 500_000L);
+        String hash = hashOf(service.storeCover(png(1000, 1500)));
+        awaitComplete(hash);
+
+        MockHttpServletResponse response = serve(service, hash, 200);
+
+        assertThat(response.getContentType()).isEqualTo("image/png");
+        assertThat(response.getHeader("ETag")).isEqualTo("\"" + hash + "\"");
+        assertThat(Files.exists(blobStore.variantPath(hash, 200))).isFalse();
+    }
+
+    // Helper methods
+
+    private CoverImageService service(String publicBaseUrl, long maxDecodePixels) {
+        CoverImageService service = new CoverImageService(blobStore, new SimpleMeterRegistry(),
+                new int[]{200, 400, 800}, 0.82f, publicBaseUrl, 1, 10, maxDecodePixels);
+        services.add(service);
+        return service;
+    }
+
+    private static MockMultipartFile png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new MockMultipartFile("file", "cover.png", "image/png", out.toByteArray());
+    }
+
+    private static String hashOf(String url) {
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    private MockHttpServletResponse serve(CoverImageService service, String hash, int width) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", CoverImageService.COVER_PATH + hash);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.serve(hash, width, request, response);
+        return response;
+    }
+
+    private void awaitComplete(String hash) throws InterruptedException {
+        Path marker = blobStore.completeMarker(hash);
+        for (int i = 0; i < 250 && !Files.exists(marker); i++) {
+            Thread.sleep(20);
+        }
+        assertThat(marker).exists();
+    }
+}
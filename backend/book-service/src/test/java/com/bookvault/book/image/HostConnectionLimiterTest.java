@@ -0,0 +1,101 @@
+package com.bookvault.book.image;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HostConnectionLimiterTest {
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    void callersOverTheCapWaitForARelease() throws Exception {
+        HostConnectionLimiter limiter = new HostConnectionLimiter(2, Duration.ofSeconds(5), timer);
+        assertThat(limiter.acquire("a.example.com")).isDone();
+        assertThat(limiter.acquire("a.example.com")).isDone();
+
+        CompletableFuture<Void> third = limiter.acquire("a.example.com");
+        assertThat(third).isNotDone();
+        assertThat(limiter.acquire("b.example.com")).isDone();
+
+        limiter.release("a.example.com");
+        third.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void waitersFailOnceTheMaximumWaitExpires() {
+        HostConnectionLimiter limiter = new HostConnectionLimiter(1, Duration.ofMillis(50), timer);
+        limiter.acquire("a.example.com");
+
+        CompletableFuture<Void> waiting = limiter.acquire("a.example.com");
+
+        assertThatThrownBy(() -> waiting.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(HostConnectionLimiter.HostBusyException.class);
+        limiter.release("a.example.com");
+        assertThat(limiter.trackedHosts()).isZero();
+    }
+
+    @Test
+    void hostsAreDroppedOnceIdle() {
+        HostConnectionLimiter limiter = new HostConnectionLimiter(2, Duration.ofSeconds(5), timer);
+        for (int i = 0; i < 100; i++) {
+            String host = "host-" + i + ".example.com";
+            limiter.acquire(host);
+            limiter.release(host);
+        }
+
+        assertThat(limiter.trackedHosts()).isZero();
+        assertThat(limiter.acquire("host-0.example.com")).isDone();
+        assertThat(limiter.trackedHosts()).isOne();
+    }
+
+    @Test
+    void capHoldsWhileGatesAreDroppedConcurrently() throws Exception {
+        HostConnectionLimiter limiter = new HostConnectionLimiter(2, Duration.ofSeconds(10), timer);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(workers.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        limiter.acquire("a.example.com").join();
+                        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                        active.decrementAndGet();
+                        limiter.release("a.example.com");
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        assertThat(maxActive.get()).isLessThanOrEqualTo(2);
+        assertThat(limiter.trackedHosts()).isZero();
+    }
+}
@@ -0,0 +1,134 @@
+package com.bookvault.book.image;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageDiskCacheTest {
+
+    private static final String URL = "https://covers.example.com/dune.jpg";
+
+    @TempDir
+    Path directory;
+
+    private final List<ImageDiskCache> caches = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        caches.forEach(ImageDiskCache::shutdown);
+    }
+
+    @Test
+    void replacingAnEntryKeepsTheFileAResponseAlreadyChose() throws Exception {
+        ImageDiskCache cache = open(Duration.ofHours(1), DataSize.ofMegabytes(1));
+        CachedImage first = put(cache, URL, "first version");
+
+        CachedImage second = put(cache, URL, "second version, longer");
+
+        assertThat(second.getFile()).isNotEqualTo(first.getFile());
+        assertThat(read(first.getFile())).isEqualTo("first version");
+        assertThat(read(cache.get(URL).getFile())).isEqualTo("second version, longer");
+        assertThat(cache.getTotalBytes()).isEqualTo(second.getSize());
+    }
+
+    @Test
+    void replacedFilesAreDeletedAfterTheGracePeriod() throws Exception {
+        ImageDiskCache cache = open(Duration.ofMillis(50), DataSize.ofMegabytes(1));
+        CachedImage first = put(cache, URL, "first version");
+        put(cache, URL, "second version");
+
+        awaitDeleted(first.getFile());
+        assertThat(dataFiles()).hasSize(1);
+    }
+
+    @Test
+    void evictedFilesOutliveTheirIndexEntry() throws Exception {
+        ImageDiskCache cache = open(Duration.ofHours(1), DataSize.ofBytes(20));
+        CachedImage evicted = put(cache, URL, "0123456789abcdef");
+
+        put(cache, "https://covers.example.com/hyperion.jpg", "fedcba9876543210");
+
+        assertThat(cache.peek(URL)).isNull();
+        assertThat(read(evicted.getFile())).isEqualTo("0123456789abcdef");
+    }
+
+    @Test
+    void reloadsCurrentVersionsAndSweepsUnreferencedFiles() throws Exception {
+        ImageDiskCache cache = open(Duration.ofHours(1), DataSize.ofMegabytes(1));
+        CachedImage first = put(cache, URL, "first version");
+        CachedImage second = put(cache, URL, "second version");
+        cache.shutdown();
+
+        ImageDiskCache restarted = open(Duration.ofHours(1), DataSize.ofMegabytes(1));
+
+        CachedImage reloaded = restarted.get(URL);
+        assertThat(reloaded.getFile()).isEqualTo(second.getFile());
+        assertThat(reloaded.getEtag()).isEqualTo(second.getEtag());
+        assertThat(first.getFile()).doesNotExist();
+        assertThat(dataFiles()).containsExactly(second.getFile());
+    }
+
+    @Test
+    void openReadersSurviveEviction() throws Exception {
+        ImageDiskCache cache = open(Duration.ZERO, DataSize.ofBytes(20));
+        CachedImage image = put(cache, URL, "0123456789abcdef");
+
+        try (FileChannel channel = FileChannel.open(image.getFile(), StandardOpenOption.READ)) {
+            put(cache, "https://covers.example.com/hyperion.jpg", "fedcba9876543210");
+            awaitDeleted(image.getFile());
+
+            ByteBuffer body = ByteBuffer.allocate((int) image.getSize());
+            channel.read(body, 0);
+            assertThat(new String(body.array(), StandardCharsets.UTF_8)).isEqualTo("0123456789abcdef");
+        }
+    }
+
+    // Helper methods
+
+    private ImageDiskCache open(Duration deleteGrace, DataSize maxSize) throws IOException {
+        ImageDiskCache cache = new ImageDiskCache(new SimpleMeterRegistry(), directory.toString(),
+                maxSize, DataSize.ofMegabytes(1), deleteGrace);
+        cache.loadIndex();
+        caches.add(cache);
+        return cache;
+    }
+
+    private static CachedImage put(ImageDiskCache cache, String url, String body) throws IOException {
+        ImageDiskCache.PendingImage pending = cache.begin(url);
+        pending.write(ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)));
+        return pending.commit("image/jpeg", null, Duration.ofHours(1));
+    }
+
+    private static String read(Path file) throws IOException {
+        return Files.readString(file, StandardCharsets.UTF_8);
+    }
+
+    private List<Path> dataFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".img")).toList();
+        }
+    }
+
+    private static void awaitDeleted(Path file) throws InterruptedException {
+        for (int i = 0; i < 100 && Files.exists(file); i++) {
+            Thread.sleep(20);
+        }
+        assertThat(file).doesNotExist();
+    }
+}
@@ -0,0 +1,191 @@
+package com.bookvault.book.image;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Upstream fetches against a local stub image host
+ */
+class ImageFetcherTest {
+
+    private static final byte[] BODY = "not really a jpeg".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    private HttpServer upstream;
+    private ExecutorService upstreamThreads;
+    private final ConcurrentMap<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final CountDownLatch respond = new CountDownLatch(1);
+
+    private ImageDiskCache cache;
+    private ImageFetcher fetcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstreamThreads = Executors.newCachedThreadPool();
+        upstream = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 50);
+        upstream.createContext("/", this::handle);
+        upstream.setExecutor(upstreamThreads);
+        upstream.start();
+
+        cache = new ImageDiskCache(new SimpleMeterRegistry(), directory.toString(),
+                DataSize.ofMegabytes(1), DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        cache.loadIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        respond.countDown();
+        if (fetcher != null) {
+            fetcher.shutdown();
+        }
+        cache.shutdown();
+        upstream.stop(0);
+        upstreamThreads.shutdownNow();
+    }
+
+    @Test
+    void concurrentRequestsForOneUrlShareOneUpstreamFetch() throws Exception {
+        fetcher = fetcher(4, Duration.ofSeconds(5));
+        String url = url("/dune.jpg");
+
+        List<CompletableFuture<CachedImage>> fetches = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            fetches.add(fetcher.fetch(url, URI.create(url)));
+        }
+        awaitActive(1);
+        respond.countDown();
+
+        for (CompletableFuture<CachedImage> fetch : fetches) {
+            CachedImage image = fetch.get(5, TimeUnit.SECONDS);
+            assertThat(Files.readAllBytes(image.getFile())).isEqualTo(BODY);
+        }
+        assertThat(hits.get("/dune.jpg")).hasValue(1);
+        assertThat(cache.get(url)).isNotNull();
+    }
+
+    @Test
+    void connectionsPerHostAreCapped() throws Exception {
+        fetcher = fetcher(2, Duration.ofSeconds(5));
+
+        List<CompletableFuture<CachedImage>> fetches = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String url = url("/cover-" + i + ".jpg");
+            fetches.add(fetcher.fetch(url, URI.create(url)));
+        }
+        awaitActive(2);
+        Thread.sleep(200); // give queued fetches a chance to exceed the cap
+        assertThat(active.get()).isEqualTo(2);
+        respond.countDown();
+
+        for (CompletableFuture<CachedImage> fetch : fetches) {
+            fetch.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(maxActive.get()).isEqualTo(2);
+        assertThat(hits).hasSize(6);
+    }
+
+    @Test
+    void fetchesThatCannotGetAConnectionFailAsHostBusy() throws Exception {
+        fetcher = fetcher(1, Duration.ofMillis(100));
+        String first = url("/first.jpg");
+        String second = url("/second.jpg");
+
+        CompletableFuture<CachedImage> running = fetcher.fetch(first, URI.create(first));
+        awaitActive(1);
+        CompletableFuture<CachedImage> queued = fetcher.fetch(second, URI.create(second));
+
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(HostConnectionLimiter.HostBusyException.class);
+        respond.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        assertThat(hits).doesNotContainKey("/second.jpg");
+    }
+
+    @Test
+    void upstreamErrorsAreNotCached() throws Exception {
+        fetcher = fetcher(2, Duration.ofSeconds(5));
+        respond.countDown();
+        String url = url("/missing.jpg");
+
+        assertThatThrownBy(() -> fetcher.fetch(url, URI.create(url)).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("404");
+        assertThat(cache.get(url)).isNull();
+    }
+
+    // Helper methods
+
+    private ImageFetcher fetcher(int maxConnectionsPerHost, Duration hostWait) {
+        return new ImageFetcher(cache, new SimpleMeterRegistry(), 2, Duration.ofSeconds(2), Duration.ofSeconds(10),
+                Duration.ofSeconds(10), maxConnectionsPerHost, hostWait, Duration.ofHours(1), Duration.ofDays(1));
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + upstream.getAddress().getPort() + path;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        hits.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+            respond.await(10, TimeUnit.SECONDS);
+            if (path.contains("missing")) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "image/jpeg");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(BODY);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            active.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private void awaitActive(int expected) throws InterruptedException {
+        for (int i = 0; i < 250 && active.get() < expected; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(active.get()).isEqualTo(expected);
+    }
+}
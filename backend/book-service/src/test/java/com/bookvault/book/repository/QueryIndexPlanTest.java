@@ -0,0 +1,138 @@
+package com.bookvault.book.repository;
+
+import com.bookvault.book.support.PostgresContainerTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The planner picks the V2 indexes for the repository queries they were written for.
+ *
+ * Each test fills the tables inside its own transaction (rolled back afterwards) and runs
+ * ANALYZE, so the plans reflect realistic row counts rather than an empty table.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryIndexPlanTest extends PostgresContainerTest {
+
+    private static final int BOOKS = 20_000;
+    private static final int SELLERS = 200;
+    private static final int ORDERS = 20_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO books (id, created_at, updated_at, version, title, author, isbn, price, " +
+                "stock_quantity, seller_id, is_active, rating, review_count) " +
+                "SELECT ('00000000-0000-0000-0000-' || lpad(to_hex(i), 12, '0'))::uuid, " +
+                "now() - i * interval '1 minute', now(), 0, 'Book ' || i, 'Author ' || (i % 2000), 'PLAN-' || i, " +
+                "1 + (i % 500), i % 50, ('00000000-0000-0000-0001-' || lpad(to_hex(i % ?), 12, '0'))::uuid, " +
+                "i % 10 <> 0, (i % 500) / 100.0, i % 1000 " +
+                "FROM generate_series(1, ?) AS i", SELLERS, BOOKS);
+        jdbcTemplate.update("INSERT INTO categories (id, created_at, updated_at, version, name, is_active) " +
+                "SELECT ('00000000-0000-0000-0002-' || lpad(to_hex(c), 12, '0'))::uuid, now(), now(), 0, " +
+                "'Plan category ' || c, true FROM generate_series(1, 50) AS c");
+        jdbcTemplate.update("INSERT INTO book_categories (id, created_at, updated_at, version, book_id, category_id, is_primary) " +
+                "SELECT gen_random_uuid(), now(), now(), 0, b.id, " +
+                "('00000000-0000-0000-0002-' || lpad(to_hex(1 + abs(hashtext(b.isbn)) % 50), 12, '0'))::uuid, true " +
+                "FROM books b WHERE b.isbn LIKE 'PLAN-%'");
+        jdbcTemplate.update("INSERT INTO orders (id, created_at, updated_at, version, user_id, order_number, status, " +
+                "total_amount, final_amount) " +
+                "SELECT ('00000000-0000-0000-0003-' || lpad(to_hex(i), 12, '0'))::uuid, now() - i * interval '5 minutes', " +
+                "now(), 0, ('00000000-0000-0000-0004-' || lpad(to_hex(i % 2000), 12, '0'))::uuid, 'PLAN-' || i, " +
+                "CASE WHEN i % 100 = 0 THEN 'PENDING' ELSE 'DELIVERED' END, 10, 10 " +
+                "FROM generate_series(1, ?) AS i", ORDERS);
+        jdbcTemplate.update("INSERT INTO order_items (id, created_at, updated_at, version, order_id, book_id, book_title, " +
+                "quantity, unit_price, total_price, final_price) " +
+                "SELECT gen_random_uuid(), o.created_at, now(), 0, o.id, " +
+                "('00000000-0000-0000-0000-' || lpad(to_hex(1 + abs(hashtext(o.order_number)) % ?), 12, '0'))::uuid, " +
+                "'Book', 1, 10, 10, 10 FROM orders o WHERE o.order_number LIKE 'PLAN-%'", BOOKS);
+        jdbcTemplate.execute("ANALYZE books, categories, book_categories, orders, order_items");
+    }
+
+    @Test
+    void newestBooksUseTheCreatedAtIndex() {
+        assertThat(plan("SELECT * FROM books b WHERE b.is_active = true " +
+                "ORDER BY b.created_at DESC, b.id DESC LIMIT 20"))
+                .contains("idx_books_active_created");
+        assertThat(plan("SELECT * FROM books b WHERE b.is_active = true " +
+                "AND (b.created_at, b.id) < (now() - interval '1 day', '00000000-0000-0000-0000-000000000500'::uuid) " +
+                "ORDER BY b.created_at DESC, b.id DESC LIMIT 20"))
+                .contains("idx_books_active_created");
+    }
+
+    @Test
+    void topRatedBooksUseTheRatingIndex() {
+        assertThat(plan("SELECT * FROM books b WHERE b.is_active = true " +
+                "ORDER BY COALESCE(b.rating, 0) DESC, COALESCE(b.review_count, 0) DESC, b.id DESC LIMIT 20"))
+                .contains("idx_books_active_top_rated");
+        assertThat(plan("SELECT * FROM books b WHERE b.is_active = true " +
+                "AND (COALESCE(b.rating, 0), COALESCE(b.review_count, 0), b.id) < (4.5, 500, '00000000-0000-0000-0000-000000000500'::uuid) " +
+                "ORDER BY COALESCE(b.rating, 0) DESC, COALESCE(b.review_count, 0) DESC, b.id DESC LIMIT 20"))
+                .contains("idx_books_active_top_rated");
+    }
+
+    @Test
+    void featuredBooksUseTheScoreIndex() {
+        assertThat(plan("SELECT * FROM books b WHERE b.is_active = true " +
+                "ORDER BY (COALESCE(b.review_count, 0) * 0.7 + COALESCE(b.rating, 0) * 30) DESC, b.id DESC LIMIT 20"))
+                .contains("idx_books_active_featured");
+    }
+
+    @Test
+    void sellerQueriesUseTheSellerIndex() {
+        assertThat(plan("SELECT count(*) FROM books b WHERE b.seller_id = '00000000-0000-0000-0001-000000000007' " +
+                "AND b.is_active = true"))
+                .contains("idx_books_seller_id");
+    }
+
+    @Test
+    void authorFilterUsesTheAuthorIndex() {
+        assertThat(plan("SELECT * FROM books b WHERE b.author = 'Author 42' AND b.is_active = true"))
+                .contains("idx_books_active_author");
+    }
+
+    @Test
+    void booksByCategoryUseTheCategoryIndex() {
+        assertThat(plan("SELECT bc.book_id FROM book_categories bc " +
+                "WHERE bc.category_id = '00000000-0000-0000-0002-000000000007'"))
+                .contains("idx_book_categories_category_book");
+    }
+
+    @Test
+    void orderQueriesUseTheOrderIndexes() {
+        assertThat(plan("SELECT * FROM orders o WHERE o.user_id = '00000000-0000-0000-0004-000000000007' " +
+                "ORDER BY o.created_at DESC"))
+                .contains("idx_orders_user_created");
+        assertThat(plan("SELECT * FROM orders o WHERE o.status IN ('PENDING', 'PROCESSING') " +
+                "AND o.created_at <= now() - interval '1 day'"))
+                .contains("idx_orders_status_created");
+        assertThat(plan("SELECT * FROM orders o WHERE o.created_at >= now() - interval '1 day' " +
+                "ORDER BY o.created_at DESC"))
+                .contains("idx_orders_created_at");
+    }
+
+    @Test
+    void orderItemLookupsUseTheForeignKeyIndexes() {
+        assertThat(plan("SELECT * FROM order_items oi WHERE oi.order_id = '00000000-0000-0000-0003-000000000007'"))
+                .contains("idx_order_items_order_id");
+        assertThat(plan("SELECT * FROM order_items oi WHERE oi.book_id = '00000000-0000-0000-0000-000000000007'"))
+                .contains("idx_order_items_book_id");
+    }
+
+    // Helper methods
+
+    private String plan(String sql) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,168 @@
+package com.bookvault.book.repository;
+
+import com.bookvault.book.support.PostgresContainerTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A range rebuild and order deltas on the same day must not lose each other's writes
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SellerRevenueRollupRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SellerRevenueRollupRepositoryTest extends PostgresContainerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 14);
+
+    @Autowired
+    private SellerRevenueRollupRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private UUID sellerId;
+    private UUID bookId;
+
+    @BeforeEach
+    void setUp() {
+        sellerId = UUID.randomUUID();
+        bookId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO books (id, created_at, updated_at, version, title, author, isbn, price, " +
+                "stock_quantity, seller_id, is_active) VALUES (?, now(), now(), 0, 'Dune', 'Frank Herbert', ?, 10.00, 5, ?, true)",
+                bookId, bookId.toString().substring(0, 13), sellerId);
+        insertOrder(new BigDecimal("10.00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM seller_book_daily_revenue WHERE seller_id = ?", sellerId);
+        jdbcTemplate.update("DELETE FROM order_items WHERE book_id = ?", bookId);
+        jdbcTemplate.update("DELETE FROM orders WHERE user_id = ?", sellerId);
+        jdbcTemplate.update("DELETE FROM books WHERE id = ?", bookId);
+    }
+
+    @Test
+    void rebuildWaitsForOrdersInFlightOnItsDays() throws Exception {
+        CountDownLatch deltaApplied = new CountDownLatch(1);
+        CountDownLatch commitOrder = new CountDownLatch(1);
+        CompletableFuture<Void> order = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            insertOrder(new BigDecimal("5.00"));
+            repository.applyDeltas(List.of(delta(new BigDecimal("5.00"))));
+            deltaApplied.countDown();
+            await(commitOrder);
+        }));
+        assertThat(deltaApplied.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> rebuild = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> repository.rebuildRange(DAY, DAY.plusDays(1))));
+        assertThatThrownBy(() -> rebuild.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        commitOrder.countDown();
+        order.get(5, TimeUnit.SECONDS);
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertThat(revenue()).isEqualByComparingTo("15.00");
+    }
+
+    @Test
+    void ordersOnRebuiltDaysWaitForTheRebuild() throws Exception {
+        CountDownLatch rebuilt = new CountDownLatch(1);
+        CountDownLatch commitRebuild = new CountDownLatch(1);
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            repository.rebuildRange(DAY, DAY.plusDays(1));
+            rebuilt.countDown();
+            await(commitRebuild);
+        }));
+        assertThat(rebuilt.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> order = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            insertOrder(new BigDecimal("5.00"));
+            repository.applyDeltas(List.of(delta(new BigDecimal("5.00"))));
+        }));
+        assertThatThrownBy(() -> order.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        commitRebuild.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+        order.get(5, TimeUnit.SECONDS);
+
+        assertThat(revenue()).isEqualByComparingTo("15.00");
+    }
+
+    @Test
+    void rebuildOfOtherDaysDoesNotWait() throws Exception {
+        CountDownLatch deltaApplied = new CountDownLatch(1);
+        CountDownLatch commitOrder = new CountDownLatch(1);
+        CompletableFuture<Void> order = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            repository.applyDeltas(List.of(delta(new BigDecimal("5.00"))));
+            deltaApplied.countDown();
+            await(commitOrder);
+        }));
+        try {
+            assertThat(deltaApplied.await(5, TimeUnit.SECONDS)).isTrue();
+            Integer written = transactionTemplate.execute(status ->
+                    repository.rebuildRange(DAY.plusDays(1), DAY.plusDays(31)));
+            assertThat(written).isZero();
+        } finally {
+            commitOrder.countDown();
+            order.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    // Helper methods
+
+    private void insertOrder(BigDecimal amount) {
+        UUID orderId = UUID.randomUUID();
+        Timestamp createdAt = Timestamp.valueOf(DAY.atTime(12, 0));
+        jdbcTemplate.update("INSERT INTO orders (id, created_at, updated_at, version, user_id, order_number, status, " +
+                "total_amount, final_amount) VALUES (?, ?, ?, 0, ?, ?, 'CONFIRMED', ?, ?)",
+                orderId, createdAt, createdAt, sellerId, "BV-" + orderId, amount, amount);
+        jdbcTemplate.update("INSERT INTO order_items (id, created_at, updated_at, version, order_id, book_id, book_title, " +
+                "quantity, unit_price, total_price, final_price) VALUES (?, ?, ?, 0, ?, ?, 'Dune', 1, ?, ?, ?)",
+                UUID.randomUUID(), createdAt, createdAt, orderId, bookId, amount, amount, amount);
+    }
+
+    private SellerRevenueRollupRepository.Delta delta(BigDecimal revenue) {
+        return new SellerRevenueRollupRepository.Delta(sellerId, bookId, DAY, revenue, 1, 1, 1);
+    }
+
+    private BigDecimal revenue() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(revenue), 0) FROM seller_book_daily_revenue WHERE seller_id = ?",
+                BigDecimal.class, sellerId);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the test to continue");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.bookvault.book.search;
+
+import com.bookvault.book.model.Book;
+import com.bookvault.book.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookSearchIndexTest {
+
+    private BookRepository bookRepository;
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        index = new BookSearchIndex(bookRepository);
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        UUID inTitle = UUID.randomUUID();
+        UUID inDescription = UUID.randomUUID();
+        when(bookRepository.findSearchableBookFields()).thenReturn(rows(
+                row(inDescription, "Cooking Basics", "A. Chef", "A dune of recipes", "4.0"),
+                row(inTitle, "Dune", "Frank Herbert", "Desert planet", "4.5")));
+
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("dune")).containsExactly(inTitle, inDescription);
+    }
+
+    @Test
+    void matchesLastTermAsPrefix() {
+        UUID id = UUID.randomUUID();
+        when(bookRepository.findSearchableBookFields()).thenReturn(rows(
+                row(id, "Foundation", "Isaac Asimov", null, null)));
+
+        index.rebuild();
+
+        assertThat(index.search("isaac foun")).containsExactly(id);
+        assertThat(index.search("foun isaac")).containsExactly(id);
+        assertThat(index.search("foun asim")).containsExactly(id);
+    }
+
+    @Test
+    void searchesAreNotBlockedWhileRebuildLoads() throws Exception {
+        UUID existing = UUID.randomUUID();
+        when(bookRepository.findSearchableBookFields()).thenReturn(rows(
+                row(existing, "Neuromancer", "William Gibson", null, null)));
+        index.rebuild();
+
+        when(bookRepository.findSearchableBookFields()).thenAnswer(invocation -> {
+            List<UUID> hits = CompletableFuture.supplyAsync(() -> index.search("neuromancer"))
+                    .get(5, TimeUnit.SECONDS);
+            assertThat(hits).containsExactly(existing);
+            return rows(row(existing, "Neuromancer", "William Gibson", null, null));
+        });
+
+        index.rebuild();
+    }
+
+    @Test
+    void replaysUpdatesCommittedWhileRebuildLoads() {
+        UUID loaded = UUID.randomUUID();
+        UUID added = UUID.randomUUID();
+        when(bookRepository.findSearchableBookFields()).thenAnswer(invocation -> {
+            // Committed after the rebuild's snapshot was read
+            index.index(book(added, "Hyperion", "Dan Simmons"));
+            index.remove(loaded);
+            return rows(row(loaded, "Snow Crash", "Neal Stephenson", null, null));
+        });
+
+        index.rebuild();
+
+        assertThat(index.search("hyperion")).containsExactly(added);
+        assertThat(index.search("snow")).isEmpty();
+    }
+
+    @Test
+    void inactiveBooksAreRemoved() {
+        UUID id = UUID.randomUUID();
+        when(bookRepository.findSearchableBookFields()).thenReturn(rows(
+                row(id, "Solaris", "Stanislaw Lem", null, null)));
+        index.rebuild();
+
+        Book book = book(id, "Solaris", "Stanislaw Lem");
+        book.setIsActive(false);
+        index.index(book);
+
+        assertThat(index.search("solaris")).isEmpty();
+    }
+
+    @Test
+    void tokenizesOnNonAlphanumericCharacters() {
+        assertThat(BookSearchIndex.tokenize("Harry Potter & the Half-Blood Prince (2005)"))
+                .containsExactly("harry", "potter", "the", "half", "blood", "prince", "2005");
+        assertThat(BookSearchIndex.tokenize("  ")).isEmpty();
+        assertThat(BookSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    // Helper methods
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static Object[] row(UUID id, String title, String author, String description, String rating) {
+        return new Object[]{id, title, author, description, rating != null ? new BigDecimal(rating) : null};
+    }
+
+    private static Book book(UUID id, String title, String author) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setIsActive(true);
+        return book;
+    }
+}
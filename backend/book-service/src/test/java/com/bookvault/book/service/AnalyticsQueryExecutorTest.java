@@ -0,0 +1,108 @@
+package com.bookvault.book.service;
+
+import com.bookvault.shared.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalyticsQueryExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private AnalyticsQueryExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        executor = new AnalyticsQueryExecutor(meterRegistry, jdbcTemplate, transactionManager,
+                1, 1, Duration.ofMillis(250));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void runsQueriesInReadOnlyTransactionWithStatementTimeout() {
+        assertThat(AnalyticsQueryExecutor.join(executor.required("count", () -> 42))).isEqualTo(42);
+
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(jdbcTemplate).execute("SET LOCAL statement_timeout = 250");
+    }
+
+    @Test
+    void rejectsWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first = executor.required("slow", () -> {
+            running.countDown();
+            await(release);
+            return 1;
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Integer> queued = executor.required("queued", () -> 2);
+
+        assertThatThrownBy(() -> executor.required("rejected", () -> 3))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.find("bookvault.analytics.query").tag("outcome", "rejected").timer().count())
+                .isEqualTo(1);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+    }
+
+    @Test
+    void optionalQueryFallsBackAndMarksResultPartial() {
+        AnalyticsQueryExecutor.PartialResult partial = new AnalyticsQueryExecutor.PartialResult();
+
+        List<String> result = AnalyticsQueryExecutor.join(executor.optional("broken", () -> {
+            throw new IllegalStateException("boom");
+        }, List.of(), partial));
+
+        assertThat(result).isEmpty();
+        assertThat(partial.getMissing()).containsExactly("broken");
+        assertThat(meterRegistry.find("bookvault.analytics.query").tag("outcome", "error").timer()).isNotNull();
+    }
+
+    @Test
+    void requiredQueryFailurePropagates() {
+        assertThatThrownBy(() -> AnalyticsQueryExecutor.join(executor.required("broken", () -> {
+            throw new IllegalStateException("boom");
+        }))).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+    }
+
+    // Helper methods
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
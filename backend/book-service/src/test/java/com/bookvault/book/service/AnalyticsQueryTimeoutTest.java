@@ -0,0 +1,56 @@
+package com.bookvault.book.service;
+
+import com.bookvault.book.support.PostgresContainerTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A timed-out analytics query is cancelled by the database, not just abandoned by the caller
+ */
+@DataJpaTest(properties = "bookvault.analytics.query-timeout=300ms")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AnalyticsQueryExecutor.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnalyticsQueryTimeoutTest extends PostgresContainerTest {
+
+    @Autowired
+    private AnalyticsQueryExecutor executor;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void databaseCancelsQueriesThatOutliveTheTimeout() {
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> AnalyticsQueryExecutor.join(executor.required("sleep",
+                () -> jdbcTemplate.queryForObject("SELECT pg_sleep(10)::text", String.class))))
+                .isInstanceOf(DataAccessException.class);
+
+        assertThat(System.nanoTime() - start).isLessThan(3_000_000_000L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE query LIKE 'SELECT pg_sleep(10)%' AND state = 'active'",
+                Integer.class)).isZero();
+        assertThat(meterRegistry.find("bookvault.analytics.query").tag("outcome", "timeout").timer()).isNotNull();
+    }
+
+    @Test
+    void timeoutDoesNotLeakIntoOtherTransactions() {
+        AnalyticsQueryExecutor.join(executor.required("fast", () -> jdbcTemplate.queryForObject("SELECT 1", Integer.class)));
+
+        assertThat(jdbcTemplate.queryForObject("SHOW statement_timeout", String.class)).isEqualTo("0");
+    }
+}
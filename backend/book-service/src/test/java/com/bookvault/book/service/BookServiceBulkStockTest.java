@@ -0,0 +1,171 @@
+package com.bookvault.book.service;
+
+import com.bookvault.book.cache.BookCache;
+import com.bookvault.book.dto.BulkStockUpdateResponse;
+import com.bookvault.book.repository.BookStockRepository;
+import com.bookvault.book.repository.SellerRevenueRollupRepository;
+import com.bookvault.book.search.BookSearchIndex;
+import com.bookvault.book.support.PostgresContainerTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Bulk stock updates commit chunk by chunk: a failing chunk rolls back on its own and the
+ * others keep their changes. Chunks of two over ids ...01 to ...05 give [01, 02], [03, 04], [05].
+ */
+@DataJpaTest(properties = "bookvault.stock.bulk-chunk-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookService.class, BookStockRepository.class})
+class BookServiceBulkStockTest extends PostgresContainerTest {
+
+    private static final UUID BOOK_1 = bookId(1);
+    private static final UUID BOOK_2 = bookId(2);
+    private static final UUID BOOK_3 = bookId(3);
+    private static final UUID BOOK_4 = bookId(4);
+    private static final UUID BOOK_5 = bookId(5);
+    private static final UUID MISSING = bookId(6);
+
+    @MockBean
+    private BookSearchIndex bookSearchIndex;
+    @MockBean
+    private BookCache bookCache;
+    @MockBean
+    private SellerRevenueRollupRepository sellerRevenueRollupRepository;
+    @MockBean
+    private SellerRevenueRollupService sellerRevenueRollupService;
+    @MockBean
+    private AnalyticsQueryExecutor analyticsQueryExecutor;
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        for (UUID bookId : new UUID[]{BOOK_1, BOOK_2, BOOK_3, BOOK_4, BOOK_5}) {
+            jdbcTemplate.update("INSERT INTO books (id, created_at, updated_at, version, title, author, isbn, price, " +
+                    "stock_quantity, seller_id, is_active) VALUES (?, now(), now(), 0, 'Book', 'Author', ?, 10.00, 5, ?, true)",
+                    bookId, "BULK-" + bookId.toString().substring(24), UUID.randomUUID());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("ALTER TABLE books DROP CONSTRAINT IF EXISTS books_test_rejected_stock");
+        jdbcTemplate.update("DELETE FROM books WHERE isbn LIKE 'BULK-%'");
+    }
+
+    @Test
+    void everyChunkIsApplied() {
+        BulkStockUpdateResponse result = bookService.bulkUpdateStock(updates(
+                BOOK_5, 50, BOOK_1, 10, BOOK_3, 30, BOOK_2, 20, BOOK_4, 40));
+
+        assertThat(result.getUpdatedCount()).isEqualTo(5);
+        assertThat(result.getErrorCount()).isZero();
+        assertThat(stock(BOOK_1)).isEqualTo(10);
+        assertThat(stock(BOOK_4)).isEqualTo(40);
+        assertThat(stock(BOOK_5)).isEqualTo(50);
+        assertThat(version(BOOK_1)).isEqualTo(1);
+    }
+
+    @Test
+    void failingChunkRollsBackWithoutUndoingTheOthers() {
+        // The chunk's UPDATE succeeds, then the cache call in the same transaction throws
+        doThrow(new IllegalStateException("cache unavailable"))
+                .when(bookCache).invalidateAll(argThat((Collection<UUID> ids) -> ids.contains(BOOK_3)));
+
+        BulkStockUpdateResponse result = bookService.bulkUpdateStock(updates(
+                BOOK_1, 10, BOOK_2, 20, BOOK_3, 30, BOOK_4, 40, BOOK_5, 50));
+
+        assertThat(result.getUpdatedCount()).isEqualTo(3);
+        assertThat(result.getErrorCount()).isEqualTo(2);
+        assertThat(result.getFailures())
+                .extracting(BulkStockUpdateResponse.Failure::getBookId)
+                .containsExactlyInAnyOrder(BOOK_3, BOOK_4);
+        assertThat(result.getFailures())
+                .allSatisfy(failure -> assertThat(failure.getReason()).startsWith("Update failed"));
+        assertThat(stock(BOOK_2)).isEqualTo(20);
+        assertThat(stock(BOOK_3)).isEqualTo(5);
+        assertThat(stock(BOOK_4)).isEqualTo(5);
+        assertThat(version(BOOK_3)).isZero();
+        assertThat(stock(BOOK_5)).isEqualTo(50);
+    }
+
+    @Test
+    void rowTheDatabaseRejectsFailsOnlyItsChunk() {
+        jdbcTemplate.update("ALTER TABLE books ADD CONSTRAINT books_test_rejected_stock CHECK (stock_quantity <> 999)");
+
+        BulkStockUpdateResponse result = bookService.bulkUpdateStock(updates(
+                BOOK_1, 10, BOOK_2, 999, BOOK_3, 30));
+
+        assertThat(result.getUpdatedCount()).isEqualTo(1);
+        assertThat(result.getFailures())
+                .extracting(BulkStockUpdateResponse.Failure::getBookId)
+                .containsExactlyInAnyOrder(BOOK_1, BOOK_2);
+        assertThat(stock(BOOK_1)).isEqualTo(5);
+        assertThat(stock(BOOK_3)).isEqualTo(30);
+    }
+
+    @Test
+    void missingBooksAndInvalidQuantitiesAreReportedPerRow() {
+        BulkStockUpdateResponse result = bookService.bulkUpdateStock(updates(
+                BOOK_4, 40, BOOK_5, -1, MISSING, 60, BOOK_1, 10));
+
+        assertThat(result.getTotalRequested()).isEqualTo(4);
+        assertThat(result.getUpdatedCount()).isEqualTo(2);
+        assertThat(result.getFailures()).hasSize(2);
+        assertThat(result.getFailures()).anySatisfy(failure -> {
+            assertThat(failure.getBookId()).isEqualTo(MISSING);
+            assertThat(failure.getReason()).isEqualTo("Book not found");
+        });
+        assertThat(result.getFailures()).anySatisfy(failure -> {
+            assertThat(failure.getBookId()).isEqualTo(BOOK_5);
+            assertThat(failure.getReason()).isEqualTo("Stock quantity cannot be negative");
+        });
+        assertThat(stock(BOOK_1)).isEqualTo(10);
+        assertThat(stock(BOOK_4)).isEqualTo(40);
+        assertThat(stock(BOOK_5)).isEqualTo(5);
+    }
+
+    // Helper methods
+
+    private static UUID bookId(int n) {
+        return UUID.fromString(String.format("00000000-0000-0000-0000-%012d", n));
+    }
+
+    private static Map<UUID, Integer> updates(Object... idsAndQuantities) {
+        Map<UUID, Integer> updates = new LinkedHashMap<>();
+        for (int i = 0; i < idsAndQuantities.length; i += 2) {
+            updates.put((UUID) idsAndQuantities[i], (Integer) idsAndQuantities[i + 1]);
+        }
+        return updates;
+    }
+
+    private int stock(UUID bookId) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM books WHERE id = ?", Integer.class, bookId);
+    }
+
+    private long version(UUID bookId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM books WHERE id = ?", Long.class, bookId);
+    }
+}
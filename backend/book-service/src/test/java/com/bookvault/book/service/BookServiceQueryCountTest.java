@@ -0,0 +1,149 @@
+package com.bookvault.book.service;
+
+import com.bookvault.book.cache.BookCache;
+import com.bookvault.book.dto.BookResponse;
+import com.bookvault.book.dto.BookUpdateRequest;
+import com.bookvault.book.repository.BookStockRepository;
+import com.bookvault.book.repository.SellerRevenueRollupRepository;
+import com.bookvault.book.search.BookSearchIndex;
+import com.bookvault.book.support.PostgresContainerTest;
+import com.bookvault.shared.dto.PagedResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A page of books costs a fixed number of statements (page, count, categories) whatever its size
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BookService.class)
+class BookServiceQueryCountTest extends PostgresContainerTest {
+
+    @MockBean
+    private BookSearchIndex bookSearchIndex;
+    @MockBean
+    private BookCache bookCache;
+    @MockBean
+    private SellerRevenueRollupRepository sellerRevenueRollupRepository;
+    @MockBean
+    private SellerRevenueRollupService sellerRevenueRollupService;
+    @MockBean
+    private AnalyticsQueryExecutor analyticsQueryExecutor;
+    @MockBean
+    private BookStockRepository bookStockRepository;
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        UUID fiction = insertCategory("Fiction");
+        UUID classics = insertCategory("Classics");
+        for (int i = 0; i < 30; i++) {
+            UUID bookId = insertBook("Book " + i);
+            if (i % 3 != 0) {
+                linkCategory(bookId, fiction, true);
+                linkCategory(bookId, classics, false);
+            }
+        }
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void pageOfBooksUsesConstantNumberOfStatements() {
+        long smallPage = statementsFor(5);
+        long largePage = statementsFor(25);
+
+        assertThat(smallPage).isLessThanOrEqualTo(3);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    void booksWithoutCategoriesHaveEmptyCategoryList() {
+        PagedResponse<BookResponse> page = bookService.getAllBooks(
+                PageRequest.of(0, 30, Sort.by("title")));
+
+        assertThat(page.getContent()).hasSize(30);
+        assertThat(page.getContent()).allSatisfy(book -> assertThat(book.getCategories()).isNotNull());
+        assertThat(page.getContent()).filteredOn(book -> book.getCategories().isEmpty()).hasSize(10);
+        assertThat(page.getContent()).filteredOn(book -> book.getCategories().size() == 2).hasSize(20);
+    }
+
+    @Test
+    void updatedBookWithoutCategoriesHasEmptyCategoryList() {
+        UUID bookId = insertBook("Uncategorised");
+        UUID sellerId = jdbcTemplate.queryForObject("SELECT seller_id FROM books WHERE id = ?", UUID.class, bookId);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(sellerId, null, List.of(new SimpleGrantedAuthority("ROLE_SELLER"))));
+
+        BookResponse book = bookService.updateBook(bookId, BookUpdateRequest.builder().price(new BigDecimal("12.00")).build());
+
+        assertThat(book.getCategories()).isNotNull().isEmpty();
+    }
+
+    // Helper methods
+
+    private long statementsFor(int pageSize) {
+        entityManager.clear();
+        statistics.clear();
+        PagedResponse<BookResponse> page = bookService.getAllBooks(PageRequest.of(0, pageSize, Sort.by("title")));
+        assertThat(page.getContent()).hasSize(pageSize);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private UUID insertCategory(String name) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO categories (id, created_at, updated_at, version, name, is_active) " +
+                "VALUES (?, now(), now(), 0, ?, true)", id, name);
+        return id;
+    }
+
+    private UUID insertBook(String title) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO books (id, created_at, updated_at, version, title, author, isbn, price, " +
+                "stock_quantity, seller_id, is_active) VALUES (?, now(), now(), 0, ?, 'Author', ?, 10.00, 5, ?, true)",
+                id, title, id.toString().substring(0, 13), UUID.randomUUID());
+        return id;
+    }
+
+    private void linkCategory(UUID bookId, UUID categoryId, boolean primary) {
+        jdbcTemplate.update("INSERT INTO book_categories (id, created_at, updated_at, version, book_id, category_id, " +
+                "is_primary) VALUES (?, now(), now(), 0, ?, ?, ?)", UUID.randomUUID(), bookId, categoryId, primary);
+    }
+}
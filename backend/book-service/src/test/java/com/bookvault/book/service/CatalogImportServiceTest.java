@@ -0,0 +1,152 @@
+package com.bookvault.book.service;
+
+import com.bookvault.book.cache.BookCache;
+import com.bookvault.book.catalog.CatalogImportReader;
+import com.bookvault.book.dto.CatalogImportResponse;
+import com.bookvault.book.model.Book;
+import com.bookvault.book.repository.BookRepository;
+import com.bookvault.book.repository.CatalogImportRepository;
+import com.bookvault.book.search.BookSearchIndex;
+import com.bookvault.book.support.PostgresContainerTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Catalog import upserts by ISBN: re-importing the same content writes nothing, and a row
+ * the database rejects fails on its own instead of taking its chunk down with it
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogImportServiceTest extends PostgresContainerTest {
+
+    private static final String CSV = """
+            isbn,title,author,price,category,stock
+            9780000000001,Dune,Frank Herbert,9.99,Science Fiction|Classics,5
+            9780000000002,Hyperion,Dan Simmons,8.50,Science Fiction,3
+            9780000000003,Emma,Jane Austen,6.00,Classics,7
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private BookRepository bookRepository;
+
+    private CatalogImportService service;
+    private UUID sellerId;
+
+    @BeforeEach
+    void setUp() {
+        sellerId = UUID.randomUUID();
+        // Chunks of two, so the three rows span two chunks
+        service = new CatalogImportService(new CatalogImportRepository(jdbcTemplate), transactionTemplate,
+                mock(BookCache.class), mock(BookSearchIndex.class), new ObjectMapper(),
+                new SimpleMeterRegistry(), 2, 100, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("ALTER TABLE books DROP CONSTRAINT IF EXISTS books_test_rejected_title");
+        jdbcTemplate.update("DELETE FROM book_categories WHERE book_id IN (SELECT id FROM books WHERE isbn LIKE '978000000000%')");
+        jdbcTemplate.update("DELETE FROM books WHERE isbn LIKE '978000000000%'");
+        jdbcTemplate.update("DELETE FROM categories WHERE name IN ('Science Fiction', 'Classics')");
+    }
+
+    @Test
+    void reimportingTheSameCatalogWritesNothing() {
+        CatalogImportResponse first = importCsv(CSV);
+        assertThat(first.getInserted()).isEqualTo(3);
+        assertThat(first.getFailed()).isZero();
+        long version = bookVersion("9780000000001");
+
+        CatalogImportResponse second = importCsv(CSV);
+
+        assertThat(second.getInserted()).isZero();
+        assertThat(second.getUpdated()).isZero();
+        assertThat(second.getUnchanged()).isEqualTo(3);
+        assertThat(bookVersion("9780000000001")).isEqualTo(version);
+        assertThat(countBooks()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM book_categories bc JOIN books b ON b.id = bc.book_id " +
+                "WHERE b.isbn LIKE '978000000000%'", Integer.class)).isEqualTo(4);
+    }
+
+    @Test
+    void changedRowsAreUpdatedWithoutTouchingStock() {
+        importCsv(CSV);
+        jdbcTemplate.update("UPDATE books SET stock_quantity = 1 WHERE isbn = '9780000000002'");
+
+        CatalogImportResponse result = importCsv(CSV.replace("Hyperion,Dan Simmons,8.50", "Hyperion,Dan Simmons,9.50"));
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getUnchanged()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT price FROM books WHERE isbn = '9780000000002'", String.class))
+                .isEqualTo("9.50");
+        assertThat(jdbcTemplate.queryForObject("SELECT stock_quantity FROM books WHERE isbn = '9780000000002'", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void editsOutsideTheImportAreOverwrittenByTheNextImport() {
+        importCsv(CSV);
+        Book book = bookRepository.findByIsbn("9780000000001").orElseThrow();
+        book.setTitle("Dune (edited)");
+        bookRepository.save(book);
+        assertThat(jdbcTemplate.queryForObject("SELECT import_hash FROM books WHERE isbn = '9780000000001'", String.class))
+                .isNull();
+
+        CatalogImportResponse result = importCsv(CSV);
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT title FROM books WHERE isbn = '9780000000001'", String.class))
+                .isEqualTo("Dune");
+    }
+
+    @Test
+    void onlyRowsTheDatabaseRejectsFail() {
+        jdbcTemplate.update("ALTER TABLE books ADD CONSTRAINT books_test_rejected_title CHECK (title <> 'Hyperion')");
+
+        CatalogImportResponse result = importCsv(CSV);
+
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getFailures()).singleElement().satisfies(failure -> {
+            assertThat(failure.getIsbn()).isEqualTo("9780000000002");
+            assertThat(failure.getLine()).isEqualTo(3);
+        });
+        assertThat(countBooks()).isEqualTo(2);
+    }
+
+    // Helper methods
+
+    private CatalogImportResponse importCsv(String csv) {
+        return service.importCatalog(CatalogImportReader.Format.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), sellerId, null);
+    }
+
+    private long bookVersion(String isbn) {
+        return jdbcTemplate.queryForObject("SELECT version FROM books WHERE isbn = ?", Long.class, isbn);
+    }
+
+    private int countBooks() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM books WHERE isbn LIKE '978000000000%'", Integer.class);
+    }
+}
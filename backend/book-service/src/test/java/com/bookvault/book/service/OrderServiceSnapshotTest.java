@@ -0,0 +1,124 @@
+package com.bookvault.book.service;
+
+import com.bookvault.book.cache.BookCache;
+import com.bookvault.book.dto.CreateOrderRequest;
+import com.bookvault.book.dto.OrderItemRequest;
+import com.bookvault.book.dto.OrderItemResponse;
+import com.bookvault.book.dto.OrderResponse;
+import com.bookvault.book.model.PaymentMethod;
+import com.bookvault.book.repository.BookRepository;
+import com.bookvault.book.repository.BookStockRepository;
+import com.bookvault.book.repository.OrderItemRepository;
+import com.bookvault.book.repository.OrderRepository;
+import com.bookvault.book.support.PostgresContainerTest;
+import com.bookvault.shared.util.OrderNumberGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Order items snapshot the catalog's title, author and cover URL, and every value the
+ * catalog accepts fits the snapshot columns and the OrderItem validation limits
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderServiceSnapshotTest extends PostgresContainerTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private OrderService orderService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        orderService = new OrderService(orderRepository, orderItemRepository, bookRepository,
+                new BookStockRepository(jdbcTemplate), mock(BookCache.class), new OrderNumberGenerator(1, false, ""),
+                mock(SellerRevenueRollupService.class), transactionTemplate, new SimpleMeterRegistry(), 1, 0, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (SELECT id FROM orders WHERE user_id = ?)", userId);
+        jdbcTemplate.update("DELETE FROM orders WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM books WHERE isbn LIKE 'SNAP-%'");
+    }
+
+    @Test
+    void booksWithTheLongestCatalogTitleAndAuthorCanBeOrdered() {
+        String title = "T".repeat(255);
+        String author = "A".repeat(255);
+        String coverUrl = "https://covers.example.com/" + "c".repeat(400) + ".jpg";
+        UUID bookId = insertBook("SNAP-1", title, author, coverUrl);
+
+        OrderItemResponse item = order(bookId);
+
+        assertThat(item.getBookTitle()).isEqualTo(title);
+        assertThat(item.getBookAuthor()).isEqualTo(author);
+        assertThat(item.getBookImageUrl()).isEqualTo(coverUrl);
+        assertThat(jdbcTemplate.queryForObject("SELECT book_title FROM order_items WHERE book_id = ?", String.class, bookId))
+                .isEqualTo(title);
+    }
+
+    @Test
+    void coverUrlsTooLongForTheSnapshotAreLeftOut() {
+        String coverUrl = "https://covers.example.com/" + "c".repeat(600) + ".jpg";
+        UUID bookId = insertBook("SNAP-2", "Dune", "Frank Herbert", coverUrl);
+
+        OrderItemResponse item = order(bookId);
+
+        assertThat(item.getBookTitle()).isEqualTo("Dune");
+        assertThat(item.getBookImageUrl()).isNull();
+    }
+
+    // Helper methods
+
+    private OrderItemResponse order(UUID bookId) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(List.of(new OrderItemRequest(bookId, null, 1, null)));
+        request.setShippingAddress("1 Main Street");
+        request.setShippingCity("Springfield");
+        request.setShippingCountry("US");
+        request.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        request.setCustomerEmail("reader@example.com");
+        request.setCustomerName("Reader");
+
+        OrderResponse order = orderService.createOrder(userId, request);
+
+        assertThat(order.getOrderItems()).hasSize(1);
+        return order.getOrderItems().get(0);
+    }
+
+    private UUID insertBook(String isbn, String title, String author, String coverUrl) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO books (id, created_at, updated_at, version, title, author, isbn, price, " +
+                "stock_quantity, seller_id, is_active, cover_image_url) " +
+                "VALUES (?, now(), now(), 0, ?, ?, ?, 10.00, 5, ?, true, ?)",
+                id, title, author, isbn, UUID.randomUUID(), coverUrl);
+        return id;
+    }
+}
@@ -0,0 +1,196 @@
+package com.bookvault.shared.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.bookvault.shared.enums.UserRole;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Token verification and the verified-token cache, driven by a test wall clock and a test
+ * cache ticker that can be moved independently
+ */
+class JwtUtilTest {
+
+    private static final String SECRET = "jwt-util-test-secret-that-is-long-enough-for-hmac-sha-512-signatures";
+    private static final Duration ONE_MINUTE = Duration.ofMinutes(1);
+    private static final Duration ONE_HOUR = Duration.ofHours(1);
+    private static final UUID USER_ID = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000001");
+
+    private final TestClock clock = new TestClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final TestTicker ticker = new TestTicker();
+
+    @Test
+    void cacheEntriesExpireWithTheirToken() {
+        JwtUtil jwtUtil = jwtUtil(ONE_MINUTE, Duration.ofMinutes(5));
+        jwtUtil.verify(accessToken(jwtUtil));
+
+        ticker.advance(Duration.ofSeconds(59));
+        assertThat(jwtUtil.cachedTokens()).isOne();
+
+        ticker.advance(Duration.ofSeconds(1));
+        assertThat(jwtUtil.cachedTokens()).isZero();
+    }
+
+    @Test
+    void cacheEntriesOfLongLivedTokensExpireAfterTheConfiguredTtl() {
+        JwtUtil jwtUtil = jwtUtil(ONE_HOUR, Duration.ofMinutes(5));
+        String token = accessToken(jwtUtil);
+        jwtUtil.verify(token);
+
+        ticker.advance(Duration.ofMinutes(5));
+        assertThat(jwtUtil.cachedTokens()).isZero();
+
+        assertThat(jwtUtil.verify(token).getUserId()).isEqualTo(USER_ID);
+        assertThat(jwtUtil.cacheStats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void expiredTokensAreNotServedFromTheCache() {
+        JwtUtil jwtUtil = jwtUtil(ONE_MINUTE, Duration.ofMinutes(5));
+        String token = accessToken(jwtUtil);
+        jwtUtil.verify(token);
+
+        // The wall clock passes the token's expiry while the cache's ticker lags behind
+        clock.advance(ONE_MINUTE.plusSeconds(1));
+
+        assertThat(jwtUtil.cachedTokens()).isOne();
+        assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtUtil.validateToken(token)).isFalse();
+        assertThat(jwtUtil.isTokenExpired(token)).isTrue();
+    }
+
+    @Test
+    void tokensThatFailVerificationAreNeverCached() {
+        JwtUtil jwtUtil = jwtUtil(ONE_HOUR, Duration.ofMinutes(5));
+        JwtUtil otherIssuer = new JwtUtil(SECRET.replace('t', 'x'), ONE_HOUR.toMillis(), ONE_HOUR.toMillis(), 100,
+                Duration.ofMinutes(5), clock, ticker);
+        String token = accessToken(jwtUtil);
+        String[] parts = token.split("\\.");
+        String claims = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        String tampered = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(claims.replace("USER", "ADMIN").getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+        String unsigned = Jwts.builder().subject(USER_ID.toString()).claim("role", "ADMIN").compact();
+
+        for (String invalid : new String[]{accessToken(otherIssuer), tampered, unsigned, "not.a.jwt", "garbage"}) {
+            assertThatThrownBy(() -> jwtUtil.verify(invalid)).isInstanceOf(JwtException.class);
+            assertThatThrownBy(() -> jwtUtil.verify(invalid)).isInstanceOf(JwtException.class);
+            assertThat(jwtUtil.validateToken(invalid)).isFalse();
+        }
+        assertThatThrownBy(() -> jwtUtil.verify("")).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(jwtUtil.cachedTokens()).isZero();
+        assertThat(jwtUtil.cacheStats().hitCount()).isZero();
+    }
+
+    @Test
+    void refreshTokensAreNotAccessTokens() {
+        JwtUtil jwtUtil = jwtUtil(ONE_HOUR, Duration.ofMinutes(5));
+        String access = accessToken(jwtUtil);
+        String refresh = jwtUtil.generateRefreshToken(USER_ID);
+
+        JwtPrincipal accessPrincipal = jwtUtil.verify(access);
+        JwtPrincipal refreshPrincipal = jwtUtil.verify(refresh);
+
+        assertThat(accessPrincipal.isAccessToken()).isTrue();
+        assertThat(accessPrincipal.isRefreshToken()).isFalse();
+        assertThat(accessPrincipal.getEmail()).isEqualTo("reader@example.com");
+        assertThat(accessPrincipal.getRole()).isEqualTo(UserRole.USER);
+        assertThat(refreshPrincipal.isAccessToken()).isFalse();
+        assertThat(refreshPrincipal.isRefreshToken()).isTrue();
+        assertThat(refreshPrincipal.getUserId()).isEqualTo(USER_ID);
+        assertThat(refreshPrincipal.getRole()).isNull();
+        assertThat(jwtUtil.isRefreshToken(refresh)).isTrue();
+        assertThat(jwtUtil.isRefreshToken(access)).isFalse();
+        // Served from the cache, the distinction must hold just the same
+        assertThat(jwtUtil.verify(refresh).isAccessToken()).isFalse();
+        assertThat(jwtUtil.cacheStats().missCount()).isEqualTo(2);
+    }
+
+    /**
+     * The cost that matters per request is the HMAC check, so count how many verifications
+     * actually parse and check a signature; the count is exact on every run, unlike timings
+     */
+    @Test
+    void repeatVerificationsOfATokenCheckItsSignatureOnce() {
+        JwtUtil jwtUtil = jwtUtil(ONE_HOUR, Duration.ofMinutes(5));
+        String[] tokens = new String[10];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = jwtUtil.generateToken(UUID.randomUUID(), "reader" + i + "@example.com", UserRole.USER);
+        }
+
+        for (int request = 0; request < 1_000; request++) {
+            JwtPrincipal principal = jwtUtil.verify(tokens[request % tokens.length]);
+            assertThat(principal.isAccessToken()).isTrue();
+        }
+
+        assertThat(jwtUtil.cacheStats().missCount()).isEqualTo(tokens.length);
+        assertThat(jwtUtil.cacheStats().hitCount()).isEqualTo(1_000 - tokens.length);
+    }
+
+    // Helper methods
+
+    private JwtUtil jwtUtil(Duration tokenLifetime, Duration cacheTtl) {
+        return new JwtUtil(SECRET, tokenLifetime.toMillis(), tokenLifetime.toMillis(), 100, cacheTtl, clock, ticker);
+    }
+
+    private static String accessToken(JwtUtil jwtUtil) {
+        return jwtUtil.generateToken(USER_ID, "reader@example.com", UserRole.USER);
+    }
+
+    private static final class TestClock extends Clock {
+        private Instant now;
+
+        TestClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    private static final class TestTicker implements Ticker {
+        private final AtomicLong nanos = new AtomicLong();
+
+        void advance(Duration duration) {
+            nanos.addAndGet(duration.toNanos());
+        }
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    }
+}
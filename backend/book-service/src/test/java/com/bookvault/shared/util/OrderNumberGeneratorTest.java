@@ -0,0 +1,124 @@
+package com.bookvault.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderNumberGeneratorTest {
+
+    // 2025-01-01T00:00:00Z
+    private static final long NOW = 1735689600000L;
+
+    @Test
+    void idsAreStrictlyIncreasing() {
+        AtomicLong clock = new AtomicLong(NOW);
+        OrderNumberGenerator generator = new OrderNumberGenerator(7, clock::get);
+
+        long previous = -1;
+        for (int i = 0; i < 20_000; i++) {
+            if (i % 1000 == 0) {
+                clock.addAndGet(1);
+            }
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void clockRollbackDoesNotReissueIds() {
+        AtomicLong clock = new AtomicLong(NOW);
+        OrderNumberGenerator generator = new OrderNumberGenerator(3, clock::get);
+
+        long beforeRollback = generator.nextId();
+        clock.set(NOW - 5_000);
+        long afterRollback = generator.nextId();
+        clock.set(NOW - 4_000);
+        long stillBehind = generator.nextId();
+
+        assertThat(afterRollback).isGreaterThan(beforeRollback);
+        assertThat(stillBehind).isGreaterThan(afterRollback);
+    }
+
+    @Test
+    void sequenceOverflowBorrowsTheNextMillisecond() {
+        OrderNumberGenerator generator = new OrderNumberGenerator(1, () -> NOW);
+
+        Set<Long> ids = new HashSet<>();
+        long previous = -1;
+        // 4096 IDs fit in one millisecond; the rest continue on later timestamps
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            ids.add(id);
+            previous = id;
+        }
+        assertThat(ids).hasSize(10_000);
+    }
+
+    @Test
+    void concurrentCallersGetUniqueIds() throws Exception {
+        OrderNumberGenerator generator = new OrderNumberGenerator(9, System::currentTimeMillis);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(ids).hasSize(40_000);
+    }
+
+    @Test
+    void nodesNeverProduceTheSameId() {
+        OrderNumberGenerator first = new OrderNumberGenerator(0, () -> NOW);
+        OrderNumberGenerator second = new OrderNumberGenerator(1, () -> NOW);
+
+        assertThat(first.nextId()).isNotEqualTo(second.nextId());
+    }
+
+    @Test
+    void rendersFixedLengthCrockfordNumbers() {
+        OrderNumberGenerator generator = new OrderNumberGenerator(5, () -> NOW);
+
+        assertThat(generator.nextOrderNumber("BV-")).matches("BV-[0-9A-HJKMNP-TV-Z]{13}");
+        assertThat(generator.nextTrackingNumber()).matches("TRK-[0-9A-HJKMNP-TV-Z]{13}");
+    }
+
+    @Test
+    void missingNodeIdFailsUnlessDerivingIsAllowed() {
+        assertThatThrownBy(() -> new OrderNumberGenerator(-1, false, "book-service:1"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("node-id");
+
+        OrderNumberGenerator derived = new OrderNumberGenerator(-1, true, "book-service:1");
+        assertThat(derived.nextId()).isPositive();
+    }
+
+    @Test
+    void rejectsOutOfRangeNodeIds() {
+        assertThatThrownBy(() -> new OrderNumberGenerator(1024, false, ""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
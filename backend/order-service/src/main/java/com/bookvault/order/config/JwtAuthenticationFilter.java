@@ -1,6 +1,8 @@
 package com.bookvault.order.config;
 
+import com.bookvault.shared.security.JwtPrincipal;
 import com.bookvault.shared.security.JwtUtil;
+import com.bookvault.shared.security.RouteClassifier;
 import com.bookvault.shared.enums.UserRole;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -15,7 +17,6 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
-import java.util.Arrays;
 
 /**
  * JWT Authentication Filter for Order Service
@@ -23,26 +24,19 @@ import java.util.Arrays;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
+    private final RouteClassifier routeClassifier;
     
-    // Define public endpoints to skip JWT processing
-    private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
-        "/actuator/health",
-        "/v3/api-docs",
-        "/swagger-ui"
-    );
-    
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, RouteClassifier routeClassifier) {
         this.jwtUtil = jwtUtil;
+        this.routeClassifier = routeClassifier;
     }
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
         
-        String requestPath = request.getRequestURI();
-        
-        // Skip JWT processing for public endpoints
-        if (isPublicEndpoint(requestPath)) {
+        // Skip JWT processing for public endpoints (same rules as SecurityConfig)
+        if (routeClassifier.classify(request).isPublic()) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -57,11 +51,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = authHeader.substring(7);
             
-            // Validate token and extract user information
-            if (jwtUtil.validateToken(token) && !jwtUtil.isTokenExpired(token)) {
-                UUID userId = jwtUtil.getUserIdFromToken(token);
-                String email = jwtUtil.getEmailFromToken(token);
-                UserRole role = jwtUtil.getRoleFromToken(token);
+            // OPTIMIZATION: Verify signature and expiry once (repeat tokens are served from cache)
+            JwtPrincipal principal = jwtUtil.verify(token);
+            if (principal.isAccessToken()) {
+                UUID userId = principal.getUserId();
+                String email = principal.getEmail();
+                UserRole role = principal.getRole();
                 
                 List<SimpleGrantedAuthority> authorities = List.of(
                     new SimpleGrantedAuthority("ROLE_" + role.name())
@@ -87,11 +82,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
-    
-    /**
-     * Check if endpoint is public to skip JWT processing
-     */
-    private boolean isPublicEndpoint(String requestPath) {
-        return PUBLIC_ENDPOINTS.stream().anyMatch(requestPath::startsWith);
-    }
-} 
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 package com.bookvault.order.config;
 
 import com.bookvault.shared.security.JwtUtil;
+import com.bookvault.shared.security.RouteAccess;
+import com.bookvault.shared.security.RouteClassifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -30,25 +32,38 @@ public class SecurityConfig {
         this.jwtUtil = jwtUtil;
     }
 
+    /**
+     * Single source of truth for which routes are public; used by the authorization rules
+     * and by JwtAuthenticationFilter to skip token processing
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public RouteClassifier routeClassifier() {
+        return RouteClassifier.builder()
+                .permitAll("/actuator/**")
+                .authenticated("/api/orders/**")
+                .defaultAccess(RouteAccess.AUTHENTICATED)
+                .build();
+    }
+
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http, RouteClassifier routeClassifier,
+                                           JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // OPTIMIZATION: One precompiled route trie instead of a chain of request matchers
             .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/actuator/**").permitAll()
-                .requestMatchers("/api/orders/**").authenticated()
-                .anyRequest().authenticated()
+                .anyRequest().access(routeClassifier.authorizationManager())
             )
-            .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtil);
+    public JwtAuthenticationFilter jwtAuthenticationFilter(RouteClassifier routeClassifier) {
+        return new JwtAuthenticationFilter(jwtUtil, routeClassifier);
     }
 
     @Bean
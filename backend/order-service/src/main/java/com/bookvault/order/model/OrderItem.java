@@ -29,11 +29,11 @@ public class OrderItem extends BaseEntity {
     
     @Column(name = "book_title", nullable = false)
     @NotBlank(message = "Book title is required")
-    @Size(max = 200, message = "Book title must not exceed 200 characters")
+    @Size(max = 255, message = "Book title must not exceed 255 characters")
     private String bookTitle;
     
     @Column(name = "book_author")
-    @Size(max = 200, message = "Book author must not exceed 200 characters")
+    @Size(max = 255, message = "Book author must not exceed 255 characters")
     private String bookAuthor;
     
     @Column(name = "book_isbn")
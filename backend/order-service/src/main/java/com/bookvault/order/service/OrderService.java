@@ -6,6 +6,7 @@ import com.bookvault.order.repository.OrderRepository;
 import com.bookvault.order.repository.OrderItemRepository;
 import com.bookvault.shared.exception.BadRequestException;
 import com.bookvault.shared.exception.NotFoundException;
+import com.bookvault.shared.util.OrderNumberGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -15,7 +16,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -30,11 +30,14 @@ public class OrderService {
     
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final OrderNumberGenerator orderNumberGenerator;
     
     // Constructor (replacing @RequiredArgsConstructor)
-    public OrderService(OrderRepository orderRepository, OrderItemRepository orderItemRepository) {
+    public OrderService(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+                       OrderNumberGenerator orderNumberGenerator) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
+        this.orderNumberGenerator = orderNumberGenerator;
     }
     
     /**
@@ -373,18 +376,14 @@ public class OrderService {
      * Generate unique order number
      */
     private String generateOrderNumber() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String randomSuffix = String.valueOf((int) (Math.random() * 1000));
-        return "ORD-" + timestamp + "-" + String.format("%03d", Integer.parseInt(randomSuffix));
+        return orderNumberGenerator.nextOrderNumber("ORD-");
     }
     
     /**
      * Generate tracking number
      */
     private String generateTrackingNumber() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String randomSuffix = String.valueOf((int) (Math.random() * 100000));
-        return "TRK-" + timestamp + "-" + String.format("%05d", Integer.parseInt(randomSuffix));
+        return orderNumberGenerator.nextTrackingNumber();
     }
     
     /**
@@ -0,0 +1,58 @@
+-- Baseline schema for order-service.
+-- Matches the tables previously generated by Hibernate (ddl-auto: update), so every
+-- statement is IF NOT EXISTS and this script is a no-op on an existing database.
+-- orders and order_items are shared with book-service; keep both definitions identical.
+
+CREATE TABLE IF NOT EXISTS orders (
+    id                      UUID          NOT NULL,
+    created_at              TIMESTAMP(6)  NOT NULL,
+    updated_at              TIMESTAMP(6)  NOT NULL,
+    version                 BIGINT,
+    user_id                 UUID          NOT NULL,
+    order_number            VARCHAR(255)  NOT NULL,
+    status                  VARCHAR(255)  NOT NULL,
+    total_amount            NUMERIC(10,2) NOT NULL,
+    shipping_cost           NUMERIC(10,2),
+    tax_amount              NUMERIC(10,2),
+    discount_amount         NUMERIC(10,2),
+    final_amount            NUMERIC(10,2) NOT NULL,
+    shipping_address        VARCHAR(255),
+    shipping_city           VARCHAR(255),
+    shipping_state          VARCHAR(255),
+    shipping_postal_code    VARCHAR(255),
+    shipping_country        VARCHAR(255),
+    payment_method          VARCHAR(255),
+    payment_status          VARCHAR(255),
+    payment_transaction_id  VARCHAR(255),
+    customer_email          VARCHAR(255),
+    customer_phone          VARCHAR(255),
+    customer_name           VARCHAR(255),
+    tracking_number         VARCHAR(255),
+    estimated_delivery_date TIMESTAMP(6),
+    delivered_at            TIMESTAMP(6),
+    cancelled_at            TIMESTAMP(6),
+    cancellation_reason     VARCHAR(255),
+    order_notes             VARCHAR(255),
+    CONSTRAINT pk_orders PRIMARY KEY (id),
+    CONSTRAINT uk_orders_order_number UNIQUE (order_number)
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id              UUID          NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    updated_at      TIMESTAMP(6)  NOT NULL,
+    version         BIGINT,
+    order_id        UUID          NOT NULL,
+    book_id         UUID          NOT NULL,
+    book_title      VARCHAR(255)  NOT NULL,
+    book_author     VARCHAR(255),
+    book_isbn       VARCHAR(255),
+    book_image_url  VARCHAR(255),
+    quantity        INTEGER       NOT NULL,
+    unit_price      NUMERIC(10,2) NOT NULL,
+    total_price     NUMERIC(10,2),
+    discount_amount NUMERIC(10,2),
+    final_price     NUMERIC(10,2),
+    CONSTRAINT pk_order_items PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
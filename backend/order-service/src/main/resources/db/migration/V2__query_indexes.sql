@@ -0,0 +1,28 @@
+-- Indexes for the queries in OrderRepository and OrderItemRepository.
+-- Index names match book-service, which shares these tables, so whichever
+-- service migrates first creates them and the other skips them.
+--
+-- Indexes are built CONCURRENTLY (see V2__query_indexes.sql.conf), so existing tables stay
+-- writable while they build. If the migration fails part way, an index can be left INVALID
+-- and IF NOT EXISTS would skip it: drop it before running the migration again.
+
+-- ========== ORDERS ==========
+
+-- Order history per user, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_user_created ON orders (user_id, created_at DESC);
+
+-- Status filters and stale PENDING/PROCESSING sweeps
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status_created ON orders (status, created_at);
+
+-- Date range reports and recent orders
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_created_at ON orders (created_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_tracking_number ON orders (tracking_number) WHERE tracking_number IS NOT NULL;
+
+-- ========== ORDER ITEMS ==========
+
+-- PostgreSQL does not index foreign keys: order item loads and cascades need this
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+
+-- Sales per book
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_book_id ON order_items (book_id);
@@ -0,0 +1,64 @@
+package com.bookvault.shared.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.bookvault.shared.enums.UserRole;
+
+/**
+ * Immutable result of verifying a JWT once: the user it was issued for and its claims.
+ * Returned by {@link JwtUtil#verify(String)}; safe to cache and share between threads.
+ */
+public final class JwtPrincipal {
+
+    private final UUID userId;
+    private final String email;
+    private final UserRole role;
+    private final boolean refreshToken;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(UUID userId, String email, UserRole role, boolean refreshToken, Instant expiresAt) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.refreshToken = refreshToken;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    /**
+     * Email claim, null for refresh tokens
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Role claim, null for refresh tokens
+     */
+    public UserRole getRole() {
+        return role;
+    }
+
+    public boolean isRefreshToken() {
+        return refreshToken;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Whether this is an access token that can authenticate a request
+     */
+    public boolean isAccessToken() {
+        return !refreshToken && role != null;
+    }
+}
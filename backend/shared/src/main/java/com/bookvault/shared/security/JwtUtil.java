@@ -1,21 +1,34 @@
 package com.bookvault.shared.security;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import javax.crypto.SecretKey;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.bookvault.shared.enums.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -32,11 +45,26 @@ public class JwtUtil {
     private final SecretKey secretKey;
     private final long jwtExpirationMs;
     private final long refreshExpirationMs;
+    private final JwtParser jwtParser;
+    private final Cache<String, JwtPrincipal> verifiedTokens;
+    private final Clock clock;
     
+    @Autowired
     public JwtUtil(
             @Value("${jwt.secret:bookvault-secret-key-that-should-be-very-long-and-secure-in-production-environment}") String secret,
             @Value("${jwt.expiration:86400000}") long jwtExpirationMs,
-            @Value("${jwt.refresh-expiration:604800000}") long refreshExpirationMs) {
+            @Value("${jwt.refresh-expiration:604800000}") long refreshExpirationMs,
+            @Value("${jwt.verification-cache.max-size:10000}") long verificationCacheMaxSize,
+            @Value("${jwt.verification-cache.ttl:5m}") Duration verificationCacheTtl) {
+        this(secret, jwtExpirationMs, refreshExpirationMs, verificationCacheMaxSize, verificationCacheTtl,
+                Clock.systemUTC(), Ticker.systemTicker());
+    }
+    
+    /**
+     * Token expiry is checked against the wall clock; cache entries age on the monotonic ticker
+     */
+    JwtUtil(String secret, long jwtExpirationMs, long refreshExpirationMs, long verificationCacheMaxSize,
+            Duration verificationCacheTtl, Clock clock, Ticker ticker) {
         
         // Ensure the secret is long enough for HMAC-SHA algorithms (at least 256 bits / 32 bytes)
         if (secret.length() < 32) {
@@ -46,24 +74,55 @@ public class JwtUtil {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
         this.jwtExpirationMs = jwtExpirationMs;
         this.refreshExpirationMs = refreshExpirationMs;
+        this.clock = clock;
+        
+        // OPTIMIZATION: Parsers are immutable and thread-safe, so build the verifying parser once
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+        
+        // OPTIMIZATION: Remember verified tokens until they expire (capped by the TTL)
+        long maxTtlMs = verificationCacheTtl.toMillis();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verificationCacheMaxSize)
+                .ticker(ticker)
+                .recordStats()
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        long ttlMs = maxTtlMs;
+                        if (principal.getExpiresAt() != null) {
+                            ttlMs = Math.min(ttlMs, principal.getExpiresAt().toEpochMilli() - clock.millis());
+                        }
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMs));
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
     
     /**
      * Generate JWT token for user
      */
     public String generateToken(UUID userId, String email, UserRole role) {
-        Date expiryDate = Date.from(
-                LocalDateTime.now()
-                        .plusSeconds(jwtExpirationMs / 1000)
-                        .atZone(ZoneId.systemDefault())
-                        .toInstant()
-        );
+        Instant now = clock.instant();
+        Date expiryDate = Date.from(now.plusSeconds(jwtExpirationMs / 1000));
         
         return Jwts.builder()
                 .setSubject(userId.toString())
                 .claim("email", email)
                 .claim("role", role.name())
-                .setIssuedAt(new Date())
+                .setIssuedAt(Date.from(now))
                 .setExpiration(expiryDate)
                 .signWith(secretKey, SignatureAlgorithm.HS512)
                 .compact();
@@ -73,53 +132,71 @@ public class JwtUtil {
      * Generate refresh token
      */
     public String generateRefreshToken(UUID userId) {
-        Date expiryDate = Date.from(
-                LocalDateTime.now()
-                        .plusSeconds(refreshExpirationMs / 1000)
-                        .atZone(ZoneId.systemDefault())
-                        .toInstant()
-        );
+        Instant now = clock.instant();
+        Date expiryDate = Date.from(now.plusSeconds(refreshExpirationMs / 1000));
         
         return Jwts.builder()
                 .setSubject(userId.toString())
                 .claim("type", "refresh")
-                .setIssuedAt(new Date())
+                .setIssuedAt(Date.from(now))
                 .setExpiration(expiryDate)
                 .signWith(secretKey, SignatureAlgorithm.HS512)
                 .compact();
     }
     
+    /**
+     * Verify the token's signature and expiry and return its claims in one pass.
+     * Results are cached by token hash until the token expires, so repeat requests
+     * with the same bearer token skip parsing and signature verification.
+     *
+     * @throws JwtException if the token is malformed, forged or expired
+     * @throws IllegalArgumentException if the token is empty or its claims are invalid
+     */
+    public JwtPrincipal verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT token is empty");
+        }
+        
+        String key = hashToken(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(key);
+        // The ticker and the wall clock can drift apart, so a cached entry may outlive its token
+        if (cached != null && !cached.isExpired(clock.instant())) {
+            return cached;
+        }
+        
+        // Expired tokens fail here, so they are never served from the cache
+        JwtPrincipal principal = toPrincipal(getClaims(token));
+        verifiedTokens.put(key, principal);
+        return principal;
+    }
+    
     /**
      * Extract user ID from token
      */
     public UUID getUserIdFromToken(String token) {
-        Claims claims = getClaims(token);
-        return UUID.fromString(claims.getSubject());
+        return verify(token).getUserId();
     }
     
     /**
      * Extract email from token
      */
     public String getEmailFromToken(String token) {
-        Claims claims = getClaims(token);
-        return claims.get("email", String.class);
+        return verify(token).getEmail();
     }
     
     /**
      * Extract role from token
      */
     public UserRole getRoleFromToken(String token) {
-        Claims claims = getClaims(token);
-        String roleString = claims.get("role", String.class);
-        return UserRole.valueOf(roleString);
+        return verify(token).getRole();
     }
     
     /**
      * Get expiration date from token
      */
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = getClaims(token);
-        return claims.getExpiration();
+        Instant expiresAt = verify(token).getExpiresAt();
+        return expiresAt != null ? Date.from(expiresAt) : null;
     }
     
     /**
@@ -127,7 +204,7 @@ public class JwtUtil {
      */
     public boolean validateToken(String token) {
         try {
-            getClaims(token);
+            verify(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
@@ -140,8 +217,7 @@ public class JwtUtil {
      */
     public boolean isTokenExpired(String token) {
         try {
-            Date expiration = getExpirationDateFromToken(token);
-            return expiration.before(new Date());
+            return verify(token).isExpired(clock.instant());
         } catch (JwtException | IllegalArgumentException e) {
             return true;
         }
@@ -152,8 +228,7 @@ public class JwtUtil {
      */
     public boolean isRefreshToken(String token) {
         try {
-            Claims claims = getClaims(token);
-            return "refresh".equals(claims.get("type", String.class));
+            return verify(token).isRefreshToken();
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
@@ -163,10 +238,47 @@ public class JwtUtil {
      * Get claims from token
      */
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
+    
+    private JwtPrincipal toPrincipal(Claims claims) {
+        String roleString = claims.get("role", String.class);
+        Date expiration = claims.getExpiration();
+        return new JwtPrincipal(
+                UUID.fromString(claims.getSubject()),
+                claims.get("email", String.class),
+                roleString != null ? UserRole.valueOf(roleString) : null,
+                "refresh".equals(claims.get("type", String.class)),
+                expiration != null ? expiration.toInstant() : null
+        );
+    }
+    
+    /**
+     * Number of verified tokens currently cached
+     */
+    long cachedTokens() {
+        verifiedTokens.cleanUp();
+        return verifiedTokens.estimatedSize();
+    }
+    
+    /**
+     * Cache hits are verifications that skipped parsing and the signature check
+     */
+    CacheStats cacheStats() {
+        return verifiedTokens.stats();
+    }
+    
+    /**
+     * SHA-256 of the token, so the cache never holds raw bearer tokens
+     */
+    private static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.bookvault.shared.security;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.bookvault.shared.enums.UserRole;
+
+/**
+ * Access requirement of a route as decided by {@link RouteClassifier}.
+ * Instances are shared constants, so classifying a request never allocates.
+ */
+public final class RouteAccess {
+
+    public enum Level {
+        PUBLIC,
+        AUTHENTICATED,
+        ROLE
+    }
+
+    public static final RouteAccess PUBLIC = new RouteAccess(Level.PUBLIC, null);
+    public static final RouteAccess AUTHENTICATED = new RouteAccess(Level.AUTHENTICATED, null);
+
+    private static final Map<UserRole, RouteAccess> ROLES = new EnumMap<>(UserRole.class);
+
+    static {
+        for (UserRole role : UserRole.values()) {
+            ROLES.put(role, new RouteAccess(Level.ROLE, role));
+        }
+    }
+
+    private final Level level;
+    private final UserRole role;
+
+    private RouteAccess(Level level, UserRole role) {
+        this.level = level;
+        this.role = role;
+    }
+
+    /**
+     * Access that requires an authenticated user with the given role
+     */
+    public static RouteAccess role(UserRole role) {
+        return ROLES.get(role);
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Required role, null unless the level is ROLE
+     */
+    public UserRole getRole() {
+        return role;
+    }
+
+    public boolean isPublic() {
+        return level == Level.PUBLIC;
+    }
+
+    @Override
+    public String toString() {
+        return role != null ? level + "(" + role + ")" : level.name();
+    }
+}
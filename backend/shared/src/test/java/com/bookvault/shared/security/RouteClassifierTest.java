@@ -0,0 +1,170 @@
+package com.bookvault.shared.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import com.bookvault.shared.enums.UserRole;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteClassifierTest {
+
+    @Test
+    void literalPathsMatchExactly() {
+        RouteClassifier classifier = RouteClassifier.builder()
+                .permitAll("/api/auth/login")
+                .build();
+
+        assertThat(classifier.classify("POST", "/api/auth/login")).isSameAs(RouteAccess.PUBLIC);
+        assertThat(classifier.classify("POST", "/api/auth/login/")).isSameAs(RouteAccess.PUBLIC);
+        assertThat(classifier.classify("POST", "/api/auth/logins")).isSameAs(RouteAccess.AUTHENTICATED);
+        assertThat(classifier.classify("POST", "/api/auth")).isSameAs(RouteAccess.AUTHENTICATED);
+        assertThat(classifier.classify("POST", "/api/auth/login/extra")).isSameAs(RouteAccess.AUTHENTICATED);
+    }
+
+    @Test
+    void singleSegmentWildcardsMatchExactlyOneSegment() {
+        RouteClassifier classifier = RouteClassifier.builder()
+                .permit(HttpMethod.GET, "/api/books/{id}", "/api/books/*/reviews")
+                .build();
+
+        assertThat(classifier.classify("GET", "/api/books/42")).isSameAs(RouteAccess.PUBLIC);
+        assertThat(classifier.classify("GET", "/api/books/42/reviews")).isSameAs(RouteAccess.PUBLIC);
+        assertThat(classifier.classify("GET", "/api/books")).isSameAs(RouteAccess.AUTHENTICATED);
+        assertThat(classifier.classify("GET", "/api/books//reviews")).isSameAs(RouteAccess.AUTHENTICATED);
+        assertThat(classifier.classify("GET", "/api/books/42/reviews/7")).isSameAs(RouteAccess.AUTHENTICATED);
+    }
+
+    @Test
+    void trailingDoubleWildcardMatchesZeroOrMoreSegments() {
+        RouteClassifier classifier = RouteClassifier.builder()
+                .permitAll("/actuator/**")
+                .build();
+
+        assertThat(classifier.classify("GET", "/actuator")).isSameAs(RouteAccess.PUBLIC);
+        assertThat(classifier.classify("GET", "/actuator/health")).isSameAs(RouteAccess.PUBLIC);
+        assertThat(classifier.classify("GET", "/actuator/health/liveness")).isSameAs(RouteAccess.PUBLIC);
+        assertThat(classifier.classify("GET", "/actuators")).isSameAs(RouteAccess.AUTHENTICATED);
+    }
+
+    @Test
+    void mostSpecificPatternWins() {
+        RouteClassifier classifier = RouteClassifier.builder()
+                .hasRole(UserRole.ADMIN, "/api/books/**")
+                .authenticated("/api/books/{id}")
+                .permitAll("/api/books/featured")
+                .build();
+
+        assertThat(classifier.classify("GET", "/api/books/featured")).isSameAs(RouteAccess.PUBLIC);
+        assertThat(classifier.classify("GET", "/api/books/42")).isSameAs(RouteAccess.AUTHENTICATED);
+        assertThat(classifier.classify("GET", "/api/books/42/stock")).isSameAs(RouteAccess.role(UserRole.ADMIN));
+        assertThat(classifier.classify("GET", "/api/books")).isSameAs(RouteAccess.role(UserRole.ADMIN));
+    }
+
+    @Test
+    void literalBranchFallsBackToWildcardWhenItHasNoMatch() {
+        RouteClassifier classifier = RouteClassifier.builder()
+                .permitAll("/api/books/search/suggest")
+                .permit(HttpMethod.GET, "/api/books/{id}/reviews")
+                .build();
+
+        assertThat(classifier.classify("GET", "/api/books/search/reviews")).isSameAs(RouteAccess.PUBLIC);
+        assertThat(classifier.classify("GET", "/api/books/search/suggest")).isSameAs(RouteAccess.PUBLIC);
+    }
+
+    @Test
+    void methodSpecificRuleWinsOverAnyMethodRule() {
+        RouteClassifier classifier = RouteClassifier.builder()
+                .hasRole(UserRole.SELLER, "/api/books/**")
+                .permit(HttpMethod.GET, "/api/books/**")
+                .build();
+
+        assertThat(classifier.classify("GET", "/api/books/42")).isSameAs(RouteAccess.PUBLIC);
+        assertThat(classifier.classify("POST", "/api/books")).isSameAs(RouteAccess.role(UserRole.SELLER));
+        assertThat(classifier.classify("DELETE", "/api/books/42")).isSameAs(RouteAccess.role(UserRole.SELLER));
+    }
+
+    @Test
+    void unmatchedRequestsGetTheDefaultAccess() {
+        RouteClassifier authenticatedByDefault = RouteClassifier.builder()
+                .permitAll("/api/auth/login")
+                .build();
+        RouteClassifier publicByDefault = RouteClassifier.builder()
+                .authenticated("/api/orders/**")
+                .defaultAccess(RouteAccess.PUBLIC)
+                .build();
+
+        assertThat(authenticatedByDefault.classify("GET", "/")).isSameAs(RouteAccess.AUTHENTICATED);
+        assertThat(authenticatedByDefault.classify("GET", "/elsewhere")).isSameAs(RouteAccess.AUTHENTICATED);
+        assertThat(publicByDefault.classify("GET", "/elsewhere")).isSameAs(RouteAccess.PUBLIC);
+        assertThat(publicByDefault.classify("GET", "/api/orders/1")).isSameAs(RouteAccess.AUTHENTICATED);
+    }
+
+    @Test
+    void servletRequestsAreClassifiedWithoutTheirContextPath() {
+        RouteClassifier classifier = RouteClassifier.builder()
+                .permitAll("/api/auth/login")
+                .build();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/bookvault/api/auth/login");
+        request.setContextPath("/bookvault");
+
+        assertThat(classifier.classify(request)).isSameAs(RouteAccess.PUBLIC);
+    }
+
+    @Test
+    void invalidOrDuplicateRulesAreRejected() {
+        assertThatThrownBy(() -> RouteClassifier.builder().permitAll("api/books"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must start with '/'");
+        assertThatThrownBy(() -> RouteClassifier.builder().permitAll("/api/**/reviews"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must be the last segment");
+        assertThatThrownBy(() -> RouteClassifier.builder().permitAll("/api/books/{id}").authenticated("/api/books/*"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate route rule");
+        assertThatThrownBy(() -> RouteClassifier.builder()
+                .permit(HttpMethod.GET, "/api/books")
+                .authenticated(HttpMethod.GET, "/api/books"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate route rule: GET");
+    }
+
+    @Test
+    void authorizationManagerEnforcesTheClassifiedAccess() {
+        AuthorizationManager<RequestAuthorizationContext> manager = RouteClassifier.builder()
+                .permitAll("/api/auth/login")
+                .hasRole(UserRole.ADMIN, "/api/auth/admin/**")
+                .build()
+                .authorizationManager();
+        Authentication user = authenticated("ROLE_USER");
+        Authentication admin = authenticated("ROLE_ADMIN");
+
+        assertThat(check(manager, null, "/api/auth/login")).isTrue();
+        assertThat(check(manager, null, "/api/auth/profile")).isFalse();
+        assertThat(check(manager, user, "/api/auth/profile")).isTrue();
+        assertThat(check(manager, user, "/api/auth/admin/users")).isFalse();
+        assertThat(check(manager, admin, "/api/auth/admin/users")).isTrue();
+    }
+
+    // Helper methods
+
+    private static Authentication authenticated(String authority) {
+        TestingAuthenticationToken token = new TestingAuthenticationToken("user", null, authority);
+        token.setAuthenticated(true);
+        return token;
+    }
+
+    private static boolean check(AuthorizationManager<RequestAuthorizationContext> manager,
+                                 Authentication authentication, String path) {
+        RequestAuthorizationContext context = new RequestAuthorizationContext(new MockHttpServletRequest("GET", path));
+        AuthorizationDecision decision = manager.check(() -> authentication, context);
+        return decision != null && decision.isGranted();
+    }
+}